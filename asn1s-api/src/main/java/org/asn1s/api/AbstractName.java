@@ -29,8 +29,12 @@ import org.asn1s.api.util.RefUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public abstract class AbstractName<T extends AbstractName<T>> implements Comparable<T>
+import java.io.Serializable;
+
+public abstract class AbstractName<T extends AbstractName<T>> implements Comparable<T>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractName( @NotNull String name, @Nullable String moduleName )
 	{
 		if( moduleName != null )
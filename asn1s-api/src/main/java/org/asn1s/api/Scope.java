@@ -107,4 +107,29 @@ public interface Scope
 	void setScopeOption( String key, Object value );
 
 	Pair<Type[], Value[]> getValueLevels();
+
+	/**
+	 * Returns value of single level, levels are numbered from root as in {@link #getValueLevels()}.
+	 * Implementations should avoid building all levels, since this method is called on hot paths.
+	 *
+	 * @param level the level
+	 * @return value of level
+	 * @throws IndexOutOfBoundsException if there is no such level
+	 */
+	default Value getValueLevel( int level )
+	{
+		return getValueLevels().getValue()[level];
+	}
+
+	/**
+	 * Returns type of single level, levels are numbered from root as in {@link #getValueLevels()}.
+	 *
+	 * @param level the level
+	 * @return type of level
+	 * @throws IndexOutOfBoundsException if there is no such level
+	 */
+	default Type getValueLevelType( int level )
+	{
+		return getValueLevels().getKey()[level];
+	}
 }
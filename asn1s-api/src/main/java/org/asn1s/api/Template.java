@@ -28,11 +28,14 @@ package org.asn1s.api;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
-public final class Template
+public final class Template implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public Template()
 	{
 		this( false );
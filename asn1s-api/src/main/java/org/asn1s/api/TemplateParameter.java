@@ -32,8 +32,12 @@ import org.asn1s.api.value.ValueNameRef;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public final class TemplateParameter implements Comparable<TemplateParameter>
+import java.io.Serializable;
+
+public final class TemplateParameter implements Comparable<TemplateParameter>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public TemplateParameter( int index, @NotNull Ref<?> reference, @Nullable Ref<Type> governor )
 	{
 		this.index = index;
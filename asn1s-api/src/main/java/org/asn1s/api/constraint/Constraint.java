@@ -46,6 +46,20 @@ public interface Constraint
 {
 	void check( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException;
 
+	/**
+	 * Check value that is already accepted by constrained type. Implementations may skip
+	 * type acceptance, so subtree of value is not validated again for every constraint.
+	 *
+	 * @param scope    the scope
+	 * @param valueRef the value accepted by type
+	 * @throws ValidationException if check fails
+	 * @throws ResolutionException if value can not be resolved
+	 */
+	default void checkAccepted( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		check( scope, valueRef );
+	}
+
 	default void collectValues( @NotNull Collection<Value> values, @NotNull Collection<Kind> requiredKinds ) throws IllegalValueException
 	{
 		throw new UnsupportedOperationException();
@@ -71,6 +85,18 @@ public interface Constraint
 		throw new UnsupportedOperationException( "Not supported for: " + getClass().getName() );
 	}
 
+	/**
+	 * Collect PER-visible part of constraint into target.
+	 * Constraints which are not PER-visible (X.691, 9.3) keep this no-op implementation,
+	 * so they leave target untouched and do not affect PER encoding.
+	 *
+	 * @param target the collector
+	 */
+	default void collectEffectiveConstraint( @NotNull EffectiveConstraint target )
+	{
+		// not PER-visible by default, nothing to collect
+	}
+
 	/**
 	 * Check constraint tree has constraints from allowed types only.
 	 *
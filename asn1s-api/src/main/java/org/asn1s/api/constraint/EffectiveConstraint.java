@@ -0,0 +1,294 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.api.constraint;
+
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.Value.Kind;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.util.BitSet;
+
+/**
+ * Collector of PER-visible constraints (X.691, clause 10.3 - 10.5), used by encoders which
+ * depend on value bounds, size bounds and permitted alphabet of type.
+ * Collector starts unconstrained, every collected constraint narrows it. Constraints that are not PER-visible
+ * must not be collected, so they do not affect encoding.
+ * Use {@link Constraint#collectEffectiveConstraint(EffectiveConstraint)} to fill it.
+ */
+public final class EffectiveConstraint
+{
+	public EffectiveConstraint()
+	{
+		this( false );
+	}
+
+	private EffectiveConstraint( boolean alphabetMode )
+	{
+		this.alphabetMode = alphabetMode;
+	}
+
+	private final boolean alphabetMode;
+	private BigInteger lowerBound;
+	private BigInteger upperBound;
+	private boolean extensible;
+	private EffectiveConstraint size;
+	private EffectiveConstraint alphabet;
+	private BitSet characters;
+
+	/**
+	 * Returns lower bound of integer value (or size, for size constraint)
+	 *
+	 * @return lower bound or null if there is no one
+	 */
+	@Nullable
+	public BigInteger getLowerBound()
+	{
+		return lowerBound;
+	}
+
+	/**
+	 * Returns upper bound of integer value (or size, for size constraint)
+	 *
+	 * @return upper bound or null if there is no one
+	 */
+	@Nullable
+	public BigInteger getUpperBound()
+	{
+		return upperBound;
+	}
+
+	public boolean isExtensible()
+	{
+		return extensible;
+	}
+
+	public void setExtensible( boolean extensible )
+	{
+		this.extensible = extensible;
+	}
+
+	/**
+	 * Returns effective size constraint
+	 *
+	 * @return size constraint or null if size is not constrained
+	 */
+	@Nullable
+	public EffectiveConstraint getSizeConstraint()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns set of characters in effective permitted alphabet, extensible alphabets are not PER-visible.
+	 *
+	 * @return set of character codes or null if alphabet is not constrained
+	 */
+	@Nullable
+	public BitSet getPermittedAlphabet()
+	{
+		return alphabet == null || alphabet.extensible ? null : alphabet.characters;
+	}
+
+	/**
+	 * Returns collector for SIZE constraint
+	 *
+	 * @return collector
+	 */
+	@NotNull
+	public EffectiveConstraint size()
+	{
+		if( size == null )
+			size = new EffectiveConstraint();
+		return size;
+	}
+
+	/**
+	 * Returns collector for FROM constraint
+	 *
+	 * @return collector
+	 */
+	@NotNull
+	public EffectiveConstraint alphabet()
+	{
+		if( alphabet == null )
+			alphabet = new EffectiveConstraint( true );
+		return alphabet;
+	}
+
+	/**
+	 * Create unconstrained collector of same kind, should be used to collect alternatives of union,
+	 * see {@link #unite(EffectiveConstraint)}
+	 *
+	 * @return collector
+	 */
+	@NotNull
+	public EffectiveConstraint createAlternative()
+	{
+		return new EffectiveConstraint( alphabetMode );
+	}
+
+	/**
+	 * Narrow collector by single value
+	 *
+	 * @param value the value
+	 */
+	public void addValue( @NotNull Value value )
+	{
+		if( alphabetMode && value.getKind() == Kind.C_STRING )
+		{
+			BitSet set = new BitSet();
+			String string = value.toStringValue().asString();
+			for( int i = 0; i < string.length(); i++ )
+				set.set( string.charAt( i ) );
+			intersectCharacters( set );
+		}
+		else if( !alphabetMode && value.getKind() == Kind.INTEGER && value.toIntegerValue().isBigInteger() )
+		{
+			BigInteger integer = value.toIntegerValue().asBigInteger();
+			intersectBounds( integer, integer );
+		}
+	}
+
+	/**
+	 * Narrow collector by value range, null values are MIN and MAX keywords
+	 *
+	 * @param min   the lower bound
+	 * @param minLt true if lower bound is excluded
+	 * @param max   the upper bound
+	 * @param maxGt true if upper bound is excluded
+	 */
+	public void addRange( @Nullable Value min, boolean minLt, @Nullable Value max, boolean maxGt )
+	{
+		if( alphabetMode )
+		{
+			int first = min == null ? 0 : toCharacter( min );
+			int last = max == null ? Character.MAX_VALUE : toCharacter( max );
+			if( first == -1 || last == -1 )
+				return;
+
+			BitSet set = new BitSet();
+			set.set( minLt ? first + 1 : first, maxGt ? last : last + 1 );
+			intersectCharacters( set );
+		}
+		else if( isInteger( min ) && isInteger( max ) )
+		{
+			BigInteger lower = min == null ? null : min.toIntegerValue().asBigInteger();
+			if( lower != null && minLt )
+				lower = lower.add( BigInteger.ONE );
+			BigInteger upper = max == null ? null : max.toIntegerValue().asBigInteger();
+			if( upper != null && maxGt )
+				upper = upper.subtract( BigInteger.ONE );
+			intersectBounds( lower, upper );
+		}
+	}
+
+	/**
+	 * Make this collector a union of itself and other one
+	 *
+	 * @param other the collector created by {@link #createAlternative()}
+	 */
+	public void unite( @NotNull EffectiveConstraint other )
+	{
+		lowerBound = lowerBound == null || other.lowerBound == null ? null : lowerBound.min( other.lowerBound );
+		upperBound = upperBound == null || other.upperBound == null ? null : upperBound.max( other.upperBound );
+		extensible |= other.extensible;
+
+		if( size != null && other.size != null )
+			size.unite( other.size );
+		else
+			size = null;
+
+		if( alphabet != null && other.alphabet != null )
+			alphabet.unite( other.alphabet );
+		else
+			alphabet = null;
+
+		if( characters != null && other.characters != null )
+			characters.or( other.characters );
+		else
+			characters = null;
+	}
+
+	/**
+	 * Narrow this collector by other one
+	 *
+	 * @param other the collector created by {@link #createAlternative()}
+	 */
+	public void intersect( @NotNull EffectiveConstraint other )
+	{
+		intersectBounds( other.lowerBound, other.upperBound );
+		extensible |= other.extensible;
+
+		if( other.size != null )
+			size().intersect( other.size );
+
+		if( other.alphabet != null )
+			alphabet().intersect( other.alphabet );
+
+		if( other.characters != null )
+			intersectCharacters( (BitSet)other.characters.clone() );
+	}
+
+	private void intersectBounds( @Nullable BigInteger lower, @Nullable BigInteger upper )
+	{
+		if( lower != null )
+			lowerBound = lowerBound == null ? lower : lowerBound.max( lower );
+
+		if( upper != null )
+			upperBound = upperBound == null ? upper : upperBound.min( upper );
+	}
+
+	private void intersectCharacters( BitSet set )
+	{
+		if( characters == null )
+			characters = set;
+		else
+			characters.and( set );
+	}
+
+	private static boolean isInteger( @Nullable Value value )
+	{
+		return value == null || value.getKind() == Kind.INTEGER && value.toIntegerValue().isBigInteger();
+	}
+
+	private static int toCharacter( @NotNull Value value )
+	{
+		if( value.getKind() != Kind.C_STRING || value.toStringValue().length() != 1 )
+			return -1;
+		return value.toStringValue().asString().charAt( 0 );
+	}
+
+	@Override
+	public String toString()
+	{
+		return "EffectiveConstraint{" + ( lowerBound == null ? "MIN" : lowerBound ) + ".." + ( upperBound == null ? "MAX" : upperBound )
+				+ ( extensible ? ", ..." : "" )
+				+ ( size == null ? "" : ", SIZE " + size )
+				+ ( alphabet == null ? "" : ", FROM " + alphabet.characters ) + '}';
+	}
+}
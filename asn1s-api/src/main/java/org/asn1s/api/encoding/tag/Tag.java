@@ -25,10 +25,13 @@
 
 package org.asn1s.api.encoding.tag;
 
+import java.io.Serializable;
 
 @SuppressWarnings( "ClassNamingConvention" )
-public final class Tag
+public final class Tag implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public Tag( TagEncoding encoding, boolean constructed )
 	{
 		this( encoding.getTagClass(), constructed, encoding.getTagNumber() );
@@ -37,11 +37,15 @@ import org.asn1s.api.value.Value.Kind;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
+
 /**
  * Defines Tag encoding instructions
  */
-public abstract class TagEncoding implements IEncoding
+public abstract class TagEncoding implements IEncoding, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public static TagEncoding application( int tagNumber )
 	{
 		return new ResolvedTagEncoding( TagMethod.UNKNOWN, TagMethod.UNKNOWN, TagClass.APPLICATION, tagNumber );
@@ -149,6 +153,8 @@ public abstract class TagEncoding implements IEncoding
 
 	private static final class ResolvedTagEncoding extends TagEncoding
 	{
+		private static final long serialVersionUID = 1L;
+
 		private ResolvedTagEncoding( @NotNull TagMethod moduleTagMethod, @NotNull TagMethod tagMethod, @Nullable TagClass tagClass, int tagNumber )
 		{
 			super( moduleTagMethod, tagMethod, tagClass );
@@ -172,6 +178,8 @@ public abstract class TagEncoding implements IEncoding
 
 	private static final class UnresolvedTagEncoding extends TagEncoding
 	{
+		private static final long serialVersionUID = 1L;
+
 		private UnresolvedTagEncoding( @NotNull TagMethod moduleTagMethod, @NotNull TagMethod tagMethod, @Nullable TagClass tagClass, Ref<Value> tagNumberRef )
 		{
 			super( moduleTagMethod, tagMethod, tagClass );
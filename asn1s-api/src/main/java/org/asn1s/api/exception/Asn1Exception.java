@@ -28,6 +28,8 @@ package org.asn1s.api.exception;
 @SuppressWarnings( "ALL" )
 public class Asn1Exception extends Exception
 {
+	private static final long serialVersionUID = 1L;
+
 	public Asn1Exception()
 	{
 	}
@@ -32,6 +32,8 @@ package org.asn1s.api.exception;
 @SuppressWarnings( "ALL" )
 public class ConstraintViolationException extends ValidationException
 {
+	private static final long serialVersionUID = 1L;
+
 	public ConstraintViolationException()
 	{
 		this( null, null, false, false );
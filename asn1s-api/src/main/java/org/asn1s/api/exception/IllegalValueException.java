@@ -28,6 +28,8 @@ package org.asn1s.api.exception;
 @SuppressWarnings( "ALL" )
 public class IllegalValueException extends ValidationException
 {
+	private static final long serialVersionUID = 1L;
+
 	public IllegalValueException()
 	{
 	}
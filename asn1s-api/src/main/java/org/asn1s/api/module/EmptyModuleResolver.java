@@ -31,9 +31,12 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public final class EmptyModuleResolver implements ModuleResolver
 {
+	private final ReentrantReadWriteLock validationLock = new ReentrantReadWriteLock();
+
 	@Override
 	public Collection<Module> getAllModules()
 	{
@@ -58,4 +61,11 @@ public final class EmptyModuleResolver implements ModuleResolver
 	{
 		throw new UnsupportedOperationException();
 	}
+
+	@NotNull
+	@Override
+	public ReentrantReadWriteLock getValidationLock()
+	{
+		return validationLock;
+	}
 }
@@ -29,10 +29,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Arrays;
 
-public final class ModuleReference implements Comparable<ModuleReference>
+public final class ModuleReference implements Comparable<ModuleReference>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ModuleReference( String name )
 	{
 		this( name, null, null );
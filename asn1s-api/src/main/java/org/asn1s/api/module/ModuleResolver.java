@@ -30,6 +30,7 @@ import org.asn1s.api.exception.ResolutionException;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public interface ModuleResolver
 {
@@ -47,4 +48,13 @@ public interface ModuleResolver
 	}
 
 	Asn1Factory createObjectFactory();
+
+	/**
+	 * Returns lock guarding validation of modules of this resolver,
+	 * see {@link org.asn1s.api.util.ValidationUtils#validateExclusively(ModuleResolver, org.asn1s.api.util.ValidationUtils.ValidationAction)}
+	 *
+	 * @return lock
+	 */
+	@NotNull
+	ReentrantReadWriteLock getValidationLock();
 }
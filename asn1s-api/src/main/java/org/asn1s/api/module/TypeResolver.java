@@ -45,8 +45,23 @@ public interface TypeResolver
 	 */
 	void add( @NotNull DefinedType type );
 
+	/**
+	 * Unregisters type from this module, used to roll back definitions which were never validated
+	 *
+	 * @param type named type
+	 */
+	void remove( @NotNull DefinedType type );
+
 	void addImports( @NotNull ModuleReference moduleReference, @NotNull Collection<String> symbols );
 
+	/**
+	 * Returns references to modules registered by {@link #addImports(ModuleReference, Collection)}
+	 *
+	 * @return {@link Collection} of {@link ModuleReference}
+	 */
+	@NotNull
+	Collection<ModuleReference> getImportedModules();
+
 	/**
 	 * Returns collection of types present in this module
 	 *
@@ -58,6 +73,15 @@ public interface TypeResolver
 	@NotNull
 	Ref<Type> getTypeRef( @NotNull String ref, @Nullable String module );
 
+	/**
+	 * Returns names of other modules referenced by qualified references (Module.Type) created by {@link #getTypeRef(String, String)},
+	 * these modules are not necessarily imported.
+	 *
+	 * @return {@link Collection} of module names
+	 */
+	@NotNull
+	Collection<String> getReferencedModules();
+
 	/**
 	 * Return type declared in this module
 	 *
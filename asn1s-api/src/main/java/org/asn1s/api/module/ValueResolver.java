@@ -66,6 +66,15 @@ public interface ValueResolver
 	@NotNull
 	Ref<Value> getValueRef( @NotNull String ref, @Nullable String module );
 
+	/**
+	 * Returns names of other modules referenced by qualified references (Module.value) created by {@link #getValueRef(String, String)},
+	 * these modules are not necessarily imported.
+	 *
+	 * @return {@link Collection} of module names
+	 */
+	@NotNull
+	Collection<String> getReferencedModules();
+
 	@NotNull
 	Value resolve( @NotNull ValueName valueName ) throws ResolutionException;
 }
@@ -32,6 +32,8 @@ import org.jetbrains.annotations.NotNull;
 
 public abstract class AbstractComponentType extends AbstractNestingType implements ComponentType
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractComponentType( int index, String name, @NotNull Ref<Type> componentTypeRef )
 	{
 		super( componentTypeRef );
@@ -43,6 +43,8 @@ import java.util.List;
 
 public abstract class AbstractNestingType extends AbstractType
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractNestingType( @Nullable Ref<Type> siblingRef )
 	{
 		this.siblingRef = siblingRef;
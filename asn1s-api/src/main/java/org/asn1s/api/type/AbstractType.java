@@ -32,15 +32,25 @@ import org.asn1s.api.exception.ValidationException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public abstract class AbstractType implements Type
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public abstract class AbstractType implements Type, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractType()
 	{
 
 	}
 
-	private State state = State.NONE;
+	private volatile State state = State.NONE;
 	private String namespace;
+	private transient volatile Map<Object, Object> codecPlans = Collections.emptyMap();
 
 	@Override
 	public String getNamespace()
@@ -54,12 +64,41 @@ public abstract class AbstractType implements Type
 		this.namespace = namespace;
 	}
 
+	@SuppressWarnings( "unchecked" )
+	@Nullable
+	@Override
+	public <T> T getCodecPlan( @NotNull Object key )
+	{
+		return (T)codecPlans.get( key );
+	}
+
+	@Override
+	public void setCodecPlan( @NotNull Object key, @NotNull Object plan )
+	{
+		if( getState() != State.DONE )
+			return;
+
+		synchronized( this )
+		{
+			Map<Object, Object> plans = new HashMap<>( codecPlans );
+			plans.put( key, plan );
+			codecPlans = plans;
+		}
+	}
+
 	@Override
 	public final State getState()
 	{
 		return state;
 	}
 
+	private void readObject( ObjectInputStream is ) throws IOException, ClassNotFoundException
+	{
+		is.defaultReadObject();
+		// codec plans are bound to encoders of running process, those must be created again
+		codecPlans = Collections.emptyMap();
+	}
+
 	@Override
 	public final void dispose()
 	{
@@ -71,6 +110,7 @@ public abstract class AbstractType implements Type
 			onDispose();
 		} finally
 		{
+			codecPlans = Collections.emptyMap();
 			state = State.DISPOSED;
 		}
 	}
@@ -81,6 +121,14 @@ public abstract class AbstractType implements Type
 		return this;
 	}
 
+	/**
+	 * Validate type, must be called by single thread at a time, validation entry points guarantee this by
+	 * validation lock, see {@link org.asn1s.api.util.ValidationUtils}.
+	 *
+	 * @param scope the scope
+	 * @throws ValidationException if type is not valid
+	 * @throws ResolutionException if type contains unresolvable references
+	 */
 	@Override
 	public final void validate( @NotNull Scope scope ) throws ValidationException, ResolutionException
 	{
@@ -30,13 +30,34 @@ import org.asn1s.api.Scope;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.exception.ValidationException;
 import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.NamedValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 public interface Enumerated extends Type
 {
 	void setExtensible( boolean value );
 
+	boolean isExtensible();
+
+	/**
+	 * Returns validated items of enumeration root, in definition order
+	 *
+	 * @return list of items
+	 */
+	@NotNull
+	List<NamedValue> getRootValues();
+
+	/**
+	 * Returns validated extension additions, in definition order
+	 *
+	 * @return list of items
+	 */
+	@NotNull
+	List<NamedValue> getAdditionalValues();
+
 	void addItem( @NotNull ItemKind kind, @NotNull String name, @Nullable Ref<Value> valueRef );
 
 	/**
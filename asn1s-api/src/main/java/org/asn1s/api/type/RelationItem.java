@@ -25,11 +25,14 @@
 
 package org.asn1s.api.type;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
-public class RelationItem
+public class RelationItem implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public RelationItem( String name, List<String> path, int level )
 	{
 		this.name = name;
@@ -26,6 +26,7 @@
 package org.asn1s.api.type;
 
 import org.asn1s.api.*;
+import org.asn1s.api.constraint.Constraint;
 import org.asn1s.api.constraint.ElementSetSpecs;
 import org.asn1s.api.encoding.EncodingInstructions;
 import org.asn1s.api.encoding.IEncoding;
@@ -82,6 +83,30 @@ public interface Type extends Ref<Type>, Disposable, Validation, Scoped
 		return false;
 	}
 
+	/**
+	 * Returns codec plan attached to this type by {@link #setCodecPlan(Object, Object)}
+	 *
+	 * @param key the plan key, codecs should use their own key instances
+	 * @param <T> the plan type
+	 * @return plan or null if none attached
+	 */
+	@Nullable
+	default <T> T getCodecPlan( @NotNull Object key )
+	{
+		return null;
+	}
+
+	/**
+	 * Attach precompiled codec plan to this type. Types are immutable after validation,
+	 * so implementations should keep plans only for validated types and may ignore this call.
+	 *
+	 * @param key  the plan key
+	 * @param plan the plan
+	 */
+	default void setCodecPlan( @NotNull Object key, @NotNull Object plan )
+	{
+	}
+
 	/**
 	 * Accept value, use scope for resolution. You should chain scopes if this is required for some reason
 	 *
@@ -198,6 +223,17 @@ public interface Type extends Ref<Type>, Disposable, Validation, Scoped
 		throw new UnsupportedOperationException( "There is no elementSetSpecs, did you checked by #hasElementSetSpecs()?" );
 	}
 
+	/**
+	 * Returns constraint of this type
+	 *
+	 * @return Constraint
+	 * @throws UnsupportedOperationException if type has no constraint, see {@link #hasConstraint()}
+	 */
+	default Constraint getConstraint()
+	{
+		throw new UnsupportedOperationException( "There is no constraint, did you checked by #hasConstraint()?" );
+	}
+
 	default boolean hasConstraint()
 	{
 		return false;
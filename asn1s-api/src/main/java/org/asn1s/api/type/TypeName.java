@@ -32,6 +32,8 @@ import org.jetbrains.annotations.Nullable;
 
 public final class TypeName extends AbstractName<TypeName>
 {
+	private static final long serialVersionUID = 1L;
+
 	public TypeName( @NotNull String name, @Nullable String moduleName )
 	{
 		super( name, moduleName );
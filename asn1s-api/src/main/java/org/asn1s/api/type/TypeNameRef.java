@@ -31,8 +31,12 @@ import org.asn1s.api.exception.ResolutionException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class TypeNameRef implements Ref<Type>
+import java.io.Serializable;
+
+public class TypeNameRef implements Ref<Type>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public TypeNameRef( @NotNull String name )
 	{
 		this( name, null );
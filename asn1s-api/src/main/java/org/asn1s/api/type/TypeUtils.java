@@ -29,6 +29,10 @@ public final class TypeUtils
 {
 	public static final String DUMMY = "dummy";
 	public static final String INSTANCE_OF_TYPE_KEY = InstanceOfTypeSelector.class.getSimpleName();
+	/**
+	 * Scope option, if set to true then optimization of SEQUENCE and SET values keeps components equal to default values
+	 */
+	public static final String OPTION_KEEP_DEFAULT_VALUES = "types.keep_default_values";
 
 	private TypeUtils()
 	{
@@ -34,6 +34,8 @@ import org.jetbrains.annotations.Nullable;
 
 public abstract class AbstractFieldType<T extends Ref<T>> extends AbstractNestingType implements ClassFieldType<T>
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractFieldType( @NotNull String name, @Nullable Ref<Type> siblingRef, boolean optional )
 	{
 		super( siblingRef );
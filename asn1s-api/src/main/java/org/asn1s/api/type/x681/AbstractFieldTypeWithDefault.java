@@ -33,6 +33,8 @@ import org.jetbrains.annotations.Nullable;
 
 public abstract class AbstractFieldTypeWithDefault<T extends Ref<T>> extends AbstractFieldType<T>
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractFieldTypeWithDefault( @NotNull String name, @Nullable Ref<Type> siblingRef, boolean optional )
 	{
 		super( name, siblingRef, optional );
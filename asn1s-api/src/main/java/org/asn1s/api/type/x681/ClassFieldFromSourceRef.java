@@ -35,8 +35,12 @@ import org.asn1s.api.util.RefUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class ClassFieldFromSourceRef implements Ref<Type>
+import java.io.Serializable;
+
+public class ClassFieldFromSourceRef implements Ref<Type>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ClassFieldFromSourceRef( @NotNull Ref<?> source, @Nullable String path, @NotNull String name )
 	{
 		if( StringUtils.isBlank( name ) )
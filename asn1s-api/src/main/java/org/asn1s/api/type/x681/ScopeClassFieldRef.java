@@ -34,11 +34,14 @@ import org.asn1s.api.type.x681.ClassFieldType.Kind;
 import org.asn1s.api.util.RefUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
 
-public class ScopeClassFieldRef implements Ref<Type>
+public class ScopeClassFieldRef implements Ref<Type>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ScopeClassFieldRef( String fieldName )
 	{
 		this.fieldName = fieldName;
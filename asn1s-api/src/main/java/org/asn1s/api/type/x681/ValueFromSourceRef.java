@@ -30,8 +30,12 @@ import org.asn1s.api.Scope;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.value.Value;
 
-public class ValueFromSourceRef implements Ref<Value>
+import java.io.Serializable;
+
+public class ValueFromSourceRef implements Ref<Value>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueFromSourceRef( Ref<?> source, String path, String fieldName )
 	{
 
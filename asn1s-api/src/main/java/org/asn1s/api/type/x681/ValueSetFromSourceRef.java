@@ -30,8 +30,12 @@ import org.asn1s.api.Scope;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.type.Type;
 
-public class ValueSetFromSourceRef implements Ref<Type>
+import java.io.Serializable;
+
+public class ValueSetFromSourceRef implements Ref<Type>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueSetFromSourceRef( Ref<?> source, String path, String fieldName )
 	{
 
@@ -0,0 +1,147 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.api.util;
+
+import org.asn1s.api.Ref;
+import org.asn1s.api.Scope;
+import org.asn1s.api.State;
+import org.asn1s.api.Validation;
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.exception.ValidationException;
+import org.asn1s.api.module.ModuleResolver;
+import org.asn1s.api.type.Type;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Support for lazy validation: modules may be used without {@code Module.validate()},
+ * every object is validated on first use together with objects it depends on.
+ * Validation itself is not thread-safe, so every validation entry point takes validation lock of module resolver:
+ * first use and module validations are exclusive, validations of independent modules by parallel validator are shared.
+ * Objects validated already are used without locking.
+ */
+public final class ValidationUtils
+{
+	private ValidationUtils()
+	{
+	}
+
+	/**
+	 * Resolve type for encoding or decoding, validating it if required
+	 *
+	 * @param scope   the scope
+	 * @param typeRef type reference
+	 * @return validated type
+	 * @throws ResolutionException if type or it's dependencies can not be resolved
+	 * @throws ValidationException if type is not valid
+	 */
+	@NotNull
+	public static Type resolveType( @NotNull Scope scope, @NotNull Ref<Type> typeRef ) throws ResolutionException, ValidationException
+	{
+		Type type = typeRef.resolve( scope );
+		validateOnFirstUse( scope, type );
+		return type;
+	}
+
+	/**
+	 * Validate object if it was not validated yet. Objects being validated by current thread are left as is,
+	 * so recursive references are allowed.
+	 *
+	 * @param scope  the scope
+	 * @param target object to validate
+	 * @throws ResolutionException if object or it's dependencies can not be resolved
+	 * @throws ValidationException if object is not valid
+	 */
+	public static void validateOnFirstUse( @NotNull Scope scope, @NotNull Validation target ) throws ResolutionException, ValidationException
+	{
+		if( target.isValidated() )
+			return;
+
+		validateExclusively( scope.getModule().getModuleResolver(), () -> target.validate( scope ) );
+
+		State state = target.getState();
+		if( state == State.FAILED || state == State.DISPOSED )
+			throw new ValidationException( "Unable to use object in state " + state + ": " + target );
+	}
+
+	/**
+	 * Run validation while no other validation of modules of the resolver is running.
+	 * Validation nested into shared one is run without locking, since shared validations touch only modules
+	 * of their own and modules validated already.
+	 *
+	 * @param resolver the module resolver
+	 * @param action   validation
+	 * @throws ResolutionException if object or it's dependencies can not be resolved
+	 * @throws ValidationException if object is not valid
+	 */
+	public static void validateExclusively( @NotNull ModuleResolver resolver, @NotNull ValidationAction action ) throws ResolutionException, ValidationException
+	{
+		ReentrantReadWriteLock lock = resolver.getValidationLock();
+		if( lock.getReadHoldCount() > 0 )
+		{
+			action.run();
+			return;
+		}
+
+		lock.writeLock().lock();
+		try
+		{
+			action.run();
+		} finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Run validation of modules not depending on other running validations, such validations may run concurrently,
+	 * but never together with exclusive ones.
+	 *
+	 * @param resolver the module resolver
+	 * @param action   validation
+	 * @throws ResolutionException if object or it's dependencies can not be resolved
+	 * @throws ValidationException if object is not valid
+	 */
+	public static void validateShared( @NotNull ModuleResolver resolver, @NotNull ValidationAction action ) throws ResolutionException, ValidationException
+	{
+		ReentrantReadWriteLock lock = resolver.getValidationLock();
+		lock.readLock().lock();
+		try
+		{
+			action.run();
+		} finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	@FunctionalInterface
+	public interface ValidationAction
+	{
+		void run() throws ResolutionException, ValidationException;
+	}
+}
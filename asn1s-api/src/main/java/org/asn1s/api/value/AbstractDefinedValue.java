@@ -32,17 +32,22 @@ import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.exception.ValidationException;
 import org.asn1s.api.module.Module;
 import org.asn1s.api.type.Type;
+import org.asn1s.api.util.ValidationUtils;
 import org.jetbrains.annotations.NotNull;
 
-public abstract class AbstractDefinedValue implements DefinedValue
+import java.io.Serializable;
+
+public abstract class AbstractDefinedValue implements DefinedValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractDefinedValue( Module module, String name )
 	{
 		this.module = module;
 		this.name = name;
 	}
 
-	private State state = State.NONE;
+	private volatile State state = State.NONE;
 	private Module module;
 	private final String name;
 
@@ -70,7 +75,7 @@ public abstract class AbstractDefinedValue implements DefinedValue
 		if( !isValidated() )
 			try
 			{
-				validate( getScope( scope ) );
+				ValidationUtils.validateOnFirstUse( getScope( scope ), this );
 			} catch( ValidationException e )
 			{
 				throw new ResolutionException( "Unable to validate", e );
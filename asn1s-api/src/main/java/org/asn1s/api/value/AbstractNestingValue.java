@@ -30,8 +30,12 @@ import org.asn1s.api.value.x680.*;
 import org.asn1s.api.value.x681.ObjectValue;
 import org.jetbrains.annotations.Nullable;
 
-public abstract class AbstractNestingValue implements Value
+import java.io.Serializable;
+
+public abstract class AbstractNestingValue implements Value, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractNestingValue( @Nullable Ref<Value> valueRef )
 	{
 		this.valueRef = valueRef;
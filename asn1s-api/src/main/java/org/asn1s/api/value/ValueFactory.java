@@ -34,6 +34,7 @@ import org.jetbrains.annotations.Nullable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 
 public interface ValueFactory
@@ -107,6 +108,23 @@ public interface ValueFactory
 	@NotNull
 	ByteArrayValue byteArrayValue( int bits, @Nullable byte[] bytes );
 
+	/**
+	 * Create byte array value from region of array.
+	 * Implementations may keep reference to the source array instead of copying the region,
+	 * default implementation always copies.
+	 *
+	 * @param bits   amount of used bits
+	 * @param bytes  the source array
+	 * @param offset region start
+	 * @param length region length
+	 * @return ByteArrayValue
+	 */
+	@NotNull
+	default ByteArrayValue byteArrayValue( int bits, @NotNull byte[] bytes, int offset, int length )
+	{
+		return byteArrayValue( bits, Arrays.copyOfRange( bytes, offset, offset + length ) );
+	}
+
 	@NotNull
 	ByteArrayValue emptyByteArray();
 
@@ -118,4 +136,13 @@ public interface ValueFactory
 
 	@NotNull
 	ObjectIdentifierValue objectIdentifier( @NotNull List<Ref<Value>> oidRefs );
+
+	/**
+	 * Create optimized object identifier from resolved arcs, the array is used as is and must not be modified later
+	 *
+	 * @param arcs the arcs of object identifier
+	 * @return object identifier value
+	 */
+	@NotNull
+	ObjectIdentifierValue objectIdentifier( @NotNull long[] arcs );
 }
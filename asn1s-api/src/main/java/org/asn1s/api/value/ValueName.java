@@ -32,6 +32,8 @@ import org.jetbrains.annotations.Nullable;
 
 public final class ValueName extends AbstractName<ValueName>
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueName( @NotNull String name, @Nullable String moduleName )
 	{
 		super( name, moduleName );
@@ -33,8 +33,12 @@ import org.asn1s.api.exception.ValidationException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public final class ValueNameRef implements Ref<Value>
+import java.io.Serializable;
+
+public final class ValueNameRef implements Ref<Value>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueNameRef( @NotNull String name )
 	{
 		this( name, null );
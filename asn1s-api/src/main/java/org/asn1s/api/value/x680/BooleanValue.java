@@ -28,12 +28,16 @@ package org.asn1s.api.value.x680;
 import org.asn1s.api.value.Value;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
+
 /**
  * X.680, p
  * Boolean value
  */
-public final class BooleanValue implements Value
+public final class BooleanValue implements Value, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public static final Value TRUE = new BooleanValue( Boolean.TRUE );
 	public static final Value FALSE = new BooleanValue( Boolean.FALSE );
 
@@ -85,4 +89,9 @@ public final class BooleanValue implements Value
 	{
 		return value ? "TRUE" : "FALSE";
 	}
+
+	private Object readResolve()
+	{
+		return value ? TRUE : FALSE;
+	}
 }
@@ -28,11 +28,15 @@ package org.asn1s.api.value.x680;
 import org.asn1s.api.value.Value;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
+
 /**
  * X.680, p 24.3
  */
-public final class NullValue implements Value
+public final class NullValue implements Value, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public static final NullValue INSTANCE = new NullValue();
 
 	@NotNull
@@ -68,4 +72,9 @@ public final class NullValue implements Value
 	{
 		return "NULL";
 	}
+
+	private Object readResolve()
+	{
+		return INSTANCE;
+	}
 }
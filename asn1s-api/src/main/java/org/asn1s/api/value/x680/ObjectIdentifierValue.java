@@ -34,6 +34,21 @@ public interface ObjectIdentifierValue extends Value
 {
 	Long[] asIDArray();
 
+	/**
+	 * Returns arcs of object identifier without boxing.
+	 * Implementations may return shared array, it must not be modified.
+	 *
+	 * @return arcs
+	 */
+	default long[] asArcArray()
+	{
+		Long[] ids = asIDArray();
+		long[] result = new long[ids.length];
+		for( int i = 0; i < ids.length; i++ )
+			result[i] = ids[i];
+		return result;
+	}
+
 	List<NamedValue> asNamedValueList();
 
 	@NotNull
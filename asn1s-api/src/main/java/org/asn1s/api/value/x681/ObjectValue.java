@@ -30,11 +30,14 @@ import org.asn1s.api.value.Value;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.Map.Entry;
 
-public class ObjectValue implements Value
+public class ObjectValue implements Value, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ObjectValue( Map<String, Ref<?>> fields )
 	{
 		this.fields = new HashMap<>( fields );
@@ -0,0 +1,62 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks jar. Accepts the same arguments as JMH does, but always adds GC profiler,
+ * so allocation rate per operation (gc.alloc.rate.norm) is reported along with scores.
+ * <pre>
+ * java -jar asn1s-benchmarks/target/benchmarks.jar CorpusCodecBenchmark -p corpus=sequence
+ * </pre>
+ */
+public final class BenchmarkRunner
+{
+	private BenchmarkRunner()
+	{
+	}
+
+	public static void main( String[] args ) throws Exception
+	{
+		CommandLineOptions commandLine = new CommandLineOptions( args );
+		if( commandLine.shouldHelp() )
+		{
+			commandLine.showHelp();
+			return;
+		}
+
+		Options options = new OptionsBuilder()
+				.parent( commandLine )
+				.addProfiler( GCProfiler.class )
+				.build();
+		new Runner( options ).run();
+	}
+}
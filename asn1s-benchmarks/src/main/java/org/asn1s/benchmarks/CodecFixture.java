@@ -0,0 +1,146 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.benchmarks;
+
+import org.asn1s.api.Asn1Factory;
+import org.asn1s.api.Scope;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.value.DefinedValue;
+import org.asn1s.api.value.Value;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.core.module.ModuleSet;
+import org.asn1s.io.Asn1Reader;
+import org.asn1s.io.Asn1Writer;
+import org.asn1s.io.ber.BerRules;
+import org.asn1s.io.ber.input.DefaultBerReader;
+import org.asn1s.io.ber.output.DefaultBerWriter;
+import org.asn1s.schema.SchemaUtils;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Validated module with list of values to encode, values are written and read in the same way as integration tests do.
+ */
+final class CodecFixture
+{
+	private CodecFixture( Asn1Factory factory, Module module, List<Type> types, List<Value> values )
+	{
+		this.factory = factory;
+		this.module = module;
+		this.types = types;
+		this.values = values;
+	}
+
+	private final Asn1Factory factory;
+	private final Module module;
+	private final List<Type> types;
+	private final List<Value> values;
+
+	byte[] encode( BerRules rules ) throws Exception
+	{
+		try( Asn1Writer writer = new DefaultBerWriter( rules ) )
+		{
+			int size = types.size();
+			for( int i = 0; i < size; i++ )
+			{
+				Type type = types.get( i );
+				writer.write( type.getScope( module.createScope() ), type, values.get( i ) );
+			}
+			return writer.toByteArray();
+		}
+	}
+
+	void decode( byte[] content, Blackhole blackhole ) throws Exception
+	{
+		Scope scope = module.createScope();
+		try( Asn1Reader reader = new DefaultBerReader( new ByteArrayInputStream( content ), factory.values() ) )
+		{
+			for( Type type : types )
+			{
+				scope = type.getScope( scope );
+				blackhole.consume( reader.read( scope, type ) );
+			}
+		}
+	}
+
+	/**
+	 * Parse and validate schema and values of corpus
+	 *
+	 * @param corpus the corpus name, see {@link Corpus}
+	 * @return fixture
+	 * @throws Exception if corpus can not be loaded
+	 */
+	static CodecFixture fromCorpus( @NotNull String corpus ) throws Exception
+	{
+		ModuleSet resolver = new ModuleSet();
+		Asn1Factory factory = new DefaultAsn1Factory( resolver );
+		for( Module module : SchemaUtils.parseModules( Corpus.getSchema( corpus ), resolver, factory ) )
+			module.validate();
+
+		Module module = SchemaUtils.parsePdu( Corpus.getPdu( corpus ), resolver, factory );
+		module.validate();
+
+		List<Type> types = new ArrayList<>();
+		List<Value> values = new ArrayList<>();
+		for( DefinedValue value : module.getValueResolver().getValues() )
+		{
+			types.add( value.getType() );
+			values.add( value.getValue() );
+		}
+		return new CodecFixture( factory, module, types, values );
+	}
+
+	/**
+	 * Parse and validate synthetic schema, the value is optimized for PDU type
+	 *
+	 * @param pdu  the synthetic PDU
+	 * @param size the size of PDU
+	 * @return fixture
+	 * @throws Exception if schema is not valid
+	 */
+	static CodecFixture fromSynthetic( @NotNull SyntheticPdu pdu, int size ) throws Exception
+	{
+		ModuleSet resolver = new ModuleSet();
+		Asn1Factory factory = new DefaultAsn1Factory( resolver );
+		List<Module> modules = SchemaUtils.parseModules( pdu.createSchema( size ), resolver, factory );
+		for( Module module : modules )
+			module.validate();
+
+		Module module = modules.get( 0 );
+		Type type = module.getTypeResolver().getType( pdu.getTypeName( size ) );
+		if( type == null )
+			throw new IllegalStateException( "Unable to find type: " + pdu.getTypeName( size ) );
+
+		Value value = type.optimize( type.getScope( module.createScope() ), pdu.createValue( factory.values(), size ) );
+		return new CodecFixture( factory, module, Collections.singletonList( type ), Collections.singletonList( value ) );
+	}
+}
@@ -0,0 +1,76 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Access to corpora of integration tests, stored in 'asn1s/tests/a' resource folder.
+ * Every corpus folder contains 'schema.asn' and 'pdu.asn' files.
+ */
+final class Corpus
+{
+	private static final String RESOURCE_FOLDER = "/asn1s/tests/a/";
+
+	private Corpus()
+	{
+	}
+
+	static String getSchema( @NotNull String corpus )
+	{
+		return getResourceAsString( corpus, "schema.asn" );
+	}
+
+	static String getPdu( @NotNull String corpus )
+	{
+		return getResourceAsString( corpus, "pdu.asn" );
+	}
+
+	private static String getResourceAsString( String corpus, String fileName )
+	{
+		String resourceName = RESOURCE_FOLDER + corpus + '/' + fileName;
+		try( InputStream is = Corpus.class.getResourceAsStream( resourceName ) )
+		{
+			if( is == null )
+				throw new IllegalArgumentException( "Unable to locate resource: " + resourceName );
+
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while( ( read = is.read( buffer ) ) != -1 )
+				os.write( buffer, 0, read );
+			return new String( os.toByteArray(), StandardCharsets.UTF_8 );
+		} catch( IOException e )
+		{
+			throw new IllegalStateException( e );
+		}
+	}
+}
@@ -0,0 +1,73 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.benchmarks;
+
+import org.asn1s.io.ber.BerRules;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link org.asn1s.io.ber.output.DefaultBerWriter} and {@link org.asn1s.io.ber.input.DefaultBerReader}
+ * over values of integration test corpora.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class CorpusCodecBenchmark
+{
+	@Param( {"bit-string", "boolean", "enumerated", "ia5-string", "instance-of", "integer", "object-identifier", "octet-string", "real", "sequence", "sequenceof", "set", "setof", "utc-time", "utf8-string"} )
+	public String corpus;
+
+	@Param( {"DER", "BER"} )
+	public BerRules rules;
+
+	private CodecFixture fixture;
+	private byte[] encoded;
+
+	@Setup
+	public void setUp() throws Exception
+	{
+		fixture = CodecFixture.fromCorpus( corpus );
+		encoded = fixture.encode( rules );
+	}
+
+	@Benchmark
+	public byte[] encode() throws Exception
+	{
+		return fixture.encode( rules );
+	}
+
+	@Benchmark
+	public void decode( Blackhole blackhole ) throws Exception
+	{
+		fixture.decode( encoded, blackhole );
+	}
+}
@@ -0,0 +1,77 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.benchmarks;
+
+import org.asn1s.api.module.Module;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.core.module.ModuleSet;
+import org.asn1s.schema.SchemaUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Module#validate()} over integration test corpora.
+ * Validation may be performed only once per module, so modules are parsed before every invocation,
+ * parsing time is not included into results.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class SchemaValidateBenchmark
+{
+	@Param( {"bit-string", "enumerated", "instance-of", "integer", "object-identifier", "real", "sequence", "sequenceof", "set", "setof"} )
+	public String corpus;
+
+	private String schema;
+	private List<Module> modules;
+
+	@Setup( Level.Trial )
+	public void setUp()
+	{
+		schema = Corpus.getSchema( corpus );
+	}
+
+	@Setup( Level.Invocation )
+	public void parseModules() throws IOException
+	{
+		ModuleSet resolver = new ModuleSet();
+		modules = SchemaUtils.parseModules( schema, resolver, new DefaultAsn1Factory( resolver ) );
+	}
+
+	@Benchmark
+	public List<Module> validate() throws Exception
+	{
+		for( Module module : modules )
+			module.validate();
+		return modules;
+	}
+}
@@ -0,0 +1,141 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.benchmarks;
+
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Generated schemas with values of scalable size
+ */
+public enum SyntheticPdu
+{
+	/**
+	 * SEQUENCE nested 'size' times: LevelN ::= SEQUENCE { value INTEGER, inner LevelN-1 }
+	 */
+	DEEP_SEQUENCE
+			{
+				@Override
+				String getTypeName( int size )
+				{
+					return "Level" + size;
+				}
+
+				@Override
+				void appendTypes( StringBuilder sb, int size )
+				{
+					sb.append( "    Level0 ::= SEQUENCE { value INTEGER }\n" );
+					for( int level = 1; level <= size; level++ )
+						sb.append( "    Level" ).append( level ).append( " ::= SEQUENCE { value INTEGER, inner Level" ).append( level - 1 ).append( " }\n" );
+				}
+
+				@Override
+				Value createValue( @NotNull ValueFactory factory, int size )
+				{
+					ValueCollection value = factory.collection( true );
+					value.addNamed( "value", factory.integer( 0 ) );
+					for( int level = 1; level <= size; level++ )
+					{
+						ValueCollection outer = factory.collection( true );
+						outer.addNamed( "value", factory.integer( level ) );
+						outer.addNamed( "inner", value );
+						value = outer;
+					}
+					return value;
+				}
+			},
+	/**
+	 * SET with 'size' INTEGER components
+	 */
+	WIDE_SET
+			{
+				@Override
+				String getTypeName( int size )
+				{
+					return "Wide";
+				}
+
+				@Override
+				void appendTypes( StringBuilder sb, int size )
+				{
+					sb.append( "    Wide ::= SET {" );
+					for( int i = 0; i < size; i++ )
+						sb.append( i == 0 ? " " : ", " ).append( "field" ).append( i ).append( " INTEGER" );
+					sb.append( " }\n" );
+				}
+
+				@Override
+				Value createValue( @NotNull ValueFactory factory, int size )
+				{
+					ValueCollection value = factory.collection( true );
+					for( int i = 0; i < size; i++ )
+						value.addNamed( "field" + i, factory.integer( i * 1000 ) );
+					return value;
+				}
+			},
+	/**
+	 * SEQUENCE OF INTEGER with 'size' elements
+	 */
+	SEQUENCE_OF
+			{
+				@Override
+				String getTypeName( int size )
+				{
+					return "Numbers";
+				}
+
+				@Override
+				void appendTypes( StringBuilder sb, int size )
+				{
+					sb.append( "    Numbers ::= SEQUENCE OF INTEGER\n" );
+				}
+
+				@Override
+				Value createValue( @NotNull ValueFactory factory, int size )
+				{
+					ValueCollection value = factory.collection( false );
+					for( int i = 0; i < size; i++ )
+						value.add( factory.integer( i ) );
+					return value;
+				}
+			};
+
+	String createSchema( int size )
+	{
+		StringBuilder sb = new StringBuilder( "Synthetic\nDEFINITIONS AUTOMATIC TAGS ::=\nBEGIN\n" );
+		appendTypes( sb, size );
+		sb.append( "END\n" );
+		return sb.toString();
+	}
+
+	abstract String getTypeName( int size );
+
+	abstract void appendTypes( StringBuilder sb, int size );
+
+	abstract Value createValue( @NotNull ValueFactory factory, int size );
+}
@@ -42,10 +42,13 @@ import org.asn1s.core.constraint.template.ComponentConstraintTemplate;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Collection;
 
-public class ComponentConstraint implements Constraint
+public class ComponentConstraint implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ComponentConstraint( @NotNull String name, @Nullable Constraint constraint, @NotNull Presence presence )
 	{
 		this.name = name;
@@ -30,6 +30,7 @@ import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.constraint.Constraint;
 import org.asn1s.api.constraint.ConstraintType;
+import org.asn1s.api.constraint.EffectiveConstraint;
 import org.asn1s.api.exception.ConstraintViolationException;
 import org.asn1s.api.exception.IllegalValueException;
 import org.asn1s.api.exception.ResolutionException;
@@ -39,12 +40,15 @@ import org.asn1s.api.value.Value;
 import org.asn1s.api.value.Value.Kind;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-public class ElementSetSpec implements Constraint
+public class ElementSetSpec implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ElementSetSpec( List<Constraint> unions )
 	{
 		this.unions = new ArrayList<>( unions );
@@ -54,6 +58,17 @@ public class ElementSetSpec implements Constraint
 
 	@Override
 	public void check( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		check( scope, valueRef, false );
+	}
+
+	@Override
+	public void checkAccepted( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		check( scope, valueRef, true );
+	}
+
+	private void check( Scope scope, Ref<Value> valueRef, boolean accepted ) throws ValidationException, ResolutionException
 	{
 		Value value = valueRef.resolve( scope );
 		ConstraintViolationException violation = null;
@@ -61,7 +76,10 @@ public class ElementSetSpec implements Constraint
 		{
 			try
 			{
-				union.check( scope, value );
+				if( accepted )
+					union.checkAccepted( scope, value );
+				else
+					union.check( scope, value );
 				// skip further checks since one of unions accepted our value
 				return;
 			} catch( ConstraintViolationException e )
@@ -108,6 +126,30 @@ public class ElementSetSpec implements Constraint
 		return maximum;
 	}
 
+	@Override
+	public void collectEffectiveConstraint( @NotNull EffectiveConstraint target )
+	{
+		if( unions.size() == 1 )
+		{
+			unions.get( 0 ).collectEffectiveConstraint( target );
+			return;
+		}
+
+		EffectiveConstraint result = null;
+		for( Constraint union : unions )
+		{
+			EffectiveConstraint alternative = target.createAlternative();
+			union.collectEffectiveConstraint( alternative );
+			if( result == null )
+				result = alternative;
+			else
+				result.unite( alternative );
+		}
+
+		if( result != null )
+			target.intersect( result );
+	}
+
 	@Override
 	public String toString()
 	{
@@ -29,6 +29,7 @@ import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.constraint.Constraint;
 import org.asn1s.api.constraint.ConstraintType;
+import org.asn1s.api.constraint.EffectiveConstraint;
 import org.asn1s.api.constraint.ElementSetSpecs;
 import org.asn1s.api.exception.ConstraintViolationException;
 import org.asn1s.api.exception.IllegalValueException;
@@ -41,10 +42,13 @@ import org.asn1s.api.value.x680.NullValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Collection;
 
-public class ElementSetSpecsImpl implements ElementSetSpecs
+public class ElementSetSpecsImpl implements ElementSetSpecs, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ElementSetSpecsImpl( @NotNull Type type, @Nullable Constraint setSpec, boolean extensible, @Nullable Constraint additionalSetSpec )
 	{
 		if( !extensible && additionalSetSpec != null )
@@ -66,11 +70,18 @@ public class ElementSetSpecsImpl implements ElementSetSpecs
 	{
 		Value value = valueRef.resolve( scope );
 		type.accept( scope, value );
+		checkAccepted( scope, value );
+	}
+
+	@Override
+	public void checkAccepted( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		Value value = valueRef.resolve( scope );
 		if( setSpec != null )
 		{
 			try
 			{
-				setSpec.check( scope, value );
+				setSpec.checkAccepted( scope, value );
 			} catch( ConstraintViolationException e )
 			{
 				if( !extensible )
@@ -82,7 +93,7 @@ public class ElementSetSpecsImpl implements ElementSetSpecs
 		{
 			try
 			{
-				additionalSetSpec.check( scope, value );
+				additionalSetSpec.checkAccepted( scope, value );
 			} catch( ConstraintViolationException ignored )
 			{
 				// nothing to do
@@ -129,6 +140,17 @@ public class ElementSetSpecsImpl implements ElementSetSpecs
 		return maximumValue;
 	}
 
+	@Override
+	public void collectEffectiveConstraint( @NotNull EffectiveConstraint target )
+	{
+		// extension additions are not PER-visible
+		if( setSpec != null )
+			setSpec.collectEffectiveConstraint( target );
+
+		if( extensible )
+			target.setExtensible( true );
+	}
+
 	@Override
 	public String toString()
 	{
@@ -30,6 +30,7 @@ import org.asn1s.api.Scope;
 import org.asn1s.api.constraint.Constraint;
 import org.asn1s.api.constraint.ConstraintType;
 import org.asn1s.api.constraint.ConstraintUtils;
+import org.asn1s.api.constraint.EffectiveConstraint;
 import org.asn1s.api.exception.ConstraintViolationException;
 import org.asn1s.api.exception.IllegalValueException;
 import org.asn1s.api.exception.ResolutionException;
@@ -40,10 +41,13 @@ import org.asn1s.api.value.Value.Kind;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Collection;
 
-public class Elements implements Constraint
+public class Elements implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public Elements( @NotNull Constraint unions, @Nullable Constraint exclusion )
 	{
 		this.unions = unions;
@@ -61,6 +65,14 @@ public class Elements implements Constraint
 			throw new ConstraintViolationException( "Value must not be in set: " + exclusion );
 	}
 
+	@Override
+	public void checkAccepted( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		unions.checkAccepted( scope, valueRef );
+		if( exclusion != null && ConstraintUtils.isConstraintSucceeds( exclusion, scope, valueRef ) )
+			throw new ConstraintViolationException( "Value must not be in set: " + exclusion );
+	}
+
 	@NotNull
 	@Override
 	public Constraint copyForType( @NotNull Scope scope, @NotNull Type type ) throws ResolutionException, ValidationException
@@ -86,6 +98,14 @@ public class Elements implements Constraint
 		return value;
 	}
 
+	@Override
+	public void collectEffectiveConstraint( @NotNull EffectiveConstraint target )
+	{
+		// constraints with exclusions are not PER-visible
+		if( exclusion == null )
+			unions.collectEffectiveConstraint( target );
+	}
+
 	@Override
 	public String toString()
 	{
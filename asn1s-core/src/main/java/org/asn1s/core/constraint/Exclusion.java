@@ -39,10 +39,13 @@ import org.asn1s.api.value.Value;
 import org.asn1s.api.value.Value.Kind;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Collection;
 
-public class Exclusion implements Constraint
+public class Exclusion implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public Exclusion( Constraint constraint )
 	{
 		this.constraint = constraint;
@@ -40,11 +40,14 @@ import org.asn1s.api.value.x680.NamedValue;
 import org.asn1s.core.constraint.template.InnerTypeConstraintTemplate;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
 
-public class InnerTypeConstraint implements Constraint
+public class InnerTypeConstraint implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public InnerTypeConstraint( Type type, Constraint constraint )
 	{
 		this.type = type;
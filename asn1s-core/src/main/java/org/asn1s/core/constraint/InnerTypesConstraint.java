@@ -44,13 +44,16 @@ import org.asn1s.api.value.x680.ValueCollection;
 import org.asn1s.core.constraint.template.InnerTypesConstraintTemplate;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 
-public class InnerTypesConstraint implements Constraint
+public class InnerTypesConstraint implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public InnerTypesConstraint( @NotNull Type type, @NotNull List<Constraint> constraints, boolean partial )
 	{
 		this.type = type;
@@ -46,12 +46,15 @@ import org.asn1s.api.value.x681.ObjectValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
-public class InstanceOfConstraint implements Constraint, InstanceOfTypeSelector
+public class InstanceOfConstraint implements Constraint, InstanceOfTypeSelector, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public InstanceOfConstraint( List<ObjectValue> objects )
 	{
 		//noinspection AssignmentToCollectionOrArrayFieldFromParameter
@@ -39,11 +39,14 @@ import org.asn1s.api.value.Value.Kind;
 import org.asn1s.core.constraint.template.PatternConstraintTemplate;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.regex.Pattern;
 
-public class PatternConstraint implements Constraint
+public class PatternConstraint implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public PatternConstraint( Type type, Pattern pattern )
 	{
 		this.type = type;
@@ -58,14 +61,19 @@ public class PatternConstraint implements Constraint
 	{
 		Value value = valueRef.resolve( scope );
 		type.accept( scope, value );
+		checkAccepted( scope, value );
+	}
 
-		Value actual = RefUtils.toBasicValue( scope, value );
+	@Override
+	public void checkAccepted( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		Value actual = RefUtils.toBasicValue( scope, valueRef );
 
 		if( actual.getKind() != Kind.C_STRING )
 			throw new IllegalStateException();
 
 		if( !pattern.matcher( actual.toStringValue().asString() ).matches() )
-			throw new ConstraintViolationException( "Pattern check failed for: " + value );
+			throw new ConstraintViolationException( "Pattern check failed for: " + valueRef );
 	}
 
 	@NotNull
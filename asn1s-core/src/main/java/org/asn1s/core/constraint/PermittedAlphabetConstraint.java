@@ -29,6 +29,7 @@ import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.constraint.Constraint;
 import org.asn1s.api.constraint.ConstraintType;
+import org.asn1s.api.constraint.EffectiveConstraint;
 import org.asn1s.api.exception.ConstraintViolationException;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.exception.ValidationException;
@@ -38,19 +39,32 @@ import org.asn1s.api.value.Value.Kind;
 import org.asn1s.api.value.x680.StringValue;
 import org.asn1s.core.constraint.template.PermittedAlphabetConstraintTemplate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
+import java.util.BitSet;
 import java.util.Collection;
 
-public class PermittedAlphabetConstraint implements Constraint
+/**
+ * X.680, p 51.7
+ * The alphabet is compiled into set of permitted characters when constraint is created, so checking the value
+ * does not require calling inner constraint for every character.
+ * Alphabets that can not be compiled (extensible ones or with exclusions) are checked character by character.
+ */
+public class PermittedAlphabetConstraint implements Constraint, Serializable
 {
-	public PermittedAlphabetConstraint( Type type, Constraint constraint )
+	private static final long serialVersionUID = 1L;
+
+	public PermittedAlphabetConstraint( Scope scope, Type type, Constraint constraint ) throws ResolutionException, ValidationException
 	{
 		this.type = type;
 		this.constraint = constraint;
+		alphabet = compileAlphabet( scope, constraint );
 	}
 
 	private final Type type;
 	private final Constraint constraint;
+	private final BitSet alphabet;
 
 
 	@Override
@@ -58,17 +72,31 @@ public class PermittedAlphabetConstraint implements Constraint
 	{
 		Value value = valueRef.resolve( scope );
 		type.accept( scope, value );
+		checkAccepted( scope, value );
+	}
 
+	@Override
+	public void checkAccepted( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		Value value = valueRef.resolve( scope );
 		assert value.getKind() == Kind.C_STRING;
 		String s = value.toStringValue().asString();
+		int length = s.length();
+		if( alphabet != null )
+		{
+			for( int i = 0; i < length; i++ )
+				if( !alphabet.get( s.charAt( i ) ) )
+					throw new ConstraintViolationException( "Value has illegal characters: " + s );
+			return;
+		}
+
 		InternalStringValue temp = new InternalStringValue();
 		try
 		{
-			int length = s.length();
 			for( int i = 0; i < length; i++ )
 			{
 				temp.setValue( String.valueOf( s.charAt( i ) ) );
-				constraint.check( scope, temp );
+				constraint.checkAccepted( scope, temp );
 			}
 		} catch( ConstraintViolationException e )
 		{
@@ -81,7 +109,43 @@ public class PermittedAlphabetConstraint implements Constraint
 	public Constraint copyForType( @NotNull Scope scope, @NotNull Type type ) throws ResolutionException, ValidationException
 	{
 		PermittedAlphabetConstraintTemplate.assertType( type );
-		return new PermittedAlphabetConstraint( type, constraint.copyForType( scope, type ) );
+		return new PermittedAlphabetConstraint( scope, type, constraint.copyForType( scope, type ) );
+	}
+
+	/**
+	 * Effective alphabet contains every character accepted by constraint, but it may contain more, since
+	 * parts that are not PER-visible are not collected. Every character of it is checked once to get exact set.
+	 *
+	 * @param scope      the scope
+	 * @param constraint the alphabet constraint
+	 * @return set of permitted characters or null if alphabet can not be compiled
+	 * @throws ResolutionException if constraint fails to resolve
+	 * @throws ValidationException if constraint fails to check value
+	 */
+	@Nullable
+	private static BitSet compileAlphabet( Scope scope, Constraint constraint ) throws ResolutionException, ValidationException
+	{
+		EffectiveConstraint effective = new EffectiveConstraint();
+		constraint.collectEffectiveConstraint( effective.alphabet() );
+		BitSet candidates = effective.getPermittedAlphabet();
+		if( candidates == null )
+			return null;
+
+		BitSet permitted = new BitSet( candidates.length() );
+		InternalStringValue temp = new InternalStringValue();
+		for( int c = candidates.nextSetBit( 0 ); c >= 0; c = candidates.nextSetBit( c + 1 ) )
+		{
+			temp.setValue( String.valueOf( (char)c ) );
+			try
+			{
+				constraint.checkAccepted( scope, temp );
+				permitted.set( c );
+			} catch( ConstraintViolationException ignored )
+			{
+				// character is not permitted
+			}
+		}
+		return permitted;
 	}
 
 	@Override
@@ -90,6 +154,12 @@ public class PermittedAlphabetConstraint implements Constraint
 		return "FROM " + constraint;
 	}
 
+	@Override
+	public void collectEffectiveConstraint( @NotNull EffectiveConstraint target )
+	{
+		constraint.collectEffectiveConstraint( target.alphabet() );
+	}
+
 	@Override
 	public void assertConstraintTypes( Collection<ConstraintType> allowedTypes ) throws ValidationException
 	{
@@ -99,6 +169,8 @@ public class PermittedAlphabetConstraint implements Constraint
 
 	private static final class InternalStringValue implements StringValue
 	{
+		private static final long serialVersionUID = 1L;
+
 		private String value;
 
 		public String getValue()
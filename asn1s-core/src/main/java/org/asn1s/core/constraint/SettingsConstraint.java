@@ -38,11 +38,14 @@ import org.asn1s.core.constraint.template.SettingsConstraintTemplate.BasicType;
 import org.asn1s.core.constraint.template.SettingsConstraintTemplate.Setting;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Map;
 
-public class SettingsConstraint implements Constraint
+public class SettingsConstraint implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public SettingsConstraint( @NotNull Type type, @NotNull BasicType basicType, @NotNull Map<Setting, String> settingsMap, @NotNull String settingString )
 	{
 		this.type = type;
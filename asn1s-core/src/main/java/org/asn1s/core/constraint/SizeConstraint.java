@@ -31,6 +31,7 @@ import org.asn1s.api.UniversalType;
 import org.asn1s.api.constraint.Constraint;
 import org.asn1s.api.constraint.ConstraintType;
 import org.asn1s.api.constraint.ConstraintUtils;
+import org.asn1s.api.constraint.EffectiveConstraint;
 import org.asn1s.api.exception.ConstraintViolationException;
 import org.asn1s.api.exception.IllegalValueException;
 import org.asn1s.api.exception.ResolutionException;
@@ -44,15 +45,23 @@ import org.asn1s.core.constraint.template.SizeConstraintTemplate;
 import org.asn1s.core.value.x680.IntegerValueInt;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.BitSet;
 import java.util.Collection;
 
 /**
  * X.680, p 51.5
+ * Sizes below {@link #SIZE_TABLE_LIMIT} are compiled into table of permitted sizes when constraint is created,
+ * larger sizes are checked by inner constraint, unless the table covers every permitted size.
  */
-public class SizeConstraint implements Constraint
+public class SizeConstraint implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
 
-	public SizeConstraint( Type type, Constraint constraint, int minimumValue )
+	private static final int SIZE_TABLE_LIMIT = 256;
+
+	public SizeConstraint( Scope scope, Type type, Constraint constraint, int minimumValue ) throws ResolutionException, ValidationException
 	{
 		if( minimumValue < 0 )
 			throw new IllegalArgumentException( "Parameter 'minimumValue' can not be negative" );
@@ -60,18 +69,34 @@ public class SizeConstraint implements Constraint
 		this.type = type;
 		this.constraint = constraint;
 		this.minimumValue = minimumValue;
+
+		EffectiveConstraint effective = new EffectiveConstraint();
+		constraint.collectEffectiveConstraint( effective );
+		BigInteger upperBound = effective.isExtensible() ? null : effective.getUpperBound();
+		tableComplete = upperBound != null && upperBound.compareTo( BigInteger.valueOf( SIZE_TABLE_LIMIT ) ) < 0;
+		tableSize = tableComplete ? Math.max( 0, upperBound.intValue() + 1 ) : SIZE_TABLE_LIMIT;
+		permittedSizes = compileSizes( scope, constraint, tableSize );
 	}
 
 	private final Type type;
 	private final Constraint constraint;
 	private final int minimumValue;
+	private final BitSet permittedSizes;
+	private final int tableSize;
+	private final boolean tableComplete;
 
 	@Override
 	public void check( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
 	{
 		Value value = valueRef.resolve( scope );
 		type.accept( scope, value );
-		value = RefUtils.toBasicValue( scope, value );
+		checkAccepted( scope, value );
+	}
+
+	@Override
+	public void checkAccepted( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		Value value = RefUtils.toBasicValue( scope, valueRef );
 
 		int size = -1;
 		if( value.getKind() == Kind.COLLECTION || value.getKind() == Kind.NAMED_COLLECTION )
@@ -84,15 +109,47 @@ public class SizeConstraint implements Constraint
 		if( size == -1 )
 			throw new IllegalValueException( "Unable to get size of value: " + value );
 
-		try
+		if( size < tableSize )
 		{
-			constraint.check( scope, new IntegerValueInt( size ) );
-		} catch( ConstraintViolationException e )
+			if( !permittedSizes.get( size ) )
+				throw new ConstraintViolationException( illegalSizeMessage( size ) );
+		}
+		else if( tableComplete )
+			throw new ConstraintViolationException( illegalSizeMessage( size ) );
+		else
 		{
-			throw new ConstraintViolationException( "Value size is illegal: '" + size + "', allowed minimum is '" + minimumValue + '\'', e );
+			try
+			{
+				constraint.checkAccepted( scope, new IntegerValueInt( size ) );
+			} catch( ConstraintViolationException e )
+			{
+				throw new ConstraintViolationException( illegalSizeMessage( size ), e );
+			}
 		}
 	}
 
+	private String illegalSizeMessage( int size )
+	{
+		return "Value size is illegal: '" + size + "', allowed minimum is '" + minimumValue + '\'';
+	}
+
+	private static BitSet compileSizes( Scope scope, Constraint constraint, int tableSize ) throws ResolutionException, ValidationException
+	{
+		BitSet result = new BitSet( tableSize );
+		for( int size = 0; size < tableSize; size++ )
+		{
+			try
+			{
+				constraint.checkAccepted( scope, new IntegerValueInt( size ) );
+				result.set( size );
+			} catch( ConstraintViolationException ignored )
+			{
+				// size is not permitted
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public String toString()
 	{
@@ -107,7 +164,13 @@ public class SizeConstraint implements Constraint
 			throw new ValidationException( "Type is not allowed for Size constraint: " + type );
 
 		Type intType = UniversalType.INTEGER.ref().resolve( scope );
-		return new SizeConstraint( type, constraint.copyForType( scope, intType ), minimumValue );
+		return new SizeConstraint( scope, type, constraint.copyForType( scope, intType ), minimumValue );
+	}
+
+	@Override
+	public void collectEffectiveConstraint( @NotNull EffectiveConstraint target )
+	{
+		constraint.collectEffectiveConstraint( target.size() );
 	}
 
 	@Override
@@ -25,7 +25,6 @@
 
 package org.asn1s.core.constraint;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.constraint.Constraint;
@@ -39,20 +38,24 @@ import org.asn1s.api.type.x681.ClassFieldType;
 import org.asn1s.api.util.RefUtils;
 import org.asn1s.api.value.Value;
 import org.asn1s.api.value.Value.Kind;
-import org.asn1s.api.value.x681.ObjectValue;
+import org.asn1s.api.value.x680.NamedValue;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
-import java.util.List;
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class TableConstraint implements Constraint, InstanceOfTypeSelector
+public class TableConstraint implements Constraint, InstanceOfTypeSelector, Serializable
 {
-	private final ClassFieldType type;
+	private static final long serialVersionUID = 1L;
+
+	private final ClassFieldType<?> type;
 	private final String name;
 	private final List<Value> values;
 	private final List<RelationItem> relationItems;
+	private final Map<String, Map<Value, List<Value>>> fieldIndexMap = new ConcurrentHashMap<>();
 
-	public TableConstraint( ClassFieldType type, String name, List<Value> values, List<RelationItem> relationItems )
+	public TableConstraint( ClassFieldType<?> type, String name, List<Value> values, List<RelationItem> relationItems )
 	{
 		this.type = type;
 		this.name = name;
@@ -70,11 +73,9 @@ public class TableConstraint implements Constraint, InstanceOfTypeSelector
 		if( values.isEmpty() )
 			return;
 
-		for( Value value : values )
+		for( Value value : selectObjects( scope ) )
 		{
 			assert value.getKind() == Kind.OBJECT;
-			if( isFiltered( value.toObjectValue(), scope ) )
-				continue;
 			Ref<?> ref = value.toObjectValue().getField( name );
 			if( ref instanceof Type )
 			{
@@ -92,33 +93,45 @@ public class TableConstraint implements Constraint, InstanceOfTypeSelector
 		throw new ConstraintViolationException( "Table constraint failure for value: " + valueRef + ". Type: " + type );
 	}
 
-	private boolean isFiltered( ObjectValue value, Scope scope ) throws ValidationException
+	/**
+	 * Select objects accepted by relation items. Only value levels used by relation items are fetched, objects are found
+	 * using index by filter field, so there is no need to walk over whole object set.
+	 *
+	 * @param scope the scope
+	 * @return list of objects in order of object set
+	 * @throws ValidationException if relation items may not be applied
+	 */
+	private List<Value> selectObjects( Scope scope ) throws ValidationException
 	{
 		if( relationItems == null || relationItems.isEmpty() )
-			return false;
+			return values;
+
+		if( relationItems.size() == 1 )
+			return selectObjects( relationItems.get( 0 ), scope );
 
+		Set<Value> accepted = Collections.newSetFromMap( new IdentityHashMap<>() );
 		for( RelationItem item : relationItems )
-		{
-			if( isAcceptedByItem( item, value, scope ) )
-				return false;
-		}
+			accepted.addAll( selectObjects( item, scope ) );
 
-		return true;
+		List<Value> result = new ArrayList<>( accepted.size() );
+		for( Value value : values )
+			if( accepted.contains( value ) )
+				result.add( value );
+		return result;
 	}
 
-	private static boolean isAcceptedByItem( RelationItem item, ObjectValue value, Scope scope ) throws ValidationException
+	private List<Value> selectObjects( RelationItem item, Scope scope ) throws ValidationException
 	{
 		if( !item.getPath().isEmpty() )
 			throw new UnsupportedOperationException( "Unable to check inside custom paths, use root or level values instead." );
 
-		Pair<Type[], Value[]> levels = scope.getValueLevels();
-		Value levelValue = levels.getValue()[item.getLevel()];
-		Type levelType = levels.getKey()[item.getLevel()];
+		Value levelValue = scope.getValueLevel( item.getLevel() );
+		Type levelType = scope.getValueLevelType( item.getLevel() );
 
 		if( levelValue.getKind() != Kind.NAMED_COLLECTION )
 			throw new IllegalValueException( "Unable to fetch collection value: " + levelValue );
 
-		Value filter = levelValue.toValueCollection().getNamedValue( item.getName() );
+		NamedValue filter = levelValue.toValueCollection().getNamedValue( item.getName() );
 		if( filter == null )
 			throw new IllegalValueException( "There is no field with name: " + item.getName() );
 		Type filterType = levelType.getNamedType( item.getName() );
@@ -129,12 +142,43 @@ public class TableConstraint implements Constraint, InstanceOfTypeSelector
 			throw new ValidationException( "Unable to fetch filter type name '" + item.getName() + "' from: " + levelType );
 
 		String filterName = ( (NamedType)filterType ).getName();
+		Value filterValue = filter.getValueRef() instanceof Value ? (Value)filter.getValueRef() : filter;
+		List<Value> result = getFieldIndex( filterName ).get( filterValue );
+		return result == null ? Collections.emptyList() : result;
+	}
 
-		Ref<Value> ref = value.getField( filterName );
-		if( !( ref instanceof Value ) )
-			throw new ValidationException( "Not an value ref: " + ref );
+	private Map<Value, List<Value>> getFieldIndex( String fieldName ) throws ValidationException
+	{
+		Map<Value, List<Value>> index = fieldIndexMap.get( fieldName );
+		if( index == null )
+		{
+			index = buildFieldIndex( fieldName );
+			fieldIndexMap.putIfAbsent( fieldName, index );
+		}
+		return index;
+	}
+
+	/**
+	 * Index objects by field value. Values are ordered by {@link Value#compareTo(Object)}, since this is
+	 * the way they are checked for equality, while hash codes of equal values may differ for different implementations.
+	 *
+	 * @param fieldName the field name
+	 * @return index
+	 * @throws ValidationException if field of any object is not a value
+	 */
+	private Map<Value, List<Value>> buildFieldIndex( String fieldName ) throws ValidationException
+	{
+		Map<Value, List<Value>> index = new TreeMap<>();
+		for( Value value : values )
+		{
+			assert value.getKind() == Kind.OBJECT;
+			Ref<Value> ref = value.toObjectValue().getField( fieldName );
+			if( !( ref instanceof Value ) )
+				throw new ValidationException( "Not an value ref: " + ref );
 
-		return filter.isEqualTo( (Value)ref );
+			index.computeIfAbsent( (Value)ref, key -> new ArrayList<>() ).add( value );
+		}
+		return index;
 	}
 
 	@NotNull
@@ -154,11 +198,18 @@ public class TableConstraint implements Constraint, InstanceOfTypeSelector
 	@Override
 	public Type resolveInstanceOfType( @NotNull Scope scope ) throws ResolutionException
 	{
-		for( Value value : values )
+		List<Value> objects;
+		try
+		{
+			objects = selectObjects( scope );
+		} catch( ValidationException e )
+		{
+			throw new ResolutionException( e );
+		}
+
+		for( Value value : objects )
 		{
 			assert value.getKind() == Kind.OBJECT;
-			if( isFilteredOrResolutionException( value.toObjectValue(), scope ) )
-				continue;
 			Ref<Type> ref = value.toObjectValue().getField( name );
 			if( ref instanceof Type )
 				return (Type)ref;
@@ -166,17 +217,6 @@ public class TableConstraint implements Constraint, InstanceOfTypeSelector
 		throw new ResolutionException( "Unable to resolve type" );
 	}
 
-	private boolean isFilteredOrResolutionException( ObjectValue objectValue, Scope scope ) throws ResolutionException
-	{
-		try
-		{
-			return isFiltered( objectValue, scope );
-		} catch( ValidationException e )
-		{
-			throw new ResolutionException( e );
-		}
-	}
-
 	@Override
 	public void setScopeOptions( Scope scope )
 	{
@@ -30,18 +30,22 @@ import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.constraint.Constraint;
 import org.asn1s.api.constraint.ConstraintType;
+import org.asn1s.api.constraint.EffectiveConstraint;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.exception.ValidationException;
 import org.asn1s.api.type.Type;
 import org.asn1s.api.value.Value;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-public final class Union implements Constraint
+public final class Union implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public Union( List<Constraint> intersections )
 	{
 		this.intersections = new ArrayList<>( intersections );
@@ -56,6 +60,13 @@ public final class Union implements Constraint
 			intersection.check( scope, valueRef );
 	}
 
+	@Override
+	public void checkAccepted( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		for( Constraint intersection : intersections )
+			intersection.checkAccepted( scope, valueRef );
+	}
+
 	@NotNull
 	@Override
 	public Constraint copyForType( @NotNull Scope scope, @NotNull Type type ) throws ResolutionException, ValidationException
@@ -97,6 +108,13 @@ public final class Union implements Constraint
 		return maximum;
 	}
 
+	@Override
+	public void collectEffectiveConstraint( @NotNull EffectiveConstraint target )
+	{
+		for( Constraint intersection : intersections )
+			intersection.collectEffectiveConstraint( target );
+	}
+
 	@Override
 	public String toString()
 	{
@@ -29,6 +29,7 @@ import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.constraint.Constraint;
 import org.asn1s.api.constraint.ConstraintType;
+import org.asn1s.api.constraint.EffectiveConstraint;
 import org.asn1s.api.exception.ConstraintViolationException;
 import org.asn1s.api.exception.IllegalValueException;
 import org.asn1s.api.exception.ResolutionException;
@@ -42,13 +43,16 @@ import org.asn1s.core.constraint.template.ValueConstraintTemplate;
 import org.asn1s.core.type.x681.InstanceOfType;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Collection;
 
 /**
  * X.680, p 51.2
  */
-public class ValueConstraint implements Constraint
+public class ValueConstraint implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueConstraint( @NotNull Type type, @NotNull Value value )
 	{
 		if( type instanceof InstanceOfType )
@@ -117,6 +121,12 @@ public class ValueConstraint implements Constraint
 			throw new ValidationException( "'Value' constraint is not allowed" );
 	}
 
+	@Override
+	public void collectEffectiveConstraint( @NotNull EffectiveConstraint target )
+	{
+		target.addValue( value );
+	}
+
 	@Override
 	public void collectValues( @NotNull Collection<Value> values, @NotNull Collection<Kind> requiredKinds ) throws IllegalValueException
 	{
@@ -29,6 +29,7 @@ import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.constraint.Constraint;
 import org.asn1s.api.constraint.ConstraintType;
+import org.asn1s.api.constraint.EffectiveConstraint;
 import org.asn1s.api.exception.ConstraintViolationException;
 import org.asn1s.api.exception.IllegalValueException;
 import org.asn1s.api.exception.ResolutionException;
@@ -41,10 +42,13 @@ import org.asn1s.core.value.x680.IntegerValueInt;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Collection;
 
-public class ValueRangeConstraint implements Constraint
+public class ValueRangeConstraint implements Constraint, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Value MAX_INTEGER = new IntegerValueInt( Integer.MAX_VALUE );
 	private static final Value MIN_INTEGER = new IntegerValueInt( Integer.MIN_VALUE );
 
@@ -74,7 +78,13 @@ public class ValueRangeConstraint implements Constraint
 		{
 			throw new ConstraintViolationException( "Value is not accepted by type: " + value, e );
 		}
-		value = RefUtils.toBasicValue( scope, value );
+		checkAccepted( scope, value );
+	}
+
+	@Override
+	public void checkAccepted( Scope scope, Ref<Value> valueRef ) throws ValidationException, ResolutionException
+	{
+		Value value = RefUtils.toBasicValue( scope, valueRef );
 
 		if( min != null )
 		{
@@ -121,6 +131,12 @@ public class ValueRangeConstraint implements Constraint
 		return max == null ? MAX_INTEGER : max;
 	}
 
+	@Override
+	public void collectEffectiveConstraint( @NotNull EffectiveConstraint target )
+	{
+		target.addRange( min, minLt, max, maxGt );
+	}
+
 	@Override
 	public String toString()
 	{
@@ -41,12 +41,15 @@ import org.asn1s.core.constraint.ComponentConstraint;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 
-public class ComponentConstraintTemplate implements ConstraintTemplate
+public class ComponentConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( ComponentConstraintTemplate.class );
 
 	public ComponentConstraintTemplate( @NotNull String name, @Nullable ConstraintTemplate template, @Nullable Presence presence )
@@ -34,10 +34,14 @@ import org.asn1s.api.exception.ValidationException;
 import org.asn1s.api.type.Type;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
+
 // TODO: NOT IMPLEMENTED
 @SuppressWarnings( {"FieldCanBeLocal", "unused"} )
-public class ContainedSubtypeConstraintTemplate implements ConstraintTemplate
+public class ContainedSubtypeConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ContainedSubtypeConstraintTemplate( Ref<Type> typeRef, boolean includes )
 	{
 		this.typeRef = typeRef;
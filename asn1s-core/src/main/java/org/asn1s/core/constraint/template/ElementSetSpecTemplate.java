@@ -35,11 +35,14 @@ import org.asn1s.core.constraint.ElementSetSpec;
 import org.asn1s.core.constraint.Exclusion;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class ElementSetSpecTemplate implements ConstraintTemplate
+public class ElementSetSpecTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ElementSetSpecTemplate( @NotNull List<ConstraintTemplate> unions )
 	{
 		this.unions = new ArrayList<>( unions );
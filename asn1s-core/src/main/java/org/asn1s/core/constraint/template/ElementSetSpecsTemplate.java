@@ -35,8 +35,12 @@ import org.asn1s.core.constraint.ElementSetSpecsImpl;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class ElementSetSpecsTemplate implements ConstraintTemplate
+import java.io.Serializable;
+
+public class ElementSetSpecsTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ElementSetSpecsTemplate( @Nullable ConstraintTemplate setSpec, boolean extensible, @Nullable ConstraintTemplate additionalSetSpecs )
 	{
 		this.setSpec = setSpec;
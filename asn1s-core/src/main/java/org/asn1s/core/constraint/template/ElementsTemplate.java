@@ -35,8 +35,12 @@ import org.asn1s.core.constraint.Elements;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class ElementsTemplate implements ConstraintTemplate
+import java.io.Serializable;
+
+public class ElementsTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ElementsTemplate( @NotNull ConstraintTemplate elements, @Nullable ConstraintTemplate exclusion )
 	{
 		this.elements = elements;
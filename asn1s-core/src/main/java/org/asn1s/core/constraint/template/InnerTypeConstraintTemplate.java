@@ -36,10 +36,13 @@ import org.asn1s.api.type.Type.Family;
 import org.asn1s.core.constraint.InnerTypeConstraint;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.List;
 
-public class InnerTypeConstraintTemplate implements ConstraintTemplate
+public class InnerTypeConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public InnerTypeConstraintTemplate( ConstraintTemplate template )
 	{
 		this.template = template;
@@ -35,10 +35,13 @@ import org.asn1s.api.type.Type.Family;
 import org.asn1s.core.constraint.InnerTypesConstraint;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.*;
 
-public class InnerTypesConstraintTemplate implements ConstraintTemplate
+public class InnerTypesConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public InnerTypesConstraintTemplate( List<ConstraintTemplate> components, boolean partial )
 	{
 		this.components = new ArrayList<>( components );
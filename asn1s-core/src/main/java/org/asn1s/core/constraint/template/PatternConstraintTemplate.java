@@ -39,10 +39,13 @@ import org.asn1s.api.value.Value.Kind;
 import org.asn1s.core.constraint.PatternConstraint;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.regex.Pattern;
 
-public class PatternConstraintTemplate implements ConstraintTemplate
+public class PatternConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public PatternConstraintTemplate( @NotNull Ref<Value> valueRef )
 	{
 		this.valueRef = valueRef;
@@ -36,12 +36,15 @@ import org.asn1s.api.type.Type.Family;
 import org.asn1s.core.constraint.PermittedAlphabetConstraint;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 
-public class PermittedAlphabetConstraintTemplate implements ConstraintTemplate
+public class PermittedAlphabetConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public PermittedAlphabetConstraintTemplate( ConstraintTemplate constraintTemplate )
 	{
 		this.constraintTemplate = constraintTemplate;
@@ -54,7 +57,7 @@ public class PermittedAlphabetConstraintTemplate implements ConstraintTemplate
 	{
 		Constraint build = constraintTemplate.build( scope, type );
 		build.assertConstraintTypes( ALLOWED_SUBTYPE_CONSTRAINTS );
-		return new PermittedAlphabetConstraint( type, build );
+		return new PermittedAlphabetConstraint( scope, type, build );
 	}
 
 	public static void assertType( @NotNull Type type ) throws ValidationException
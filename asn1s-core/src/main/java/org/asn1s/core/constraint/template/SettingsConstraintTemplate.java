@@ -35,11 +35,14 @@ import org.asn1s.api.type.Type.Family;
 import org.asn1s.core.constraint.SettingsConstraint;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.regex.Pattern;
 
-public class SettingsConstraintTemplate implements ConstraintTemplate
+public class SettingsConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Pattern SETTINGS_PATTERN =
 			Pattern.compile( "^([A-Z][A-Za-z0-9\\-]+=[A-Z][A-Za-z0-9\\-]*)(\\s+[A-Z][A-Za-z0-9\\-]+=[A-Z][A-Za-z0-9\\-]*)*\\s*$" );
 
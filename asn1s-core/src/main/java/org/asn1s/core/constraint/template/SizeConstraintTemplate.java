@@ -39,12 +39,15 @@ import org.asn1s.api.value.Value.Kind;
 import org.asn1s.core.constraint.SizeConstraint;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 
-public class SizeConstraintTemplate implements ConstraintTemplate
+public class SizeConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public SizeConstraintTemplate( ConstraintTemplate template )
 	{
 		this.template = template;
@@ -64,7 +67,7 @@ public class SizeConstraintTemplate implements ConstraintTemplate
 			if( minimumValue.getKind() != Kind.INTEGER || !minimumValue.toIntegerValue().isInt() )
 				throw new ValidationException( "Minimum value is not an integer: " + minimumValue );
 
-			return new SizeConstraint( type, constraint, minimumValue.toIntegerValue().asInt() );
+			return new SizeConstraint( scope, type, constraint, minimumValue.toIntegerValue().asInt() );
 		}
 		throw new ValidationException( "Type is not allowed: " + type );
 	}
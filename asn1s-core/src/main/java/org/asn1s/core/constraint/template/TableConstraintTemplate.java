@@ -46,13 +46,16 @@ import org.asn1s.core.type.x681.InstanceOfType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
-public class TableConstraintTemplate implements ConstraintTemplate
+public class TableConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final List<Kind> REQUIRED_KINDS = Collections.singletonList( Kind.OBJECT );
 	@NotNull
 	private final Ref<Type> objectSet;
@@ -114,6 +117,6 @@ public class TableConstraintTemplate implements ConstraintTemplate
 		resolve.asElementSetSpecs().collectValues( values, REQUIRED_KINDS );
 
 		String name = type.getName();
-		return new TableConstraint( (ClassFieldType)type, name, values, relationItems == null ? Collections.emptyList() : relationItems );
+		return new TableConstraint( (ClassFieldType<?>)type, name, values, relationItems == null ? Collections.emptyList() : relationItems );
 	}
 }
@@ -36,10 +36,13 @@ import org.asn1s.api.type.Type;
 import org.asn1s.api.type.x681.ClassFieldType;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Collections;
 
-public class TypeConstraintTemplate implements ConstraintTemplate
+public class TypeConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public TypeConstraintTemplate( Ref<Type> typeRef )
 	{
 		this.typeRef = typeRef;
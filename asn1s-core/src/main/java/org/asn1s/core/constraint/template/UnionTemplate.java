@@ -34,11 +34,14 @@ import org.asn1s.api.type.Type;
 import org.asn1s.core.constraint.Union;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class UnionTemplate implements ConstraintTemplate
+public class UnionTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public UnionTemplate( List<ConstraintTemplate> intersections )
 	{
 		this.intersections = new ArrayList<>( intersections );
@@ -37,12 +37,15 @@ import org.asn1s.api.value.Value;
 import org.asn1s.core.constraint.ValueConstraint;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 
-public class ValueConstraintTemplate implements ConstraintTemplate
+public class ValueConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueConstraintTemplate( @NotNull Ref<Value> valueRef )
 	{
 		this.valueRef = valueRef;
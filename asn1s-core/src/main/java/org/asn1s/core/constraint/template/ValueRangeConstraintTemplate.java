@@ -38,12 +38,15 @@ import org.asn1s.core.constraint.ValueRangeConstraint;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 
-public class ValueRangeConstraintTemplate implements ConstraintTemplate
+public class ValueRangeConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueRangeConstraintTemplate( @Nullable Ref<Value> minRef, boolean minLt, @Nullable Ref<Value> maxRef, boolean maxGt )
 	{
 		this.minRef = minRef;
@@ -34,8 +34,12 @@ import org.asn1s.api.exception.ValidationException;
 import org.asn1s.api.type.Type;
 import org.jetbrains.annotations.NotNull;
 
-public class ValuesFromSetConstraintTemplate implements ConstraintTemplate
+import java.io.Serializable;
+
+public class ValuesFromSetConstraintTemplate implements ConstraintTemplate, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 
 	public ValuesFromSetConstraintTemplate( Ref<Type> valueSetRef )
 	{
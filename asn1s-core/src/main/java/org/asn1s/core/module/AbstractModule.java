@@ -30,6 +30,7 @@ import org.asn1s.api.Scope;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.exception.ValidationException;
 import org.asn1s.api.module.*;
+import org.asn1s.api.util.ValidationUtils;
 import org.asn1s.core.scope.ModuleScope;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -113,13 +114,15 @@ abstract class AbstractModule implements Module
 	@Override
 	public final void validate( boolean types, boolean values ) throws ValidationException, ResolutionException
 	{
-		onValidate();
-		Scope scope = createScope();
-		if( values )
-			valueResolver.validate( scope );
-
-		if( types )
-			typeResolver.validate( scope );
+		ValidationUtils.validateExclusively( resolver, () -> {
+			onValidate();
+			Scope scope = createScope();
+			if( values )
+				valueResolver.validate( scope );
+
+			if( types )
+				typeResolver.validate( scope );
+		} );
 	}
 
 	protected abstract void onValidate();
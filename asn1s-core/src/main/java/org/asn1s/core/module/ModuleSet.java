@@ -33,10 +33,17 @@ import org.asn1s.api.module.EmptyModuleResolver;
 import org.asn1s.api.module.Module;
 import org.asn1s.api.module.ModuleReference;
 import org.asn1s.api.module.ModuleResolver;
+import org.asn1s.api.util.ValidationUtils;
 import org.asn1s.core.DefaultAsn1Factory;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 
 public class ModuleSet implements ModuleResolver, Disposable, Iterable<Module>
@@ -53,7 +60,8 @@ public class ModuleSet implements ModuleResolver, Disposable, Iterable<Module>
 	}
 
 	private final ModuleResolver resolver;
-	private final Map<String, Module> moduleMap = new HashMap<>();
+	private final Map<String, Module> moduleMap = new ConcurrentHashMap<>();
+	private final ReentrantReadWriteLock validationLock = new ReentrantReadWriteLock();
 
 	@NotNull
 	@Override
@@ -64,8 +72,8 @@ public class ModuleSet implements ModuleResolver, Disposable, Iterable<Module>
 			return module;
 
 		module = resolver.resolve( reference );
-		registerModule( module );
-		return module;
+		Module registered = moduleMap.putIfAbsent( module.getModuleName(), module );
+		return registered == null ? module : registered;
 	}
 
 	@NotNull
@@ -105,10 +113,63 @@ public class ModuleSet implements ModuleResolver, Disposable, Iterable<Module>
 		moduleMap.put( module.getModuleName(), module );
 	}
 
+	/**
+	 * Validate all modules. This call is optional: readers and writers validate types on first use,
+	 * together with their dependencies, see {@link org.asn1s.api.util.ValidationUtils}.
+	 *
+	 * @throws ValidationException if modules are not valid
+	 * @throws ResolutionException if modules contain unresolvable references
+	 */
 	public void validate() throws ValidationException, ResolutionException
 	{
-		for( Module module : moduleMap.values() )
-			module.validate();
+		ValidationUtils.validateExclusively( this, () -> {
+			for( Module module : moduleMap.values() )
+				module.validate();
+		} );
+	}
+
+	/**
+	 * Validate modules using executor. Every module is validated after modules it imports from,
+	 * modules not depending on each other are validated in parallel.
+	 * Modules importing each other are validated sequentially by single task.
+	 * First use validation of types from this set waits while modules are validated.
+	 *
+	 * @param executor the executor, usually {@link java.util.concurrent.ForkJoinPool}
+	 * @throws ValidationException if modules are not valid
+	 * @throws ResolutionException if modules contain unresolvable references
+	 */
+	public void validate( @NotNull Executor executor ) throws ValidationException, ResolutionException
+	{
+		ParallelModuleValidator.validate( moduleMap.values(), executor );
+	}
+
+	/**
+	 * Validate modules and write them as binary snapshot. Snapshot may be loaded by {@link #readSnapshot(InputStream)}
+	 * without parsing and validation, using the same version of library.
+	 * Only modules registered in this set are written, loaded set has no parent resolver.
+	 *
+	 * @param os the output stream, it is not closed by this method
+	 * @throws IOException         if snapshot can not be written
+	 * @throws ValidationException if modules are not valid
+	 * @throws ResolutionException if modules contain unresolvable references
+	 */
+	public void writeSnapshot( @NotNull OutputStream os ) throws IOException, ValidationException, ResolutionException
+	{
+		validate();
+		ModuleSnapshot.write( this, os );
+	}
+
+	/**
+	 * Read module set from snapshot created by {@link #writeSnapshot(OutputStream)}.
+	 * Modules are already validated and may be used right away.
+	 *
+	 * @param is the input stream, it is not closed by this method
+	 * @return module set
+	 * @throws IOException if snapshot is corrupted or created by other version of library
+	 */
+	public static ModuleSet readSnapshot( @NotNull InputStream is ) throws IOException
+	{
+		return ModuleSnapshot.read( is );
 	}
 
 	@Override
@@ -122,4 +183,11 @@ public class ModuleSet implements ModuleResolver, Disposable, Iterable<Module>
 	{
 		return new DefaultAsn1Factory( this );
 	}
+
+	@NotNull
+	@Override
+	public ReentrantReadWriteLock getValidationLock()
+	{
+		return validationLock;
+	}
 }
@@ -0,0 +1,506 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.core.module;
+
+import org.asn1s.api.encoding.tag.TagMethod;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.module.ModuleReference;
+import org.asn1s.api.type.DefinedType;
+import org.asn1s.api.value.DefinedValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary snapshot of validated {@link ModuleSet}: header followed by compressed serialization stream of flattened modules.
+ * Stream starts with modules, written field by field, followed by definitions of all modules one by one.
+ * Definitions are written after definitions they refer to, such references are written as explicit indexes,
+ * as well as references to modules and names of core types, so nesting of stream is limited by single definition.
+ * Only classes of this library, core java classes and collections used by the model may be read from snapshot,
+ * though snapshots still must be obtained from trusted sources only.
+ * {@link #FORMAT_VERSION} must be incremented whenever serialized form of any model class is changed.
+ */
+final class ModuleSnapshot
+{
+	static final int MAGIC = 0x41534E53;
+	static final int FORMAT_VERSION = 3;
+	private static final int CORE_MODULE_INDEX = -1;
+	private static final String[] ALLOWED_PACKAGES = {"org.asn1s.", "java.lang.", "java.math.", "java.time."};
+	/**
+	 * Collections held by model classes, locks are superclasses of ConcurrentHashMap segments
+	 */
+	private static final Collection<String> ALLOWED_CLASSES = new HashSet<>( Arrays.asList(
+			"java.util.ArrayList",
+			"java.util.Arrays$ArrayList",
+			"java.util.BitSet",
+			"java.util.Collections$EmptyList",
+			"java.util.Collections$EmptyMap",
+			"java.util.Collections$EmptySet",
+			"java.util.Collections$SingletonList",
+			"java.util.Collections$UnmodifiableCollection",
+			"java.util.Collections$UnmodifiableList",
+			"java.util.Collections$UnmodifiableMap",
+			"java.util.Collections$UnmodifiableRandomAccessList",
+			"java.util.Collections$UnmodifiableSet",
+			"java.util.EnumMap",
+			"java.util.HashMap",
+			"java.util.HashSet",
+			"java.util.LinkedHashMap",
+			"java.util.LinkedHashSet",
+			"java.util.LinkedList",
+			"java.util.TreeMap",
+			"java.util.concurrent.ConcurrentHashMap",
+			"java.util.concurrent.ConcurrentHashMap$Segment",
+			"java.util.concurrent.CopyOnWriteArrayList",
+			"java.util.concurrent.locks.AbstractOwnableSynchronizer",
+			"java.util.concurrent.locks.AbstractQueuedSynchronizer",
+			"java.util.concurrent.locks.ReentrantLock",
+			"java.util.concurrent.locks.ReentrantLock$NonfairSync",
+			"java.util.concurrent.locks.ReentrantLock$Sync"
+	) );
+
+	private ModuleSnapshot()
+	{
+	}
+
+	static void write( @NotNull ModuleSet moduleSet, @NotNull OutputStream os ) throws IOException
+	{
+		DataOutputStream dos = new DataOutputStream( os );
+		dos.writeInt( MAGIC );
+		dos.writeInt( FORMAT_VERSION );
+		dos.flush();
+
+		SnapshotIndex index = new SnapshotIndex( moduleSet );
+		List<Object> definitions = index.getDefinitionsInWriteOrder();
+		GZIPOutputStream gzip = new GZIPOutputStream( os );
+		SnapshotOutputStream oos = new SnapshotOutputStream( new BufferedOutputStream( gzip ), index, null );
+		oos.writeInt( index.modules.size() );
+		for( ModuleImpl module : index.modules )
+			writeModule( oos, module );
+
+		oos.writeInt( definitions.size() );
+		for( Object definition : definitions )
+		{
+			DefinitionRef ref = index.definitions.get( definition );
+			oos.writeInt( ref.module );
+			oos.writeInt( ref.index );
+			oos.writeDefinition( definition );
+		}
+		oos.flush();
+		gzip.finish();
+	}
+
+	private static void writeModule( ObjectOutputStream oos, ModuleImpl module ) throws IOException
+	{
+		oos.writeObject( module.getModuleReference() );
+		oos.writeObject( module.getTagMethod() );
+		oos.writeBoolean( module.isAllTypesExtensible() );
+		oos.writeObject( module.isExportAll() ? null : new ArrayList<>( module.getExports() ) );
+		writeImports( oos, ( (TypeResolverImpl)module.getTypeResolver() ).getImports() );
+		writeImports( oos, ( (ValueResolverImpl)module.getValueResolver() ).getImports() );
+		oos.writeInt( module.getTypeResolver().getTypes().size() );
+		oos.writeInt( module.getValueResolver().getValues().size() );
+	}
+
+	private static void writeImports( ObjectOutputStream oos, Map<ModuleReference, Collection<String>> imports ) throws IOException
+	{
+		oos.writeInt( imports.size() );
+		for( Map.Entry<ModuleReference, Collection<String>> entry : imports.entrySet() )
+		{
+			oos.writeObject( entry.getKey() );
+			oos.writeObject( entry.getValue() );
+		}
+	}
+
+	static ModuleSet read( @NotNull InputStream is ) throws IOException
+	{
+		DataInputStream dis = new DataInputStream( is );
+		if( dis.readInt() != MAGIC )
+			throw new StreamCorruptedException( "Not a module snapshot" );
+
+		int version = dis.readInt();
+		if( version != FORMAT_VERSION )
+			throw new InvalidClassException( "Unsupported snapshot format version: " + version );
+
+		ModuleSet moduleSet = new ModuleSet();
+		SnapshotInputStream ois = new SnapshotInputStream( new BufferedInputStream( new GZIPInputStream( is ) ) );
+		try
+		{
+			ois.readSnapshot( moduleSet );
+		} catch( ClassNotFoundException | ClassCastException e )
+		{
+			throw new InvalidClassException( "Unable to read module snapshot: " + e.getMessage() );
+		}
+		return moduleSet;
+	}
+
+	/**
+	 * Definitions of modules in snapshot and references to them
+	 */
+	private static final class SnapshotIndex
+	{
+		private SnapshotIndex( ModuleSet moduleSet ) throws NotSerializableException
+		{
+			for( Module module : moduleSet )
+			{
+				if( !( module instanceof ModuleImpl ) )
+					throw new NotSerializableException( "Unsupported module class: " + module.getClass().getName() );
+
+				moduleIndexes.put( module, new ModuleRef( modules.size() ) );
+				int index = 0;
+				for( DefinedType type : module.getTypeResolver().getTypes() )
+					definitions.put( type, new DefinitionRef( modules.size(), index++ ) );
+				for( DefinedValue value : module.getValueResolver().getValues() )
+					definitions.put( value, new DefinitionRef( modules.size(), index++ ) );
+				modules.add( (ModuleImpl)module );
+			}
+
+			moduleIndexes.put( CoreModule.getInstance(), new ModuleRef( CORE_MODULE_INDEX ) );
+			for( DefinedType type : CoreModule.getInstance().getTypeResolver().getTypes() )
+				coreTypes.put( type, new CoreTypeRef( type.getName() ) );
+		}
+
+		private final List<ModuleImpl> modules = new ArrayList<>();
+		private final Map<Object, ModuleRef> moduleIndexes = new IdentityHashMap<>();
+		private final Map<Object, DefinitionRef> definitions = new IdentityHashMap<>();
+		private final Map<Object, CoreTypeRef> coreTypes = new IdentityHashMap<>();
+
+		/**
+		 * Returns reference to module, definition or core type
+		 *
+		 * @param object the object to be written
+		 * @return reference or null if object is not a module or definition
+		 * @throws NotSerializableException if object is a module that is not part of snapshot
+		 */
+		@Nullable
+		private Serializable getReference( Object object ) throws NotSerializableException
+		{
+			if( object instanceof Module )
+			{
+				ModuleRef ref = moduleIndexes.get( object );
+				if( ref == null )
+					throw new NotSerializableException( "Module is not part of snapshot: " + ( (Module)object ).getModuleName() );
+				return ref;
+			}
+
+			DefinitionRef ref = definitions.get( object );
+			return ref == null ? coreTypes.get( object ) : ref;
+		}
+
+		/**
+		 * Returns definitions ordered so that every definition follows definitions it refers to,
+		 * unless they refer to each other. Dependencies are collected by writing every definition into discarding stream.
+		 *
+		 * @return list of definitions
+		 * @throws IOException if definition can not be serialized
+		 */
+		private List<Object> getDefinitionsInWriteOrder() throws IOException
+		{
+			Map<Object, Collection<Object>> dependencies = new IdentityHashMap<>();
+			try( SnapshotOutputStream oos = new SnapshotOutputStream( new DiscardingOutputStream(), this, dependencies ) )
+			{
+				for( Object definition : definitions.keySet() )
+				{
+					oos.writeDefinition( definition );
+					oos.reset();
+				}
+			}
+
+			List<Object> result = new ArrayList<>( definitions.size() );
+			Set<Object> visited = Collections.newSetFromMap( new IdentityHashMap<>() );
+			Deque<Object> path = new ArrayDeque<>();
+			Deque<Iterator<Object>> iterators = new ArrayDeque<>();
+			for( ModuleImpl module : modules )
+			{
+				Collection<Object> moduleDefinitions = new ArrayList<>( module.getTypeResolver().getTypes() );
+				moduleDefinitions.addAll( module.getValueResolver().getValues() );
+				for( Object definition : moduleDefinitions )
+				{
+					if( !visited.add( definition ) )
+						continue;
+
+					path.push( definition );
+					iterators.push( dependencies.get( definition ).iterator() );
+					while( !path.isEmpty() )
+					{
+						Iterator<Object> iterator = iterators.peek();
+						if( iterator.hasNext() )
+						{
+							Object dependency = iterator.next();
+							if( visited.add( dependency ) )
+							{
+								path.push( dependency );
+								iterators.push( dependencies.get( dependency ).iterator() );
+							}
+						}
+						else
+						{
+							iterators.pop();
+							result.add( path.pop() );
+						}
+					}
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Writes definitions replacing references to modules, core types and other definitions.
+	 * If dependencies are collected, every reference to other definition is replaced and recorded,
+	 * otherwise only references to definitions already written are replaced.
+	 */
+	private static final class SnapshotOutputStream extends ObjectOutputStream
+	{
+		private SnapshotOutputStream( OutputStream out, SnapshotIndex index, @Nullable Map<Object, Collection<Object>> dependencies ) throws IOException
+		{
+			super( out );
+			this.index = index;
+			this.dependencies = dependencies;
+			enableReplaceObject( true );
+		}
+
+		private final SnapshotIndex index;
+		private final Map<Object, Collection<Object>> dependencies;
+		private final Set<Object> written = Collections.newSetFromMap( new IdentityHashMap<>() );
+		private Object current;
+
+		private void writeDefinition( Object definition ) throws IOException
+		{
+			current = definition;
+			if( dependencies != null )
+				dependencies.put( definition, new ArrayList<>() );
+			writeObject( definition );
+			written.add( definition );
+		}
+
+		@Override
+		protected Object replaceObject( Object obj ) throws IOException
+		{
+			//noinspection ObjectEquality
+			if( obj == current )
+				return obj;
+
+			Serializable ref = index.getReference( obj );
+			if( ref instanceof DefinitionRef )
+			{
+				if( dependencies != null )
+					dependencies.get( current ).add( obj );
+				else if( !written.contains( obj ) )
+					return obj;
+			}
+			return ref == null ? obj : ref;
+		}
+	}
+
+	private static final class SnapshotInputStream extends ObjectInputStream
+	{
+		private SnapshotInputStream( InputStream in ) throws IOException
+		{
+			super( in );
+			enableResolveObject( true );
+		}
+
+		private ModuleImpl[] modules;
+		private Object[][] definitions;
+
+		private void readSnapshot( ModuleSet moduleSet ) throws IOException, ClassNotFoundException
+		{
+			modules = new ModuleImpl[readInt()];
+			definitions = new Object[modules.length][];
+			int[] typeCounts = new int[modules.length];
+			for( int i = 0; i < modules.length; i++ )
+			{
+				modules[i] = readModule( moduleSet );
+				typeCounts[i] = readInt();
+				definitions[i] = new Object[typeCounts[i] + readInt()];
+			}
+
+			int count = readInt();
+			for( int i = 0; i < count; i++ )
+			{
+				int module = readInt();
+				int index = readInt();
+				if( module < 0 || module >= modules.length || index < 0 || index >= definitions[module].length || definitions[module][index] != null )
+					throw new StreamCorruptedException( "Illegal definition index: " + module + ':' + index );
+
+				Object definition = readObject();
+				if( !( index < typeCounts[module] ? definition instanceof DefinedType : definition instanceof DefinedValue ) )
+					throw new StreamCorruptedException( "Illegal definition: " + definition );
+				definitions[module][index] = definition;
+			}
+
+			for( int i = 0; i < modules.length; i++ )
+			{
+				for( int j = 0; j < definitions[i].length; j++ )
+				{
+					if( definitions[i][j] == null )
+						throw new StreamCorruptedException( "Definition is missing: " + modules[i].getModuleName() + ':' + j );
+
+					if( j < typeCounts[i] )
+						modules[i].getTypeResolver().add( (DefinedType)definitions[i][j] );
+					else
+						modules[i].getValueResolver().add( (DefinedValue)definitions[i][j] );
+				}
+				moduleSet.registerModule( modules[i] );
+			}
+		}
+
+		@SuppressWarnings( "unchecked" )
+		private ModuleImpl readModule( ModuleSet moduleSet ) throws IOException, ClassNotFoundException
+		{
+			ModuleImpl module = new ModuleImpl( (ModuleReference)readObject(), moduleSet );
+			module.setTagMethod( (TagMethod)readObject() );
+			module.setAllTypesExtensible( readBoolean() );
+			module.setExports( (Collection<String>)readObject() );
+			int count = readInt();
+			for( int i = 0; i < count; i++ )
+				module.getTypeResolver().addImports( (ModuleReference)readObject(), (Collection<String>)readObject() );
+			count = readInt();
+			for( int i = 0; i < count; i++ )
+				module.getValueResolver().addImports( (ModuleReference)readObject(), (Collection<String>)readObject() );
+			return module;
+		}
+
+		@Override
+		protected Object resolveObject( Object obj ) throws IOException
+		{
+			if( obj instanceof ModuleRef )
+			{
+				int module = ( (ModuleRef)obj ).module;
+				if( module == CORE_MODULE_INDEX )
+					return CoreModule.getInstance();
+				if( module < 0 || module >= modules.length )
+					throw new InvalidObjectException( "Illegal module index: " + module );
+				return modules[module];
+			}
+
+			if( obj instanceof DefinitionRef )
+			{
+				DefinitionRef ref = (DefinitionRef)obj;
+				Object definition = ref.module >= 0 && ref.module < modules.length && ref.index >= 0 && ref.index < definitions[ref.module].length
+						? definitions[ref.module][ref.index]
+						: null;
+				if( definition == null )
+					throw new InvalidObjectException( "Definition is not read yet: " + ref.module + ':' + ref.index );
+				return definition;
+			}
+
+			if( obj instanceof CoreTypeRef )
+			{
+				String name = ( (CoreTypeRef)obj ).name;
+				DefinedType type = CoreModule.getInstance().getTypeResolver().getType( name );
+				if( type == null )
+					throw new InvalidObjectException( "There is no core type: " + name );
+				return type;
+			}
+			return obj;
+		}
+
+		@Override
+		protected Class<?> resolveClass( ObjectStreamClass desc ) throws IOException, ClassNotFoundException
+		{
+			if( !isAllowed( desc.getName() ) )
+				throw new InvalidClassException( desc.getName(), "Class is not allowed in module snapshot" );
+			return super.resolveClass( desc );
+		}
+
+		private static boolean isAllowed( String className )
+		{
+			int index = 0;
+			while( index < className.length() && className.charAt( index ) == '[' )
+				index++;
+
+			// primitive arrays
+			if( index > 0 && className.charAt( index ) != 'L' )
+				return true;
+
+			String name = index > 0 ? className.substring( index + 1, className.length() - 1 ) : className;
+			if( ALLOWED_CLASSES.contains( name ) )
+				return true;
+
+			for( String allowedPackage : ALLOWED_PACKAGES )
+				if( name.startsWith( allowedPackage ) )
+					return true;
+			return false;
+		}
+	}
+
+	private static final class DiscardingOutputStream extends OutputStream
+	{
+		@Override
+		public void write( int b )
+		{
+		}
+
+		@Override
+		public void write( @NotNull byte[] b, int off, int len )
+		{
+		}
+	}
+
+	private static final class ModuleRef implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private ModuleRef( int module )
+		{
+			this.module = module;
+		}
+
+		private final int module;
+	}
+
+	private static final class DefinitionRef implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private DefinitionRef( int module, int index )
+		{
+			this.module = module;
+			this.index = index;
+		}
+
+		private final int module;
+		private final int index;
+	}
+
+	private static final class CoreTypeRef implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private CoreTypeRef( String name )
+		{
+			this.name = name;
+		}
+
+		private final String name;
+	}
+}
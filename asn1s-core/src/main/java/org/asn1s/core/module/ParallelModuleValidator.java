@@ -0,0 +1,206 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.core.module;
+
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.exception.ValidationException;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.module.ModuleReference;
+import org.asn1s.api.util.ValidationUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Validates modules on executor in topological order of their imports and qualified references.
+ * Modules importing each other (directly or not) are validated sequentially as single unit,
+ * other units are started as soon as all units they import from are validated.
+ */
+final class ParallelModuleValidator
+{
+	private ParallelModuleValidator( Collection<Module> modules )
+	{
+		for( Module module : modules )
+			moduleMap.put( module.getModuleName(), module );
+	}
+
+	private final Map<String, Module> moduleMap = new LinkedHashMap<>();
+	private final Map<String, Integer> indexMap = new HashMap<>();
+	private final Map<String, Integer> lowLinkMap = new HashMap<>();
+	private final Deque<Module> stack = new ArrayDeque<>();
+	private final Set<String> onStack = new HashSet<>();
+	private final List<List<Module>> units = new ArrayList<>();
+
+	static void validate( @NotNull Collection<Module> modules, @NotNull Executor executor ) throws ValidationException, ResolutionException
+	{
+		ParallelModuleValidator validator = new ParallelModuleValidator( modules );
+		validator.buildUnits();
+		validator.run( executor );
+	}
+
+	/**
+	 * Tarjan's algorithm, strongly connected components are produced in reverse topological order,
+	 * so every unit is listed after units it imports from.
+	 */
+	private void buildUnits()
+	{
+		for( Module module : moduleMap.values() )
+			if( !indexMap.containsKey( module.getModuleName() ) )
+				visit( module );
+	}
+
+	private void visit( Module module )
+	{
+		String name = module.getModuleName();
+		int index = indexMap.size();
+		indexMap.put( name, index );
+		lowLinkMap.put( name, index );
+		stack.push( module );
+		onStack.add( name );
+
+		for( Module imported : getImportedModules( module ) )
+		{
+			String importedName = imported.getModuleName();
+			if( !indexMap.containsKey( importedName ) )
+			{
+				visit( imported );
+				lowLinkMap.put( name, Math.min( lowLinkMap.get( name ), lowLinkMap.get( importedName ) ) );
+			}
+			else if( onStack.contains( importedName ) )
+				lowLinkMap.put( name, Math.min( lowLinkMap.get( name ), indexMap.get( importedName ) ) );
+		}
+
+		if( lowLinkMap.get( name ) == index )
+		{
+			List<Module> unit = new ArrayList<>();
+			Module member;
+			do
+			{
+				member = stack.pop();
+				onStack.remove( member.getModuleName() );
+				unit.add( member );
+			} while( member != module );
+			units.add( unit );
+		}
+	}
+
+	/**
+	 * Returns modules this module depends on: imported ones and ones referenced by qualified references (Module.Type),
+	 * which may be used without import.
+	 *
+	 * @param module the module
+	 * @return modules of this validator
+	 */
+	private Collection<Module> getImportedModules( Module module )
+	{
+		Collection<String> names = new LinkedHashSet<>();
+		for( ModuleReference reference : module.getTypeResolver().getImportedModules() )
+			names.add( reference.getName() );
+		names.addAll( module.getTypeResolver().getReferencedModules() );
+		names.addAll( module.getValueResolver().getReferencedModules() );
+
+		Collection<Module> result = new ArrayList<>();
+		for( String name : names )
+		{
+			Module imported = moduleMap.get( name );
+			if( imported != null && imported != module )
+				result.add( imported );
+		}
+		return result;
+	}
+
+	private void run( Executor executor ) throws ValidationException, ResolutionException
+	{
+		Map<String, CompletableFuture<Void>> futureMap = new HashMap<>();
+		List<CompletableFuture<Void>> futures = new ArrayList<>( units.size() );
+		for( List<Module> unit : units )
+		{
+			Collection<CompletableFuture<Void>> dependencies = new ArrayList<>();
+			for( Module module : unit )
+				for( Module imported : getImportedModules( module ) )
+				{
+					CompletableFuture<Void> dependency = futureMap.get( imported.getModuleName() );
+					// modules of the same unit have no future yet
+					if( dependency != null )
+						dependencies.add( dependency );
+				}
+
+			CompletableFuture<Void> future =
+					CompletableFuture.allOf( dependencies.toArray( new CompletableFuture<?>[dependencies.size()] ) )
+							.thenRunAsync( () -> validateUnit( unit ), executor );
+
+			for( Module module : unit )
+				futureMap.put( module.getModuleName(), future );
+			futures.add( future );
+		}
+
+		for( CompletableFuture<Void> future : futures )
+			await( future );
+	}
+
+	/**
+	 * Units running at the same time do not depend on each other, so they share validation lock,
+	 * first use validations wait for them.
+	 *
+	 * @param unit modules to validate
+	 */
+	private static void validateUnit( List<Module> unit )
+	{
+		try
+		{
+			ValidationUtils.validateShared( unit.get( 0 ).getModuleResolver(), () -> {
+				for( Module module : unit )
+					module.validate();
+			} );
+		} catch( ValidationException | ResolutionException e )
+		{
+			throw new CompletionException( e );
+		}
+	}
+
+	private static void await( CompletableFuture<Void> future ) throws ValidationException, ResolutionException
+	{
+		try
+		{
+			future.join();
+		} catch( CompletionException e )
+		{
+			Throwable cause = e.getCause();
+			if( cause instanceof ValidationException )
+				throw (ValidationException)cause;
+			if( cause instanceof ResolutionException )
+				throw (ResolutionException)cause;
+			if( cause instanceof RuntimeException )
+				throw (RuntimeException)cause;
+			if( cause instanceof Error )
+				throw (Error)cause;
+			throw e;
+		}
+	}
+}
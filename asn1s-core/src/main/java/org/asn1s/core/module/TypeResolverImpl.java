@@ -43,6 +43,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 final class TypeResolverImpl implements TypeResolver, Disposable
 {
@@ -54,28 +55,50 @@ final class TypeResolverImpl implements TypeResolver, Disposable
 
 	private final String ourModuleName;
 	private final ModuleResolver resolver;
+	// types in definition order, guarded by this resolver,
+	// types may be added by lazy type mapping while other threads resolve types of this module
 	private final Map<String, DefinedType> typeMap = new LinkedHashMap<>();
-	private final Map<ModuleReference, Map<String, TypeNameRef>> importedTypeMap = new HashMap<>();
-	private final Map<String, TypeNameRef> referencedTypes = new HashMap<>();
+	// imports in declaration order, module snapshots keep it
+	private final Map<ModuleReference, Map<String, TypeNameRef>> importedTypeMap = new LinkedHashMap<>();
+	// symbol name to reference, the first import of symbol wins
+	private final Map<String, TypeNameRef> importedSymbols = new HashMap<>();
+	private final Map<String, Type> resolvedImports = new ConcurrentHashMap<>();
+	private final Map<String, TypeNameRef> referencedTypes = new ConcurrentHashMap<>();
 
 	@Override
-	public void add( @NotNull DefinedType type )
+	public synchronized void add( @NotNull DefinedType type )
 	{
 		typeMap.put( type.getName(), type );
 	}
 
+	@Override
+	public synchronized void remove( @NotNull DefinedType type )
+	{
+		typeMap.remove( type.getName(), type );
+	}
+
 	@Override
 	public void addImports( @NotNull ModuleReference moduleReference, @NotNull Collection<String> symbols )
 	{
-		Map<String, TypeNameRef> typeReferenceMap = importedTypeMap.computeIfAbsent( moduleReference, e -> new HashMap<>() );
+		Map<String, TypeNameRef> typeReferenceMap = importedTypeMap.computeIfAbsent( moduleReference, e -> new LinkedHashMap<>() );
 		symbols.stream()
 				.filter( RefUtils:: isTypeRef )
 				.map( e -> new TypeNameRef( e, moduleReference.getName() ) )
-				.forEach( e -> typeReferenceMap.put( e.getName(), e ) );
+				.forEach( e -> {
+					typeReferenceMap.put( e.getName(), e );
+					importedSymbols.putIfAbsent( e.getName(), e );
+				} );
+	}
+
+	@NotNull
+	@Override
+	public Collection<ModuleReference> getImportedModules()
+	{
+		return Collections.unmodifiableSet( importedTypeMap.keySet() );
 	}
 
 	@Override
-	public DefinedType getType( @NotNull String name )
+	public synchronized DefinedType getType( @NotNull String name )
 	{
 		return typeMap.get( name );
 	}
@@ -84,28 +107,52 @@ final class TypeResolverImpl implements TypeResolver, Disposable
 	@Override
 	public Ref<Type> getTypeRef( @NotNull String ref, @Nullable String module )
 	{
-		for( Map<String, TypeNameRef> map : importedTypeMap.values() )
-			for( TypeNameRef reference : map.values() )
-				if( ref.equals( reference.getName() ) )
-					return reference;
+		TypeNameRef imported = importedSymbols.get( ref );
+		if( imported != null )
+			return imported;
 
 		String fullTypeName = module == null ? ref : module + '.' + ref;
 		return referencedTypes.computeIfAbsent( fullTypeName, e -> new TypeNameRef( new TypeName( ref, module ) ) );
 	}
 
+	/**
+	 * Returns imported symbols by modules in order of import
+	 *
+	 * @return map
+	 */
+	Map<ModuleReference, Collection<String>> getImports()
+	{
+		Map<ModuleReference, Collection<String>> result = new LinkedHashMap<>();
+		importedTypeMap.forEach( ( module, symbols ) -> result.put( module, new ArrayList<>( symbols.keySet() ) ) );
+		return result;
+	}
+
+	@NotNull
+	@Override
+	public Collection<String> getReferencedModules()
+	{
+		Collection<String> result = new HashSet<>();
+		for( TypeNameRef ref : referencedTypes.values() )
+			if( ref.getModuleName() != null && !ourModuleName.equals( ref.getModuleName() ) )
+				result.add( ref.getModuleName() );
+		return result;
+	}
+
 	@Override
 	@NotNull
-	public Collection<DefinedType> getTypes()
+	public synchronized Collection<DefinedType> getTypes()
 	{
-		return Collections.unmodifiableCollection( typeMap.values() );
+		return new ArrayList<>( typeMap.values() );
 	}
 
 	@Override
-	public void dispose()
+	public synchronized void dispose()
 	{
 		typeMap.clear();
 		referencedTypes.clear();
 		importedTypeMap.clear();
+		importedSymbols.clear();
+		resolvedImports.clear();
 	}
 
 	@Override
@@ -114,7 +161,7 @@ final class TypeResolverImpl implements TypeResolver, Disposable
 	{
 		if( typeName.getModuleName() == null || ourModuleName.equals( typeName.getModuleName() ) )
 		{
-			DefinedType type = typeMap.get( typeName.getName() );
+			DefinedType type = getType( typeName.getName() );
 			if( type != null )
 				return type;
 
@@ -131,11 +178,17 @@ final class TypeResolverImpl implements TypeResolver, Disposable
 	@NotNull
 	private Type resolveTypeByImports( @NotNull TypeName typeName ) throws ResolutionException
 	{
-		for( Map<String, TypeNameRef> map : importedTypeMap.values() )
+		String name = typeName.getName();
+		Type result = resolvedImports.get( name );
+		if( result != null )
+			return result;
+
+		TypeNameRef ref = importedSymbols.get( name );
+		if( ref != null )
 		{
-			TypeNameRef ref = map.get( typeName.getName() );
-			if( ref != null )
-				return ref.resolve( resolver.resolve( ref.getModuleName() ).createScope() );
+			result = ref.resolve( resolver.resolve( ref.getModuleName() ).createScope() );
+			resolvedImports.put( name, result );
+			return result;
 		}
 		throw new ResolutionException( "Unable to find type in imports: " + typeName );
 	}
@@ -143,7 +196,7 @@ final class TypeResolverImpl implements TypeResolver, Disposable
 	private Type resolveTypeFromModule( @NotNull TypeName typeName ) throws ResolutionException
 	{
 		ModuleReference moduleReference = new ModuleReference( typeName.getModuleName() );
-		Map<String, TypeNameRef> map = importedTypeMap.computeIfAbsent( moduleReference, e -> new HashMap<>() );
+		Map<String, TypeNameRef> map = importedTypeMap.getOrDefault( moduleReference, Collections.emptyMap() );
 		TypeNameRef ref = map.get( typeName.getName() );
 		if( ref != null )
 			return ref.resolve( resolver.resolve( typeName.getModuleName() ).createScope() );
@@ -155,7 +208,7 @@ final class TypeResolverImpl implements TypeResolver, Disposable
 
 	public void validate( Scope scope ) throws ResolutionException, ValidationException
 	{
-		for( DefinedType type : typeMap.values() )
+		for( DefinedType type : getTypes() )
 			if( !type.isAbstract() )
 				type.validate( scope );
 	}
@@ -43,6 +43,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 final class ValueResolverImpl implements ValueResolver, Disposable
 {
@@ -55,7 +56,11 @@ final class ValueResolverImpl implements ValueResolver, Disposable
 	private final String ourModuleName;
 	private final ModuleResolver resolver;
 	private final Map<String, DefinedValue> valueMap = new LinkedHashMap<>();
-	private final Map<ModuleReference, Map<String, ValueNameRef>> importedValueMap = new HashMap<>();
+	// imports in declaration order, module snapshots keep it
+	private final Map<ModuleReference, Map<String, ValueNameRef>> importedValueMap = new LinkedHashMap<>();
+	// symbol name to reference, the first import of symbol wins
+	private final Map<String, ValueNameRef> importedSymbols = new HashMap<>();
+	private final Map<String, Value> resolvedImports = new ConcurrentHashMap<>();
 	private final Map<String, ValueNameRef> referencedValues = new HashMap<>();
 
 	@Override
@@ -67,11 +72,14 @@ final class ValueResolverImpl implements ValueResolver, Disposable
 	@Override
 	public void addImports( @NotNull ModuleReference moduleReference, @NotNull Collection<String> symbols )
 	{
-		Map<String, ValueNameRef> valueReferenceMap = importedValueMap.computeIfAbsent( moduleReference, e -> new HashMap<>() );
+		Map<String, ValueNameRef> valueReferenceMap = importedValueMap.computeIfAbsent( moduleReference, e -> new LinkedHashMap<>() );
 		symbols.stream()
 				.filter( RefUtils:: isValueRef )
 				.map( e -> new ValueNameRef( e, moduleReference.getName() ) )
-				.forEach( e -> valueReferenceMap.put( e.getName(), e ) );
+				.forEach( e -> {
+					valueReferenceMap.put( e.getName(), e );
+					importedSymbols.putIfAbsent( e.getName(), e );
+				} );
 	}
 
 	@Override
@@ -85,16 +93,37 @@ final class ValueResolverImpl implements ValueResolver, Disposable
 	@NotNull
 	public Ref<Value> getValueRef( @NotNull String ref, @Nullable String module )
 	{
-		// lets check imports first
-		for( Map<String, ValueNameRef> map : importedValueMap.values() )
-			for( ValueNameRef valueReference : map.values() )
-				if( ref.equals( valueReference.getName() ) )
-					return valueReference;
+		ValueNameRef imported = importedSymbols.get( ref );
+		if( imported != null )
+			return imported;
 
 		String fullTypeName = module == null ? ref : module + '.' + ref;
 		return referencedValues.computeIfAbsent( fullTypeName, e -> new ValueNameRef( new ValueName( ref, module ) ) );
 	}
 
+	/**
+	 * Returns imported symbols by modules in order of import
+	 *
+	 * @return map
+	 */
+	Map<ModuleReference, Collection<String>> getImports()
+	{
+		Map<ModuleReference, Collection<String>> result = new LinkedHashMap<>();
+		importedValueMap.forEach( ( module, symbols ) -> result.put( module, new ArrayList<>( symbols.keySet() ) ) );
+		return result;
+	}
+
+	@NotNull
+	@Override
+	public Collection<String> getReferencedModules()
+	{
+		Collection<String> result = new HashSet<>();
+		for( ValueNameRef ref : referencedValues.values() )
+			if( ref.getModuleName() != null && !ourModuleName.equals( ref.getModuleName() ) )
+				result.add( ref.getModuleName() );
+		return result;
+	}
+
 	@NotNull
 	@Override
 	public Collection<DefinedValue> getValues()
@@ -125,11 +154,17 @@ final class ValueResolverImpl implements ValueResolver, Disposable
 	@NotNull
 	private Value resolveValueByImports( ValueName valueName ) throws ResolutionException
 	{
-		for( Map<String, ValueNameRef> map : importedValueMap.values() )
+		String name = valueName.getName();
+		Value result = resolvedImports.get( name );
+		if( result != null )
+			return result;
+
+		ValueNameRef ref = importedSymbols.get( name );
+		if( ref != null )
 		{
-			ValueNameRef ref = map.get( valueName.getName() );
-			if( ref != null )
-				return ref.resolve( resolver.resolve( ref.getModuleName() ).createScope() );
+			result = ref.resolve( resolver.resolve( ref.getModuleName() ).createScope() );
+			resolvedImports.put( name, result );
+			return result;
 		}
 		throw new ResolutionException( "Unable to resolve value: " + valueName );
 	}
@@ -137,7 +172,7 @@ final class ValueResolverImpl implements ValueResolver, Disposable
 	private Value resolveValueFromModule( ValueName valueName ) throws ResolutionException
 	{
 		ModuleReference moduleReference = new ModuleReference( valueName.getModuleName() );
-		Map<String, ValueNameRef> map = importedValueMap.computeIfAbsent( moduleReference, e -> new HashMap<>() );
+		Map<String, ValueNameRef> map = importedValueMap.getOrDefault( moduleReference, Collections.emptyMap() );
 		ValueNameRef ref = map.get( valueName.getName() );
 		if( ref != null )
 			return ref.resolve( resolver.resolve( valueName.getModuleName() ).createScope() );
@@ -152,6 +187,8 @@ final class ValueResolverImpl implements ValueResolver, Disposable
 		valueMap.clear();
 		referencedValues.clear();
 		importedValueMap.clear();
+		importedSymbols.clear();
+		resolvedImports.clear();
 	}
 
 	void validate( Scope scope ) throws ResolutionException, ValidationException
@@ -139,6 +139,47 @@ abstract class AbstractScope implements Scope
 		return ImmutablePair.of( types, values );
 	}
 
+	@Override
+	public Value getValueLevel( int level )
+	{
+		AbstractScope scope = getValueLevelScope( level );
+		return scope == null ? null : scope.getValueLevel();
+	}
+
+	@Override
+	public Type getValueLevelType( int level )
+	{
+		AbstractScope scope = getValueLevelScope( level );
+		return scope == null ? null : scope.getValueLevelOwnerType();
+	}
+
+	@Nullable
+	private AbstractScope getValueLevelScope( int level )
+	{
+		int depth = getValueLevelDepth();
+		if( level < 0 || level >= depth )
+			throw new IndexOutOfBoundsException( "No value level: " + level + ", depth: " + depth );
+		return findValueLevelScope( depth - 1 - level );
+	}
+
+	/**
+	 * Find scope holding value level, same levels as {@link #fillValueLevels(Type[], Value[], int)} would fill
+	 *
+	 * @param index the level index, counting from the innermost level
+	 * @return scope or null if level has no value
+	 */
+	@Nullable
+	AbstractScope findValueLevelScope( int index )
+	{
+		return parent instanceof AbstractScope ? ( (AbstractScope)parent ).findValueLevelScope( index ) : null;
+	}
+
+	@Nullable
+	Type getValueLevelOwnerType()
+	{
+		return null;
+	}
+
 	void fillValueLevels( Type[] types, Value[] values, int depth )
 	{
 		if( parent instanceof AbstractScope )
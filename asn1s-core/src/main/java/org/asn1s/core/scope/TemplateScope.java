@@ -119,6 +119,18 @@ final class TemplateScope extends AbstractScope
 		assert depth == 0;
 	}
 
+	@Override
+	protected AbstractScope findValueLevelScope( int index )
+	{
+		return getValueLevel() != null && type != null && index == 0 ? this : null;
+	}
+
+	@Override
+	protected Type getValueLevelOwnerType()
+	{
+		return type;
+	}
+
 	@Override
 	protected int getValueLevelDepth()
 	{
@@ -110,6 +110,25 @@ public final class TypedScope extends AbstractScope
 			super.fillValueLevels( types, values, depth );
 	}
 
+	@Override
+	protected AbstractScope findValueLevelScope( int index )
+	{
+		if( getValueLevel() != null )
+		{
+			if( index == 0 )
+				return this;
+			index--;
+		}
+
+		return type instanceof DefinedType ? null : super.findValueLevelScope( index );
+	}
+
+	@Override
+	protected Type getValueLevelOwnerType()
+	{
+		return type;
+	}
+
 	@Override
 	protected int getValueLevelDepth()
 	{
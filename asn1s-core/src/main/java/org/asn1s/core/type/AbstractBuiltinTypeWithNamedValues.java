@@ -37,6 +37,8 @@ import java.util.List;
 
 public abstract class AbstractBuiltinTypeWithNamedValues extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractBuiltinTypeWithNamedValues( @Nullable Collection<NamedValue> values )
 	{
 		this.values = values == null ? null : new ArrayList<>( values );
@@ -36,6 +36,8 @@ import java.util.Map;
 
 public abstract class AbstractNestingBuiltinType extends AbstractNestingType
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractNestingBuiltinType( Ref<Type> siblingRef )
 	{
 		super( siblingRef );
@@ -38,6 +38,8 @@ import java.util.Map;
 
 public abstract class BuiltinType extends AbstractType
 {
+	private static final long serialVersionUID = 1L;
+
 	protected BuiltinType()
 	{
 	}
@@ -39,6 +39,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class ConstrainedType extends AbstractNestingType
 {
+	private static final long serialVersionUID = 1L;
+
 	public ConstrainedType( @NotNull ConstraintTemplate constraintTemplate, @NotNull Ref<Type> reference )
 	{
 		super( reference );
@@ -62,7 +64,7 @@ public final class ConstrainedType extends AbstractNestingType
 	{
 		scope = getScope( scope );
 		getSibling().accept( scope, valueRef );
-		constraint.check( scope, valueRef );
+		constraint.checkAccepted( scope, valueRef );
 	}
 
 	@NotNull
@@ -110,6 +112,12 @@ public final class ConstrainedType extends AbstractNestingType
 		return (ElementSetSpecs)constraint;
 	}
 
+	@Override
+	public Constraint getConstraint()
+	{
+		return constraint;
+	}
+
 	@Override
 	public boolean hasConstraint()
 	{
@@ -43,6 +43,8 @@ import org.jetbrains.annotations.Nullable;
 
 public class DefinedTypeImpl extends AbstractNestingType implements DefinedType
 {
+	private static final long serialVersionUID = 1L;
+
 	public DefinedTypeImpl( @NotNull Module module, @NotNull String name, @NotNull Ref<Type> reference )
 	{
 		super( reference );
@@ -45,6 +45,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class SelectionType extends AbstractType
 {
+	private static final long serialVersionUID = 1L;
+
 	public SelectionType( @NotNull String name, Ref<Type> ref )
 	{
 		RefUtils.assertValueRef( name );
@@ -47,6 +47,8 @@ import java.util.Map;
  */
 public final class TaggedTypeImpl extends AbstractNestingType implements TaggedType
 {
+	private static final long serialVersionUID = 1L;
+
 	public TaggedTypeImpl( @NotNull IEncoding encoding, @NotNull Ref<Type> reference )
 	{
 		super( reference );
@@ -45,6 +45,8 @@ import java.util.List;
 
 public final class TemplateTypeInstance extends AbstractNestingType
 {
+	private static final long serialVersionUID = 1L;
+
 	TemplateTypeInstance( Ref<Type> ref, Collection<Ref<?>> arguments )
 	{
 		super( ref );
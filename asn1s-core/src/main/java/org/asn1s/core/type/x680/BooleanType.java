@@ -50,6 +50,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class BooleanType extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( BooleanType.class );
 
 	public BooleanType()
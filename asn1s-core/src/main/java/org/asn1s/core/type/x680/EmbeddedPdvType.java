@@ -49,6 +49,8 @@ import java.util.Collections;
  */
 public final class EmbeddedPdvType extends AbstractNestingBuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( EmbeddedPdvType.class );
 
 	public EmbeddedPdvType()
@@ -56,6 +56,8 @@ import java.util.*;
 @SuppressWarnings( "WeakerAccess" )
 public final class EnumeratedType extends BuiltinType implements Enumerated
 {
+	private static final long serialVersionUID = 1L;
+
 	public EnumeratedType()
 	{
 		this( null, null, false );
@@ -116,6 +118,26 @@ public final class EnumeratedType extends BuiltinType implements Enumerated
 		extensible = value;
 	}
 
+	@Override
+	public boolean isExtensible()
+	{
+		return extensible;
+	}
+
+	@NotNull
+	@Override
+	public List<NamedValue> getRootValues()
+	{
+		return actualEnumeration == null ? Collections.emptyList() : Collections.unmodifiableList( actualEnumeration );
+	}
+
+	@NotNull
+	@Override
+	public List<NamedValue> getAdditionalValues()
+	{
+		return actualAdditionalEnumeration == null ? Collections.emptyList() : Collections.unmodifiableList( actualAdditionalEnumeration );
+	}
+
 	@Nullable
 	public NamedValue findValue( Value integerValue )
 	{
@@ -48,6 +48,8 @@ import java.util.List;
  */
 public final class ExternalType extends AbstractNestingBuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( ExternalType.class );
 
 	public ExternalType()
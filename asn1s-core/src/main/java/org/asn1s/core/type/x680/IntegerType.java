@@ -56,6 +56,8 @@ import java.util.List;
  */
 public class IntegerType extends AbstractBuiltinTypeWithNamedValues
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( IntegerType.class );
 
 	//////////////////////////////////// Construction //////////////////////////////////////////////////////////////////
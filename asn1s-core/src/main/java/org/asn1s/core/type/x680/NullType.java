@@ -49,6 +49,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public class NullType extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( NullType.class );
 
 	public NullType()
@@ -59,6 +59,8 @@ import java.util.List;
  */
 public final class RealType extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( RealType.class );
 
 	public RealType()
@@ -49,6 +49,8 @@ import java.util.List;
 
 abstract class AbstractCollectionOfType extends BuiltinType implements CollectionOfType
 {
+	private static final long serialVersionUID = 1L;
+
 	AbstractCollectionOfType( @Nullable ComponentType sourceComponentType )
 	{
 		this.sourceComponentType = sourceComponentType;
@@ -44,6 +44,8 @@ import java.util.List;
 
 abstract class AbstractCollectionType extends BuiltinType implements CollectionType
 {
+	private static final long serialVersionUID = 1L;
+
 	AbstractCollectionType( boolean automaticTags )
 	{
 		this.automaticTags = automaticTags;
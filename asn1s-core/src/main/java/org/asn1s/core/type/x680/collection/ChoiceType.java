@@ -38,6 +38,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class ChoiceType extends AbstractCollectionType
 {
+	private static final long serialVersionUID = 1L;
+
 	public ChoiceType( boolean automaticTags )
 	{
 		super( automaticTags );
@@ -45,6 +45,8 @@ import org.jetbrains.annotations.Nullable;
  */
 final class ComponentTypeImpl extends AbstractComponentType
 {
+	private static final long serialVersionUID = 1L;
+
 	ComponentTypeImpl( int index, @NotNull String name, @NotNull Ref<Type> componentTypeRef )
 	{
 		super( index, name, componentTypeRef );
@@ -40,6 +40,8 @@ import java.util.*;
 
 final class ComponentsFromType extends AbstractType
 {
+	private static final long serialVersionUID = 1L;
+
 	ComponentsFromType( @NotNull Ref<Type> ref, Family requiredFamily )
 	{
 		this.ref = ref;
@@ -44,6 +44,8 @@ import java.util.List;
 
 public final class ExtensionAdditionGroupType extends AbstractType implements CollectionTypeExtensionGroup
 {
+	private static final long serialVersionUID = 1L;
+
 	public ExtensionAdditionGroupType( Family family )
 	{
 		this.family = family;
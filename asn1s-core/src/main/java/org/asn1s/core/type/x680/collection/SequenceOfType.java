@@ -34,6 +34,8 @@ import org.jetbrains.annotations.Nullable;
 
 public class SequenceOfType extends AbstractCollectionOfType
 {
+	private static final long serialVersionUID = 1L;
+
 	public SequenceOfType()
 	{
 		this( null );
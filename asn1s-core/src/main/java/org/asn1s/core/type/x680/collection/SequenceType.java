@@ -33,6 +33,7 @@ import org.asn1s.api.exception.IllegalValueException;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.exception.ValidationException;
 import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.TypeUtils;
 import org.asn1s.api.util.RefUtils;
 import org.asn1s.api.value.Value;
 import org.asn1s.api.value.x680.NamedValue;
@@ -45,6 +46,8 @@ import java.util.List;
 
 public class SequenceType extends AbstractCollectionType
 {
+	private static final long serialVersionUID = 1L;
+
 	public SequenceType( boolean automaticTags )
 	{
 		super( automaticTags );
@@ -239,12 +242,14 @@ public class SequenceType extends AbstractCollectionType
 	{
 
 		private final ValueCollection result;
+		private final boolean keepDefaultValues;
 		private boolean changed;
 
 		private SequenceOptimizer( Scope scope, ValueCollection collection )
 		{
 			super( scope, collection );
 			result = new ValueCollectionImpl( true );
+			keepDefaultValues = Boolean.TRUE.equals( scope.getScopeOption( TypeUtils.OPTION_KEEP_DEFAULT_VALUES ) );
 			scope.setValueLevel( result );
 		}
 
@@ -253,7 +258,7 @@ public class SequenceType extends AbstractCollectionType
 		protected void onProcessComponent( NamedValue value, ComponentType component ) throws ValidationException, ResolutionException
 		{
 			Value optimize = component.optimize( super.getScope(), value );
-			if( RefUtils.isSameAsDefaultValue( super.getScope(), component, optimize ) )
+			if( !keepDefaultValues && RefUtils.isSameAsDefaultValue( super.getScope(), component, optimize ) )
 				changed = true;
 			else
 			{
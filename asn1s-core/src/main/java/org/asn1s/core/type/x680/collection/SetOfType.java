@@ -37,6 +37,8 @@ import org.jetbrains.annotations.Nullable;
  */
 public final class SetOfType extends AbstractCollectionOfType
 {
+	private static final long serialVersionUID = 1L;
+
 	public SetOfType()
 	{
 		this( null );
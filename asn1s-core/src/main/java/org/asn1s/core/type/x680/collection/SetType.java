@@ -33,6 +33,7 @@ import org.asn1s.api.exception.IllegalValueException;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.exception.ValidationException;
 import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.TypeUtils;
 import org.asn1s.api.util.RefUtils;
 import org.asn1s.api.value.Value;
 import org.asn1s.api.value.x680.NamedValue;
@@ -49,6 +50,8 @@ import java.util.HashSet;
  */
 public final class SetType extends AbstractCollectionType
 {
+	private static final long serialVersionUID = 1L;
+
 	public SetType( boolean automatic )
 	{
 		super( automatic );
@@ -182,10 +185,12 @@ public final class SetType extends AbstractCollectionType
 	private final class SetOptimizer extends AbstractSetOperator
 	{
 		private final ValueCollection result = new ValueCollectionImpl( true );
+		private final boolean keepDefaultValues;
 
 		private SetOptimizer( Scope scope, ValueCollection collection )
 		{
 			super( scope, collection );
+			keepDefaultValues = Boolean.TRUE.equals( scope.getScopeOption( TypeUtils.OPTION_KEEP_DEFAULT_VALUES ) );
 			scope.setValueLevel( result );
 		}
 
@@ -193,7 +198,7 @@ public final class SetType extends AbstractCollectionType
 		protected void onComponentValueProcessing( Ref<Value> value, ComponentType component ) throws ResolutionException, ValidationException
 		{
 			Value optimize = component.optimize( getScope(), value );
-			if( !RefUtils.isSameAsDefaultValue( getScope(), component, optimize ) )
+			if( keepDefaultValues || !RefUtils.isSameAsDefaultValue( getScope(), component, optimize ) )
 				result.add( optimize );
 		}
 
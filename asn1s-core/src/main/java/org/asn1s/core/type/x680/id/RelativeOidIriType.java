@@ -41,6 +41,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class RelativeOidIriType extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( RelativeOidIriType.class );
 
 	public RelativeOidIriType()
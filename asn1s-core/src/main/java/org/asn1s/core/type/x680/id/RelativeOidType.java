@@ -41,6 +41,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class RelativeOidType extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( RelativeOidType.class );
 
 	public RelativeOidType()
@@ -59,6 +59,8 @@ import java.util.HashSet;
  */
 public class BitStringType extends AbstractBuiltinTypeWithNamedValues
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( BitStringType.class );
 
 	public BitStringType()
@@ -42,6 +42,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class CharacterStringType extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( CharacterStringType.class );
 
 	public CharacterStringType()
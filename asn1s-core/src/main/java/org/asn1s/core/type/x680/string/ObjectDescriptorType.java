@@ -46,6 +46,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class ObjectDescriptorType extends AbstractNestingBuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( ObjectDescriptorType.class );
 
 	public ObjectDescriptorType()
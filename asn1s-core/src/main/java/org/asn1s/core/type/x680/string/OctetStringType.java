@@ -50,6 +50,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class OctetStringType extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( OctetStringType.class );
 
 	public OctetStringType()
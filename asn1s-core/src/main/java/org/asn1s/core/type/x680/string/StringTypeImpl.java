@@ -54,6 +54,8 @@ import java.util.regex.Pattern;
  */
 public class StringTypeImpl extends BuiltinType implements StringType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( StringTypeImpl.class );
 
 	public StringTypeImpl( UniversalType type )
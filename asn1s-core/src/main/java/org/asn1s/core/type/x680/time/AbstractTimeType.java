@@ -41,6 +41,8 @@ import java.time.Instant;
 
 public abstract class AbstractTimeType extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull
 	@Override
 	public final Value optimize( @NotNull Scope scope, @NotNull Ref<Value> valueRef ) throws ResolutionException, ValidationException
@@ -54,6 +54,8 @@ import java.time.Instant;
  */
 public final class GeneralizedTimeType extends AbstractTimeType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( GeneralizedTimeType.class );
 
 	public GeneralizedTimeType()
@@ -44,6 +44,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class TimeType extends BuiltinType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( TimeType.class );
 
 	public TimeType()
@@ -53,6 +53,8 @@ import java.time.Instant;
  */
 public final class UTCTimeType extends AbstractTimeType
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final Log log = LogFactory.getLog( UTCTimeType.class );
 
 	public UTCTimeType()
@@ -47,6 +47,8 @@ import java.util.Map.Entry;
 
 public class ClassTypeImpl extends AbstractType implements ClassType
 {
+	private static final long serialVersionUID = 1L;
+
 	private final List<String> syntaxList = new ArrayList<>();
 	private final List<ClassFieldType<?>> fields = new ArrayList<>();
 
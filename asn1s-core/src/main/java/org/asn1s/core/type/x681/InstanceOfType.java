@@ -46,6 +46,8 @@ import org.jetbrains.annotations.NotNull;
 
 public class InstanceOfType extends SequenceType
 {
+	private static final long serialVersionUID = 1L;
+
 	public InstanceOfType( Ref<Type> classTypeRef )
 	{
 		super( true );
@@ -46,6 +46,8 @@ import java.util.Collections;
 
 public class TypeFieldType extends AbstractFieldTypeWithDefault<Type>
 {
+	private static final long serialVersionUID = 1L;
+
 	public TypeFieldType( @NotNull String name, boolean optional, @Nullable Ref<Type> defaultTypeRef )
 	{
 		super( name, null, optional );
@@ -31,6 +31,8 @@ import java.util.Arrays;
 
 public class TypeIdentifierClass extends ClassTypeImpl
 {
+	private static final long serialVersionUID = 1L;
+
 	public TypeIdentifierClass()
 	{
 		add( new ValueFieldType( "&id", UniversalType.OBJECT_IDENTIFIER.ref(), true, false ) );
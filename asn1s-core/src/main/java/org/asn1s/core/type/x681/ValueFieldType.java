@@ -40,6 +40,8 @@ import org.jetbrains.annotations.NotNull;
 
 public class ValueFieldType extends AbstractFieldTypeWithDefault<Value>
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueFieldType( @NotNull String name, @NotNull Ref<Type> fieldTypeRef, boolean unique, boolean optional )
 	{
 		super( name, fieldTypeRef, optional );
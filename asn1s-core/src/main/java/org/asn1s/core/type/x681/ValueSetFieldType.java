@@ -42,6 +42,8 @@ import org.jetbrains.annotations.Nullable;
 
 public class ValueSetFieldType extends AbstractFieldTypeWithDefault<Type>
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueSetFieldType( @NotNull String name, @NotNull Ref<Type> fieldTypeRef, boolean optional, @Nullable ConstraintTemplate defaultElementSetSpecs )
 	{
 		super( name, fieldTypeRef, optional );
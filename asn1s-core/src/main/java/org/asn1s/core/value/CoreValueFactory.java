@@ -44,6 +44,10 @@ import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.List;
 
+/**
+ * Default value factory. Small integer values are shared, see {@link IntegerValueCache} for configuration,
+ * BOOLEAN and NULL values are constants of {@link BooleanValue} and {@link NullValue}.
+ */
 public class CoreValueFactory implements ValueFactory
 {
 	private static final long MASK_DOUBLE_MANTISSA = 0X000FFFFFFFFFFFFFL;
@@ -55,7 +59,7 @@ public class CoreValueFactory implements ValueFactory
 	private static final String PLUS_INFINITY = "PLUS-INFINITY";
 	private static final String NOT_A_NUMBER = "NOT-A-NUMBER";
 	private static final ByteArrayValue EMPTY_ARRAY = new ByteArrayValueImpl( 0, new byte[0] );
-	private static final IntegerValue INT_ZERO = new IntegerValueInt( 0 );
+	private static final IntegerValue INT_ZERO = IntegerValueCache.forInt( 0 );
 	private static final int BYTE_MASK = 0xFF;
 	private static final long BYTE_MASK_LONG = 0xFFL;
 	private static final int MANTISSA_BIT_COUNT = 52;
@@ -278,14 +282,16 @@ public class CoreValueFactory implements ValueFactory
 	@Override
 	public IntegerValue integer( int value )
 	{
-		return new IntegerValueInt( value );
+		IntegerValue cached = IntegerValueCache.forInt( value );
+		return cached == null ? new IntegerValueInt( value ) : cached;
 	}
 
 	@NotNull
 	@Override
 	public IntegerValue integer( long value )
 	{
-		return new IntegerValueLong( value );
+		IntegerValue cached = IntegerValueCache.forLong( value );
+		return cached == null ? new IntegerValueLong( value ) : cached;
 	}
 
 	@NotNull
@@ -339,6 +345,13 @@ public class CoreValueFactory implements ValueFactory
 		return new ByteArrayValueImpl( bits, bytes );
 	}
 
+	@NotNull
+	@Override
+	public ByteArrayValue byteArrayValue( int bits, @NotNull byte[] bytes, int offset, int length )
+	{
+		return new ByteArrayValueImpl( bits, bytes, offset, length );
+	}
+
 	@NotNull
 	@Override
 	public ByteArrayValue emptyByteArray()
@@ -367,6 +380,13 @@ public class CoreValueFactory implements ValueFactory
 		return new NonOptimizedOIDValueImpl( oidRefs );
 	}
 
+	@NotNull
+	@Override
+	public ObjectIdentifierValue objectIdentifier( @NotNull long[] arcs )
+	{
+		return new OptimizedOIDValueImpl( arcs );
+	}
+
 	/**
 	 * Create real value from components
 	 *
@@ -41,6 +41,8 @@ import org.jetbrains.annotations.Nullable;
 
 public class DefinedValueImpl extends AbstractDefinedValue
 {
+	private static final long serialVersionUID = 1L;
+
 	public DefinedValueImpl( @NotNull Module module, @NotNull String name )
 	{
 		super( module, name );
@@ -98,7 +100,7 @@ public class DefinedValueImpl extends AbstractDefinedValue
 	}
 
 	@Override
-	protected Ref<Value> getValueRef()
+	public Ref<Value> getValueRef()
 	{
 		return valueRef;
 	}
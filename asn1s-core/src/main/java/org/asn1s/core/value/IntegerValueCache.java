@@ -0,0 +1,103 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.core.value;
+
+import org.asn1s.api.value.x680.IntegerValue;
+import org.asn1s.core.value.x680.IntegerValueInt;
+import org.asn1s.core.value.x680.IntegerValueLong;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Shared instances of small integer values, like enumeration ordinals, OID arcs and lengths.
+ * Integer values are immutable, so instances are safe to share between threads and factories.
+ * Upper bound of cache may be set by system property {@value #PROPERTY_HIGH}, lower bound is always {@value #LOW}.
+ * Configured bound is clamped to {@value #MAX_HIGH}, negative values are ignored.
+ */
+final class IntegerValueCache
+{
+	static final String PROPERTY_HIGH = "org.asn1s.core.value.integerCacheHigh";
+	static final int LOW = -128;
+	static final int DEFAULT_HIGH = 1023;
+	static final int MAX_HIGH = 65535;
+	private static final Log log = LogFactory.getLog( IntegerValueCache.class );
+	static final int HIGH = toHigh( Integer.getInteger( PROPERTY_HIGH ) );
+
+	private static final IntegerValue[] INT_VALUES = new IntegerValue[HIGH - LOW + 1];
+	private static final IntegerValue[] LONG_VALUES = new IntegerValue[HIGH - LOW + 1];
+
+	static
+	{
+		for( int i = 0; i < INT_VALUES.length; i++ )
+		{
+			INT_VALUES[i] = new IntegerValueInt( i + LOW );
+			LONG_VALUES[i] = new IntegerValueLong( i + LOW );
+		}
+	}
+
+	private IntegerValueCache()
+	{
+	}
+
+	/**
+	 * Returns upper bound of cache for configured value.
+	 *
+	 * @param configured the value of {@value #PROPERTY_HIGH} property, null if not set
+	 * @return {@value #DEFAULT_HIGH} if not set or negative, configured value within [127, {@value #MAX_HIGH}] otherwise
+	 */
+	static int toHigh( @Nullable Integer configured )
+	{
+		if( configured == null )
+			return DEFAULT_HIGH;
+
+		if( configured < 0 )
+		{
+			log.warn( "Negative value of " + PROPERTY_HIGH + " ignored: " + configured );
+			return DEFAULT_HIGH;
+		}
+
+		if( configured > MAX_HIGH )
+		{
+			log.warn( "Value of " + PROPERTY_HIGH + " is too large, clamped to " + MAX_HIGH + ": " + configured );
+			return MAX_HIGH;
+		}
+
+		return Math.max( configured, -LOW - 1 );
+	}
+
+	@Nullable
+	static IntegerValue forInt( int value )
+	{
+		return value >= LOW && value <= HIGH ? INT_VALUES[value - LOW] : null;
+	}
+
+	@Nullable
+	static IntegerValue forLong( long value )
+	{
+		return value >= LOW && value <= HIGH ? LONG_VALUES[(int)value - LOW] : null;
+	}
+}
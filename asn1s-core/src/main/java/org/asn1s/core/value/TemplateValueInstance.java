@@ -36,11 +36,14 @@ import org.asn1s.core.AbstractTemplateInstantiator;
 import org.asn1s.core.CoreUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class TemplateValueInstance implements Value
+public class TemplateValueInstance implements Value, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public TemplateValueInstance( @NotNull Ref<Value> valueRef, @NotNull List<Ref<?>> arguments )
 	{
 		this.valueRef = valueRef;
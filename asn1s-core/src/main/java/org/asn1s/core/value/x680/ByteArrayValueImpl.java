@@ -31,20 +31,51 @@ import org.asn1s.api.value.Value;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Arrays;
 
-public class ByteArrayValueImpl implements ByteArrayValue
+public class ByteArrayValueImpl implements ByteArrayValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final byte[] EMPTY = new byte[0];
 
 	public ByteArrayValueImpl( int bits, @Nullable byte[] bytes )
 	{
 		this.bits = bits;
 		this.bytes = bytes == null ? EMPTY : bytes;
+		offset = 0;
+		length = this.bytes.length;
+		array = this.bytes;
+	}
+
+	/**
+	 * Create value over region of bytes without copying them.
+	 * The region is copied only if {@link #asByteArray()} is called,
+	 * so the source array must not be modified while this value is in use.
+	 *
+	 * @param bits   amount of used bits
+	 * @param bytes  the source array
+	 * @param offset region start
+	 * @param length region length
+	 */
+	public ByteArrayValueImpl( int bits, @NotNull byte[] bytes, int offset, int length )
+	{
+		if( offset < 0 || length < 0 || offset + length > bytes.length )
+			throw new IndexOutOfBoundsException( "Illegal region: offset=" + offset + ", length=" + length + ", array length=" + bytes.length );
+
+		this.bits = bits;
+		this.bytes = bytes;
+		this.offset = offset;
+		this.length = length;
+		array = offset == 0 && length == bytes.length ? bytes : null;
 	}
 
 	private final int bits;
 	private final byte[] bytes;
+	private final int offset;
+	private final int length;
+	private volatile byte[] array;
 
 	@Override
 	public int getUsedBits()
@@ -55,8 +86,14 @@ public class ByteArrayValueImpl implements ByteArrayValue
 	@Override
 	public byte[] asByteArray()
 	{
+		byte[] result = array;
+		if( result == null )
+		{
+			result = Arrays.copyOfRange( bytes, offset, offset + length );
+			array = result;
+		}
 		//noinspection ReturnOfCollectionOrArrayField
-		return bytes;
+		return result;
 	}
 
 	@Override
@@ -65,7 +102,7 @@ public class ByteArrayValueImpl implements ByteArrayValue
 		if( bits )
 			return this.bits;
 
-		return bytes.length;
+		return length;
 	}
 
 	@Override
@@ -77,7 +114,13 @@ public class ByteArrayValueImpl implements ByteArrayValue
 			ByteArrayValue other = o.toByteArrayValue();
 			if( isEmpty() && other.isEmpty() )
 				return 0;
-			return compareTo( bytes, other.asByteArray() );
+			if( other instanceof ByteArrayValueImpl )
+			{
+				ByteArrayValueImpl impl = (ByteArrayValueImpl)other;
+				return compareTo( bytes, offset, length, impl.bytes, impl.offset, impl.length );
+			}
+			byte[] otherBytes = other.asByteArray();
+			return compareTo( bytes, offset, length, otherBytes, 0, otherBytes.length );
 		}
 
 		return getKind().compareTo( o.getKind() );
@@ -89,47 +132,69 @@ public class ByteArrayValueImpl implements ByteArrayValue
 		if( this == obj ) return true;
 		if( !( obj instanceof ByteArrayValue ) ) return false;
 
-		ByteArrayValue byteArrayValue = (ByteArrayValue)obj;
+		if( obj instanceof ByteArrayValueImpl )
+		{
+			ByteArrayValueImpl other = (ByteArrayValueImpl)obj;
+			return isRegionEqual( bytes, offset, length, other.bytes, other.offset, other.length );
+		}
 
-		return Arrays.equals( asByteArray(), byteArrayValue.asByteArray() );
+		byte[] otherBytes = ( (ByteArrayValue)obj ).asByteArray();
+		return isRegionEqual( bytes, offset, length, otherBytes, 0, otherBytes.length );
 	}
 
 	@Override
 	public int hashCode()
 	{
-		return Arrays.hashCode( bytes );
+		int result = 1;
+		int end = offset + length;
+		for( int i = offset; i < end; i++ )
+			result = 31 * result + bytes[i];
+
+		return result;
 	}
 
-	private static int compareTo( byte[] left, byte[] right )
+	private static boolean isRegionEqual( byte[] left, int leftOffset, int leftLength, byte[] right, int rightOffset, int rightLength )
 	{
-		int length = Math.min( left.length, right.length );
+		if( leftLength != rightLength )
+			return false;
+
+		for( int i = 0; i < leftLength; i++ )
+			if( left[leftOffset + i] != right[rightOffset + i] )
+				return false;
+
+		return true;
+	}
+
+	private static int compareTo( byte[] left, int leftOffset, int leftLength, byte[] right, int rightOffset, int rightLength )
+	{
+		int length = Math.min( leftLength, rightLength );
 		int i;
 		for( i = 0; i < length; i++ )
 		{
-			int result = Byte.compare( left[i], right[i] );
+			int result = Byte.compare( left[leftOffset + i], right[rightOffset + i] );
 			if( result != 0 )
 				return result;
 		}
-		if( left.length == right.length )
+		if( leftLength == rightLength )
 			return 0;
 
-		if( left.length > i )
+		if( leftLength > i )
 		{
-			if( isRestZeros( left, i ) )
+			if( isRestZeros( left, leftOffset + i, leftOffset + leftLength ) )
 				return 0;
 		}
 		else
 		{
-			if( isRestZeros( right, i ) )
+			if( isRestZeros( right, rightOffset + i, rightOffset + rightLength ) )
 				return 0;
 		}
 
-		return Integer.compare( left.length, right.length );
+		return Integer.compare( leftLength, rightLength );
 	}
 
-	private static boolean isRestZeros( byte[] bytes, int position )
+	private static boolean isRestZeros( byte[] bytes, int position, int end )
 	{
-		for( int i = position; i < bytes.length; i++ )
+		for( int i = position; i < end; i++ )
 			if( bytes[i] != 0 )
 				return false;
 
@@ -139,12 +204,13 @@ public class ByteArrayValueImpl implements ByteArrayValue
 	@Override
 	public boolean isEmpty()
 	{
-		if( bytes.length == 0 )
+		if( length == 0 )
 			return true;
 
-		for( byte aByte : bytes )
+		int end = offset + length;
+		for( int i = offset; i < end; i++ )
 		{
-			if( aByte != 0 )
+			if( bytes[i] != 0 )
 				return false;
 		}
 		return true;
@@ -29,10 +29,13 @@ import org.asn1s.api.value.Value;
 import org.asn1s.api.value.x680.DateValue;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.time.Instant;
 
-public class DateValueImpl implements DateValue
+public class DateValueImpl implements DateValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public DateValueImpl( Instant value )
 	{
 		this.value = value;
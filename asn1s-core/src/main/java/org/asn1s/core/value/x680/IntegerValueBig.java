@@ -30,10 +30,13 @@ import org.asn1s.api.value.x680.IntegerValue;
 import org.asn1s.core.CoreUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.math.BigInteger;
 
-public final class IntegerValueBig implements IntegerValue
+public final class IntegerValueBig implements IntegerValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 
 	private static final int BITS_FOR_INTEGER = 32;
 	private static final int BITS_FOR_LONG = 64;
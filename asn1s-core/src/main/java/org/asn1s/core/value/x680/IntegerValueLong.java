@@ -30,10 +30,13 @@ import org.asn1s.api.value.x680.IntegerValue;
 import org.asn1s.core.CoreUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.math.BigInteger;
 
-public final class IntegerValueLong implements IntegerValue
+public final class IntegerValueLong implements IntegerValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 
 	private static final long MAX_VALUE_FOR_INT = Integer.MAX_VALUE;
 	private static final long MIN_VALUE_FOR_INT = Integer.MIN_VALUE;
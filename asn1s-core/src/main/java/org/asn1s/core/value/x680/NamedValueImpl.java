@@ -38,6 +38,8 @@ import org.jetbrains.annotations.Nullable;
 
 public class NamedValueImpl extends AbstractNestingValue implements NamedValue
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final String DUMMY = "#nameless";
 
 	public static NamedValue nameless( Value value )
@@ -32,11 +32,14 @@ import org.asn1s.api.value.x680.NamedValue;
 import org.asn1s.api.value.x680.ObjectIdentifierValue;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
-public final class NonOptimizedOIDValueImpl implements ObjectIdentifierValue
+public final class NonOptimizedOIDValueImpl implements ObjectIdentifierValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 
 	private static final String MSG_NOT_OPTIMIZED = "Not optimized";
 
@@ -37,6 +37,8 @@ import org.jetbrains.annotations.NotNull;
 
 public class OpenTypeValueImpl extends AbstractNestingValue implements OpenTypeValue
 {
+	private static final long serialVersionUID = 1L;
+
 	public OpenTypeValueImpl( @NotNull Ref<Type> typeRef, @NotNull Ref<Value> valueRef )
 	{
 		this( typeRef, valueRef, false );
@@ -25,43 +25,78 @@
 
 package org.asn1s.core.value.x680;
 
-import org.apache.commons.lang3.StringUtils;
 import org.asn1s.api.value.Value;
 import org.asn1s.api.value.x680.NamedValue;
 import org.asn1s.api.value.x680.ObjectIdentifierValue;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-public final class OptimizedOIDValueImpl implements ObjectIdentifierValue
+/**
+ * Object identifier with resolved arcs. Arcs are stored as primitive array,
+ * named values are kept only if value was created from them.
+ */
+public final class OptimizedOIDValueImpl implements ObjectIdentifierValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public OptimizedOIDValueImpl( List<NamedValue> namedValues )
+	{
+		this.namedValues = Collections.unmodifiableList( namedValues );
+		arcs = new long[namedValues.size()];
+		int i = 0;
+		for( NamedValue value : namedValues )
+		{
+			arcs[i] = value.toIntegerValue().asLong();
+			i++;
+		}
+	}
+
+	/**
+	 * Create nameless object identifier
+	 *
+	 * @param arcs the arcs, array is not copied
+	 */
+	public OptimizedOIDValueImpl( long[] arcs )
 	{
 		//noinspection AssignmentToCollectionOrArrayFieldFromParameter
-		this.namedValues = namedValues;
+		this.arcs = arcs;
+		namedValues = null;
 	}
 
+	private final long[] arcs;
 	private final List<NamedValue> namedValues;
 
 	@Override
 	public Long[] asIDArray()
 	{
-		Long[] result = new Long[namedValues.size()];
-		int i = 0;
-		for( NamedValue value : namedValues )
-		{
-			result[i] = value.toIntegerValue().asLong();
-			i++;
-		}
+		Long[] result = new Long[arcs.length];
+		for( int i = 0; i < arcs.length; i++ )
+			result[i] = arcs[i];
 		return result;
 	}
 
+	@Override
+	public long[] asArcArray()
+	{
+		//noinspection ReturnOfCollectionOrArrayField
+		return arcs;
+	}
+
 	@Override
 	public List<NamedValue> asNamedValueList()
 	{
-		return Collections.unmodifiableList( namedValues );
+		if( namedValues != null )
+			return namedValues;
+
+		List<NamedValue> result = new ArrayList<>( arcs.length );
+		for( long arc : arcs )
+			result.add( NamedValueImpl.nameless( new IntegerValueLong( arc ) ) );
+		return Collections.unmodifiableList( result );
 	}
 
 	@Override
@@ -70,26 +105,25 @@ public final class OptimizedOIDValueImpl implements ObjectIdentifierValue
 		if( this == obj ) return true;
 		if( !( obj instanceof OptimizedOIDValueImpl ) ) return false;
 
-		ObjectIdentifierValue oidValue = (ObjectIdentifierValue)obj;
-		return Arrays.equals( asIDArray(), oidValue.asIDArray() );
+		return Arrays.equals( arcs, ( (OptimizedOIDValueImpl)obj ).arcs );
 	}
 
 	@Override
 	public int hashCode()
 	{
-		return Arrays.hashCode( asIDArray() );
+		return Arrays.hashCode( arcs );
 	}
 
 	@Override
 	public int compareTo( @NotNull Value o )
 	{
 		if( o.getKind() == Kind.OID )
-			return compareArrays( asIDArray(), o.toObjectIdentifierValue().asIDArray() );
+			return compareArrays( arcs, o.toObjectIdentifierValue().asArcArray() );
 
 		return getKind().compareTo( o.getKind() );
 	}
 
-	private static int compareArrays( Long[] lhs, Long[] rhs )
+	private static int compareArrays( long[] lhs, long[] rhs )
 	{
 		int result = Integer.compare( lhs.length, rhs.length );
 		if( result != 0 )
@@ -107,7 +141,13 @@ public final class OptimizedOIDValueImpl implements ObjectIdentifierValue
 	@Override
 	public String toString()
 	{
-		return '{' + StringUtils.join( asIDArray(), " " ) + '}';
+		StringBuilder sb = new StringBuilder( "{" );
+		for( int i = 0; i < arcs.length; i++ )
+		{
+			if( i > 0 )
+				sb.append( ' ' );
+			sb.append( arcs[i] );
+		}
+		return sb.append( '}' ).toString();
 	}
-
 }
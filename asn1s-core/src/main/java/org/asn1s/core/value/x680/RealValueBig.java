@@ -31,10 +31,13 @@ import org.asn1s.api.value.x680.RealValue;
 import org.asn1s.core.CoreUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
-public class RealValueBig implements RealValue
+public class RealValueBig implements RealValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public RealValueBig( @NotNull BigDecimal value )
 	{
 		this.value = value;
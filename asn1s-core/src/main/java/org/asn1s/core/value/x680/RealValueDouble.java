@@ -32,10 +32,13 @@ import org.asn1s.api.value.x680.RealValue;
 import org.asn1s.core.CoreUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
-public final class RealValueDouble implements RealValue
+public final class RealValueDouble implements RealValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public static final RealValue INFINITY_POSITIVE = new RealValueDouble( Double.POSITIVE_INFINITY );
 	public static final RealValue INFINITY_NEGATIVE = new RealValueDouble( Double.NEGATIVE_INFINITY );
 	public static final RealValue NAN = new RealValueDouble( Double.NaN );
@@ -32,10 +32,13 @@ import org.asn1s.api.value.x680.RealValue;
 import org.asn1s.core.CoreUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
-public final class RealValueFloat implements RealValue
+public final class RealValueFloat implements RealValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public RealValueFloat( float value )
 	{
 		this.value = value;
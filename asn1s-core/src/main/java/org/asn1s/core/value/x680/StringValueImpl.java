@@ -29,8 +29,12 @@ import org.asn1s.api.value.Value;
 import org.asn1s.api.value.x680.StringValue;
 import org.jetbrains.annotations.NotNull;
 
-public final class StringValueImpl implements StringValue
+import java.io.Serializable;
+
+public final class StringValueImpl implements StringValue, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public StringValueImpl( @NotNull String value )
 	{
 		this.value = value;
@@ -33,18 +33,35 @@ import org.asn1s.api.value.x680.ValueCollection;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.*;
 
-public final class ValueCollectionImpl implements ValueCollection
+public final class ValueCollectionImpl implements ValueCollection, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public ValueCollectionImpl( boolean named )
 	{
 		this.named = named;
 		valueRefs = new ArrayList<>();
 	}
 
+	/**
+	 * Collections with more named components than this value use hash index for name lookups
+	 */
+	private static final int INDEX_THRESHOLD = 8;
+
 	private final boolean named;
 	private final List<Ref<Value>> valueRefs;
+	/**
+	 * Lazily built index of named components, first component wins for duplicate names.
+	 * Volatile, since filled collections are shared between threads and index may be built by any reader.
+	 */
+	private volatile Map<String, NamedValue> nameIndex;
+	/**
+	 * Lazily built sorted names of components, used by compareTo
+	 */
+	private volatile String[] sortedNames;
 
 	@Override
 	public void add( @NotNull Ref<Value> valueRef )
@@ -53,6 +70,8 @@ public final class ValueCollectionImpl implements ValueCollection
 			throw new IllegalArgumentException( "Must be NamedValue" );
 
 		valueRefs.add( valueRef );
+		if( named )
+			onNamedValueAdded( (NamedValue)valueRef );
 	}
 
 	@Override
@@ -61,7 +80,17 @@ public final class ValueCollectionImpl implements ValueCollection
 		if( !named )
 			throw new IllegalStateException( "Use #add when collection is not named" );
 
-		valueRefs.add( new NamedValueImpl( name, valueRef ) );
+		NamedValue value = new NamedValueImpl( name, valueRef );
+		valueRefs.add( value );
+		onNamedValueAdded( value );
+	}
+
+	private void onNamedValueAdded( NamedValue value )
+	{
+		sortedNames = null;
+		Map<String, NamedValue> index = nameIndex;
+		if( index != null )
+			index.putIfAbsent( value.getName(), value );
 	}
 
 	@NotNull
@@ -88,10 +117,7 @@ public final class ValueCollectionImpl implements ValueCollection
 	public Map<String, NamedValue> asNamedValueMap()
 	{
 		assert named;
-		Map<String, NamedValue> map = new HashMap<>();
-		for( NamedValue value : asNamedValueList() )
-			map.put( value.getName(), value );
-		return map;
+		return Collections.unmodifiableMap( getNameIndex() );
 	}
 
 	@Nullable
@@ -101,6 +127,9 @@ public final class ValueCollectionImpl implements ValueCollection
 		if( !named )
 			throw new UnsupportedOperationException();
 
+		if( nameIndex != null || valueRefs.size() > INDEX_THRESHOLD )
+			return getNameIndex().get( name );
+
 		for( Ref<Value> ref : valueRefs )
 		{
 			NamedValue value = ( (Value)ref ).toNamedValue();
@@ -110,6 +139,49 @@ public final class ValueCollectionImpl implements ValueCollection
 		return null;
 	}
 
+	private Map<String, NamedValue> getNameIndex()
+	{
+		Map<String, NamedValue> index = nameIndex;
+		if( index == null )
+		{
+			index = new HashMap<>();
+			for( Ref<Value> ref : valueRefs )
+			{
+				NamedValue value = ( (Value)ref ).toNamedValue();
+				index.putIfAbsent( value.getName(), value );
+			}
+			nameIndex = index;
+		}
+		return index;
+	}
+
+	private String[] getSortedNames()
+	{
+		String[] names = sortedNames;
+		if( names == null )
+		{
+			names = new String[valueRefs.size()];
+			for( int i = 0; i < names.length; i++ )
+				names[i] = ( (Value)valueRefs.get( i ) ).toNamedValue().getName();
+			Arrays.sort( names );
+			sortedNames = names;
+		}
+		return names;
+	}
+
+	private static String[] getSortedNames( ValueCollection collection )
+	{
+		if( collection instanceof ValueCollectionImpl )
+			return ( (ValueCollectionImpl)collection ).getSortedNames();
+
+		List<NamedValue> values = collection.asNamedValueList();
+		String[] names = new String[values.size()];
+		for( int i = 0; i < names.length; i++ )
+			names[i] = values.get( i ).getName();
+		Arrays.sort( names );
+		return names;
+	}
+
 	@Override
 	public int size()
 	{
@@ -172,45 +244,105 @@ public final class ValueCollectionImpl implements ValueCollection
 
 	private int compareNamedCollection( @NotNull ValueCollection value )
 	{
-		Map<String, NamedValue> our = asNamedValueMap();
-		Map<String, NamedValue> their = value.asNamedValueMap();
-		Collection<String> unsortedKeys = new HashSet<>();
-		unsortedKeys.addAll( our.keySet() );
-		unsortedKeys.addAll( their.keySet() );
-		List<String> keys = new ArrayList<>( unsortedKeys );
-		Collections.sort( keys );
-
-		for( String key : keys )
+		String[] our = getSortedNames();
+		String[] their = getSortedNames( value );
+		int i = 0;
+		int j = 0;
+		while( i < our.length && j < their.length )
 		{
-			NamedValue lhs = our.get( key );
-			NamedValue rhs = their.get( key );
-			if( lhs == null )
-			{
-				assert rhs != null;
-				return -1;
-			}
-			else if( rhs == null )
+			int keyResult = our[i].compareTo( their[j] );
+			if( keyResult < 0 )
 				return 1;
-			else
-			{
-				int result = lhs.compareTo( rhs );
-				if( result != 0 )
-					return result;
-			}
+
+			if( keyResult > 0 )
+				return -1;
+
+			NamedValue lhs = getNamedValue( our[i] );
+			NamedValue rhs = value.getNamedValue( their[j] );
+			assert lhs != null && rhs != null;
+			int result = lhs.compareTo( rhs );
+			if( result != 0 )
+				return result;
+
+			String key = our[i];
+			while( i < our.length && our[i].equals( key ) )
+				i++;
+			while( j < their.length && their[j].equals( key ) )
+				j++;
 		}
+
+		if( i < our.length )
+			return 1;
+
+		if( j < their.length )
+			return -1;
+
 		return 0;
 	}
 
 	@Override
 	public boolean equals( Object obj )
 	{
-		return this == obj || obj instanceof ValueCollectionImpl && toString().equals( obj.toString() );
+		if( this == obj ) return true;
+		if( !( obj instanceof ValueCollectionImpl ) ) return false;
+
+		ValueCollectionImpl other = (ValueCollectionImpl)obj;
+		if( named != other.named || valueRefs.size() != other.valueRefs.size() )
+			return false;
+
+		for( int i = 0; i < valueRefs.size(); i++ )
+			if( !isEqualComponent( valueRefs.get( i ), other.valueRefs.get( i ) ) )
+				return false;
+		return true;
 	}
 
+	/**
+	 * Components are compared logically, so values of different implementations, like int and long integers, are equal.
+	 */
+	private static boolean isEqualComponent( Ref<Value> lhs, Ref<Value> rhs )
+	{
+		if( lhs instanceof Value && rhs instanceof Value )
+			return ( (Value)lhs ).isEqualTo( (Value)rhs );
+
+		return lhs.equals( rhs );
+	}
+
+	/**
+	 * Components are hashed by value, consistently with {@link #isEqualComponent(Ref, Ref)}.
+	 */
 	@Override
 	public int hashCode()
 	{
-		return toString().hashCode();
+		int result = named ? 1 : 0;
+		for( Ref<Value> ref : valueRefs )
+			result = 31 * result + hashComponent( ref );
+		return result;
+	}
+
+	/**
+	 * Numbers are hashed by double value, since integers and reals of any implementation are compared numerically.
+	 * Named values are hashed by value only, since numbers may be equal to named values.
+	 */
+	private static int hashComponent( @Nullable Ref<Value> ref )
+	{
+		if( !( ref instanceof Value ) )
+			return Objects.hashCode( ref );
+
+		Value value = (Value)ref;
+		switch( value.getKind() )
+		{
+			case NAME:
+				return hashComponent( value.toNamedValue().getValueRef() );
+
+			case INTEGER:
+				return Double.hashCode( value.toIntegerValue().asDouble() );
+
+			case REAL:
+				return Double.hashCode( value.toRealValue().asDouble() );
+
+			default:
+				return value.hashCode();
+		}
 	}
 
 	@Override
@@ -0,0 +1,106 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.core.constraint;
+
+import org.asn1s.api.Asn1Factory;
+import org.asn1s.api.constraint.ConstraintFactory;
+import org.asn1s.api.constraint.ConstraintTemplate;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.type.DefinedType;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+@RunWith( Parameterized.class )
+public class PermittedAlphabetConstraintTest
+{
+	@Parameters( name = "{0}" )
+	public static Collection<Object[]> data()
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		ConstraintFactory constraints = factory.constraints();
+		ValueFactory values = factory.values();
+
+		ConstraintTemplate upper = constraints.permittedAlphabet( constraints.valueRange( values.cString( "A" ), false, values.cString( "Z" ), false ) );
+		ConstraintTemplate upperExceptQ = constraints.permittedAlphabet(
+				constraints.elements( constraints.valueRange( values.cString( "A" ), false, values.cString( "Z" ), false ), constraints.value( values.cString( "Q" ) ) ) );
+		ConstraintTemplate digits = constraints.permittedAlphabet( constraints.elementSetSpecs(
+				constraints.elementSetSpec( Arrays.asList( constraints.valueRange( values.cString( "0" ), false, values.cString( "9" ), true ), constraints.value( values.cString( "9" ) ) ) ),
+				false, null ) );
+		ConstraintTemplate extensible = constraints.permittedAlphabet( constraints.elementSetSpecs( constraints.value( values.cString( "A" ) ), true, null ) );
+		ConstraintTemplate size = constraints.size( constraints.valueRange( values.integer( 2 ), false, values.integer( 4 ), false ) );
+		ConstraintTemplate sizeExcept3 = constraints.size( constraints.elements( constraints.valueRange( values.integer( 2 ), false, null, false ), constraints.value( values.integer( 3 ) ) ) );
+
+		Collection<Object[]> list = new ArrayList<>();
+		list.add( new Object[]{"Success: FROM (A..Z) ABC", true, "ABC", upper} );
+		list.add( new Object[]{"Failure: FROM (A..Z) AbC", false, "AbC", upper} );
+		list.add( new Object[]{"Success: FROM (A..Z EXCEPT Q) ABC", true, "ABC", upperExceptQ} );
+		list.add( new Object[]{"Failure: FROM (A..Z EXCEPT Q) AQC", false, "AQC", upperExceptQ} );
+		list.add( new Object[]{"Success: FROM (0..<9 | 9) 0129", true, "0129", digits} );
+		list.add( new Object[]{"Failure: FROM (0..<9 | 9) 12A", false, "12A", digits} );
+		list.add( new Object[]{"Success: FROM (A, ...) XYZ", true, "XYZ", extensible} );
+		list.add( new Object[]{"Success: SIZE (2..4) ABC", true, "ABC", size} );
+		list.add( new Object[]{"Failure: SIZE (2..4) A", false, "A", size} );
+		list.add( new Object[]{"Failure: SIZE (2..4) ABCDE", false, "ABCDE", size} );
+		list.add( new Object[]{"Failure: SIZE (2..MAX EXCEPT 3) ABC", false, "ABC", sizeExcept3} );
+		list.add( new Object[]{"Success: SIZE (2..MAX EXCEPT 3) AB", true, "AB", sizeExcept3} );
+		list.add( new Object[]{"Success: SIZE (2..MAX EXCEPT 3) long", true, new String( new char[300] ).replace( '\0', 'A' ), sizeExcept3} );
+		return list;
+	}
+
+	public PermittedAlphabetConstraintTest( String title, boolean expectedResult, String value, ConstraintTemplate template )
+	{
+		this.title = title;
+		this.expectedResult = expectedResult;
+		this.value = value;
+		this.template = template;
+	}
+
+	private final String title;
+	private final boolean expectedResult;
+	private final String value;
+	private final ConstraintTemplate template;
+
+	@Test
+	public void doTest() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		DefinedType type = factory.types().define( "MyStr", factory.types().builtin( "IA5String" ), null );
+		module.validate();
+
+		boolean actual = ConstraintTestUtils.checkConstraint( template, factory.values().cString( value ), type, module.createScope() );
+		Assert.assertEquals( title + ": failed", expectedResult, actual );
+	}
+}
@@ -0,0 +1,150 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.core.constraint;
+
+import org.asn1s.api.Ref;
+import org.asn1s.api.Scope;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.exception.ConstraintViolationException;
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.type.CollectionType;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.RelationItem;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.x681.ClassFieldRef;
+import org.asn1s.api.type.x681.ClassType;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.api.value.x681.ObjectValue;
+import org.asn1s.core.module.ModuleImpl;
+import org.asn1s.core.module.ModuleSet;
+import org.asn1s.core.type.DefinedTypeImpl;
+import org.asn1s.core.type.x680.collection.SequenceType;
+import org.asn1s.core.type.x681.ClassTypeImpl;
+import org.asn1s.core.type.x681.TypeFieldType;
+import org.asn1s.core.type.x681.ValueFieldType;
+import org.asn1s.core.value.x680.IntegerValueInt;
+import org.asn1s.core.value.x680.IntegerValueLong;
+import org.asn1s.core.value.x680.OpenTypeValueImpl;
+import org.asn1s.core.value.x680.ValueCollectionImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+public class TableConstraintTest
+{
+	private Scope scope;
+	private Type booleanType;
+	private Type integerType;
+	private TableConstraint constraint;
+
+	@Before
+	public void setUp() throws Exception
+	{
+		Module module = ModuleImpl.newDummy( new ModuleSet() );
+		ClassType classType = new ClassTypeImpl();
+		classType.add( new ValueFieldType( "&id", UniversalType.INTEGER.ref(), true, false ) );
+		TypeFieldType typeField = new TypeFieldType( "&Type", false, null );
+		classType.add( typeField );
+
+		CollectionType sequence = new SequenceType( true );
+		sequence.addComponent( Kind.PRIMARY, "id", new ClassFieldRef( classType, "&id" ) );
+		sequence.addComponent( Kind.PRIMARY, "value", new ClassFieldRef( classType, "&Type" ) );
+		DefinedTypeImpl type = new DefinedTypeImpl( module, "Message", sequence );
+		module.getTypeResolver().add( type );
+		module.validate();
+
+		scope = type.createScope();
+		booleanType = UniversalType.BOOLEAN.ref().resolve( scope );
+		integerType = UniversalType.INTEGER.ref().resolve( scope );
+		List<Value> objects = Arrays.asList(
+				object( 1, booleanType ),
+				object( 2, integerType ),
+				object( 2, booleanType ) );
+		constraint = new TableConstraint( typeField, "&Type", objects,
+		                                  Collections.singletonList( new RelationItem( "id", Collections.emptyList(), 0 ) ) );
+	}
+
+	@Test
+	public void testIndexHit() throws Exception
+	{
+		setLevel( new IntegerValueInt( 1 ) );
+		Assert.assertSame( "Wrong type", booleanType, constraint.resolveInstanceOfType( scope ) );
+		constraint.check( scope, new OpenTypeValueImpl( booleanType, new IntegerValueInt( 0 ) ) );
+
+		setLevel( new IntegerValueLong( 2L ) );
+		Assert.assertSame( "First object in set order must win", integerType, constraint.resolveInstanceOfType( scope ) );
+		constraint.check( scope, new OpenTypeValueImpl( booleanType, new IntegerValueInt( 0 ) ) );
+	}
+
+	@Test
+	public void testIndexMiss() throws Exception
+	{
+		setLevel( new IntegerValueInt( 3 ) );
+		try
+		{
+			constraint.resolveInstanceOfType( scope );
+			Assert.fail( "Type must not be resolved" );
+		} catch( ResolutionException ignored )
+		{
+		}
+
+		try
+		{
+			constraint.check( scope, new OpenTypeValueImpl( booleanType, new IntegerValueInt( 0 ) ) );
+			Assert.fail( "Value must not be accepted" );
+		} catch( ConstraintViolationException ignored )
+		{
+		}
+
+		setLevel( new IntegerValueInt( 1 ) );
+		try
+		{
+			constraint.check( scope, new OpenTypeValueImpl( integerType, new IntegerValueInt( 0 ) ) );
+			Assert.fail( "Value of type from other object must not be accepted" );
+		} catch( ConstraintViolationException ignored )
+		{
+		}
+	}
+
+	private void setLevel( Value id )
+	{
+		ValueCollection collection = new ValueCollectionImpl( true );
+		collection.addNamed( "id", id );
+		scope.setValueLevel( collection );
+	}
+
+	private static Value object( int id, Type type )
+	{
+		Map<String, Ref<?>> fields = new HashMap<>();
+		fields.put( "&id", new IntegerValueInt( id ) );
+		fields.put( "&Type", type );
+		return new ObjectValue( fields );
+	}
+}
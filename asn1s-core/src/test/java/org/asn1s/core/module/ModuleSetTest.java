@@ -0,0 +1,262 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.core.module;
+
+import org.asn1s.api.Ref;
+import org.asn1s.api.State;
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.module.ModuleReference;
+import org.asn1s.api.type.*;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.util.ValidationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Lock;
+
+public class ModuleSetTest
+{
+	@Test
+	public void testValidateParallel() throws Exception
+	{
+		ModuleSet modules = new ModuleSet();
+		TypeFactory types = defineModule( modules, "Base" );
+		types.define( "Code", types.builtin( "INTEGER" ), null );
+
+		for( String name : Arrays.asList( "Left", "Right" ) )
+		{
+			types = defineModule( modules, name );
+			addImports( modules, name, "Base", "Code" );
+			defineRecord( types, name + "-Record", "Code" );
+		}
+
+		types = defineModule( modules, "Top" );
+		addImports( modules, "Top", "Left", "Left-Record" );
+		addImports( modules, "Top", "Right", "Right-Record" );
+		CollectionType top = types.collection( Family.SEQUENCE );
+		top.addComponent( Kind.PRIMARY, "left", new TypeNameRef( "Left-Record" ) );
+		top.addComponent( Kind.PRIMARY, "right", new TypeNameRef( "Right-Record" ) );
+		types.define( "Top-Record", top, null );
+
+		defineRecord( defineModule( modules, "Ping" ), "Ping-Record", "Pong-Code" );
+		types = defineModule( modules, "Pong" );
+		types.define( "Pong-Code", types.builtin( "INTEGER" ), null );
+		defineRecord( types, "Pong-Record", "Ping-Record" );
+		addImports( modules, "Ping", "Pong", "Pong-Code" );
+		addImports( modules, "Pong", "Ping", "Ping-Record" );
+
+		validate( modules );
+
+		for( Module module : modules )
+			for( DefinedType type : module.getTypeResolver().getTypes() )
+				Assert.assertEquals( "Type is not validated: " + type.getName(), State.DONE, type.getState() );
+	}
+
+	@Test( expected = ResolutionException.class )
+	public void testValidateParallelFailure() throws Exception
+	{
+		ModuleSet modules = new ModuleSet();
+		TypeFactory types = defineModule( modules, "Base" );
+		types.define( "Code", types.builtin( "INTEGER" ), null );
+
+		defineRecord( defineModule( modules, "Broken" ), "Broken-Record", "Unknown" );
+		addImports( modules, "Broken", "Base", "Code" );
+
+		defineRecord( defineModule( modules, "Dependent" ), "Dependent-Record", "Broken-Record" );
+		addImports( modules, "Dependent", "Broken", "Broken-Record" );
+
+		validate( modules );
+	}
+
+	@Test
+	public void testValidateParallelQualifiedReference() throws Exception
+	{
+		ModuleSet modules = new ModuleSet();
+		TypeFactory types = defineModule( modules, "Dependent" );
+		Module dependent = modules.resolve( "Dependent" );
+		CollectionType record = types.collection( Family.SEQUENCE );
+		record.addComponent( Kind.PRIMARY, "value", dependent.getTypeResolver().getTypeRef( "Code", "Base" ) );
+		types.define( "Dependent-Record", record, null );
+
+		types = defineModule( modules, "Base" );
+		types.define( "Code", types.builtin( "INTEGER" ), null );
+
+		// units are run one by one, so the first one must be the referenced module
+		List<State> firstUnitStates = new ArrayList<>();
+		modules.validate( task -> {
+			task.run();
+			if( firstUnitStates.isEmpty() )
+				firstUnitStates.add( dependent.getTypeResolver().getType( "Dependent-Record" ).getState() );
+		} );
+
+		Assert.assertEquals( "Referenced module must be validated first", State.NONE, firstUnitStates.get( 0 ) );
+		Assert.assertEquals( "Type is not validated", State.DONE, dependent.getTypeResolver().getType( "Dependent-Record" ).getState() );
+	}
+
+	@Test
+	public void testLazyValidation() throws Exception
+	{
+		ModuleSet modules = new ModuleSet();
+		TypeFactory types = defineModule( modules, "Base" );
+		types.define( "Code", types.builtin( "INTEGER" ), null );
+		types.define( "Unused", types.builtin( "BOOLEAN" ), null );
+
+		types = defineModule( modules, "Top" );
+		addImports( modules, "Top", "Base", "Code" );
+		defineRecord( types, "Top-Record", "Code" );
+		defineRecord( types, "Other-Record", "Code" );
+
+		Module top = modules.resolve( "Top" );
+		Ref<Type> ref = new TypeNameRef( "Top-Record", "Top" );
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try
+		{
+			CountDownLatch latch = new CountDownLatch( 1 );
+			Collection<Future<Type>> futures = new ArrayList<>();
+			for( int i = 0; i < threads; i++ )
+				futures.add( executor.submit( () -> {
+					latch.await();
+					return ValidationUtils.resolveType( top.createScope(), ref );
+				} ) );
+			latch.countDown();
+
+			for( Future<Type> future : futures )
+				Assert.assertSame( "Illegal type", top.getTypeResolver().getType( "Top-Record" ), future.get() );
+		} finally
+		{
+			executor.shutdown();
+		}
+
+		Module base = modules.resolve( "Base" );
+		Assert.assertEquals( "Type must be validated", State.DONE, top.getTypeResolver().getType( "Top-Record" ).getState() );
+		Assert.assertEquals( "Dependency must be validated", State.DONE, base.getTypeResolver().getType( "Code" ).getState() );
+		Assert.assertEquals( "Type must not be validated", State.NONE, top.getTypeResolver().getType( "Other-Record" ).getState() );
+		Assert.assertEquals( "Type must not be validated", State.NONE, base.getTypeResolver().getType( "Unused" ).getState() );
+	}
+
+	@Test
+	public void testValidationLockPerModuleSet() throws Exception
+	{
+		ModuleSet locked = new ModuleSet();
+		defineModule( locked, "Base" ).define( "Code", locked.createObjectFactory().types().builtin( "INTEGER" ), null );
+		ModuleSet other = new ModuleSet();
+		defineModule( other, "Base" ).define( "Code", other.createObjectFactory().types().builtin( "INTEGER" ), null );
+		Module lockedBase = locked.resolve( "Base" );
+		Module otherBase = other.resolve( "Base" );
+
+		ExecutorService executor = Executors.newFixedThreadPool( 2 );
+		CountDownLatch acquired = new CountDownLatch( 1 );
+		CountDownLatch release = new CountDownLatch( 1 );
+		try
+		{
+			// simulates validation running in other thread
+			Future<?> holder = executor.submit( () -> {
+				Lock lock = locked.getValidationLock().writeLock();
+				lock.lock();
+				try
+				{
+					acquired.countDown();
+					release.await();
+				} finally
+				{
+					lock.unlock();
+				}
+				return null;
+			} );
+			acquired.await();
+
+			ValidationUtils.resolveType( otherBase.createScope(), new TypeNameRef( "Code", "Base" ) );
+			Assert.assertEquals( "Other module set must not be blocked", State.DONE, otherBase.getTypeResolver().getType( "Code" ).getState() );
+
+			Future<?> validation = executor.submit( () -> {
+				lockedBase.validate();
+				return null;
+			} );
+			Thread.sleep( 100L );
+			Assert.assertEquals( "Module validation must wait for lock", State.NONE, lockedBase.getTypeResolver().getType( "Code" ).getState() );
+
+			release.countDown();
+			holder.get();
+			validation.get();
+			Assert.assertEquals( "Type is not validated", State.DONE, lockedBase.getTypeResolver().getType( "Code" ).getState() );
+		} finally
+		{
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test( expected = ResolutionException.class )
+	public void testLazyValidationFailure() throws Exception
+	{
+		ModuleSet modules = new ModuleSet();
+		defineRecord( defineModule( modules, "Broken" ), "Broken-Record", "Unknown" );
+		Module module = modules.resolve( "Broken" );
+		ValidationUtils.resolveType( module.createScope(), new TypeNameRef( "Broken-Record", "Broken" ) );
+	}
+
+	private static void validate( ModuleSet modules ) throws Exception
+	{
+		ForkJoinPool pool = new ForkJoinPool( 4 );
+		try
+		{
+			modules.validate( pool );
+		} finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	private static TypeFactory defineModule( ModuleSet modules, String name )
+	{
+		TypeFactory types = modules.createObjectFactory().types();
+		modules.registerModule( types.module( new ModuleReference( name ) ) );
+		return types;
+	}
+
+	private static void addImports( ModuleSet modules, String name, String importedModule, String symbol ) throws ResolutionException
+	{
+		Module module = modules.resolve( name );
+		module.getTypeResolver().addImports( new ModuleReference( importedModule ), Collections.singletonList( symbol ) );
+		module.getValueResolver().addImports( new ModuleReference( importedModule ), Collections.singletonList( symbol ) );
+	}
+
+	private static void defineRecord( TypeFactory types, String name, String componentType )
+	{
+		CollectionType record = types.collection( Family.SEQUENCE );
+		record.addComponent( Kind.PRIMARY, "value", new TypeNameRef( componentType ) );
+		types.define( name, record, null );
+	}
+}
@@ -0,0 +1,192 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.core.module;
+
+import org.asn1s.api.Asn1Factory;
+import org.asn1s.api.Ref;
+import org.asn1s.api.State;
+import org.asn1s.api.Template;
+import org.asn1s.api.TemplateParameter;
+import org.asn1s.api.constraint.ConstraintFactory;
+import org.asn1s.api.exception.ValidationException;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.module.ModuleReference;
+import org.asn1s.api.type.*;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.Enumerated.ItemKind;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.DefinedValue;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.io.StreamCorruptedException;
+import java.util.Collections;
+import java.util.Vector;
+import java.util.zip.GZIPOutputStream;
+
+public class ModuleSnapshotTest
+{
+	@Test
+	public void testReadWrite() throws Exception
+	{
+		ModuleSet modules = new ModuleSet();
+		Asn1Factory factory = new DefaultAsn1Factory( modules );
+		Module module = factory.types().module( new ModuleReference( "Snapshot-Module" ) );
+		modules.registerModule( module );
+		defineTypes( factory );
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		modules.writeSnapshot( os );
+
+		ModuleSet loaded = ModuleSet.readSnapshot( new ByteArrayInputStream( os.toByteArray() ) );
+		Module loadedModule = loaded.resolve( "Snapshot-Module" );
+		Assert.assertNotSame( "Module must be a copy", module, loadedModule );
+		Assert.assertSame( "Module resolver must be loaded set", loaded, loadedModule.getModuleResolver() );
+		Assert.assertSame( "Core module must be shared", CoreModule.getInstance(), loadedModule.getCoreModule() );
+
+		for( DefinedType type : loadedModule.getTypeResolver().getTypes() )
+			if( !type.isAbstract() )
+				Assert.assertEquals( "Type is not validated: " + type.getName(), State.DONE, type.getState() );
+
+		DefinedValue value = loadedModule.getValueResolver().getValue( "default-code" );
+		Assert.assertNotNull( "No value", value );
+		Assert.assertEquals( "Illegal value", 42, value.getValue().toIntegerValue().asInt() );
+
+		ValueFactory values = loaded.createObjectFactory().values();
+		DefinedType recordType = loadedModule.getTypeResolver().getType( "Record" );
+		Assert.assertNotNull( "No type", recordType );
+		recordType.accept( recordType.createScope(), createRecord( values, "ABC", 10 ) );
+		assertNotAccepted( recordType, createRecord( values, "abc", 10 ) );
+		assertNotAccepted( recordType, createRecord( values, "ABC", 1000 ) );
+
+		DefinedType instanceType = loadedModule.getTypeResolver().getType( "Int-Pair" );
+		Assert.assertNotNull( "No type", instanceType );
+		ValueCollection pair = values.collection( true );
+		pair.addNamed( "first", values.integer( 1 ) );
+		pair.addNamed( "second", values.integer( 2 ) );
+		instanceType.accept( instanceType.createScope(), pair );
+	}
+
+	@Test( expected = StreamCorruptedException.class )
+	public void testReadCorrupted() throws IOException
+	{
+		ModuleSet.readSnapshot( new ByteArrayInputStream( new byte[]{1, 2, 3, 4, 5, 6, 7, 8} ) );
+	}
+
+	@Test( expected = InvalidClassException.class )
+	public void testReadOtherVersion() throws IOException
+	{
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream( os );
+		dos.writeInt( ModuleSnapshot.MAGIC );
+		dos.writeInt( ModuleSnapshot.FORMAT_VERSION - 1 );
+		ModuleSet.readSnapshot( new ByteArrayInputStream( os.toByteArray() ) );
+	}
+
+	@Test( expected = InvalidClassException.class )
+	public void testReadNotAllowedClass() throws IOException
+	{
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream( os );
+		dos.writeInt( ModuleSnapshot.MAGIC );
+		dos.writeInt( ModuleSnapshot.FORMAT_VERSION );
+		GZIPOutputStream gzip = new GZIPOutputStream( os );
+		ObjectOutputStream oos = new ObjectOutputStream( gzip );
+		oos.writeInt( 1 );
+		oos.writeObject( new Vector<>() );
+		oos.flush();
+		gzip.finish();
+		ModuleSet.readSnapshot( new ByteArrayInputStream( os.toByteArray() ) );
+	}
+
+	private static void defineTypes( Asn1Factory factory ) throws Exception
+	{
+		ConstraintFactory constraints = factory.constraints();
+		ValueFactory values = factory.values();
+		TypeFactory types = factory.types();
+
+		Type name = types.constrained(
+				constraints.elementSetSpecs(
+						constraints.elementSetSpec( Collections.singletonList( constraints.union( Collections.singletonList( constraints.elements(
+								constraints.size( constraints.valueRange( values.integer( 1 ), false, values.integer( 8 ), false ) ), null ) ) ) ) ),
+						false, null ),
+				types.constrained( constraints.permittedAlphabet( constraints.valueRange( values.cString( "A" ), false, values.cString( "Z" ), false ) ),
+				                   types.builtin( "IA5String" ) ) );
+		types.define( "Name", name, null );
+
+		Type code = types.constrained( constraints.valueRange( values.integer( 0 ), false, values.integer( 100 ), false ), types.builtin( "INTEGER" ) );
+		types.define( "Code", code, null );
+
+		Enumerated color = types.enumerated();
+		color.addItem( ItemKind.PRIMARY, "red", null );
+		color.addItem( ItemKind.PRIMARY, "green", null );
+		types.define( "Color", color, null );
+
+		CollectionType record = types.collection( Family.SEQUENCE );
+		record.addComponent( Kind.PRIMARY, "name", new TypeNameRef( "Name" ) );
+		record.addComponent( Kind.PRIMARY, "code", new TypeNameRef( "Code" ) );
+		record.addComponent( Kind.PRIMARY, "color", new TypeNameRef( "Color" ) ).setOptional( true );
+		types.define( "Record", record, null );
+
+		CollectionOfType records = types.collectionOf( Family.SEQUENCE_OF );
+		records.setComponent( "record", new TypeNameRef( "Record" ) );
+		types.define( "Records", records, null );
+
+		CollectionType pair = types.collection( Family.SEQUENCE );
+		pair.addComponent( Kind.PRIMARY, "first", new TypeNameRef( "T" ) );
+		pair.addComponent( Kind.PRIMARY, "second", new TypeNameRef( "T" ) );
+		Template template = new Template();
+		template.addParameter( new TemplateParameter( 0, new TypeNameRef( "T" ), null ) );
+		DefinedType pairTemplate = types.define( "Pair", pair, template );
+		Ref<Type> intType = types.builtin( "INTEGER" );
+		types.define( "Int-Pair", types.typeTemplateInstance( pairTemplate.toRef(), Collections.singletonList( intType ) ), null );
+
+		types.define( "default-code", new TypeNameRef( "Code" ), values.integer( 42 ), null );
+	}
+
+	private static ValueCollection createRecord( ValueFactory values, String name, int code )
+	{
+		ValueCollection record = values.collection( true );
+		record.addNamed( "name", values.cString( name ) );
+		record.addNamed( "code", values.integer( code ) );
+		return record;
+	}
+
+	private static void assertNotAccepted( DefinedType type, ValueCollection value ) throws Exception
+	{
+		try
+		{
+			type.accept( type.createScope(), value );
+			Assert.fail( "Value must not be accepted: " + value );
+		} catch( ValidationException ignored )
+		{
+		}
+	}
+}
@@ -0,0 +1,80 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.core.module;
+
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.module.ModuleReference;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.TypeFactory;
+import org.asn1s.api.type.TypeName;
+import org.asn1s.api.type.TypeNameRef;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TypeResolverImplTest
+{
+	@Test
+	public void testImportedSymbols() throws Exception
+	{
+		ModuleSet modules = new ModuleSet();
+		TypeFactory types = modules.createObjectFactory().types();
+		modules.registerModule( types.module( new ModuleReference( "First" ) ) );
+		types.define( "Code", types.builtin( "INTEGER" ), null );
+		types.define( "Name", types.builtin( "IA5String" ), null );
+
+		types = modules.createObjectFactory().types();
+		modules.registerModule( types.module( new ModuleReference( "Second" ) ) );
+		types.define( "Code", types.builtin( "BOOLEAN" ), null );
+
+		TypeResolverImpl resolver = new TypeResolverImpl( "Importer", modules );
+		resolver.addImports( new ModuleReference( "First" ), Arrays.asList( "Code", "Name", "value" ) );
+		resolver.addImports( new ModuleReference( "Second" ), Collections.singletonList( "Code" ) );
+
+		TypeNameRef ref = (TypeNameRef)resolver.getTypeRef( "Code", null );
+		Assert.assertEquals( "First import must win", "First", ref.getModuleName() );
+		Assert.assertSame( "Reference must be shared", ref, resolver.getTypeRef( "Code", null ) );
+
+		Module first = modules.resolve( "First" );
+		Type code = resolver.resolve( new TypeName( "Code", null ) );
+		Assert.assertSame( "Illegal type", first.getTypeResolver().getType( "Code" ), code );
+		Assert.assertSame( "Resolved type must be cached", code, resolver.resolve( new TypeName( "Code", null ) ) );
+		Assert.assertSame( "Illegal type", first.getTypeResolver().getType( "Name" ), resolver.resolve( new TypeName( "Name", null ) ) );
+
+		resolver.dispose();
+		Assert.assertTrue( "Imports must be cleared", resolver.getImportedModules().isEmpty() );
+		try
+		{
+			resolver.resolve( new TypeName( "Code", null ) );
+			Assert.fail( "Imports must be disposed" );
+		} catch( ResolutionException ignored )
+		{
+		}
+	}
+}
@@ -0,0 +1,66 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.core.value;
+
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.api.value.x680.IntegerValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CoreValueFactoryTest
+{
+	@Test
+	public void testSmallIntegersShared()
+	{
+		ValueFactory factory = new CoreValueFactory();
+		Assert.assertSame( "Int values must be shared", factory.integer( 1 ), new CoreValueFactory().integer( 1 ) );
+		Assert.assertSame( "Long values must be shared", factory.integer( 42L ), factory.integer( 42L ) );
+		Assert.assertSame( "Decoded values must be shared", factory.integer( 5 ), factory.integer( new byte[]{5} ) );
+		Assert.assertSame( "Low bound must be shared", factory.integer( IntegerValueCache.LOW ), factory.integer( IntegerValueCache.LOW ) );
+		Assert.assertSame( "High bound must be shared", factory.integer( IntegerValueCache.HIGH ), factory.integer( IntegerValueCache.HIGH ) );
+	}
+
+	@Test
+	public void testLargeIntegersCreated()
+	{
+		ValueFactory factory = new CoreValueFactory();
+		IntegerValue value = factory.integer( IntegerValueCache.HIGH + 1 );
+		Assert.assertNotSame( "Values out of cache must not be shared", value, factory.integer( IntegerValueCache.HIGH + 1 ) );
+		Assert.assertEquals( "Values must be equal", value, factory.integer( IntegerValueCache.HIGH + 1 ) );
+		Assert.assertEquals( "Value must be preserved", IntegerValueCache.LOW - 1L, factory.integer( IntegerValueCache.LOW - 1L ).asLong() );
+		Assert.assertEquals( "Value must be preserved", -1, factory.integer( new byte[]{(byte)0xFF} ).asInt() );
+	}
+
+	@Test
+	public void testCacheBoundConfiguration()
+	{
+		Assert.assertEquals( "Default expected", IntegerValueCache.DEFAULT_HIGH, IntegerValueCache.toHigh( null ) );
+		Assert.assertEquals( "Negative value must be ignored", IntegerValueCache.DEFAULT_HIGH, IntegerValueCache.toHigh( -1 ) );
+		Assert.assertEquals( "Large value must be clamped", IntegerValueCache.MAX_HIGH, IntegerValueCache.toHigh( Integer.MAX_VALUE ) );
+		Assert.assertEquals( "Small value must be raised", 127, IntegerValueCache.toHigh( 0 ) );
+		Assert.assertEquals( "Value must be preserved", 4096, IntegerValueCache.toHigh( 4096 ) );
+	}
+}
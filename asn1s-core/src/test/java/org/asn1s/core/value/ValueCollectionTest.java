@@ -29,6 +29,8 @@ import org.asn1s.api.Asn1Factory;
 import org.asn1s.api.UniversalType;
 import org.asn1s.api.module.Module;
 import org.asn1s.api.value.DefinedValue;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.api.value.x680.NamedValue;
 import org.asn1s.api.value.x680.ValueCollection;
 import org.asn1s.core.DefaultAsn1Factory;
 import org.junit.Assert;
@@ -75,4 +77,90 @@ public class ValueCollectionTest
 
 		Assert.assertEquals( "Is not 5E2", 0, factory.values().real( DOUBLE_VALUE_2 ).compareTo( value.getValue() ) );
 	}
+
+	@Test
+	public void testNamedLookup()
+	{
+		ValueFactory factory = new CoreValueFactory();
+		ValueCollection collection = factory.collection( true );
+		for( int i = 0; i < 20; i++ )
+			collection.addNamed( "field" + i, factory.integer( i ) );
+
+		NamedValue value = collection.getNamedValue( "field15" );
+		Assert.assertNotNull( "Value not found", value );
+		Assert.assertEquals( "Wrong value", factory.integer( 15 ), value.getValueRef() );
+		Assert.assertNull( "Value must not exist", collection.getNamedValue( "field20" ) );
+
+		collection.addNamed( "field20", factory.integer( 20 ) );
+		Assert.assertNotNull( "Value added after lookup not found", collection.getNamedValue( "field20" ) );
+		Assert.assertEquals( "Wrong map size", 21, collection.asNamedValueMap().size() );
+	}
+
+	@Test
+	public void testEqualsAndCompare()
+	{
+		ValueFactory factory = new CoreValueFactory();
+		ValueCollection first = factory.collection( true );
+		first.addNamed( "a", factory.integer( 1 ) );
+		first.addNamed( "b", factory.cString( "text" ) );
+		ValueCollection second = factory.collection( true );
+		second.addNamed( "a", factory.integer( 1 ) );
+		second.addNamed( "b", factory.cString( "text" ) );
+
+		Assert.assertEquals( "Collections must be equal", first, second );
+		Assert.assertEquals( "Hash codes must be equal", first.hashCode(), second.hashCode() );
+		Assert.assertEquals( "Collections must be same", 0, first.compareTo( second ) );
+
+		second.addNamed( "c", factory.integer( 3 ) );
+		Assert.assertNotEquals( "Collections must not be equal", first, second );
+		Assert.assertEquals( "Collection with more components is greater", -1, first.compareTo( second ) );
+		Assert.assertEquals( "Collection with more components is greater", 1, second.compareTo( first ) );
+	}
+
+	@Test
+	public void testEqualsForDifferentIntegerKinds()
+	{
+		ValueFactory factory = new CoreValueFactory();
+		ValueCollection ints = factory.collection( true );
+		ints.addNamed( "a", factory.integer( -5 ) );
+		ints.addNamed( "b", factory.integer( 100000 ) );
+		ValueCollection longs = factory.collection( true );
+		longs.addNamed( "a", factory.integer( -5L ) );
+		longs.addNamed( "b", factory.integer( 100000L ) );
+
+		Assert.assertEquals( "Collections must be same", 0, ints.compareTo( longs ) );
+		Assert.assertEquals( "Collections must be equal", ints, longs );
+		Assert.assertEquals( "Hash codes must be equal", ints.hashCode(), longs.hashCode() );
+
+		ValueCollection unnamedInts = factory.collection( false );
+		unnamedInts.add( factory.integer( -1 ) );
+		ValueCollection unnamedLongs = factory.collection( false );
+		unnamedLongs.add( factory.integer( -1L ) );
+		Assert.assertEquals( "Collections must be equal", unnamedInts, unnamedLongs );
+		Assert.assertEquals( "Hash codes must be equal", unnamedInts.hashCode(), unnamedLongs.hashCode() );
+	}
+
+	@Test
+	public void testHashCodeDependsOnValues()
+	{
+		ValueFactory factory = new CoreValueFactory();
+		ValueCollection first = factory.collection( true );
+		first.addNamed( "a", factory.integer( 1 ) );
+		first.addNamed( "b", factory.cString( "first" ) );
+		ValueCollection second = factory.collection( true );
+		second.addNamed( "a", factory.integer( 2 ) );
+		second.addNamed( "b", factory.cString( "first" ) );
+		Assert.assertNotEquals( "Hash codes must differ", first.hashCode(), second.hashCode() );
+
+		ValueCollection unnamedFirst = factory.collection( false );
+		unnamedFirst.add( factory.integer( 1 ) );
+		ValueCollection unnamedSecond = factory.collection( false );
+		unnamedSecond.add( factory.integer( 2 ) );
+		Assert.assertNotEquals( "Hash codes must differ", unnamedFirst.hashCode(), unnamedSecond.hashCode() );
+
+		ValueCollection reals = factory.collection( false );
+		reals.add( factory.real( 1.0d ) );
+		Assert.assertEquals( "Collections must be equal", unnamedFirst, reals );
+		Assert.assertEquals( "Hash codes must be equal", unnamedFirst.hashCode(), reals.hashCode() );
+	}
 }
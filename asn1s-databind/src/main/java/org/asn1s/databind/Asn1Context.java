@@ -27,11 +27,13 @@ package org.asn1s.databind;
 
 import org.asn1s.api.Asn1Factory;
 import org.asn1s.api.module.Module;
+import org.asn1s.api.module.TypeResolver;
 import org.asn1s.api.type.DefinedType;
 import org.asn1s.databind.mapper.DefaultTypeMapper;
 import org.asn1s.databind.mapper.MappedType;
 import org.asn1s.databind.mapper.MapperUtils;
 import org.asn1s.databind.mapper.TypeMapper;
+import org.asn1s.databind.marshaller.DirectMarshaller;
 import org.asn1s.databind.marshaller.Marshaller;
 import org.asn1s.databind.marshaller.MarshallerImpl;
 import org.asn1s.databind.unmarshaller.Unmarshaller;
@@ -40,9 +42,17 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Context of java to ASN.1 bindings. Context is thread safe: lookups are lock free,
+ * type mapping is serialized and its results become visible to other threads only after mapping completes,
+ * so marshallers and unmarshallers created by context may be shared between threads.
+ */
 public class Asn1Context
 {
 	public Asn1Context( @NotNull Module contextModule, @NotNull Asn1Factory asn1Factory )
@@ -65,14 +75,26 @@ public class Asn1Context
 	/**
 	 * Map for ASN.1 type definitions, that may be referenced by MappedType
 	 */
-	private final Map<String, DefinedType> java2DefinedTypeMap = new HashMap<>();
+	private final Map<String, DefinedType> java2DefinedTypeMap = new ConcurrentHashMap<>();
 
 	/**
 	 * Map for mapped types, which contains all required metadata for I/O
 	 */
-	private final Map<String, MappedType> mappedTypeMap = new HashMap<>();
+	private final Map<String, MappedType> mappedTypeMap = new ConcurrentHashMap<>();
 
-	private final Map<String, Object> globalParameters = new HashMap<>();
+	/**
+	 * Cache for getMappedTypeByClass lookups, only successful lookups are stored
+	 */
+	private final Map<Class<?>, MappedType> classMappedTypeMap = new ConcurrentHashMap<>();
+
+	private final Map<String, Object> globalParameters = new ConcurrentHashMap<>();
+
+	/**
+	 * Guards type mapping, pending maps are only accessible by thread holding this lock
+	 */
+	private final Object mappingLock = new Object();
+	private Map<String, DefinedType> pendingDefinedTypeMap;
+	private Map<String, MappedType> pendingMappedTypeMap;
 
 	public Module getContextModule()
 	{
@@ -82,8 +104,32 @@ public class Asn1Context
 	@Nullable
 	public MappedType getMappedTypeByClass( Class<?> aClass )
 	{
-		DefinedType definedType = java2DefinedTypeMap.get( aClass.getCanonicalName() );
-		return getMappedType( aClass.getCanonicalName(), definedType == null ? MapperUtils.getAsn1TypeNameForClass( aClass ) : definedType.getName() );
+		MappedType result = classMappedTypeMap.get( aClass );
+		if( result != null )
+			return result;
+
+		String className = aClass.getCanonicalName();
+		DefinedType definedType = getDefinedTypeByClassName( className );
+		result = getMappedType( className, definedType == null ? MapperUtils.getAsn1TypeNameForClass( aClass ) : definedType.getName() );
+		if( result != null && !isMapping() )
+			classMappedTypeMap.put( aClass, result );
+		return result;
+	}
+
+	/**
+	 * Find mapped type for java type, the type must be mapped already
+	 *
+	 * @param type class or parameterized type, like List&lt;Foo&gt;
+	 * @return mapped type or null
+	 */
+	@Nullable
+	public MappedType getMappedTypeByType( Type type )
+	{
+		if( type instanceof Class<?> )
+			return getMappedTypeByClass( (Class<?>)type );
+
+		DefinedType definedType = getDefinedTypeByClassName( type.getTypeName() );
+		return definedType == null ? null : getMappedType( type.getTypeName(), definedType.getName() );
 	}
 
 	public Asn1Factory getAsn1Factory()
@@ -93,24 +139,42 @@ public class Asn1Context
 
 	public DefinedType getDefinedTypeByClassName( String className )
 	{
+		if( isMapping() )
+		{
+			DefinedType type = pendingDefinedTypeMap.get( className );
+			if( type != null )
+				return type;
+		}
 		return java2DefinedTypeMap.get( className );
 	}
 
 	public void putDefinedTypeForClassName( String className, DefinedType type )
 	{
-		java2DefinedTypeMap.put( className, type );
+		if( isMapping() )
+			pendingDefinedTypeMap.put( className, type );
+		else
+			java2DefinedTypeMap.put( className, type );
 	}
 
 	public MappedType getMappedType( String className, String asn1TypeName )
 	{
 		String key = className + "=>" + asn1TypeName;
+		if( isMapping() )
+		{
+			MappedType type = pendingMappedTypeMap.get( key );
+			if( type != null )
+				return type;
+		}
 		return mappedTypeMap.get( key );
 	}
 
 	public void putMappedType( String className, String asn1TypeName, MappedType mappedType )
 	{
 		String key = className + "=>" + asn1TypeName;
-		mappedTypeMap.put( key, mappedType );
+		if( isMapping() )
+			pendingMappedTypeMap.put( key, mappedType );
+		else
+			mappedTypeMap.put( key, mappedType );
 	}
 
 	@SuppressWarnings( "unchecked" )
@@ -119,14 +183,66 @@ public class Asn1Context
 		return (T)globalParameters.get( key );
 	}
 
-	public void putGlobalParameter( String key, Object parameter )
+	public void putGlobalParameter( String key, @Nullable Object parameter )
 	{
-		globalParameters.put( key, parameter );
+		if( parameter == null )
+			globalParameters.remove( key );
+		else
+			globalParameters.put( key, parameter );
 	}
 
+	/**
+	 * Map java type. Only one thread may map types at a time, every type mapped during this call
+	 * is published to other threads when mapping succeeds and dropped otherwise.
+	 *
+	 * @param type the type to map
+	 * @return mapped type
+	 */
 	public MappedType mapType( Type type )
 	{
-		return mapper.mapType( type );
+		synchronized( mappingLock )
+		{
+			if( isMapping() )
+				return mapper.mapType( type );
+
+			pendingDefinedTypeMap = new HashMap<>();
+			pendingMappedTypeMap = new HashMap<>();
+			TypeResolver typeResolver = contextModule.getTypeResolver();
+			int typeCount = typeResolver.getTypes().size();
+			boolean mapped = false;
+			try
+			{
+				MappedType result = mapper.mapType( type );
+				java2DefinedTypeMap.putAll( pendingDefinedTypeMap );
+				mappedTypeMap.putAll( pendingMappedTypeMap );
+				mapped = true;
+				return result;
+			} finally
+			{
+				pendingDefinedTypeMap = null;
+				pendingMappedTypeMap = null;
+				if( !mapped )
+					removeTypesDefinedAfter( typeResolver, typeCount );
+			}
+		}
+	}
+
+	/**
+	 * Remove ASN.1 types defined by failed mapping, so module does not keep types no java class is mapped to
+	 *
+	 * @param typeResolver the type resolver of context module
+	 * @param typeCount    amount of types in module before mapping
+	 */
+	private static void removeTypesDefinedAfter( TypeResolver typeResolver, int typeCount )
+	{
+		List<DefinedType> types = new ArrayList<>( typeResolver.getTypes() );
+		for( DefinedType definedType : types.subList( Math.min( typeCount, types.size() ), types.size() ) )
+			typeResolver.remove( definedType );
+	}
+
+	private boolean isMapping()
+	{
+		return Thread.holdsLock( mappingLock ) && pendingMappedTypeMap != null;
 	}
 
 	public Marshaller createMarshaller()
@@ -134,6 +250,17 @@ public class Asn1Context
 		return new MarshallerImpl( this );
 	}
 
+	/**
+	 * Create marshaller which writes DER directly from java objects, skipping ASN.1 value creation.
+	 * Context module must be validated before first use.
+	 *
+	 * @return marshaller
+	 */
+	public Marshaller createDirectMarshaller()
+	{
+		return new DirectMarshaller( this );
+	}
+
 	public Unmarshaller createUnmarshaller()
 	{
 		return new UnmarshallerImpl( this );
@@ -37,7 +37,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
@@ -135,28 +134,11 @@ public class Asn1ValueBinderImpl implements Asn1ValueBinder
 	private Value fieldToAsn1( MappedField field, Object javaValue )
 	{
 		if( field instanceof BasicMappedField )
-			return toAsn1( basicFieldToAsn1( (BasicMappedField)field, javaValue ), field.getType() );
+			return toAsn1( ( (BasicMappedField)field ).getValue( javaValue ), field.getType() );
 
 		throw new UnsupportedOperationException();
 	}
 
-	private static Object basicFieldToAsn1( BasicMappedField field, Object javaValue )
-	{
-		try
-		{
-			if( field.getGetter() == null )
-			{
-				assert field.getField() != null;
-				return field.getField().get( javaValue );
-			}
-
-			return field.getGetter().invoke( javaValue );
-		} catch( IllegalAccessException | InvocationTargetException e )
-		{
-			throw new IllegalStateException( "Unable to fetch value for property: " + field.getPropertyName(), e );
-		}
-	}
-
 	private Value sequenceOfToAsn1( Object javaValue, SequenceOfMappedType type )
 	{
 		Type javaType = type.getJavaType();
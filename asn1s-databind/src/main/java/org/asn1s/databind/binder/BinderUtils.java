@@ -25,14 +25,12 @@
 
 package org.asn1s.databind.binder;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.asn1s.databind.mapper.MappedType;
 import org.asn1s.databind.mapper.SequenceMappedType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-
 final class BinderUtils
 {
 	private BinderUtils()
@@ -54,14 +52,7 @@ final class BinderUtils
 		if( !( type instanceof SequenceMappedType ) )
 			throw new UnsupportedOperationException();
 
-		try
-		{
-			Constructor<T> constructor = (Constructor<T>)( (SequenceMappedType)type ).getConstructor();
-			return constructor.newInstance();
-		} catch( IllegalAccessException | InvocationTargetException | InstantiationException e )
-		{
-			throw new IllegalStateException( "Unable to create new instance of type: " + type.getTypeName(), e );
-		}
+		return (T)( (SequenceMappedType)type ).newInstance( ArrayUtils.EMPTY_OBJECT_ARRAY );
 	}
 
 	@SuppressWarnings( "unchecked" )
@@ -74,14 +65,7 @@ final class BinderUtils
 		if( constructorParameters == null || constructorParameters.length != parameters.length )
 			throw new IllegalArgumentException( "Amount of parameters does not match constructor parameters." );
 
-		try
-		{
-			Constructor<T> constructor = (Constructor<T>)( (SequenceMappedType)type ).getConstructor();
-			return constructor.newInstance( parameters );
-		} catch( IllegalAccessException | InvocationTargetException | InstantiationException e )
-		{
-			throw new IllegalStateException( "Unable to create new instance of type: " + type.getTypeName(), e );
-		}
+		return (T)( (SequenceMappedType)type ).newInstance( parameters );
 	}
 
 }
@@ -37,7 +37,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
@@ -125,23 +124,9 @@ public class JavaValueBinderImpl implements JavaValueBinder
 
 	private <T> void setSequenceBasicField( SequenceMappedType type, ValueCollection collection, T result, BasicMappedField field )
 	{
-		try
-		{
-			Object propertyValue = propertyToJava( field.getPropertyName(), type, collection );
-			if( propertyValue != null )
-			{
-				if( field.getSetter() == null )
-				{
-					assert field.getField() != null;
-					field.getField().set( result, propertyValue );
-				}
-				else
-					field.getSetter().invoke( result, propertyValue );
-			}
-		} catch( IllegalAccessException | InvocationTargetException e )
-		{
-			throw new IllegalStateException( "Unable to set field: " + field.getPropertyName(), e );
-		}
+		Object propertyValue = propertyToJava( field.getPropertyName(), type, collection );
+		if( propertyValue != null )
+			field.setValue( result, propertyValue );
 	}
 
 	@Nullable
@@ -28,13 +28,32 @@ package org.asn1s.databind.mapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 public final class BasicMappedField implements MappedField
 {
 	public static final long OPTION_READONLY = 0x0001;
 	public static final long OPTION_OPTIONAL = 0x0002;
+	private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+	private static final MethodType SETTER_TYPE = MethodType.methodType( void.class, Object.class, Object.class );
+	private static final MethodHandle FIELD_SET;
+
+	static
+	{
+		try
+		{
+			FIELD_SET = MethodHandles.lookup().findVirtual( Field.class, "set", SETTER_TYPE );
+		} catch( NoSuchMethodException | IllegalAccessException e )
+		{
+			throw new IllegalStateException( e );
+		}
+	}
 
 	BasicMappedField( int index, @NotNull String propertyName, @NotNull MappedType type, long options, @Nullable Field field, @Nullable Method setter, @Nullable Method getter )
 	{
@@ -51,6 +70,8 @@ public final class BasicMappedField implements MappedField
 		this.field = field;
 		this.setter = setter;
 		this.getter = getter;
+		getterHandle = createGetterHandle( propertyName, field, getter );
+		setterHandle = isReadonly() ? null : createSetterHandle( propertyName, field, setter );
 	}
 
 	private final int index;
@@ -60,6 +81,8 @@ public final class BasicMappedField implements MappedField
 	private final Field field;
 	private final Method setter;
 	private final Method getter;
+	private final MethodHandle getterHandle;
+	private final MethodHandle setterHandle;
 
 	@Override
 	public int getIndex()
@@ -111,6 +134,80 @@ public final class BasicMappedField implements MappedField
 		return getter;
 	}
 
+	/**
+	 * Fetch property value from instance
+	 *
+	 * @param instance the java object
+	 * @return property value
+	 */
+	@Nullable
+	public Object getValue( @NotNull Object instance )
+	{
+		try
+		{
+			return (Object)getterHandle.invokeExact( instance );
+		} catch( RuntimeException | Error e )
+		{
+			throw e;
+		} catch( Throwable throwable )
+		{
+			throw new IllegalStateException( "Unable to fetch value for property: " + propertyName, throwable );
+		}
+	}
+
+	/**
+	 * Set property value of instance
+	 *
+	 * @param instance the java object
+	 * @param value    property value
+	 */
+	public void setValue( @NotNull Object instance, @Nullable Object value )
+	{
+		if( setterHandle == null )
+			throw new IllegalStateException( "Property is readonly: " + propertyName );
+
+		try
+		{
+			setterHandle.invokeExact( instance, value );
+		} catch( RuntimeException | Error e )
+		{
+			throw e;
+		} catch( Throwable throwable )
+		{
+			throw new IllegalStateException( "Unable to set field: " + propertyName, throwable );
+		}
+	}
+
+	private static MethodHandle createGetterHandle( String propertyName, @Nullable Field field, @Nullable Method getter )
+	{
+		Lookup lookup = MethodHandles.lookup();
+		try
+		{
+			MethodHandle handle = getter == null ? lookup.unreflectGetter( field ) : lookup.unreflect( getter );
+			return handle.asType( GETTER_TYPE );
+		} catch( IllegalAccessException e )
+		{
+			throw new IllegalStateException( "Unable to access getter of property: " + propertyName, e );
+		}
+	}
+
+	private static MethodHandle createSetterHandle( String propertyName, @Nullable Field field, @Nullable Method setter )
+	{
+		// unreflectSetter rejects final fields, reflective Field.set is able to write them once field is accessible
+		if( setter == null && Modifier.isFinal( field.getModifiers() ) )
+			return FIELD_SET.bindTo( field );
+
+		Lookup lookup = MethodHandles.lookup();
+		try
+		{
+			MethodHandle handle = setter == null ? lookup.unreflectSetter( field ) : lookup.unreflect( setter );
+			return handle.asType( SETTER_TYPE );
+		} catch( IllegalAccessException e )
+		{
+			throw new IllegalStateException( "Unable to access setter of property: " + propertyName, e );
+		}
+	}
+
 	@Override
 	public boolean equals( Object obj )
 	{
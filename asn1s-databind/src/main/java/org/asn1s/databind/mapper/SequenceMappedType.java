@@ -27,6 +27,9 @@ package org.asn1s.databind.mapper;
 
 import org.asn1s.api.type.DefinedType;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
 
@@ -38,12 +41,14 @@ public class SequenceMappedType implements MappedType
 		this.constructor = constructor;
 		//noinspection AssignmentToCollectionOrArrayFieldFromParameter
 		this.constructorParameters = constructorParameters;
+		constructorHandle = createConstructorHandle( constructor );
 	}
 
 	private final Type javaType;
 	private DefinedType asnType;
 	private final Constructor<?> constructor;
 	private final String[] constructorParameters;
+	private final MethodHandle constructorHandle;
 	private MappedField[] fields;
 
 	public MappedField getFieldOrDie( String property )
@@ -77,6 +82,26 @@ public class SequenceMappedType implements MappedType
 		return constructor;
 	}
 
+	/**
+	 * Create new instance using mapped constructor
+	 *
+	 * @param parameters constructor parameters, must match constructor parameter count
+	 * @return new instance
+	 */
+	public Object newInstance( Object[] parameters )
+	{
+		try
+		{
+			return (Object)constructorHandle.invokeExact( parameters );
+		} catch( RuntimeException | Error e )
+		{
+			throw e;
+		} catch( Throwable throwable )
+		{
+			throw new IllegalStateException( "Unable to create new instance of type: " + getTypeName(), throwable );
+		}
+	}
+
 	public String[] getConstructorParameters()
 	{
 		//noinspection ReturnOfCollectionOrArrayField
@@ -95,6 +120,22 @@ public class SequenceMappedType implements MappedType
 		this.fields = fields;
 	}
 
+	private static MethodHandle createConstructorHandle( Constructor<?> constructor )
+	{
+		if( !constructor.isAccessible() )
+			constructor.setAccessible( true );
+
+		try
+		{
+			MethodHandle handle = MethodHandles.lookup().unreflectConstructor( constructor );
+			return handle.asSpreader( Object[].class, constructor.getParameterCount() )
+					.asType( MethodType.methodType( Object.class, Object[].class ) );
+		} catch( IllegalAccessException e )
+		{
+			throw new IllegalStateException( "Unable to access constructor: " + constructor, e );
+		}
+	}
+
 	@Override
 	public String toString()
 	{
@@ -0,0 +1,219 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.databind.marshaller;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.encoding.EncodingInstructions;
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.encoding.tag.TagMethod;
+import org.asn1s.api.type.*;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.databind.Asn1Context;
+import org.asn1s.databind.binder.Asn1ValueBinder;
+import org.asn1s.databind.binder.Asn1ValueBinderImpl;
+import org.asn1s.databind.mapper.MappedField;
+import org.asn1s.databind.mapper.MappedType;
+import org.asn1s.databind.mapper.SequenceMappedType;
+import org.asn1s.databind.mapper.SequenceOfMappedType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flattens ASN.1 types of mapped java types into encoders: tags are resolved,
+ * constraints are collected into effective constraints and components are bound to java properties.
+ * Types must be validated before compilation.
+ */
+final class DirectEncoderCompiler
+{
+	DirectEncoderCompiler( @NotNull Asn1Context context )
+	{
+		binder = new Asn1ValueBinderImpl( context );
+		factory = context.getAsn1Factory().values();
+	}
+
+	private final Asn1ValueBinder binder;
+	private final ValueFactory factory;
+	private final Map<MappedType, DirectEncoder> collectionEncoders = new HashMap<>();
+
+	@NotNull
+	TaggedEncoder compile( @NotNull MappedType mappedType )
+	{
+		DefinedType asnType = mappedType.getAsnType();
+		return compile( asnType, mappedType, asnType.createScope() );
+	}
+
+	@NotNull
+	private TaggedEncoder compile( @NotNull Type asnType, @NotNull MappedType mappedType, @NotNull Scope scope )
+	{
+		List<Tag> tags = new ArrayList<>();
+		EffectiveConstraint constraint = null;
+		boolean implicit = false;
+		Type type = asnType;
+		while( true )
+		{
+			if( type.isTagged() && ( (TaggedType)type ).getInstructions() == EncodingInstructions.TAG )
+			{
+				TagEncoding encoding = (TagEncoding)type.getEncoding( EncodingInstructions.TAG );
+				if( !implicit )
+					tags.add( encoding.toTag( true ) );
+				implicit = encoding.getTagMethod() == TagMethod.IMPLICIT;
+			}
+			else if( type.hasConstraint() )
+			{
+				if( constraint == null )
+					constraint = new EffectiveConstraint();
+				type.getConstraint().collectEffectiveConstraint( constraint );
+			}
+			else if( !type.hasSibling() )
+				break;
+
+			type = type.getSibling();
+		}
+
+		boolean constructed = isConstructed( type.getFamily() );
+		if( implicit )
+		{
+			Tag tag = tags.get( tags.size() - 1 );
+			tags.set( tags.size() - 1, new Tag( tag.getTagClass(), constructed, tag.getTagNumber() ) );
+		}
+		else
+			tags.add( ( (TagEncoding)type.getEncoding( EncodingInstructions.TAG ) ).toTag( constructed ) );
+
+		return new TaggedEncoder( tags.toArray( new Tag[tags.size()] ), createEncoder( asnType, type, mappedType, constraint, scope ) );
+	}
+
+	@NotNull
+	private DirectEncoder createEncoder( @NotNull Type asnType, @NotNull Type type, @NotNull MappedType mappedType, @Nullable EffectiveConstraint constraint, @NotNull Scope scope )
+	{
+		java.lang.reflect.Type javaType = mappedType.getJavaType();
+		switch( type.getFamily() )
+		{
+			// collected bounds are PER-visible part only, so values of constrained types are checked by the type itself
+			case INTEGER:
+				assertJavaType( mappedType, javaType == int.class || javaType == Integer.class || javaType == long.class || javaType == Long.class || javaType == BigInteger.class );
+				return new IntegerDirectEncoder( constraint == null ? null : new ValueChecker( scope, asnType ), factory );
+
+			case REAL:
+				assertJavaType( mappedType, javaType == float.class || javaType == Float.class || javaType == double.class || javaType == Double.class || javaType == BigDecimal.class );
+				return new RealDirectEncoder();
+
+			case RESTRICTED_STRING:
+				assertJavaType( mappedType, javaType == String.class );
+				return new StringDirectEncoder( ( (StringType)type ).getCharset(),
+				                                constraint != null || hasRestrictedCharacterSet( type ) ? new ValueChecker( scope, asnType ) : null,
+				                                factory );
+
+			case UTC_TIME:
+			case GENERALIZED_TIME:
+				assertJavaType( mappedType, javaType == Instant.class );
+				return new TimeDirectEncoder( type.getFamily() == Family.GENERALIZED_TIME );
+
+			case SEQUENCE:
+				if( !( mappedType instanceof SequenceMappedType ) )
+					break;
+				return compileSequence( type, (SequenceMappedType)mappedType, scope );
+
+			case SEQUENCE_OF:
+				if( !( mappedType instanceof SequenceOfMappedType ) )
+					break;
+				return compileSequenceOf( (CollectionOfType)type, (SequenceOfMappedType)mappedType, constraint, scope );
+
+			default:
+				break;
+		}
+		throw new IllegalStateException( "Unable to encode " + mappedType.getTypeName() + " as " + type.getFamily() + " directly" );
+	}
+
+	private DirectEncoder compileSequence( Type type, SequenceMappedType mappedType, Scope scope )
+	{
+		DirectEncoder encoder = collectionEncoders.get( mappedType );
+		if( encoder != null )
+			return encoder;
+
+		SequenceDirectEncoder result = new SequenceDirectEncoder();
+		collectionEncoders.put( mappedType, result );
+
+		List<SequenceDirectEncoder.FieldEncoder> fields = new ArrayList<>();
+		for( ComponentType component : type.<ComponentType>getNamedTypes() )
+		{
+			MappedField field = mappedType.getFieldOrDie( component.getComponentName() );
+			boolean optional = component.isOptional() || component.getDefaultValueRef() != null;
+			SequenceDirectEncoder.FieldEncoder fieldEncoder = new SequenceDirectEncoder.FieldEncoder( field, compile( component, field.getType(), scope ), optional );
+			if( component.getDefaultValue() != null )
+				fieldEncoder.setDefault( scope, component, binder );
+			fields.add( fieldEncoder );
+		}
+		result.setFields( fields.toArray( new SequenceDirectEncoder.FieldEncoder[fields.size()] ) );
+		return result;
+	}
+
+	private DirectEncoder compileSequenceOf( CollectionOfType type, SequenceOfMappedType mappedType, @Nullable EffectiveConstraint constraint, Scope scope )
+	{
+		// size constraints belong to referencing type, so only unconstrained encoders are shared
+		DirectEncoder encoder = constraint == null ? collectionEncoders.get( mappedType ) : null;
+		if( encoder != null )
+			return encoder;
+
+		SequenceOfDirectEncoder result = new SequenceOfDirectEncoder( constraint );
+		if( constraint == null )
+			collectionEncoders.put( mappedType, result );
+
+		result.setComponentEncoder( compile( type.getComponentType(), mappedType.getComponentType(), scope ) );
+		return result;
+	}
+
+	private static void assertJavaType( MappedType mappedType, boolean supported )
+	{
+		if( !supported )
+			throw new IllegalStateException( "Unsupported java type for direct encoding: " + mappedType.getTypeName() );
+	}
+
+	private static boolean hasRestrictedCharacterSet( Type type )
+	{
+		int tagNumber = ( (TagEncoding)type.getEncoding( EncodingInstructions.TAG ) ).getTagNumber();
+		for( UniversalType universalType : UniversalType.values() )
+			if( universalType.tagNumber() == tagNumber )
+				return universalType.pattern() != null;
+		return true;
+	}
+
+	private static boolean isConstructed( Family family )
+	{
+		return family == Family.SEQUENCE || family == Family.SEQUENCE_OF || family == Family.SET || family == Family.SET_OF;
+	}
+}
@@ -0,0 +1,88 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.databind.marshaller;
+
+import org.asn1s.databind.Asn1Context;
+import org.asn1s.databind.mapper.MappedType;
+import org.asn1s.io.ber.BerRules;
+import org.asn1s.io.ber.output.DefaultBerWriter;
+import org.asn1s.io.ber.output.PrimitiveBerWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DER marshaller that writes java objects without building ASN.1 values.
+ * Encoders are compiled from mapped types on first use and reused by this marshaller,
+ * so context module must be validated and instance should be kept for repeated marshalling.
+ * Instance is thread safe, compiled encoders are shared by all threads.
+ * Constraints are checked while writing, violations are reported as IOException.
+ */
+public class DirectMarshaller implements Marshaller
+{
+	public DirectMarshaller( Asn1Context context )
+	{
+		this.context = context;
+		compiler = new DirectEncoderCompiler( context );
+	}
+
+	private final Asn1Context context;
+	private final DirectEncoderCompiler compiler;
+	private final Map<MappedType, TaggedEncoder> encoders = new ConcurrentHashMap<>();
+
+	@Override
+	public void marshall( Object o, OutputStream os ) throws IOException
+	{
+		MappedType type = context.getMappedTypeByClass( o.getClass() );
+		if( type == null )
+			throw new IllegalStateException( "No mapping for: " + o.getClass().getCanonicalName() );
+
+		TaggedEncoder encoder = encoders.get( type );
+		if( encoder == null )
+			encoder = compile( type );
+
+		try( DefaultBerWriter writer = new DefaultBerWriter( BerRules.DER, os ) )
+		{
+			encoder.write( new PrimitiveBerWriter( writer ), o );
+		} catch( IOException e )
+		{
+			throw e;
+		} catch( Exception e )
+		{
+			throw new IOException( "Unable to write value: " + o, e );
+		}
+	}
+
+	private TaggedEncoder compile( MappedType type )
+	{
+		synchronized( compiler )
+		{
+			return encoders.computeIfAbsent( type, compiler::compile );
+		}
+	}
+}
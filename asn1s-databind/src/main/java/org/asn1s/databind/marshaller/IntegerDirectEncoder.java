@@ -0,0 +1,73 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.databind.marshaller;
+
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.io.ber.output.PrimitiveBerWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+final class IntegerDirectEncoder implements DirectEncoder
+{
+	/**
+	 * Create encoder
+	 *
+	 * @param checker the checker for constrained types, null if any value is accepted
+	 * @param factory the value factory for values passed to checker
+	 */
+	IntegerDirectEncoder( @Nullable ValueChecker checker, @NotNull ValueFactory factory )
+	{
+		this.checker = checker;
+		this.factory = factory;
+	}
+
+	private final ValueChecker checker;
+	private final ValueFactory factory;
+
+	@Override
+	public void encode( @NotNull PrimitiveBerWriter writer, @NotNull Tag tag, @NotNull Object value ) throws IOException, Asn1Exception
+	{
+		if( value instanceof BigInteger )
+		{
+			BigInteger integer = (BigInteger)value;
+			if( checker != null )
+				checker.check( factory.integer( integer ) );
+			writer.writeInteger( tag, integer );
+		}
+		else
+		{
+			long integer = ( (Number)value ).longValue();
+			if( checker != null )
+				checker.check( factory.integer( integer ) );
+			writer.writeInteger( tag, integer );
+		}
+	}
+}
@@ -38,14 +38,20 @@ import org.asn1s.io.ber.output.DefaultBerWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 
+/**
+ * Marshaller that creates ASN.1 value for each object and writes it using DER rules.
+ * Instance is stateless and may be shared between threads.
+ */
 public class MarshallerImpl implements Marshaller
 {
 	public MarshallerImpl( Asn1Context context )
 	{
 		this.context = context;
+		binder = new Asn1ValueBinderImpl( context );
 	}
 
 	private final Asn1Context context;
+	private final Asn1ValueBinder binder;
 
 	@Override
 	public void marshall( Object o, OutputStream os ) throws IOException
@@ -54,7 +60,6 @@ public class MarshallerImpl implements Marshaller
 		if( type == null )
 			throw new IllegalStateException( "No mapping for: " + o.getClass().getCanonicalName() );
 
-		Asn1ValueBinder binder = new Asn1ValueBinderImpl( context );
 		Value value = binder.toAsn1( o, type );
 		if( value == null )
 			throw new IllegalStateException( "Binder returned no value to write" );
@@ -0,0 +1,114 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.databind.marshaller;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.util.RefUtils;
+import org.asn1s.api.value.Value;
+import org.asn1s.databind.binder.Asn1ValueBinder;
+import org.asn1s.databind.mapper.BasicMappedField;
+import org.asn1s.databind.mapper.MappedField;
+import org.asn1s.io.ber.output.PrimitiveBerWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+final class SequenceDirectEncoder implements DirectEncoder
+{
+	private FieldEncoder[] fields;
+
+	void setFields( @NotNull FieldEncoder[] fields )
+	{
+		//noinspection AssignmentToCollectionOrArrayFieldFromParameter
+		this.fields = fields;
+	}
+
+	@Override
+	public void encode( @NotNull PrimitiveBerWriter writer, @NotNull Tag tag, @NotNull Object value ) throws IOException, Asn1Exception
+	{
+		writer.startConstructed();
+		for( FieldEncoder field : fields )
+		{
+			Object fieldValue = field.mappedField.getValue( value );
+			if( fieldValue == null )
+			{
+				if( !field.optional )
+					throw new IllegalStateException( "Required field is missing: " + field.mappedField.getPropertyName() );
+			}
+			// default values are never encoded
+			else if( !field.isSameAsDefaultValue( fieldValue ) )
+				field.encoder.write( writer, fieldValue );
+		}
+		writer.stopConstructed( tag );
+	}
+
+	static final class FieldEncoder
+	{
+		FieldEncoder( @NotNull MappedField field, @NotNull TaggedEncoder encoder, boolean optional )
+		{
+			if( !( field instanceof BasicMappedField ) )
+				throw new UnsupportedOperationException();
+
+			mappedField = (BasicMappedField)field;
+			this.encoder = encoder;
+			this.optional = optional;
+		}
+
+		private final BasicMappedField mappedField;
+		private final TaggedEncoder encoder;
+		private final boolean optional;
+		private Scope scope;
+		private ComponentType component;
+		private Asn1ValueBinder binder;
+
+		/**
+		 * Enable DEFAULT value check for this field, values equal to default are omitted like in DER (X.690, 11.5)
+		 *
+		 * @param scope     the sequence scope
+		 * @param component the component with DEFAULT value
+		 * @param binder    the binder used to convert field values for comparison
+		 */
+		void setDefault( @NotNull Scope scope, @NotNull ComponentType component, @NotNull Asn1ValueBinder binder )
+		{
+			this.scope = scope;
+			this.component = component;
+			this.binder = binder;
+		}
+
+		private boolean isSameAsDefaultValue( @NotNull Object fieldValue ) throws ResolutionException
+		{
+			if( component == null )
+				return false;
+
+			Value asn1Value = binder.toAsn1( fieldValue, mappedField.getType() );
+			return asn1Value != null && RefUtils.isSameAsDefaultValue( scope, component, asn1Value );
+		}
+	}
+}
@@ -0,0 +1,90 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.databind.marshaller;
+
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.ConstraintViolationException;
+import org.asn1s.io.ber.output.PrimitiveBerWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+
+final class SequenceOfDirectEncoder implements DirectEncoder
+{
+	SequenceOfDirectEncoder( @Nullable EffectiveConstraint constraint )
+	{
+		EffectiveConstraint size = constraint == null || constraint.isExtensible() ? null : constraint.getSizeConstraint();
+		minSize = size == null ? 0 : StringDirectEncoder.toSize( size.getLowerBound(), 0 );
+		maxSize = size == null || size.isExtensible() ? Integer.MAX_VALUE : StringDirectEncoder.toSize( size.getUpperBound(), Integer.MAX_VALUE );
+	}
+
+	private final int minSize;
+	private final int maxSize;
+	private TaggedEncoder componentEncoder;
+
+	void setComponentEncoder( @NotNull TaggedEncoder componentEncoder )
+	{
+		this.componentEncoder = componentEncoder;
+	}
+
+	@Override
+	public void encode( @NotNull PrimitiveBerWriter writer, @NotNull Tag tag, @NotNull Object value ) throws IOException, Asn1Exception
+	{
+		writer.startConstructed();
+		int count = 0;
+		if( value instanceof Iterable<?> )
+		{
+			for( Object item : (Iterable<?>)value )
+			{
+				writeComponent( writer, item );
+				count++;
+			}
+		}
+		else
+		{
+			count = Array.getLength( value );
+			for( int i = 0; i < count; i++ )
+				writeComponent( writer, Array.get( value, i ) );
+		}
+
+		if( count < minSize || count > maxSize )
+			throw new ConstraintViolationException( "Collection size " + count + " is out of range " + minSize + ".." + maxSize );
+
+		writer.stopConstructed( tag );
+	}
+
+	private void writeComponent( PrimitiveBerWriter writer, @Nullable Object item ) throws IOException, Asn1Exception
+	{
+		if( item == null )
+			throw new IllegalStateException( "Unable to write null collection component" );
+
+		componentEncoder.write( writer, item );
+	}
+}
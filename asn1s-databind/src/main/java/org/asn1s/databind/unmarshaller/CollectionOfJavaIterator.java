@@ -0,0 +1,125 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.databind.unmarshaller;
+
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.Value.Kind;
+import org.asn1s.databind.binder.JavaValueBinder;
+import org.asn1s.databind.mapper.MappedType;
+import org.asn1s.io.Asn1Reader;
+import org.asn1s.io.Asn1ValueIterator;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Binds components of SEQUENCE OF to java objects while they are read from stream.
+ * Reader is closed when iterator is closed.
+ *
+ * @param <T> component java type
+ */
+final class CollectionOfJavaIterator<T> implements Iterator<T>, AutoCloseable
+{
+	CollectionOfJavaIterator( @NotNull Asn1Reader reader, @NotNull Asn1ValueIterator values, @NotNull JavaValueBinder binder, @NotNull MappedType componentType )
+	{
+		this.reader = reader;
+		this.values = values;
+		this.binder = binder;
+		this.componentType = componentType;
+	}
+
+	private final Asn1Reader reader;
+	private final Asn1ValueIterator values;
+	private final JavaValueBinder binder;
+	private final MappedType componentType;
+	private boolean closed;
+
+	@Override
+	public boolean hasNext()
+	{
+		if( closed )
+			return false;
+
+		try
+		{
+			return values.hasNext();
+		} catch( Exception e )
+		{
+			throw new UncheckedIOException( new IOException( "Unable to read collection component", e ) );
+		}
+	}
+
+	@Override
+	public T next()
+	{
+		if( !hasNext() )
+			throw new NoSuchElementException();
+
+		Value value;
+		try
+		{
+			value = values.next();
+		} catch( Exception e )
+		{
+			throw new UncheckedIOException( new IOException( "Unable to read collection component", e ) );
+		}
+
+		if( value.getKind() == Kind.NAME )
+			value = (Value)value.toNamedValue().getValueRef();
+
+		return binder.toJava( value, componentType );
+	}
+
+	@Override
+	public void close()
+	{
+		if( closed )
+			return;
+
+		closed = true;
+		try
+		{
+			reader.close();
+		} catch( Exception e )
+		{
+			throw new UncheckedIOException( new IOException( "Unable to close reader", e ) );
+		}
+	}
+
+	static void closeQuietly( AutoCloseable closeable, Throwable cause )
+	{
+		try
+		{
+			closeable.close();
+		} catch( Exception e )
+		{
+			cause.addSuppressed( e );
+		}
+	}
+}
@@ -27,8 +27,23 @@ package org.asn1s.databind.unmarshaller;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.stream.Stream;
 
 public interface Unmarshaller
 {
 	<T> T unmarshal( Class<T> aClass, InputStream is ) throws IOException;
+
+	/**
+	 * Unmarshal SEQUENCE OF value component by component, each component is read and bound
+	 * when stream requests it, so the whole collection is never kept in memory.
+	 * Returned stream owns input stream and must be closed. Read failures are reported as UncheckedIOException.
+	 *
+	 * @param collectionType mapped array class or parameterized list type, like Foo[].class
+	 * @param is             input stream
+	 * @param <T>            component java type
+	 * @return stream of components
+	 * @throws IOException if collection header can not be read
+	 */
+	<T> Stream<T> unmarshalStream( Type collectionType, InputStream is ) throws IOException;
 }
@@ -31,20 +31,33 @@ import org.asn1s.databind.Asn1Context;
 import org.asn1s.databind.binder.JavaValueBinder;
 import org.asn1s.databind.binder.JavaValueBinderImpl;
 import org.asn1s.databind.mapper.MappedType;
+import org.asn1s.databind.mapper.SequenceOfMappedType;
 import org.asn1s.io.Asn1Reader;
+import org.asn1s.io.Asn1ValueIterator;
 import org.asn1s.io.ber.input.DefaultBerReader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * Unmarshaller that reads ASN.1 value using BER rules and binds it to java object.
+ * Instance is stateless and may be shared between threads.
+ */
 public class UnmarshallerImpl implements Unmarshaller
 {
 	public UnmarshallerImpl( Asn1Context context )
 	{
 		this.context = context;
+		binder = new JavaValueBinderImpl( context );
 	}
 
 	private final Asn1Context context;
+	private final JavaValueBinder binder;
 
 	@Override
 	public <T> T unmarshal( Class<T> aClass, InputStream is ) throws IOException
@@ -62,7 +75,31 @@ public class UnmarshallerImpl implements Unmarshaller
 		{
 			throw new IOException( "Unable to read value of class: " + aClass.getCanonicalName(), e );
 		}
-		JavaValueBinder binder = new JavaValueBinderImpl( context );
 		return binder.toJava( value, mappedType );
 	}
+
+	@Override
+	public <T> Stream<T> unmarshalStream( Type collectionType, InputStream is ) throws IOException
+	{
+		MappedType mappedType = context.getMappedTypeByType( collectionType );
+		if( !( mappedType instanceof SequenceOfMappedType ) )
+			throw new IllegalStateException( "No collection mapping for type: " + collectionType.getTypeName() );
+
+		DefinedType asnType = mappedType.getAsnType();
+		Asn1Reader reader = new DefaultBerReader( is, context.getAsn1Factory().values() );
+		Asn1ValueIterator values;
+		try
+		{
+			values = reader.readCollectionOf( asnType.createScope(), asnType );
+		} catch( Exception e )
+		{
+			CollectionOfJavaIterator.closeQuietly( reader, e );
+			throw new IOException( "Unable to read collection of type: " + collectionType.getTypeName(), e );
+		}
+
+		CollectionOfJavaIterator<T> iterator =
+				new CollectionOfJavaIterator<>( reader, values, binder, ( (SequenceOfMappedType)mappedType ).getComponentType() );
+		return StreamSupport.stream( Spliterators.spliteratorUnknownSize( iterator, Spliterator.ORDERED | Spliterator.NONNULL ), false )
+				.onClose( iterator:: close );
+	}
 }
@@ -0,0 +1,153 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.databind.tests.concurrent;
+
+import org.asn1s.api.module.ModuleReference;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.core.module.ModuleImpl;
+import org.asn1s.core.module.ModuleSet;
+import org.asn1s.databind.Asn1Context;
+import org.asn1s.databind.marshaller.Marshaller;
+import org.asn1s.databind.tests.persons.Person;
+import org.asn1s.databind.unmarshaller.Unmarshaller;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SharedContextTest
+{
+	private static final int THREADS = 8;
+	private static final int ITERATIONS = 200;
+
+	@Test
+	public void testSharedMarshallers() throws Exception
+	{
+		ModuleSet moduleSet = new ModuleSet();
+		ModuleImpl module = new ModuleImpl( new ModuleReference( "My-Module" ), moduleSet );
+		Asn1Context context = new Asn1Context( module, new DefaultAsn1Factory( moduleSet ) );
+		context.mapType( Person.class );
+		module.validate();
+
+		Marshaller marshaller = context.createMarshaller();
+		Marshaller directMarshaller = context.createDirectMarshaller();
+		Unmarshaller unmarshaller = context.createUnmarshaller();
+
+		ExecutorService service = Executors.newFixedThreadPool( THREADS );
+		try
+		{
+			List<Future<Void>> futures = new ArrayList<>();
+			for( int i = 0; i < THREADS; i++ )
+			{
+				int seed = i;
+				Callable<Void> task = () -> {
+					for( int j = 0; j < ITERATIONS; j++ )
+					{
+						Person person = new Person( "Jack", "Smith-" + seed, j, new Person[]{new Person( "Sally", "Smith", seed )} );
+						byte[] bytes = marshall( marshaller, person );
+						Assert.assertArrayEquals( "Encodings are not equal", bytes, marshall( directMarshaller, person ) );
+						try( ByteArrayInputStream is = new ByteArrayInputStream( bytes ) )
+						{
+							Assert.assertEquals( "Values are not equal", person, unmarshaller.unmarshal( Person.class, is ) );
+						}
+					}
+					return null;
+				};
+				futures.add( service.submit( task ) );
+			}
+
+			for( Future<Void> future : futures )
+				future.get();
+		} finally
+		{
+			service.shutdown();
+		}
+	}
+
+	@Test
+	public void testConcurrentLookupDuringMapping() throws Exception
+	{
+		ModuleSet moduleSet = new ModuleSet();
+		ModuleImpl module = new ModuleImpl( new ModuleReference( "My-Module" ), moduleSet );
+		Asn1Context context = new Asn1Context( module, new DefaultAsn1Factory( moduleSet ) );
+
+		ExecutorService service = Executors.newFixedThreadPool( THREADS );
+		try
+		{
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for( int i = 0; i < THREADS; i++ )
+				futures.add( service.submit( () -> context.mapType( Person.class ) == context.getMappedTypeByClass( Person.class ) ) );
+
+			for( Future<Boolean> future : futures )
+				Assert.assertTrue( "Mapped type must be shared", future.get() );
+		} finally
+		{
+			service.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailedMappingLeavesNoTypes() throws Exception
+	{
+		ModuleSet moduleSet = new ModuleSet();
+		ModuleImpl module = new ModuleImpl( new ModuleReference( "My-Module" ), moduleSet );
+		Asn1Context context = new Asn1Context( module, new DefaultAsn1Factory( moduleSet ) );
+		int typeCount = module.getTypeResolver().getTypes().size();
+
+		try
+		{
+			context.mapType( Broken.class );
+			Assert.fail( "Mapping must fail" );
+		} catch( UnsupportedOperationException ignored )
+		{
+		}
+
+		Assert.assertEquals( "Module types must be rolled back", typeCount, module.getTypeResolver().getTypes().size() );
+		Assert.assertNull( "Person type must not be defined", module.getTypeResolver().getType( "Person" ) );
+		Assert.assertNull( "Person must not be mapped", context.getMappedTypeByClass( Person.class ) );
+
+		context.mapType( Person.class );
+		module.validate();
+		Assert.assertNotNull( "Person type must be defined", module.getTypeResolver().getType( "Person" ) );
+	}
+
+	private static byte[] marshall( Marshaller marshaller, Object value ) throws IOException
+	{
+		try( ByteArrayOutputStream os = new ByteArrayOutputStream() )
+		{
+			marshaller.marshall( value, os );
+			return os.toByteArray();
+		}
+	}
+}
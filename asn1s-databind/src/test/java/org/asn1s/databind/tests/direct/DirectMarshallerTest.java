@@ -0,0 +1,174 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.databind.tests.direct;
+
+import org.asn1s.api.encoding.tag.TagMethod;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.constraint.ConstraintFactory;
+import org.asn1s.api.constraint.ConstraintTemplate;
+import org.asn1s.api.module.ModuleReference;
+import org.asn1s.api.type.AbstractNestingType;
+import org.asn1s.api.type.CollectionType;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.DefinedType;
+import org.asn1s.api.type.Type;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.core.module.ModuleImpl;
+import org.asn1s.core.module.ModuleSet;
+import org.asn1s.databind.Asn1Context;
+import org.asn1s.databind.mapper.BuiltinMappedType;
+import org.asn1s.databind.marshaller.Marshaller;
+import org.asn1s.databind.tests.notebook.Book;
+import org.asn1s.databind.tests.notebook.Note;
+import org.asn1s.databind.tests.persons.Person;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DirectMarshallerTest
+{
+	@Test
+	public void testSameAsValueMarshaller() throws Exception
+	{
+		ModuleSet moduleSet = new ModuleSet();
+		ModuleImpl module = new ModuleImpl( new ModuleReference( "My-Module" ), moduleSet );
+		Asn1Context context = new Asn1Context( module, new DefaultAsn1Factory( moduleSet ) );
+		context.mapType( Person.class );
+		module.validate();
+
+		Person person = new Person( "Jack", "Smith", 29, new Person[]{
+				new Person( "Sally", "Smith", 25 ),
+				new Person( "Kate", "Smith", -8 )
+		} );
+
+		Marshaller marshaller = context.createDirectMarshaller();
+		byte[] expected = marshall( context.createMarshaller(), person );
+		Assert.assertArrayEquals( "Encodings are not equal", expected, marshall( marshaller, person ) );
+		Assert.assertArrayEquals( "Encodings are not equal on reuse", expected, marshall( marshaller, person ) );
+
+		try( ByteArrayInputStream is = new ByteArrayInputStream( expected ) )
+		{
+			Assert.assertEquals( "Values are not equal", person, context.createUnmarshaller().unmarshal( Person.class, is ) );
+		}
+	}
+
+	@Test
+	public void testDefaultComponentOmitted() throws Exception
+	{
+		ModuleSet moduleSet = new ModuleSet();
+		ModuleImpl module = new ModuleImpl( new ModuleReference( "My-Module" ), moduleSet );
+		DefaultAsn1Factory factory = new DefaultAsn1Factory( moduleSet );
+		Asn1Context context = new Asn1Context( module, factory );
+		context.mapType( Person.class );
+		// age INTEGER DEFAULT 0
+		CollectionType sequence = (CollectionType)( (AbstractNestingType)context.getMappedTypeByClass( Person.class ).getAsnType() ).getSiblingRef();
+		for( Type component : sequence.getComponents( Kind.PRIMARY ) )
+			if( "age".equals( ( (ComponentType)component ).getComponentName() ) )
+				( (ComponentType)component ).setDefaultValueRef( factory.values().integer( 0 ) );
+		module.validate();
+
+		Marshaller marshaller = context.createDirectMarshaller();
+		for( Person person : new Person[]{new Person( "Jack", "Smith", 0 ), new Person( "Sally", "Smith", 25 )} )
+			Assert.assertArrayEquals( "Encodings are not equal", marshall( context.createMarshaller(), person ), marshall( marshaller, person ) );
+	}
+
+	@Test
+	public void testConstraintsCheckedLikeValueMarshaller() throws Exception
+	{
+		ModuleSet moduleSet = new ModuleSet();
+		ModuleImpl module = new ModuleImpl( new ModuleReference( "My-Module" ), moduleSet );
+		DefaultAsn1Factory factory = new DefaultAsn1Factory( moduleSet );
+		Asn1Context context = new Asn1Context( module, factory );
+		ConstraintFactory constraints = factory.constraints();
+		// Code ::= INTEGER (1|5|9), Word ::= PrintableString
+		List<ConstraintTemplate> alternatives = new ArrayList<>();
+		for( int value : new int[]{1, 5, 9} )
+			alternatives.add( constraints.union( Collections.singletonList( constraints.elements( constraints.value( factory.values().integer( value ) ), null ) ) ) );
+		DefinedType code = factory.types().define( "Code", factory.types().constrained( constraints.elementSetSpec( alternatives ), UniversalType.INTEGER.ref() ), null );
+		DefinedType word = factory.types().define( "Word", UniversalType.PRINTABLE_STRING.ref(), null );
+		context.putMappedType( int.class.getTypeName(), code.getName(), new BuiltinMappedType( int.class, code ) );
+		context.putMappedType( String.class.getTypeName(), word.getName(), new BuiltinMappedType( String.class, word ) );
+		context.mapType( Coded.class );
+		module.validate();
+
+		Marshaller marshaller = context.createDirectMarshaller();
+		Coded valid = new Coded( 5, "five" );
+		Assert.assertArrayEquals( "Encodings are not equal", marshall( context.createMarshaller(), valid ), marshall( marshaller, valid ) );
+
+		for( Coded invalid : new Coded[]{new Coded( 3, "three" ), new Coded( 9, "n\u00EFne" )} )
+		{
+			assertRejected( context.createMarshaller(), invalid );
+			assertRejected( marshaller, invalid );
+		}
+	}
+
+	@Test
+	public void testAutomaticTags() throws Exception
+	{
+		ModuleSet moduleSet = new ModuleSet();
+		ModuleImpl module = new ModuleImpl( new ModuleReference( "My-Module" ), moduleSet );
+		module.setTagMethod( TagMethod.AUTOMATIC );
+		Asn1Context context = new Asn1Context( module, new DefaultAsn1Factory( moduleSet ) );
+		context.mapType( Note.class );
+		context.mapType( Book.class );
+		module.validate();
+
+		Book book = new Book( "lastrix" );
+		book.addNote( new Note( Instant.ofEpochSecond( 1500000000L ), "Hello", "I'm new here!" ) );
+		book.addNote( new Note( Instant.ofEpochSecond( 1500000060L ), "Whats going on?", "Testing you." ) );
+
+		byte[] expected = marshall( context.createMarshaller(), book );
+		Assert.assertArrayEquals( "Encodings are not equal", expected, marshall( context.createDirectMarshaller(), book ) );
+	}
+
+	private static void assertRejected( Marshaller marshaller, Object value )
+	{
+		try
+		{
+			marshall( marshaller, value );
+			Assert.fail( "Value must be rejected: " + value );
+		} catch( IOException | IllegalStateException ignored )
+		{
+		}
+	}
+
+	private static byte[] marshall( Marshaller marshaller, Object value ) throws IOException
+	{
+		try( ByteArrayOutputStream os = new ByteArrayOutputStream() )
+		{
+			marshaller.marshall( value, os );
+			return os.toByteArray();
+		}
+	}
+}
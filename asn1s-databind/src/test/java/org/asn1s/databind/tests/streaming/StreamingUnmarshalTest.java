@@ -0,0 +1,88 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.databind.tests.streaming;
+
+import org.asn1s.api.module.ModuleReference;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.core.module.ModuleImpl;
+import org.asn1s.core.module.ModuleSet;
+import org.asn1s.databind.Asn1Context;
+import org.asn1s.databind.tests.persons.Person;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class StreamingUnmarshalTest
+{
+	@Test
+	public void testStreamArray() throws Exception
+	{
+		ModuleSet moduleSet = new ModuleSet();
+		ModuleImpl module = new ModuleImpl( new ModuleReference( "My-Module" ), moduleSet );
+		Asn1Context context = new Asn1Context( module, new DefaultAsn1Factory( moduleSet ) );
+		context.mapType( Person.class );
+		module.validate();
+
+		Person[] persons = new Person[100];
+		for( int i = 0; i < persons.length; i++ )
+			persons[i] = new Person( "Name-" + i, "Surname", i, new Person[]{new Person( "Child", "Surname", i )} );
+
+		byte[] bytes;
+		try( ByteArrayOutputStream os = new ByteArrayOutputStream() )
+		{
+			context.createMarshaller().marshall( persons, os );
+			bytes = os.toByteArray();
+		}
+
+		try( Stream<Person> stream = context.createUnmarshaller().unmarshalStream( Person[].class, new ByteArrayInputStream( bytes ) ) )
+		{
+			Assert.assertArrayEquals( "Values are not equal", persons, stream.collect( Collectors.toList() ).toArray() );
+		}
+
+		try( Stream<Person> stream = context.createUnmarshaller().unmarshalStream( Person[].class, new ByteArrayInputStream( bytes ) ) )
+		{
+			Iterator<Person> iterator = stream.iterator();
+			Assert.assertEquals( "First value is not equal", persons[0], iterator.next() );
+			Assert.assertEquals( "Second value is not equal", persons[1], iterator.next() );
+		}
+	}
+
+	@Test( expected = IllegalStateException.class )
+	public void testNotCollection() throws Exception
+	{
+		ModuleSet moduleSet = new ModuleSet();
+		ModuleImpl module = new ModuleImpl( new ModuleReference( "My-Module" ), moduleSet );
+		Asn1Context context = new Asn1Context( module, new DefaultAsn1Factory( moduleSet ) );
+		context.mapType( Person.class );
+		module.validate();
+		context.createUnmarshaller().unmarshalStream( Person.class, new ByteArrayInputStream( new byte[0] ) );
+	}
+}
@@ -50,4 +50,18 @@ public interface Asn1Reader extends AutoCloseable
 	 * @throws Asn1Exception if type can not be resolved, value can not be resolved or constraint failure
 	 */
 	Value read( @NotNull Scope scope, @NotNull Ref<Type> typeRef ) throws IOException, Asn1Exception;
+
+	/**
+	 * Start reading of SEQUENCE OF or SET OF value, components are read lazily by returned iterator,
+	 * so memory consumption does not depend on component count.
+	 * Constraints of collection type itself are not checked, only components are validated.
+	 *
+	 * @param scope   the resolution scope
+	 * @param typeRef ref to SEQUENCE OF or SET OF type
+	 * @return component iterator
+	 * @throws IOException   in case of IO problems
+	 * @throws Asn1Exception if type can not be resolved or type is not collection of
+	 */
+	@NotNull
+	Asn1ValueIterator readCollectionOf( @NotNull Scope scope, @NotNull Ref<Type> typeRef ) throws IOException, Asn1Exception;
 }
@@ -0,0 +1,57 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+package org.asn1s.io;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.value.Value;
+
+import java.io.IOException;
+
+/**
+ * Iterator over components of SEQUENCE OF or SET OF value, components are read one by one on demand.
+ * Iterator is bound to reader it was created by, reader must not be used until iteration is finished.
+ */
+public interface Asn1ValueIterator
+{
+	/**
+	 * Check if there are more components in collection.
+	 * If there are no more components, then rest of collection encoding is consumed.
+	 *
+	 * @return true if next component is available
+	 * @throws IOException   in case of IO problems
+	 * @throws Asn1Exception if data is corrupted
+	 */
+	boolean hasNext() throws IOException, Asn1Exception;
+
+	/**
+	 * Read next component
+	 *
+	 * @return component value
+	 * @throws IOException                      in case of IO problems
+	 * @throws Asn1Exception                    if component can not be read or constraint failure
+	 * @throws java.util.NoSuchElementException if there are no more components
+	 */
+	Value next() throws IOException, Asn1Exception;
+}
@@ -48,6 +48,22 @@ public interface Asn1Writer extends AutoCloseable
 	 */
 	void write( @NotNull Scope scope, @NotNull Ref<Type> typeRef, @NotNull Value value ) throws IOException, Asn1Exception;
 
+	/**
+	 * Serialize value that is known to be valid for type, like values read by Asn1Reader or optimized by type.
+	 * Value is not resolved or accepted by type and constraints are not checked, writing invalid value
+	 * produces invalid encoding. Performs full validation by default.
+	 *
+	 * @param scope   the resolution scope, must not be null
+	 * @param typeRef type ref to use for serialization, must point to valid type
+	 * @param value   the value to encode, must be resolved and accepted by type
+	 * @throws IOException   in case of IO problem
+	 * @throws Asn1Exception if type cannot be resolved or value can not be encoded
+	 */
+	default void writeTrusted( @NotNull Scope scope, @NotNull Ref<Type> typeRef, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		write( scope, typeRef, value );
+	}
+
 	/**
 	 * Recover all written data as byte array.
 	 * Throws UnsupportedOperationException by default.
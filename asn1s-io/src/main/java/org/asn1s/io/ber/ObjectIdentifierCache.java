@@ -0,0 +1,223 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.ber;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Global bounded tables of object identifier content octets (X.690, p 8.19) and their arcs.
+ * Real traffic uses small set of distinct identifiers, once the table is full least recently used entries are evicted,
+ * so identifiers from untrusted input can not lock out the ones actually in use.
+ * Cached arrays are shared and must not be modified.
+ */
+public final class ObjectIdentifierCache
+{
+	static final int MAX_ENTRIES = 4096;
+	private static final int MASK_7_BIT = 0x7F;
+	private static final int MASK_MORE_BYTES = 0x80;
+
+	private static final Map<ArrayKey, long[]> ARCS = Collections.synchronizedMap( new LruMap<>() );
+	private static final Map<ArrayKey, byte[]> CONTENTS = Collections.synchronizedMap( new LruMap<>() );
+
+	private ObjectIdentifierCache()
+	{
+	}
+
+	/**
+	 * Returns arcs for content octets
+	 *
+	 * @param content the content octets
+	 * @return arcs
+	 * @throws IllegalArgumentException if content is not valid
+	 */
+	@NotNull
+	public static long[] toArcs( @NotNull byte[] content )
+	{
+		ArrayKey key = new ArrayKey( content );
+		long[] arcs = ARCS.get( key );
+		if( arcs == null )
+		{
+			arcs = decode( content );
+			ARCS.putIfAbsent( key, arcs );
+		}
+		//noinspection ReturnOfCollectionOrArrayField
+		return arcs;
+	}
+
+	/**
+	 * Returns content octets for arcs
+	 *
+	 * @param arcs the arcs
+	 * @return content octets
+	 * @throws IllegalArgumentException if there are less than 2 arcs
+	 */
+	@NotNull
+	public static byte[] toContent( @NotNull long[] arcs )
+	{
+		ArrayKey key = new ArrayKey( arcs );
+		byte[] content = CONTENTS.get( key );
+		if( content == null )
+		{
+			content = encode( arcs );
+			CONTENTS.putIfAbsent( key, content );
+		}
+		//noinspection ReturnOfCollectionOrArrayField
+		return content;
+	}
+
+	private static long[] decode( byte[] content )
+	{
+		if( content.length == 0 || ( content[content.length - 1] & MASK_MORE_BYTES ) != 0 )
+			throw new IllegalArgumentException( "Object identifier content is truncated" );
+
+		int count = 1;
+		for( byte b : content )
+			if( ( b & MASK_MORE_BYTES ) == 0 )
+				count++;
+
+		long[] arcs = new long[count];
+		int index = 0;
+		long value = 0;
+		for( byte b : content )
+		{
+			value = value << 7 | b & MASK_7_BIT;
+			if( ( b & MASK_MORE_BYTES ) != 0 )
+				continue;
+
+			if( index == 0 )
+			{
+				long first = Math.min( value / BerUtils.OID_FIRST_BYTE_MULTIPLIER, 2L );
+				arcs[0] = first;
+				arcs[1] = value - first * BerUtils.OID_FIRST_BYTE_MULTIPLIER;
+				index = 2;
+			}
+			else
+			{
+				arcs[index] = value;
+				index++;
+			}
+			value = 0;
+		}
+		return arcs;
+	}
+
+	private static byte[] encode( long[] arcs )
+	{
+		if( arcs.length < 2 )
+			throw new IllegalArgumentException( "Object identifier must have at least 2 arcs" );
+
+		int size = sizeOf( arcs[0] * BerUtils.OID_FIRST_BYTE_MULTIPLIER + arcs[1] );
+		for( int i = 2; i < arcs.length; i++ )
+			size += sizeOf( arcs[i] );
+
+		byte[] content = new byte[size];
+		int position = write( content, 0, arcs[0] * BerUtils.OID_FIRST_BYTE_MULTIPLIER + arcs[1] );
+		for( int i = 2; i < arcs.length; i++ )
+			position = write( content, position, arcs[i] );
+		return content;
+	}
+
+	private static int sizeOf( long item )
+	{
+		if( item < 0 )
+			throw new IllegalArgumentException( "Object identifier arcs must not be negative" );
+
+		int size = 1;
+		while( ( item >>>= 7 ) != 0 )
+			size++;
+		return size;
+	}
+
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	private static int write( byte[] content, int position, long item )
+	{
+		int size = sizeOf( item );
+		for( int i = size - 1; i >= 0; i-- )
+		{
+			content[position] = (byte)( ( item >>> ( 7 * i ) ) & MASK_7_BIT | ( i == 0 ? 0 : MASK_MORE_BYTES ) );
+			position++;
+		}
+		return position;
+	}
+
+	private static final class LruMap<V> extends LinkedHashMap<ArrayKey, V>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private LruMap()
+		{
+			super( 16, 0.75f, true );
+		}
+
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<ArrayKey, V> eldest )
+		{
+			return size() > MAX_ENTRIES;
+		}
+	}
+
+	private static final class ArrayKey
+	{
+		private ArrayKey( byte[] bytes )
+		{
+			this.bytes = bytes;
+			longs = null;
+			hash = Arrays.hashCode( bytes );
+		}
+
+		private ArrayKey( long[] longs )
+		{
+			bytes = null;
+			this.longs = longs;
+			hash = Arrays.hashCode( longs );
+		}
+
+		private final byte[] bytes;
+		private final long[] longs;
+		private final int hash;
+
+		@Override
+		public boolean equals( Object obj )
+		{
+			if( this == obj ) return true;
+			if( !( obj instanceof ArrayKey ) ) return false;
+
+			ArrayKey key = (ArrayKey)obj;
+			return hash == key.hash && Arrays.equals( bytes, key.bytes ) && Arrays.equals( longs, key.longs );
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+	}
+}
@@ -36,40 +36,26 @@ import org.asn1s.api.exception.Asn1Exception;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.type.*;
 import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.util.ValidationUtils;
+import org.asn1s.api.value.ByteArrayValue;
 import org.asn1s.api.value.Value;
 import org.asn1s.api.value.ValueFactory;
 import org.asn1s.io.Asn1Reader;
+import org.asn1s.io.Asn1ValueIterator;
 import org.asn1s.io.ber.BerUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
-import java.util.EnumMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 abstract class AbstractBerReader implements Asn1Reader
 {
-	private static final Map<Family, BerDecoder> DECODERS = new EnumMap<>( Family.class );
-
-	static
-	{
-		DECODERS.put( Family.BOOLEAN, new BooleanBerDecoder() );
-		DECODERS.put( Family.INTEGER, new IntegerBerDecoder() );
-		DECODERS.put( Family.ENUMERATED, new EnumeratedBerDecoder() );
-		DECODERS.put( Family.REAL, new RealBerDecoder() );
-		DECODERS.put( Family.BIT_STRING, new BitStringBerDecoder() );
-		DECODERS.put( Family.OCTET_STRING, new OctetStringBerDecoder() );
-		DECODERS.put( Family.NULL, new NullBerDecoder() );
-		DECODERS.put( Family.SEQUENCE, new SequenceBerDecoder() );
-		DECODERS.put( Family.SEQUENCE_OF, new SequenceOfBerDecoder() );
-		DECODERS.put( Family.SET_OF, new SetOfBerDecoder() );
-		DECODERS.put( Family.SET, new SetBerDecoder() );
-		DECODERS.put( Family.RESTRICTED_STRING, new StringBerDecoder() );
-		DECODERS.put( Family.UTC_TIME, new UTCTimeBerDecoder() );
-		DECODERS.put( Family.GENERALIZED_TIME, new GeneralizedTimeBerDecoder() );
-		DECODERS.put( Family.OID, new ObjectIDBerDecoder() );
-	}
+	/**
+	 * Definite lengths are limited by long range
+	 */
+	static final int MAX_LENGTH_OCTETS = 8;
 
 	AbstractBerReader( ValueFactory factory )
 	{
@@ -88,34 +74,93 @@ abstract class AbstractBerReader implements Asn1Reader
 	@Override
 	public Value read( @NotNull Scope scope, @NotNull Ref<Type> typeRef ) throws IOException, Asn1Exception
 	{
-		Type type = typeRef.resolve( scope );
+		Type type = ValidationUtils.resolveType( scope, typeRef );
 		Value value = readInternal( new ReaderContext( this, scope, type, null, -1, false ) );
 		type.accept( scope, value );
 		return value;
 	}
 
+	@NotNull
+	@Override
+	public Asn1ValueIterator readCollectionOf( @NotNull Scope scope, @NotNull Ref<Type> typeRef ) throws IOException, Asn1Exception
+	{
+		ReaderContext context = new ReaderContext( this, scope, ValidationUtils.resolveType( scope, typeRef ), null, -1, false );
+		List<Tag> wrapperTags = new ArrayList<>();
+		List<Long> wrapperStarts = new ArrayList<>();
+		List<Long> wrapperLengths = new ArrayList<>();
+		boolean headerRead = false;
+		while( true )
+		{
+			Type type = context.getType();
+			if( type.isTagged() && ( (TaggedType)type ).getInstructions() == EncodingInstructions.TAG )
+			{
+				if( !headerRead )
+					context.readTagInfo( true );
+
+				TagEncoding encoding = (TagEncoding)type.getEncoding( EncodingInstructions.TAG );
+				assert encoding != null;
+				headerRead = encoding.getTagMethod() == TagMethod.IMPLICIT;
+				if( !headerRead )
+				{
+					wrapperTags.add( context.getTag() );
+					wrapperStarts.add( position() );
+					wrapperLengths.add( context.getLength() );
+					context.resetTagInfo( false );
+				}
+				context.toSiblingContext();
+			}
+			else if( type.hasConstraint() || type.hasSibling() )
+				context.toSiblingContext();
+			else if( type.getFamily() == Family.SEQUENCE_OF || type.getFamily() == Family.SET_OF )
+				break;
+			else
+				throw new ResolutionException( "Type is not collection of: " + type );
+		}
+
+		if( !headerRead )
+			context.readTagInfo( true );
+
+		if( !context.getTag().isConstructed() )
+			throw new IOException( "Collection of must be constructed: " + context.getTag() );
+
+		long[] starts = new long[wrapperTags.size()];
+		long[] lengths = new long[wrapperTags.size()];
+		for( int i = 0; i < starts.length; i++ )
+		{
+			starts[i] = wrapperStarts.get( i );
+			lengths[i] = wrapperLengths.get( i );
+		}
+		return new CollectionOfIterator( context, starts, lengths, wrapperTags.toArray( new Tag[wrapperTags.size()] ) );
+	}
+
 	@NotNull
 	Value readInternal( @NotNull ReaderContext context ) throws IOException, Asn1Exception
 	{
-		if( context.getType().hasConstraint() )
-			return readInternal( context.toSiblingContext() );
+		BerReadPlan plan = BerReadPlan.forType( context.getType() );
+		switch( plan.getStep() )
+		{
+			case SIBLING:
+				return readInternal( context.toSiblingContext() );
 
-		if( context.getType().isTagged() && ( (TaggedType)context.getType() ).getInstructions() == EncodingInstructions.TAG )
-			return readTaggedType( context );
+			case TAGGED:
+				return readTaggedType( context, plan );
 
-		if( context.getType().hasSibling() )
-			return readInternal( context.toSiblingContext() );
+			case CHOICE:
+				return readChoiceType( context, plan );
 
-		if( context.getType().getFamily() == Family.CHOICE )
-			return readChoiceType( context );
+			case OPEN_TYPE:
+				return readOpenType( context );
 
-		if( context.getType().getFamily() == Family.OPEN_TYPE )
-			return readOpenType( context );
+			default:
+				BerDecoder decoder = plan.getDecoder();
+				if( decoder == null )
+					throw new IllegalStateException( "No decoder found for family: " + context.getType().getFamily() );
 
-		if( context.getTag() == null )
-			context.readTagInfo( true );
+				if( context.getTag() == null )
+					context.readTagInfo( plan.getEncoding() );
 
-		return DECODERS.get( context.getType().getFamily() ).decode( context );
+				return decoder.decode( context );
+		}
 	}
 
 	private Value readOpenType( @NotNull ReaderContext context ) throws Asn1Exception, IOException
@@ -124,11 +169,12 @@ abstract class AbstractBerReader implements Asn1Reader
 		if( selector == null )
 			throw new ResolutionException( "Unable to locate InstanceOfTypeSelector." );
 
-		int contextLength = context.getLength();
+		// the enclosing tag may be already consumed by explicit tagged type, which reads end of contents itself
+		boolean indefinite = context.hasTag() && context.getLength() == -1;
 		Type openTypeType = selector.resolveInstanceOfType( context.getScope() );
 		context.resetTagInfo( false );
 		Value openTypeValue = readInternal( context.toSiblingContext( openTypeType ) );
-		if( contextLength == -1 )
+		if( indefinite )
 			skipToEoc();
 		return getValueFactory().openTypeValue( openTypeType, openTypeValue ).resolve( context.getScope() );
 	}
@@ -156,7 +202,7 @@ abstract class AbstractBerReader implements Asn1Reader
 		return new Tag( tagClass, constructed, tag );
 	}
 
-	int readLength() throws IOException
+	long readLength() throws IOException
 	{
 		byte value = read();
 		if( value == BerUtils.FORM_INDEFINITE )
@@ -165,24 +211,25 @@ abstract class AbstractBerReader implements Asn1Reader
 		if( ( value & BerUtils.BYTE_SIGN_MASK ) == 0 )
 			return value & BerUtils.UNSIGNED_BYTE_MASK;
 
-		int result = 0;
 		int count = value & BerUtils.UNSIGNED_BYTE_MASK;
+		if( count > MAX_LENGTH_OCTETS )
+			throw new IOException( "Length is too big: " + count + " octets" );
+
+		long result = 0L;
 		for( int i = 0; i < count; i++ )
 			result = ( result << 8 ) | ( read() & BerUtils.BYTE_MASK );
 
+		if( result < 0 )
+			throw new IOException( "Length is too big: " + Long.toUnsignedString( result ) );
 		return result;
 	}
 
-	private Value readTaggedType( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	private Value readTaggedType( @NotNull ReaderContext context, @NotNull BerReadPlan plan ) throws IOException, Asn1Exception
 	{
-		TagEncoding encoding = (TagEncoding)context.getType().getEncoding( EncodingInstructions.TAG );
+		TagEncoding encoding = plan.getEncoding();
 		if( encoding == null )
 			throw new IllegalStateException();
 
-		Type baseType = context.getType().getSibling();
-		if( baseType == null )
-			throw new IllegalStateException();
-
 		if( context.isImplicit() )
 		{
 			if( encoding.getTagMethod() == TagMethod.IMPLICIT )
@@ -195,60 +242,76 @@ abstract class AbstractBerReader implements Asn1Reader
 		context.setImplicit( encoding.getTagMethod() == TagMethod.IMPLICIT );
 		if( context.hasTag() )
 		{
-			if( baseType.getFamily() != Family.CHOICE )
+			if( !plan.isChoiceSibling() && context.isImplicit() )
 				return readInternal( context.toSiblingContext() );
 
-			context.resetTagInfo( context.isImplicit() );
-			return readInternal( context.toSiblingContext() );
+			return readExplicitContent( context );
 		}
 
-		context.readTagInfo( true );
+		context.readTagInfo( encoding );
 		// if constructed then enclosed type has it's own tag
 		if( context.getTag().isConstructed() && !context.isImplicit() )
-		{
-			context.resetTagInfo( false );
-			return readInternal( context.toSiblingContext() );
-		}
+			return readExplicitContent( context );
 
 		return readInternal( context.toSiblingContext() );
 	}
 
+	private Value readExplicitContent( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		long contextLength = context.getLength();
+		context.resetTagInfo( context.isImplicit() );
+		Value value = readInternal( context.toSiblingContext() );
+		if( contextLength == -1 )
+			skipToEoc();
+		return value;
+	}
+
 	@NotNull
-	private Value readChoiceType( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	private Value readChoiceType( @NotNull ReaderContext context, @NotNull BerReadPlan plan ) throws IOException, Asn1Exception
 	{
 		if( !context.hasTag() )
 			context.readTagInfo( false );
 
-		List<ComponentType> componentTypes = context.getType().getNamedTypes();
-		for( ComponentType component : componentTypes )
-		{
-			TagEncoding encoding = (TagEncoding)component.getEncoding( EncodingInstructions.TAG );
-			if( context.isSameTagEncoding( encoding ) )
-			{
-				context = context.toSiblingContext( component );
-				Value value = readInternal( context );
-				return factory.named( component.getName(), value );
-			}
-		}
+		ComponentType component = plan.findAlternative( context.getTag() );
+		if( component == null )
+			throw new IOException( "Unable to read choice value, unexpected tag: " + context.getTag() );
 
-		throw new IOException( "Unable to read choice value, unexpected tag: " + context.getTag() );
+		Value value = readInternal( context.toSiblingContext( component ) );
+		return factory.named( component.getName(), value );
 	}
 
-	void ensureConstructedRead( int start, int length, @Nullable Tag tag ) throws IOException
+	void ensureConstructedRead( long start, long length, @Nullable Tag tag ) throws IOException
 	{
-		int end = length == -1 ? 0 : start + length;
-		int position = position();
+		long end = length == -1 ? 0 : start + length;
+		long position = position();
 		if( length == -1 && tag != null && !tag.isEoc() )
 			skipToEoc();
 		else if( length != -1 && position != end )
 			skip( end - position );
 	}
 
+	/**
+	 * Read content octets of primitive string value.
+	 * Implementations backed by memory may return value that refers to reader data instead of copy.
+	 *
+	 * @param length     content length
+	 * @param unusedBits amount of unused bits in last octet
+	 * @return byte array value
+	 * @throws IOException if there is not enough data
+	 */
+	ByteArrayValue readByteArrayValue( int length, int unusedBits ) throws IOException
+	{
+		byte[] bytes = new byte[length];
+		if( read( bytes ) != length )
+			throw new IOException( "Unexpected EOF" );
+		return factory.byteArrayValue( length * 8 - unusedBits, bytes );
+	}
+
 	protected abstract void skipToEoc() throws IOException;
 
-	protected abstract void skip( int amount ) throws IOException;
+	protected abstract void skip( long amount ) throws IOException;
 
-	protected abstract int position();
+	protected abstract long position();
 
 	protected abstract byte read() throws IOException;
 
@@ -29,7 +29,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.asn1s.api.encoding.tag.Tag;
 import org.asn1s.api.exception.Asn1Exception;
-import org.asn1s.api.type.CollectionType;
 import org.asn1s.api.type.ComponentType;
 import org.asn1s.api.type.Type.Family;
 import org.asn1s.api.value.Value;
@@ -38,7 +37,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.BitSet;
 
 abstract class AbstractCollectionBerDecoder implements BerDecoder
 {
@@ -59,24 +58,34 @@ abstract class AbstractCollectionBerDecoder implements BerDecoder
 	@NotNull
 	protected abstract Family getRequiredFamily();
 
+	/**
+	 * Choose component for tag and mark it as seen
+	 *
+	 * @param index     the component index of collection type
+	 * @param seen      positions of components already read
+	 * @param tag       the component tag
+	 * @param lastIndex index of last component read, -1 if none
+	 * @return component type or null if not found
+	 */
 	@Nullable
-	protected abstract ComponentType chooseComponent( @NotNull Iterable<ComponentType> components, @NotNull Tag tag, int lastIndex );
+	protected abstract ComponentType chooseComponent( @NotNull ComponentTagIndex index, @NotNull BitSet seen, @NotNull Tag tag, int lastIndex );
 
 	private class ComponentDecoder
 	{
 		private final ReaderContext ctx;
-		private final Iterable<ComponentType> components;
+		private final ComponentTagIndex components;
+		private final BitSet seen;
 		private final ValueCollection collection;
 		private int lastIndex = -1;
 		private final boolean indefinite;
-		private final int ctxLength;
-		private final int start;
+		private final long ctxLength;
+		private final long start;
 
 		private ComponentDecoder( ReaderContext ctx )
 		{
 			this.ctx = ctx;
-			CollectionType type = (CollectionType)ctx.getType();
-			components = new LinkedList<>( type.getNamedTypes() );
+			components = ComponentTagIndex.forType( ctx.getType() );
+			seen = new BitSet( components.size() );
 			start = ctx.position();
 			collection = ctx.getValueFactory().collection( true );
 			ctx.getScope().setValueLevel( collection );
@@ -99,7 +108,7 @@ abstract class AbstractCollectionBerDecoder implements BerDecoder
 			if( ctx.readTagInfoEocPossible( !indefinite ) )
 				return true;
 
-			ComponentType component = chooseComponent( components, ctx.getTag(), lastIndex );
+			ComponentType component = chooseComponent( components, seen, ctx.getTag(), lastIndex );
 			if( component == null )
 				onUnknownComponent( ctx );
 			else
@@ -39,7 +39,7 @@ abstract class AbstractTimeBerDecoder implements BerDecoder
 	public final Value decode( @NotNull ReaderContext context ) throws IOException
 	{
 		assert context.getType().getFamily() == getRequiredFamily();
-		byte[] bytes = BerDecoderUtils.readString( context.getReader(), context.getLength() );
+		byte[] bytes = BerDecoderUtils.readString( context.getReader(), context.getContentLength() );
 		String timeString = new String( bytes, TimeUtils.CHARSET );
 		Instant value = parseValue( timeString );
 		return context.getValueFactory().timeValue( value );
@@ -25,16 +25,12 @@
 
 package org.asn1s.io.ber.input;
 
-import org.asn1s.api.encoding.EncodingInstructions;
 import org.asn1s.api.encoding.tag.Tag;
-import org.asn1s.api.encoding.tag.TagEncoding;
-import org.asn1s.api.type.NamedType;
-import org.asn1s.api.type.Type;
-import org.asn1s.api.type.Type.Family;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
 
 final class BerDecoderUtils
 {
@@ -42,24 +38,19 @@ final class BerDecoderUtils
 	{
 	}
 
-	private static boolean findChoiceComponent( Tag tag, Type type )
+	/**
+	 * Convert length of content to array length
+	 *
+	 * @param length content length, -1 for indefinite form
+	 * @return int
+	 * @throws IOException if content does not fit into array
+	 */
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	static int toContentLength( long length ) throws IOException
 	{
-		List<? extends NamedType> types = type.getNamedTypes();
-		for( NamedType namedType : types )
-			if( isComponentTag( tag, namedType ) )
-				return true;
-
-		return false;
-	}
-
-	static boolean isComponentTag( Tag tag, NamedType namedType )
-	{
-		TagEncoding encoding = (TagEncoding)namedType.getEncoding( EncodingInstructions.TAG );
-		//noinspection SimplifiableIfStatement
-		if( encoding != null && encoding.isEqualToTag( tag ) )
-			return true;
-
-		return namedType.getFamily() == Family.CHOICE && findChoiceComponent( tag, namedType );
+		if( length > Integer.MAX_VALUE )
+			throw new IOException( "Content is too large to be read into memory: " + length );
+		return (int)length;
 	}
 
 	static byte[] readString( @NotNull AbstractBerReader reader, int length ) throws IOException
@@ -69,4 +60,53 @@ final class BerDecoderUtils
 			throw new IOException( "Unexpected EOF" );
 		return content;
 	}
+
+	static byte[] readConstructedString( @NotNull AbstractBerReader reader, long length ) throws IOException
+	{
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		readSegments( reader, length, false, os );
+		return os.toByteArray();
+	}
+
+	/**
+	 * Read content of string in constructed form, segments may be constructed too. See X.690, p 8.6.4 and 8.7.3
+	 *
+	 * @param reader    the reader
+	 * @param length    length of constructed encoding, -1 for indefinite form
+	 * @param bitString true if segments are BIT STRING encodings
+	 * @param os        stream to write content of segments into
+	 * @return amount of unused bits of last segment, always 0 for octet segments
+	 * @throws IOException if data is corrupted
+	 */
+	static int readSegments( @NotNull AbstractBerReader reader, long length, boolean bitString, OutputStream os ) throws IOException
+	{
+		int unusedBits = 0;
+		long end = reader.position() + length;
+		while( length == -1 || reader.position() < end )
+		{
+			Tag tag = reader.readTag();
+			long segmentLength = reader.readLength();
+			if( tag.isEoc() )
+			{
+				if( length != -1 || segmentLength != 0 )
+					throw new IOException( "Unexpected EOC in constructed string" );
+				break;
+			}
+
+			if( tag.isConstructed() )
+				unusedBits = readSegments( reader, segmentLength, bitString, os );
+			else if( segmentLength == -1 )
+				throw new IOException( "Primitive segment must have definite length" );
+			else if( bitString )
+			{
+				if( segmentLength == 0 )
+					throw new IOException( "BIT STRING segment must contain unused bits octet" );
+				unusedBits = reader.read();
+				os.write( readString( reader, toContentLength( segmentLength - 1 ) ) );
+			}
+			else
+				os.write( readString( reader, toContentLength( segmentLength ) ) );
+		}
+		return unusedBits;
+	}
 }
@@ -0,0 +1,192 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.ber.input;
+
+import org.asn1s.api.encoding.EncodingInstructions;
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.TaggedType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precompiled decoding step for single type node. Plans are attached to validated types,
+ * so type graph is not re-examined for every value read.
+ */
+final class BerReadPlan
+{
+	private static final Object PLAN_KEY = new Object();
+	private static final Map<Family, BerDecoder> DECODERS = new EnumMap<>( Family.class );
+
+	static
+	{
+		DECODERS.put( Family.BOOLEAN, new BooleanBerDecoder() );
+		DECODERS.put( Family.INTEGER, new IntegerBerDecoder() );
+		DECODERS.put( Family.ENUMERATED, new EnumeratedBerDecoder() );
+		DECODERS.put( Family.REAL, new RealBerDecoder() );
+		DECODERS.put( Family.BIT_STRING, new BitStringBerDecoder() );
+		DECODERS.put( Family.OCTET_STRING, new OctetStringBerDecoder() );
+		DECODERS.put( Family.NULL, new NullBerDecoder() );
+		DECODERS.put( Family.SEQUENCE, new SequenceBerDecoder() );
+		DECODERS.put( Family.SEQUENCE_OF, new SequenceOfBerDecoder() );
+		DECODERS.put( Family.SET_OF, new SetOfBerDecoder() );
+		DECODERS.put( Family.SET, new SetBerDecoder() );
+		DECODERS.put( Family.RESTRICTED_STRING, new StringBerDecoder() );
+		DECODERS.put( Family.UTC_TIME, new UTCTimeBerDecoder() );
+		DECODERS.put( Family.GENERALIZED_TIME, new GeneralizedTimeBerDecoder() );
+		DECODERS.put( Family.OID, new ObjectIDBerDecoder() );
+	}
+
+	private BerReadPlan( @NotNull Step step, @Nullable TagEncoding encoding, @Nullable BerDecoder decoder, boolean choiceSibling, @NotNull Map<Tag, ComponentType> alternatives )
+	{
+		this.step = step;
+		this.encoding = encoding;
+		this.decoder = decoder;
+		this.choiceSibling = choiceSibling;
+		this.alternatives = alternatives;
+	}
+
+	private final Step step;
+	private final TagEncoding encoding;
+	private final BerDecoder decoder;
+	private final boolean choiceSibling;
+	private final Map<Tag, ComponentType> alternatives;
+
+	@NotNull
+	Step getStep()
+	{
+		return step;
+	}
+
+	/**
+	 * Returns tag encoding of TAGGED step or universal encoding for DECODE step
+	 *
+	 * @return tag encoding
+	 */
+	@Nullable
+	TagEncoding getEncoding()
+	{
+		return encoding;
+	}
+
+	@Nullable
+	BerDecoder getDecoder()
+	{
+		return decoder;
+	}
+
+	/**
+	 * Returns true if sibling of TAGGED step is CHOICE type
+	 *
+	 * @return boolean
+	 */
+	boolean isChoiceSibling()
+	{
+		return choiceSibling;
+	}
+
+	/**
+	 * Find CHOICE alternative by tag, constructed bit is ignored
+	 *
+	 * @param tag the tag read
+	 * @return component type or null
+	 */
+	@Nullable
+	ComponentType findAlternative( @NotNull Tag tag )
+	{
+		return alternatives.get( tag.isConstructed() ? new Tag( tag.getTagClass(), false, tag.getTagNumber() ) : tag );
+	}
+
+	@NotNull
+	static BerReadPlan forType( @NotNull Type type )
+	{
+		BerReadPlan plan = type.getCodecPlan( PLAN_KEY );
+		if( plan == null )
+		{
+			plan = compile( type );
+			type.setCodecPlan( PLAN_KEY, plan );
+		}
+		return plan;
+	}
+
+	@NotNull
+	private static BerReadPlan compile( @NotNull Type type )
+	{
+		Map<Tag, ComponentType> noAlternatives = Collections.emptyMap();
+		if( type.hasConstraint() )
+			return new BerReadPlan( Step.SIBLING, null, null, false, noAlternatives );
+
+		if( type.isTagged() && ( (TaggedType)type ).getInstructions() == EncodingInstructions.TAG )
+		{
+			TagEncoding encoding = (TagEncoding)type.getEncoding( EncodingInstructions.TAG );
+			boolean choiceSibling = type.getSibling().getFamily() == Family.CHOICE;
+			return new BerReadPlan( Step.TAGGED, encoding, null, choiceSibling, noAlternatives );
+		}
+
+		if( type.hasSibling() )
+			return new BerReadPlan( Step.SIBLING, null, null, false, noAlternatives );
+
+		Family family = type.getFamily();
+		if( family == Family.CHOICE )
+			return new BerReadPlan( Step.CHOICE, null, null, false, compileAlternatives( type ) );
+
+		if( family == Family.OPEN_TYPE )
+			return new BerReadPlan( Step.OPEN_TYPE, null, null, false, noAlternatives );
+
+		BerDecoder decoder = DECODERS.get( family );
+		TagEncoding encoding = decoder == null ? null : (TagEncoding)type.getEncoding( EncodingInstructions.TAG );
+		return new BerReadPlan( Step.DECODE, encoding, decoder, false, noAlternatives );
+	}
+
+	private static Map<Tag, ComponentType> compileAlternatives( Type type )
+	{
+		Map<Tag, ComponentType> result = new HashMap<>();
+		for( ComponentType component : type.<ComponentType>getNamedTypes() )
+		{
+			TagEncoding encoding = (TagEncoding)component.getEncoding( EncodingInstructions.TAG );
+			if( encoding != null )
+				result.putIfAbsent( encoding.toTag( false ), component );
+		}
+		return result;
+	}
+
+	enum Step
+	{
+		SIBLING,
+		TAGGED,
+		CHOICE,
+		OPEN_TYPE,
+		DECODE
+	}
+}
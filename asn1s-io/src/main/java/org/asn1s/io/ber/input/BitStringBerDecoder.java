@@ -39,7 +39,8 @@ final class BitStringBerDecoder implements BerDecoder
 	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
 	{
 		assert context.getType().getFamily() == Family.BIT_STRING;
-		assert !context.getTag().isConstructed();
+		if( context.getTag().isConstructed() )
+			return OctetStringBerDecoder.readConstructed( context.getReader(), context.getLength(), true );
 
 		if( context.getLength() == 0 )
 			return context.getValueFactory().emptyByteArray();
@@ -49,6 +50,6 @@ final class BitStringBerDecoder implements BerDecoder
 			throw new IllegalValueException( "Unused bits must be in range: [0,7]" );
 		if( context.getLength() == -1 )
 			return OctetStringBerDecoder.readByteArrayValueIndefinite( context.getReader(), unusedBits );
-		return OctetStringBerDecoder.readByteArrayValue( context.getReader(), context.getLength() - 1, unusedBits );
+		return OctetStringBerDecoder.readByteArrayValue( context.getReader(), context.getContentLength() - 1, unusedBits );
 	}
 }
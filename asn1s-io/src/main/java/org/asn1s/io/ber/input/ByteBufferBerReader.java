@@ -0,0 +1,241 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.ber.input;
+
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.encoding.tag.TagClass;
+import org.asn1s.api.value.ByteArrayValue;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.io.ber.BerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reader over in-memory data, either byte array or {@link ByteBuffer} (heap or direct).
+ * Headers are read by index arithmetic, without stream calls.
+ * For array backed data OCTET STRING and BIT STRING values refer to the source array instead of copying it,
+ * so the data must not be modified while decoded values are in use.
+ * The buffer position is never changed by this reader.
+ */
+public class ByteBufferBerReader extends AbstractBerReader
+{
+	public ByteBufferBerReader( @NotNull byte[] bytes, ValueFactory valueFactory )
+	{
+		this( bytes, 0, bytes.length, valueFactory );
+	}
+
+	public ByteBufferBerReader( @NotNull byte[] bytes, int offset, int length, ValueFactory valueFactory )
+	{
+		super( valueFactory );
+		if( offset < 0 || length < 0 || offset + length > bytes.length )
+			throw new IndexOutOfBoundsException( "Illegal region: offset=" + offset + ", length=" + length + ", array length=" + bytes.length );
+
+		array = bytes;
+		buffer = null;
+		start = offset;
+		limit = offset + length;
+		index = offset;
+	}
+
+	public ByteBufferBerReader( @NotNull ByteBuffer buffer, ValueFactory valueFactory )
+	{
+		super( valueFactory );
+		if( buffer.hasArray() )
+		{
+			array = buffer.array();
+			this.buffer = null;
+			start = buffer.arrayOffset() + buffer.position();
+			limit = buffer.arrayOffset() + buffer.limit();
+		}
+		else
+		{
+			array = null;
+			this.buffer = buffer;
+			start = buffer.position();
+			limit = buffer.limit();
+		}
+		index = start;
+	}
+
+	private final byte[] array;
+	private final ByteBuffer buffer;
+	private final int start;
+	private final int limit;
+	private int index;
+
+	@Override
+	public long position()
+	{
+		return index - start;
+	}
+
+	/**
+	 * Returns amount of bytes left unread
+	 *
+	 * @return int
+	 */
+	public int remaining()
+	{
+		return limit - index;
+	}
+
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	@Override
+	public void skip( long amount ) throws IOException
+	{
+		ensureAvailable( amount );
+		index += (int)amount;
+	}
+
+	@Override
+	public void skipToEoc() throws IOException
+	{
+		Tag tag = readTag();
+		long length = readLength();
+
+		if( tag.isEoc() )
+		{
+			if( length != 0 )
+				throw new IOException( "Corrupted data, tag is EOC, but length is non zero" );
+		}
+		else
+		{
+			if( length >= 0 )
+				skip( length );
+			else
+				skipToEoc();
+		}
+	}
+
+	@Override
+	public byte read() throws IOException
+	{
+		if( index >= limit )
+			throw new IOException( "Unexpected EOF" );
+
+		byte value = getByte( index );
+		index++;
+		return value;
+	}
+
+	@Override
+	public int read( byte[] bytes ) throws IOException
+	{
+		int amount = Math.min( bytes.length, limit - index );
+		if( amount <= 0 )
+			return bytes.length == 0 ? 0 : -1;
+
+		if( array == null )
+		{
+			ByteBuffer duplicate = buffer.duplicate();
+			duplicate.position( index );
+			duplicate.get( bytes, 0, amount );
+		}
+		else
+			System.arraycopy( array, index, bytes, 0, amount );
+
+		index += amount;
+		return amount;
+	}
+
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	@Override
+	Tag readTag() throws IOException
+	{
+		int value = read();
+		TagClass tagClass = TagClass.findByCode( (byte)( value & BerUtils.CLASS_MASK ) );
+		boolean constructed = ( value & BerUtils.PC_MASK ) != 0;
+		int tag = value & BerUtils.TAG_MASK;
+
+		if( tag == BerUtils.TAG_MASK )
+		{
+			tag = 0;
+			do
+			{
+				value = read();
+				tag = ( tag << 7 ) | ( value & BerUtils.UNSIGNED_BYTE_MASK );
+			} while( ( value & BerUtils.BYTE_SIGN_MASK ) != 0 );
+		}
+
+		return new Tag( tagClass, constructed, tag );
+	}
+
+	@Override
+	long readLength() throws IOException
+	{
+		byte value = read();
+		if( value == BerUtils.FORM_INDEFINITE )
+			return -1;
+
+		if( ( value & BerUtils.BYTE_SIGN_MASK ) == 0 )
+			return value & BerUtils.UNSIGNED_BYTE_MASK;
+
+		int count = value & BerUtils.UNSIGNED_BYTE_MASK;
+		if( count > 4 )
+			throw new IOException( "Length is too big: " + count + " octets" );
+
+		ensureAvailable( count );
+		int result = 0;
+		for( int i = 0; i < count; i++ )
+			result = ( result << 8 ) | ( getByte( index + i ) & BerUtils.BYTE_MASK );
+		index += count;
+
+		if( result < 0 )
+			throw new IOException( "Length is too big: " + ( result & 0xFFFFFFFFL ) );
+		return result;
+	}
+
+	@Override
+	ByteArrayValue readByteArrayValue( int length, int unusedBits ) throws IOException
+	{
+		if( array == null )
+			return super.readByteArrayValue( length, unusedBits );
+
+		ensureAvailable( length );
+		ByteArrayValue value = getValueFactory().byteArrayValue( length * 8 - unusedBits, array, index, length );
+		index += length;
+		return value;
+	}
+
+	private byte getByte( int position )
+	{
+		return array == null ? buffer.get( position ) : array[position];
+	}
+
+	private void ensureAvailable( long amount ) throws IOException
+	{
+		if( amount < 0 || amount > limit - index )
+			throw new IOException( "Unexpected EOF" );
+	}
+
+	@Override
+	public void close()
+	{
+		// nothing to close, data is owned by caller
+	}
+}
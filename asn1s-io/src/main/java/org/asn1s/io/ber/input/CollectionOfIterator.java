@@ -0,0 +1,124 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+package org.asn1s.io.ber.input;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.CollectionOfType;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.io.Asn1ValueIterator;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads SEQUENCE OF and SET OF components one by one.
+ * Header of collection must be read before iterator creation.
+ */
+final class CollectionOfIterator implements Asn1ValueIterator
+{
+	/**
+	 * @param ctx           context of collection type with tag and length of collection
+	 * @param wrapperStarts content start positions of explicit tags enclosing collection, outermost first
+	 * @param wrapperLengths content lengths of explicit tags enclosing collection
+	 * @param wrapperTags   explicit tags enclosing collection
+	 */
+	CollectionOfIterator( @NotNull ReaderContext ctx, long[] wrapperStarts, long[] wrapperLengths, Tag[] wrapperTags )
+	{
+		this.wrapperStarts = wrapperStarts;
+		this.wrapperLengths = wrapperLengths;
+		this.wrapperTags = wrapperTags;
+		length = ctx.getLength();
+		start = ctx.position();
+		componentType = ( (CollectionOfType)ctx.getType() ).getComponentType();
+		named = !componentType.isDummy();
+		// elements are not kept, so value level is an empty collection of the same kind as eager decoder uses
+		valueLevel = ctx.getValueFactory().collection( !named );
+		scope = ctx.getScope();
+		scope.setValueLevel( valueLevel );
+		context = ctx.toSiblingContext( componentType );
+	}
+
+	private final long[] wrapperStarts;
+	private final long[] wrapperLengths;
+	private final Tag[] wrapperTags;
+	private final long length;
+	private final long start;
+	private final ComponentType componentType;
+	private final boolean named;
+	private final ReaderContext context;
+	private final Scope scope;
+	private final ValueCollection valueLevel;
+	private boolean prepared;
+	private boolean finished;
+
+	@Override
+	public boolean hasNext() throws IOException, Asn1Exception
+	{
+		if( finished )
+			return false;
+
+		if( prepared )
+			return true;
+
+		boolean indefinite = length == -1;
+		if( !indefinite && start + length <= context.position() || context.readTagInfoEocPossible( !indefinite ) )
+		{
+			finish();
+			return false;
+		}
+
+		prepared = true;
+		return true;
+	}
+
+	@Override
+	public Value next() throws IOException, Asn1Exception
+	{
+		if( !hasNext() )
+			throw new NoSuchElementException();
+
+		prepared = false;
+		// caller may use the same scope between elements
+		scope.setValueLevel( valueLevel );
+		Value value = context.readInternal( context.copy() );
+		componentType.accept( context.getScope(), value );
+		if( named )
+			value = context.getValueFactory().named( componentType.getComponentName(), value );
+		return value;
+	}
+
+	private void finish() throws IOException
+	{
+		finished = true;
+		context.ensureConstructedRead( start, length, length == -1 ? context.getTag() : null );
+		for( int i = wrapperTags.length - 1; i >= 0; i-- )
+			context.ensureConstructedRead( wrapperStarts[i], wrapperLengths[i], wrapperTags[i] );
+	}
+}
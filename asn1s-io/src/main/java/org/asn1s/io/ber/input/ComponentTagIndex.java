@@ -0,0 +1,127 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.ber.input;
+
+import org.asn1s.api.encoding.EncodingInstructions;
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.NamedType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Lookup table of SEQUENCE and SET components by (tag class, tag number).
+ * Untagged CHOICE components are indexed by tags of all their alternatives.
+ * Tables are attached to validated types, so it's built once per type.
+ */
+final class ComponentTagIndex
+{
+	private static final Object PLAN_KEY = new Object();
+	private static final int[] NO_POSITIONS = new int[0];
+
+	private ComponentTagIndex( @NotNull List<ComponentType> components, @NotNull Map<Tag, int[]> positions )
+	{
+		this.components = components;
+		this.positions = positions;
+	}
+
+	private final List<ComponentType> components;
+	private final Map<Tag, int[]> positions;
+
+	int size()
+	{
+		return components.size();
+	}
+
+	@NotNull
+	ComponentType get( int position )
+	{
+		return components.get( position );
+	}
+
+	/**
+	 * Returns positions of components that may start with tag, in declaration order. Constructed bit is ignored.
+	 *
+	 * @param tag the tag read
+	 * @return array of positions, may be empty
+	 */
+	@NotNull
+	int[] positionsOf( @NotNull Tag tag )
+	{
+		int[] result = positions.get( tag.isConstructed() ? new Tag( tag.getTagClass(), false, tag.getTagNumber() ) : tag );
+		return result == null ? NO_POSITIONS : result;
+	}
+
+	@NotNull
+	static ComponentTagIndex forType( @NotNull Type type )
+	{
+		ComponentTagIndex index = type.getCodecPlan( PLAN_KEY );
+		if( index == null )
+		{
+			index = build( type );
+			type.setCodecPlan( PLAN_KEY, index );
+		}
+		return index;
+	}
+
+	@NotNull
+	private static ComponentTagIndex build( @NotNull Type type )
+	{
+		List<ComponentType> components = new ArrayList<>( type.<ComponentType>getNamedTypes() );
+		Map<Tag, List<Integer>> tagPositions = new HashMap<>();
+		for( int position = 0; position < components.size(); position++ )
+		{
+			Collection<Tag> tags = new LinkedHashSet<>();
+			collectTags( components.get( position ), tags, Collections.newSetFromMap( new IdentityHashMap<>() ) );
+			for( Tag tag : tags )
+				tagPositions.computeIfAbsent( tag, key -> new ArrayList<>() ).add( position );
+		}
+
+		Map<Tag, int[]> positions = new HashMap<>();
+		for( Map.Entry<Tag, List<Integer>> entry : tagPositions.entrySet() )
+			positions.put( entry.getKey(), entry.getValue().stream().mapToInt( Integer::intValue ).toArray() );
+
+		return new ComponentTagIndex( components, positions );
+	}
+
+	private static void collectTags( @NotNull NamedType namedType, @NotNull Collection<Tag> tags, @NotNull Set<Type> visited )
+	{
+		if( !visited.add( namedType ) )
+			return;
+
+		TagEncoding encoding = (TagEncoding)namedType.getEncoding( EncodingInstructions.TAG );
+		if( encoding != null )
+			tags.add( encoding.toTag( false ) );
+
+		if( namedType.getFamily() == Family.CHOICE )
+			for( NamedType alternative : namedType.getNamedTypes() )
+				collectTags( alternative, tags, visited );
+	}
+}
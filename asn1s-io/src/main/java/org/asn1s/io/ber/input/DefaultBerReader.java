@@ -41,26 +41,27 @@ public class DefaultBerReader extends AbstractBerReader
 	}
 
 	private final InputStream is;
-	private int position;
+	private long position;
 
 	@Override
-	public int position()
+	public long position()
 	{
 		return position;
 	}
 
 	@Override
-	public void skip( int amount ) throws IOException
+	public void skip( long amount ) throws IOException
 	{
 		if( amount != 0 && is.skip( amount ) != amount )
 			throw new IOException( "Unexpected EOF" );
+		position += amount;
 	}
 
 	@Override
 	public void skipToEoc() throws IOException
 	{
 		Tag tag = readTag();
-		int length = readLength();
+		long length = readLength();
 
 		if( tag.isEoc() )
 		{
@@ -39,7 +39,7 @@ final class IntegerBerDecoder implements BerDecoder
 	{
 		assert context.getType().getFamily() == Family.INTEGER;
 		assert context.getLength() >= 0;
-		return readInteger( context.getReader(), context.getLength() );
+		return readInteger( context.getReader(), context.getContentLength() );
 	}
 
 	static IntegerValue readInteger( AbstractBerReader reader, int length ) throws IOException
@@ -0,0 +1,241 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+package org.asn1s.io.ber.input;
+
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.io.ber.BerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader over file mapped into memory by windows, so files larger than 2GB may be decoded.
+ * Definite lengths of constructed values are not limited by 2GB, only primitive values must fit into array.
+ * Window is remapped when data outside of it is requested.
+ * Position is absolute offset in file, so it may be used to index values and to read them later using {@link #seek(long)}.
+ * Decoded values never refer to mapped memory.
+ */
+public class MappedFileBerReader extends AbstractBerReader
+{
+	private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	public MappedFileBerReader( @NotNull Path path, ValueFactory valueFactory ) throws IOException
+	{
+		this( FileChannel.open( path, StandardOpenOption.READ ), true, DEFAULT_WINDOW_SIZE, valueFactory );
+	}
+
+	/**
+	 * Create reader over channel, channel is not closed by reader
+	 *
+	 * @param channel      the file channel
+	 * @param windowSize   maximum amount of bytes mapped at once
+	 * @param valueFactory the value factory
+	 * @throws IOException if channel size can not be obtained
+	 */
+	public MappedFileBerReader( @NotNull FileChannel channel, int windowSize, ValueFactory valueFactory ) throws IOException
+	{
+		this( channel, false, windowSize, valueFactory );
+	}
+
+	private MappedFileBerReader( FileChannel channel, boolean ownChannel, int windowSize, ValueFactory valueFactory ) throws IOException
+	{
+		super( valueFactory );
+		if( windowSize <= 0 )
+			throw new IllegalArgumentException( "Window size must be positive: " + windowSize );
+
+		this.channel = channel;
+		this.ownChannel = ownChannel;
+		this.windowSize = windowSize;
+		size = channel.size();
+	}
+
+	private final FileChannel channel;
+	private final boolean ownChannel;
+	private final int windowSize;
+	private final long size;
+	private MappedByteBuffer window;
+	private long windowStart;
+	private long position;
+
+	@Override
+	public long position()
+	{
+		return position;
+	}
+
+	/**
+	 * Move reader to absolute offset in file
+	 *
+	 * @param offset the offset
+	 */
+	public void seek( long offset )
+	{
+		if( offset < 0 || offset > size )
+			throw new IndexOutOfBoundsException( "Illegal offset: " + offset + ", file size: " + size );
+
+		position = offset;
+	}
+
+	/**
+	 * Returns file size
+	 *
+	 * @return long
+	 */
+	public long size()
+	{
+		return size;
+	}
+
+	@Override
+	public void skip( long amount ) throws IOException
+	{
+		if( amount < 0 || amount > size - position )
+			throw new IOException( "Unexpected EOF" );
+
+		position += amount;
+	}
+
+	@Override
+	public void skipToEoc() throws IOException
+	{
+		Tag tag = readTag();
+		long length = readLength();
+
+		if( tag.isEoc() )
+		{
+			if( length != 0 )
+				throw new IOException( "Corrupted data, tag is EOC, but length is non zero" );
+		}
+		else
+		{
+			if( length >= 0 )
+				skip( length );
+			else
+				skipToEoc();
+		}
+	}
+
+	/**
+	 * Read length with checks against file size.
+	 *
+	 * @return length or -1 for indefinite form
+	 * @throws IOException if length is malformed or exceeds the file
+	 */
+	@Override
+	long readLength() throws IOException
+	{
+		long start = position;
+		byte value = read();
+		if( value == BerUtils.FORM_INDEFINITE )
+			return -1;
+
+		if( ( value & BerUtils.BYTE_SIGN_MASK ) == 0 )
+			return value & BerUtils.UNSIGNED_BYTE_MASK;
+
+		int count = value & BerUtils.UNSIGNED_BYTE_MASK;
+		if( count == BerUtils.UNSIGNED_BYTE_MASK )
+			throw new IOException( "Reserved length form at offset " + start );
+
+		if( count > size - position )
+			throw new IOException( "Unexpected EOF in length at offset " + start );
+
+		long result = 0L;
+		for( int i = 0; i < count; i++ )
+		{
+			if( result > size )
+				break;
+			result = ( result << 8 ) | ( read() & BerUtils.BYTE_MASK );
+		}
+
+		if( result < 0 || result > size - position )
+			throw new IOException( "Length at offset " + start + " exceeds end of file" );
+
+		return result;
+	}
+
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	@Override
+	public byte read() throws IOException
+	{
+		if( position >= size )
+			throw new IOException( "Unexpected EOF" );
+
+		mapWindow();
+		byte value = window.get( (int)( position - windowStart ) );
+		position++;
+		return value;
+	}
+
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	@Override
+	public int read( byte[] bytes ) throws IOException
+	{
+		int amount = (int)Math.min( bytes.length, size - position );
+		if( amount <= 0 )
+			return bytes.length == 0 ? 0 : -1;
+
+		int offset = 0;
+		while( offset < amount )
+		{
+			mapWindow();
+			int windowOffset = (int)( position - windowStart );
+			int chunk = Math.min( amount - offset, window.limit() - windowOffset );
+			window.position( windowOffset );
+			window.get( bytes, offset, chunk );
+			offset += chunk;
+			position += chunk;
+		}
+		return amount;
+	}
+
+	/**
+	 * Map window starting at current position, if position is outside of current window
+	 *
+	 * @throws IOException if mapping fails
+	 */
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	private void mapWindow() throws IOException
+	{
+		if( window != null && position >= windowStart && position < windowStart + window.limit() )
+			return;
+
+		windowStart = position;
+		window = channel.map( MapMode.READ_ONLY, windowStart, Math.min( windowSize, size - windowStart ) );
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		window = null;
+		if( ownChannel )
+			channel.close();
+	}
+}
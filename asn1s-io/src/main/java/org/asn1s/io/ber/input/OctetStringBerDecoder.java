@@ -39,12 +39,13 @@ public class OctetStringBerDecoder implements BerDecoder
 	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
 	{
 		assert context.getType().getFamily() == Family.OCTET_STRING;
-		assert !context.getTag().isConstructed();
+		if( context.getTag().isConstructed() )
+			return readConstructed( context.getReader(), context.getLength(), false );
 		if( context.getLength() == -1 )
 			return readByteArrayValueIndefinite( context.getReader(), 0 );
 		if( context.getLength() == 0 )
 			return context.getValueFactory().emptyByteArray();
-		return readByteArrayValue( context.getReader(), context.getLength(), 0 );
+		return readByteArrayValue( context.getReader(), context.getContentLength(), 0 );
 	}
 
 	static Value readByteArrayValueIndefinite( AbstractBerReader is, int unusedBits ) throws IOException
@@ -65,11 +66,22 @@ public class OctetStringBerDecoder implements BerDecoder
 		return is.getValueFactory().byteArrayValue( bytes.length * 8 - unusedBits, bytes );
 	}
 
-	static Value readByteArrayValue( AbstractBerReader is, int length, int unusedBits ) throws IOException
+	static Value readConstructed( AbstractBerReader is, long length, boolean bitString ) throws IOException
 	{
-		byte[] bytes = new byte[length];
-		if( is.read( bytes ) != length )
-			throw new IOException( "Unexpected EOF" );
+		byte[] bytes;
+		int unusedBits;
+		try( ByteArrayOutputStream stream = new ByteArrayOutputStream() )
+		{
+			unusedBits = BerDecoderUtils.readSegments( is, length, bitString, stream );
+			bytes = stream.toByteArray();
+		}
+		if( bytes.length == 0 )
+			return is.getValueFactory().emptyByteArray();
 		return is.getValueFactory().byteArrayValue( bytes.length * 8 - unusedBits, bytes );
 	}
+
+	static Value readByteArrayValue( AbstractBerReader is, int length, int unusedBits ) throws IOException
+	{
+		return is.readByteArrayValue( length, unusedBits );
+	}
 }
@@ -45,7 +45,7 @@ public final class ReaderContext
 		this.reader = reader;
 	}
 
-	public ReaderContext( AbstractBerReader reader, @NotNull Scope scope, @NotNull Type type, @Nullable Tag tag, int length, boolean implicit )
+	public ReaderContext( AbstractBerReader reader, @NotNull Scope scope, @NotNull Type type, @Nullable Tag tag, long length, boolean implicit )
 	{
 		this.reader = reader;
 		this.scope = scope;
@@ -59,7 +59,7 @@ public final class ReaderContext
 	private Scope scope;
 	private Type type;
 	private Tag tag;
-	private int length;
+	private long length;
 	private boolean implicit;
 
 	public AbstractBerReader getReader()
@@ -82,11 +82,6 @@ public final class ReaderContext
 		return tag != null;
 	}
 
-	boolean isSameTagEncoding( TagEncoding encoding )
-	{
-		return encoding.getTagClass() == tag.getTagClass() && encoding.getTagNumber() == tag.getTagNumber();
-	}
-
 	public void setScope( @NotNull Scope scope )
 	{
 		this.scope = scope;
@@ -107,11 +102,22 @@ public final class ReaderContext
 		return tag;
 	}
 
-	public int getLength()
+	public long getLength()
 	{
 		return length;
 	}
 
+	/**
+	 * Returns length of content that is read into single array, like primitive or constructed string content.
+	 *
+	 * @return length or -1 for indefinite form
+	 * @throws IOException if length does not fit into array
+	 */
+	public int getContentLength() throws IOException
+	{
+		return BerDecoderUtils.toContentLength( length );
+	}
+
 	boolean isImplicit()
 	{
 		return implicit;
@@ -137,6 +143,17 @@ public final class ReaderContext
 			assertTag( type, tag );
 	}
 
+	void readTagInfo( @Nullable TagEncoding expected ) throws IOException
+	{
+		tag = reader.readTag();
+		length = reader.readLength();
+		if( expected == null )
+			throw new IllegalStateException( "No encoding for type: " + type );
+
+		if( tag.getTagClass() != expected.getTagClass() || tag.getTagNumber() != expected.getTagNumber() )
+			throw new IOException( "Invalid tag: " + tag );
+	}
+
 	boolean readTagInfoEocPossible( boolean definite ) throws IOException
 	{
 		tag = reader.readTag();
@@ -171,12 +188,12 @@ public final class ReaderContext
 		return new ReaderContext( reader, componentType.getScope( scope ), componentType, tag, length, implicit );
 	}
 
-	private ReaderContext toSiblingContext( @NotNull Type componentType, Tag tag, int length )
+	private ReaderContext toSiblingContext( @NotNull Type componentType, Tag tag, long length )
 	{
 		return new ReaderContext( reader, componentType.getScope( scope ), componentType, tag, length, false );
 	}
 
-	Value readComponentType( @NotNull Type componentType, Tag tag, int length ) throws IOException, Asn1Exception
+	Value readComponentType( @NotNull Type componentType, Tag tag, long length ) throws IOException, Asn1Exception
 	{
 		return reader.readInternal( toSiblingContext( componentType, tag, length ) );
 	}
@@ -191,7 +208,7 @@ public final class ReaderContext
 		return reader.read( buffer );
 	}
 
-	int position()
+	long position()
 	{
 		return reader.position();
 	}
@@ -201,7 +218,7 @@ public final class ReaderContext
 		return reader.readInternal( context );
 	}
 
-	void ensureConstructedRead( int start, int length, @Nullable Tag tag ) throws IOException
+	void ensureConstructedRead( long start, long length, @Nullable Tag tag ) throws IOException
 	{
 		reader.ensureConstructedRead( start, length, tag );
 	}
@@ -211,7 +228,7 @@ public final class ReaderContext
 		reader.skipToEoc();
 	}
 
-	void skip( int amount ) throws IOException
+	void skip( long amount ) throws IOException
 	{
 		reader.skip( amount );
 	}
@@ -49,14 +49,14 @@ final class RealBerDecoder implements BerDecoder
 			return context.getValueFactory().rZero();
 
 		if( ( first & BerUtils.BYTE_SIGN_MASK ) != 0 )
-			return readBinary( context.getReader(), first, context.getLength() );
+			return readBinary( context.getReader(), first, context.getContentLength() );
 
 		switch( first )
 		{
 			case BerUtils.REAL_ISO_6093_NR1:
 			case BerUtils.REAL_ISO_6093_NR2:
 			case BerUtils.REAL_ISO_6093_NR3:
-				return context.getValueFactory().real( readString( context.getReader(), context.getLength() - 1 ) );
+				return context.getValueFactory().real( readString( context.getReader(), context.getContentLength() - 1 ) );
 
 			case BerUtils.REAL_NEGATIVE_INF:
 				return context.getValueFactory().rNegativeInfinity();
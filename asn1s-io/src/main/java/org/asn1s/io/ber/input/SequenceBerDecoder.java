@@ -31,7 +31,7 @@ import org.asn1s.api.type.Type.Family;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Iterator;
+import java.util.BitSet;
 
 final class SequenceBerDecoder extends AbstractCollectionBerDecoder
 {
@@ -44,17 +44,15 @@ final class SequenceBerDecoder extends AbstractCollectionBerDecoder
 
 	@Nullable
 	@Override
-	protected ComponentType chooseComponent( @NotNull Iterable<ComponentType> components, @NotNull Tag tag, int lastIndex )
+	protected ComponentType chooseComponent( @NotNull ComponentTagIndex index, @NotNull BitSet seen, @NotNull Tag tag, int lastIndex )
 	{
-		Iterator<ComponentType> iterator = components.iterator();
-		while( iterator.hasNext() )
+		for( int position : index.positionsOf( tag ) )
 		{
-			ComponentType component = iterator.next();
-			if( component.getIndex() <= lastIndex || !BerDecoderUtils.isComponentTag( tag, component ) )
+			if( seen.get( position ) || index.get( position ).getIndex() <= lastIndex )
 				continue;
 
-			iterator.remove();
-			return component;
+			seen.set( position );
+			return index.get( position );
 		}
 		return null;
 	}
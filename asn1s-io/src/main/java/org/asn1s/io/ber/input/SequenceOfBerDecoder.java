@@ -48,7 +48,7 @@ final class SequenceOfBerDecoder implements BerDecoder
 
 	static Value readComponents( @NotNull ReaderContext ctx ) throws IOException, Asn1Exception
 	{
-		int ctxLength = ctx.getLength();
+		long ctxLength = ctx.getLength();
 		CollectionOfType type = (CollectionOfType)ctx.getType();
 		ValueFactory valueFactory = ctx.getValueFactory();
 		ComponentType componentType = type.getComponentType();
@@ -57,7 +57,7 @@ final class SequenceOfBerDecoder implements BerDecoder
 		if( ctxLength == 0 )
 			return valueFactory.collection( isDummy );
 
-		int start = ctx.position();
+		long start = ctx.position();
 		ValueCollection collection = valueFactory.collection( isDummy );
 		ctx.getScope().setValueLevel( collection );
 		ctx = ctx.toSiblingContext( componentType );
@@ -46,7 +46,9 @@ public class StringBerDecoder implements BerDecoder
 			assert type != null;
 			type = type.getSibling();
 		}
-		byte[] content = BerDecoderUtils.readString( context.getReader(), context.getLength() );
+		byte[] content = context.getTag().isConstructed()
+				? BerDecoderUtils.readConstructedString( context.getReader(), context.getLength() )
+				: BerDecoderUtils.readString( context.getReader(), context.getContentLength() );
 		return context.getValueFactory().cString( new String( content, ( (StringType)type ).getCharset() ) );
 	}
 }
@@ -27,7 +27,6 @@ package org.asn1s.io.ber.output;
 
 import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
-import org.asn1s.api.encoding.EncodingInstructions;
 import org.asn1s.api.encoding.tag.Tag;
 import org.asn1s.api.encoding.tag.TagClass;
 import org.asn1s.api.encoding.tag.TagEncoding;
@@ -35,10 +34,10 @@ import org.asn1s.api.encoding.tag.TagMethod;
 import org.asn1s.api.exception.Asn1Exception;
 import org.asn1s.api.exception.ResolutionException;
 import org.asn1s.api.type.ComponentType;
-import org.asn1s.api.type.TaggedType;
 import org.asn1s.api.type.Type;
 import org.asn1s.api.type.Type.Family;
 import org.asn1s.api.util.RefUtils;
+import org.asn1s.api.util.ValidationUtils;
 import org.asn1s.api.value.Value;
 import org.asn1s.api.value.Value.Kind;
 import org.asn1s.api.value.x680.NamedValue;
@@ -48,13 +47,10 @@ import org.asn1s.io.ber.BerUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.Arrays;
 
 abstract class AbstractBerWriter implements Asn1Writer
 {
-	private static final Map<Family, BerEncoder> ENCODERS = new EnumMap<>( Family.class );
-
 	public abstract BerRules getRules();
 
 	/**
@@ -83,61 +79,75 @@ abstract class AbstractBerWriter implements Asn1Writer
 
 	public abstract void write( byte[] bytes ) throws IOException;
 
-	public void writeHeader( Tag tag, int length ) throws IOException
+	public void write( byte[] bytes, int offset, int length ) throws IOException
 	{
-		writeTag( tag );
-		writeLength( length );
+		write( Arrays.copyOfRange( bytes, offset, offset + length ) );
 	}
 
-	static
+	public void writeHeader( Tag tag, int length ) throws IOException
 	{
-		ENCODERS.put( Family.BOOLEAN, new BooleanBerEncoder() );
-		ENCODERS.put( Family.INTEGER, new IntegerBerEncoder() );
-		ENCODERS.put( Family.ENUMERATED, new EnumeratedBerEncoder() );
-		ENCODERS.put( Family.REAL, new RealBerEncoder() );
-		ENCODERS.put( Family.BIT_STRING, new BitStringBerEncoder() );
-		ENCODERS.put( Family.OCTET_STRING, new OctetStringBerEncoder() );
-		ENCODERS.put( Family.NULL, new NullBerEncoder() );
-		ENCODERS.put( Family.SEQUENCE, new SequenceBerEncoder() );
-		ENCODERS.put( Family.SEQUENCE_OF, new SequenceOfBerEncoder() );
-		ENCODERS.put( Family.SET, new SetBerEncoder() );
-		ENCODERS.put( Family.SET_OF, new SetOfBerEncoder() );
-		ENCODERS.put( Family.RESTRICTED_STRING, new StringBerEncoder() );
-		ENCODERS.put( Family.UTC_TIME, new UTCTimeBerEncoder() );
-		ENCODERS.put( Family.GENERALIZED_TIME, new GeneralizedTimeBerEncoder() );
-		ENCODERS.put( Family.OID, new ObjectIDBerEncoder() );
+		writeTag( tag );
+		writeLength( length );
 	}
 
 	@Override
 	public void write( @NotNull Scope scope, @NotNull Ref<Type> typeRef, @NotNull Value value ) throws IOException, Asn1Exception
 	{
-		Type type = typeRef.resolve( scope );
+		Type type = ValidationUtils.resolveType( scope, typeRef );
 		// resolve value to make sure it's correct
 		value = value.resolve( scope );
 		type.accept( scope, value );
+		writeAccepted( scope, type, value );
+	}
+
+	@Override
+	public void writeTrusted( @NotNull Scope scope, @NotNull Ref<Type> typeRef, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		writeAccepted( scope, ValidationUtils.resolveType( scope, typeRef ), value );
+	}
+
+	/**
+	 * Write value that was accepted by type
+	 *
+	 * @param scope the scope
+	 * @param type  the type
+	 * @param value the value
+	 * @throws IOException   in case of IO problem
+	 * @throws Asn1Exception if value can not be encoded
+	 */
+	void writeAccepted( @NotNull Scope scope, @NotNull Type type, @NotNull Value value ) throws IOException, Asn1Exception
+	{
 		writeInternal( new WriterContext( this, scope, type, value, true ) );
 	}
 
 	public final void writeInternal( @NotNull WriterContext context ) throws IOException, Asn1Exception
 	{
 		context = context.narrow();
-		Type type = context.getType();
-
-		if( type.isTagged() && ( (TaggedType)type ).getInstructions() == EncodingInstructions.TAG )
-			writeTaggedType( context );
-		else if( type.getFamily() == Family.CHOICE )
-			writeChoiceType( context );
-		else if( type.hasSibling() )
-			writeInternal( context.toSiblingContext( context.isWriteHeader() ) );
-		else if( type.getFamily() == Family.OPEN_TYPE )
-			writeOpenType( context );
-		else
+		BerWritePlan plan = BerWritePlan.forType( context.getType() );
+		switch( plan.getStep() )
 		{
-			BerEncoder encoder = ENCODERS.get( type.getFamily() );
-			if( encoder == null )
-				throw new IllegalStateException( "No encoder found for family: " + type.getFamily() );
+			case TAGGED:
+				writeTaggedType( context, plan );
+				break;
+
+			case CHOICE:
+				writeChoiceType( context, plan );
+				break;
+
+			case SIBLING:
+				writeInternal( context.toSiblingContext( context.isWriteHeader() ) );
+				break;
+
+			case OPEN_TYPE:
+				writeOpenType( context );
+				break;
+
+			default:
+				BerEncoder encoder = plan.getEncoder();
+				if( encoder == null )
+					throw new IllegalStateException( "No encoder found for family: " + context.getType().getFamily() );
 
-			encoder.encode( context );
+				encoder.encode( context );
 		}
 	}
 
@@ -209,23 +219,25 @@ abstract class AbstractBerWriter implements Asn1Writer
 		return 0;
 	}
 
-	private void writeTaggedType( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	private void writeTaggedType( @NotNull WriterContext context, @NotNull BerWritePlan plan ) throws IOException, Asn1Exception
 	{
-		TagEncoding encoding = (TagEncoding)context.getType().getEncoding( EncodingInstructions.TAG );
+		TagEncoding encoding = plan.getEncoding();
 		if( encoding == null )
 			throw new IOException( "No encoding for tagged type defined" );
 
 		boolean constructed =
 				encoding.getTagMethod() != TagMethod.IMPLICIT
 						|| context.getType().isConstructedValue( context.getScope(), context.getValue() )
-						|| context.getValue().getKind() == Kind.OPEN_TYPE;
+						|| context.getValue().getKind() == Kind.OPEN_TYPE
+						|| BerEncoderUtils.isSegmentedString( context );
+		boolean writeSiblingHeader = encoding.getTagMethod() != TagMethod.IMPLICIT || context.getValue().getKind() == Kind.OPEN_TYPE;
 		Tag tag = new Tag( encoding.getTagClass(), constructed, encoding.getTagNumber() );
 		if( !context.isWriteHeader() )
 			writeInternal( context.toSiblingContext( encoding.getTagMethod() == TagMethod.EXPLICIT ) );
-		else if( isBufferingAvailable() )
+		else if( constructed ? context.isBufferingConstructed() : isBufferingAvailable() )
 		{
 			startBuffer( -1 );
-			writeInternal( context.toSiblingContext( encoding.getTagMethod() != TagMethod.IMPLICIT || context.getValue().getKind() == Kind.OPEN_TYPE ) );
+			writeInternal( context.toSiblingContext( writeSiblingHeader ) );
 			stopBuffer( tag );
 		}
 		else if( getRules() == BerRules.DER )
@@ -233,19 +245,19 @@ abstract class AbstractBerWriter implements Asn1Writer
 		else
 		{
 			writeHeader( tag, -1 );
-			writeInternal( context.toSiblingContext( encoding.getTagMethod() != TagMethod.IMPLICIT ) );
+			writeInternal( context.toSiblingContext( writeSiblingHeader ) );
 			write( (byte)0 );
 			write( (byte)0 );
 		}
 	}
 
-	private static void writeChoiceType( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	private static void writeChoiceType( @NotNull WriterContext context, @NotNull BerWritePlan plan ) throws IOException, Asn1Exception
 	{
 		assert context.getType().getFamily() == Family.CHOICE;
 		context.getScope().setValueLevel( context.getValue() );
 
 		NamedValue namedValue = context.getValue().toNamedValue();
-		ComponentType componentType = context.getType().getNamedType( namedValue.getName() );
+		ComponentType componentType = plan.findAlternative( namedValue.getName() );
 		if( componentType == null )
 			throw new ResolutionException( "Unknown component: " + namedValue.getName() );
 
@@ -25,13 +25,28 @@
 
 package org.asn1s.io.ber.output;
 
+import org.asn1s.api.Scope;
+import org.asn1s.api.UniversalType;
 import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.encoding.tag.TagClass;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.Value.Kind;
+import org.asn1s.io.ber.BerRules;
 import org.asn1s.io.ber.BerUtils;
 
 import java.io.IOException;
 
 final class BerEncoderUtils
 {
+	/**
+	 * Maximum amount of content octets in primitive string encoding for CER, see X.690, p 9.2
+	 */
+	static final int CER_SEGMENT_SIZE = 1000;
+	private static final Tag OCTET_STRING_SEGMENT_TAG = new Tag( TagClass.UNIVERSAL, false, UniversalType.OCTET_STRING.tagNumber() );
+	private static final Tag BIT_STRING_SEGMENT_TAG = new Tag( TagClass.UNIVERSAL, false, UniversalType.BIT_STRING.tagNumber() );
+
 	private BerEncoderUtils()
 	{
 	}
@@ -43,6 +58,101 @@ final class BerEncoderUtils
 		os.write( content );
 	}
 
+	/**
+	 * Check if string value must be written using constructed form with segments
+	 *
+	 * @param context the writer context
+	 * @return true if rules are CER and content is longer than segment size
+	 */
+	static boolean isSegmentedString( WriterContext context )
+	{
+		if( context.getRules() != BerRules.CER )
+			return false;
+
+		// tagged types are checked by their string type, the same scope is used by encoder
+		Type type = context.getType();
+		Scope scope = context.getScope();
+		while( type.hasSibling() )
+		{
+			type = type.getSibling();
+			scope = type.getScope( scope );
+		}
+
+		Value value = context.getValue();
+		int length;
+		if( value.getKind() == Kind.BYTE_ARRAY )
+		{
+			byte[] bytes = value.toByteArrayValue().asByteArray();
+			if( bytes == null )
+				length = 0;
+			else if( type.getFamily() == Family.BIT_STRING )
+				length = BitStringBerEncoder.toContentBytes( type, scope, context.getRules(), bytes ).length + 1;
+			else
+				length = bytes.length;
+		}
+		else if( value.getKind() == Kind.C_STRING && type.getFamily() == Family.RESTRICTED_STRING )
+			length = StringBerEncoder.toBytes( context.getType(), value ).length;
+		else
+			return false;
+
+		return length > CER_SEGMENT_SIZE;
+	}
+
+	/**
+	 * Write string content as constructed indefinite length form with OCTET STRING segments, see X.690, p 9.2
+	 *
+	 * @param context the writer context
+	 * @param tag     the string tag
+	 * @param bytes   the content
+	 * @throws IOException if io fails
+	 */
+	static void writeSegments( WriterContext context, Tag tag, byte[] bytes ) throws IOException
+	{
+		context.writeHeader( new Tag( tag.getTagClass(), true, tag.getTagNumber() ), -1 );
+		AbstractBerWriter writer = context.getWriter();
+		for( int offset = 0; offset < bytes.length; offset += CER_SEGMENT_SIZE )
+		{
+			int size = Math.min( CER_SEGMENT_SIZE, bytes.length - offset );
+			writer.writeHeader( OCTET_STRING_SEGMENT_TAG, size );
+			writer.write( bytes, offset, size );
+		}
+		writeEoc( context );
+	}
+
+	/**
+	 * Write bit string content as constructed indefinite length form with BIT STRING segments, see X.690, p 9.2
+	 *
+	 * @param context    the writer context
+	 * @param tag        the string tag
+	 * @param bytes      the content
+	 * @param unusedBits amount of unused bits in last byte
+	 * @throws IOException if io fails
+	 */
+	static void writeBitSegments( WriterContext context, Tag tag, byte[] bytes, int unusedBits ) throws IOException
+	{
+		context.writeHeader( new Tag( tag.getTagClass(), true, tag.getTagNumber() ), -1 );
+		AbstractBerWriter writer = context.getWriter();
+		// first content octet of each segment is amount of unused bits
+		int segmentSize = CER_SEGMENT_SIZE - 1;
+		for( int offset = 0; offset < bytes.length; offset += segmentSize )
+		{
+			int size = Math.min( segmentSize, bytes.length - offset );
+			writer.writeHeader( BIT_STRING_SEGMENT_TAG, size + 1 );
+			writer.write( offset + size == bytes.length ? unusedBits : 0 );
+			writer.write( bytes, offset, size );
+		}
+		writeEoc( context );
+	}
+
+	private static void writeEoc( WriterContext context ) throws IOException
+	{
+		if( context.isWriteHeader() )
+		{
+			context.write( 0 );
+			context.write( 0 );
+		}
+	}
+
 	static void writeTagNumber( AbstractBerWriter writer, long tagNumber ) throws IOException
 	{
 		boolean skipping = true;
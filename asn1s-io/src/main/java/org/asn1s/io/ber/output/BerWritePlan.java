@@ -0,0 +1,158 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.ber.output;
+
+import org.asn1s.api.encoding.EncodingInstructions;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.TaggedType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precompiled encoding step for single type node. Plans are attached to validated types,
+ * so type graph is not re-examined for every value written.
+ */
+final class BerWritePlan
+{
+	private static final Object PLAN_KEY = new Object();
+	private static final Map<Family, BerEncoder> ENCODERS = new EnumMap<>( Family.class );
+
+	static
+	{
+		ENCODERS.put( Family.BOOLEAN, new BooleanBerEncoder() );
+		ENCODERS.put( Family.INTEGER, new IntegerBerEncoder() );
+		ENCODERS.put( Family.ENUMERATED, new EnumeratedBerEncoder() );
+		ENCODERS.put( Family.REAL, new RealBerEncoder() );
+		ENCODERS.put( Family.BIT_STRING, new BitStringBerEncoder() );
+		ENCODERS.put( Family.OCTET_STRING, new OctetStringBerEncoder() );
+		ENCODERS.put( Family.NULL, new NullBerEncoder() );
+		ENCODERS.put( Family.SEQUENCE, new SequenceBerEncoder() );
+		ENCODERS.put( Family.SEQUENCE_OF, new SequenceOfBerEncoder() );
+		ENCODERS.put( Family.SET, new SetBerEncoder() );
+		ENCODERS.put( Family.SET_OF, new SetOfBerEncoder() );
+		ENCODERS.put( Family.RESTRICTED_STRING, new StringBerEncoder() );
+		ENCODERS.put( Family.UTC_TIME, new UTCTimeBerEncoder() );
+		ENCODERS.put( Family.GENERALIZED_TIME, new GeneralizedTimeBerEncoder() );
+		ENCODERS.put( Family.OID, new ObjectIDBerEncoder() );
+	}
+
+	private BerWritePlan( @NotNull Step step, @Nullable TagEncoding encoding, @Nullable BerEncoder encoder, @NotNull Map<String, ComponentType> alternatives )
+	{
+		this.step = step;
+		this.encoding = encoding;
+		this.encoder = encoder;
+		this.alternatives = alternatives;
+	}
+
+	private final Step step;
+	private final TagEncoding encoding;
+	private final BerEncoder encoder;
+	private final Map<String, ComponentType> alternatives;
+
+	@NotNull
+	Step getStep()
+	{
+		return step;
+	}
+
+	@Nullable
+	TagEncoding getEncoding()
+	{
+		return encoding;
+	}
+
+	@Nullable
+	BerEncoder getEncoder()
+	{
+		return encoder;
+	}
+
+	@Nullable
+	ComponentType findAlternative( @NotNull String name )
+	{
+		return alternatives.get( name );
+	}
+
+	@NotNull
+	static BerWritePlan forType( @NotNull Type type )
+	{
+		BerWritePlan plan = type.getCodecPlan( PLAN_KEY );
+		if( plan == null )
+		{
+			plan = compile( type );
+			type.setCodecPlan( PLAN_KEY, plan );
+		}
+		return plan;
+	}
+
+	@NotNull
+	private static BerWritePlan compile( @NotNull Type type )
+	{
+		Map<String, ComponentType> noAlternatives = Collections.emptyMap();
+		if( type.isTagged() && ( (TaggedType)type ).getInstructions() == EncodingInstructions.TAG )
+		{
+			TagEncoding encoding = (TagEncoding)type.getEncoding( EncodingInstructions.TAG );
+			return new BerWritePlan( Step.TAGGED, encoding, null, noAlternatives );
+		}
+
+		Family family = type.getFamily();
+		if( family == Family.CHOICE )
+			return new BerWritePlan( Step.CHOICE, null, null, compileAlternatives( type ) );
+
+		if( type.hasSibling() )
+			return new BerWritePlan( Step.SIBLING, null, null, noAlternatives );
+
+		if( family == Family.OPEN_TYPE )
+			return new BerWritePlan( Step.OPEN_TYPE, null, null, noAlternatives );
+
+		return new BerWritePlan( Step.ENCODE, null, ENCODERS.get( family ), noAlternatives );
+	}
+
+	private static Map<String, ComponentType> compileAlternatives( Type type )
+	{
+		Map<String, ComponentType> result = new HashMap<>();
+		for( ComponentType component : type.<ComponentType>getNamedTypes() )
+			result.putIfAbsent( component.getName(), component );
+		return result;
+	}
+
+	enum Step
+	{
+		TAGGED,
+		CHOICE,
+		SIBLING,
+		OPEN_TYPE,
+		ENCODE
+	}
+}
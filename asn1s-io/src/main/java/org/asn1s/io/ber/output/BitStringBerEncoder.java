@@ -25,10 +25,12 @@
 
 package org.asn1s.io.ber.output;
 
+import org.asn1s.api.Scope;
 import org.asn1s.api.UniversalType;
 import org.asn1s.api.constraint.ConstraintUtils;
 import org.asn1s.api.encoding.tag.Tag;
 import org.asn1s.api.encoding.tag.TagClass;
+import org.asn1s.api.type.Type;
 import org.asn1s.api.type.Type.Family;
 import org.asn1s.api.value.ByteArrayValue;
 import org.asn1s.api.value.Value.Kind;
@@ -47,24 +49,23 @@ final class BitStringBerEncoder implements BerEncoder
 		assert context.getType().getFamily() == Family.BIT_STRING;
 		assert context.getValue().getKind() == Kind.BYTE_ARRAY;
 		ByteArrayValue arrayValue = context.getValue().toByteArrayValue();
-		boolean hasNamedValues = !context.getType().getNamedValues().isEmpty();
+		BerRules rules = context.getRules();
 
 		byte[] bytes = arrayValue.asByteArray();
-		int usedBits = arrayValue.getUsedBits();
-		int emptyBits = bytes.length * 8 - usedBits;
-		if( context.getRules() == BerRules.DER )
+		int emptyBits = bytes.length * 8 - arrayValue.getUsedBits();
+		if( isTrailingBitsRemoved( context.getType(), context.getScope(), rules ) )
 		{
-			boolean hasSizeConstraint = Boolean.TRUE.equals( context.getScope().getScopeOption( ConstraintUtils.OPTION_HAS_SIZE_CONSTRAINT ) );
-
-			if( !hasSizeConstraint && hasNamedValues )
-			{
-				if( hasEmptyBytesAtEnd( bytes ) )
-					bytes = removeZerosFromEnd( bytes );
+			bytes = removeZerosFromEnd( bytes );
+			// optimize amount of zero bits at end of last byte
+			if( bytes.length > 0 )
+				emptyBits = getTrailingZerosCount( bytes[bytes.length - 1] );
+		}
 
-				// optimize amount of zero bits at end of last byte
-				if( bytes.length > 0 )
-					emptyBits = getTrailingZerosCount( bytes[bytes.length - 1] );
-			}
+		// decision is made on trimmed content, the same way as BerEncoderUtils.isSegmentedString does
+		if( rules == BerRules.CER && bytes.length + 1 > BerEncoderUtils.CER_SEGMENT_SIZE )
+		{
+			BerEncoderUtils.writeBitSegments( context, TAG, bytes, emptyBits );
+			return;
 		}
 
 		int length = bytes.length == 0 ? 1 : 1 + bytes.length;
@@ -79,6 +80,28 @@ final class BitStringBerEncoder implements BerEncoder
 			context.write( 0 );
 	}
 
+	/**
+	 * Returns content octets that are written for value, trailing zero octets are removed by canonical rules
+	 * for types with named bits, see X.690, p 11.2.2
+	 *
+	 * @param type  the BIT STRING type
+	 * @param scope the scope of type
+	 * @param rules the rules
+	 * @param bytes value content
+	 * @return content octets without unused bits octet
+	 */
+	static byte[] toContentBytes( Type type, Scope scope, BerRules rules, byte[] bytes )
+	{
+		return isTrailingBitsRemoved( type, scope, rules ) ? removeZerosFromEnd( bytes ) : bytes;
+	}
+
+	private static boolean isTrailingBitsRemoved( Type type, Scope scope, BerRules rules )
+	{
+		return rules != BerRules.BER
+				&& !type.getNamedValues().isEmpty()
+				&& !Boolean.TRUE.equals( scope.getScopeOption( ConstraintUtils.OPTION_HAS_SIZE_CONSTRAINT ) );
+	}
+
 	private static int getTrailingZerosCount( byte last )
 	{
 		int emptyBits;
@@ -107,6 +130,9 @@ final class BitStringBerEncoder implements BerEncoder
 
 	private static byte[] removeZerosFromEnd( byte[] bytes )
 	{
+		if( !hasEmptyBytesAtEnd( bytes ) )
+			return bytes;
+
 		int emptyCount = 0;
 		for( int i = bytes.length - 1; i >= 0; i-- )
 		{
@@ -27,16 +27,32 @@ package org.asn1s.io.ber.output;
 
 import org.asn1s.api.encoding.tag.Tag;
 import org.asn1s.io.ber.BerRules;
+import org.asn1s.io.ber.BerUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.Arrays;
 
+/**
+ * Writer with definite length buffering.
+ * All buffered levels share single growable array, each level reserves space for its header
+ * before content, header is written into that space when level is closed.
+ * Unused part of reserved space is skipped when outermost level is flushed into stream,
+ * so content is copied only once and buffers are reused between values.
+ */
 public final class DefaultBerWriter extends AbstractBerWriter
 {
+	/**
+	 * Maximum header size: 6 bytes for 31-bit tag number, 5 bytes for 31-bit length
+	 */
+	private static final int HEADER_RESERVE = 11;
+	private static final int DEFAULT_CAPACITY = 256;
+	private static final int DEFAULT_DEPTH = 16;
+	private static final int HOLE_SHIFT = 32;
+	private static final long HOLE_LENGTH_MASK = 0xFFFFFFFFL;
+
 	public DefaultBerWriter( BerRules rules )
 	{
 		this.rules = rules;
@@ -53,8 +69,16 @@ public final class DefaultBerWriter extends AbstractBerWriter
 
 	private final BerRules rules;
 	private final OutputStream os;
-	private final Deque<ByteArrayOutputStream> outputStack = new LinkedList<>();
 	private final boolean internalOs;
+	private final byte[] header = new byte[HEADER_RESERVE];
+	private byte[] buffer = new byte[0];
+	private int size;
+	private int[] levels = new int[DEFAULT_DEPTH];
+	private int[] levelHoleSizes = new int[DEFAULT_DEPTH];
+	private int depth;
+	private long[] holes = new long[DEFAULT_DEPTH];
+	private int holeCount;
+	private int holeSize;
 
 	@Override
 	public BerRules getRules()
@@ -71,42 +95,81 @@ public final class DefaultBerWriter extends AbstractBerWriter
 	@Override
 	public void startBuffer( int sizeHint )
 	{
-		outputStack.push( new ByteArrayOutputStream() );
+		if( depth == levels.length )
+		{
+			levels = Arrays.copyOf( levels, depth * 2 );
+			levelHoleSizes = Arrays.copyOf( levelHoleSizes, depth * 2 );
+		}
+
+		ensureCapacity( HEADER_RESERVE + Math.max( sizeHint, 0 ) );
+		levels[depth] = size;
+		levelHoleSizes[depth] = holeSize;
+		depth++;
+		size += HEADER_RESERVE;
 	}
 
 	@Override
 	public void stopBuffer( @NotNull Tag tag ) throws IOException
 	{
-		try( ByteArrayOutputStream stream = outputStack.pop() )
-		{
-			byte[] bytes = stream.toByteArray();
-			writeHeader( tag, bytes.length );
-			write( bytes );
-		}
+		if( depth == 0 )
+			throw new IllegalStateException( "No buffer started" );
+
+		depth--;
+		int reserveStart = levels[depth];
+		int contentStart = reserveStart + HEADER_RESERVE;
+		// skip unused header space of inner levels
+		int length = size - contentStart - ( holeSize - levelHoleSizes[depth] );
+		int headerSize = encodeHeader( tag, length );
+		System.arraycopy( header, HEADER_RESERVE - headerSize, buffer, contentStart - headerSize, headerSize );
+		if( headerSize < HEADER_RESERVE )
+			addHole( reserveStart, HEADER_RESERVE - headerSize );
+
+		if( depth == 0 )
+			flush();
 	}
 
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
 	@Override
 	public void write( int aByte ) throws IOException
 	{
-		//noinspection resource
-		OutputStream outputStream = outputStack.peek();
-		if( outputStream == null )
-			outputStream = os;
-		outputStream.write( aByte );
+		if( depth == 0 )
+			os.write( aByte );
+		else
+		{
+			ensureCapacity( 1 );
+			buffer[size] = (byte)aByte;
+			size++;
+		}
 	}
 
 	@Override
 	public void write( byte[] bytes ) throws IOException
 	{
-		//noinspection resource
-		OutputStream outputStream = outputStack.peek();
-		if( outputStream == null )
-			outputStream = os;
-		outputStream.write( bytes );
+		if( depth == 0 )
+			os.write( bytes );
+		else
+		{
+			ensureCapacity( bytes.length );
+			System.arraycopy( bytes, 0, buffer, size, bytes.length );
+			size += bytes.length;
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException
+	{
+		if( depth == 0 )
+			os.write( bytes, offset, length );
+		else
+		{
+			ensureCapacity( length );
+			System.arraycopy( bytes, offset, buffer, size, length );
+			size += length;
+		}
 	}
 
 	@Override
-	public void close() throws Exception
+	public void close() throws IOException
 	{
 		if( internalOs )
 			os.close();
@@ -120,4 +183,97 @@ public final class DefaultBerWriter extends AbstractBerWriter
 
 		return ( (ByteArrayOutputStream)os ).toByteArray();
 	}
+
+	private void ensureCapacity( int amount )
+	{
+		int required = size + amount;
+		if( required <= buffer.length )
+			return;
+
+		int capacity = Math.max( buffer.length * 2, DEFAULT_CAPACITY );
+		buffer = Arrays.copyOf( buffer, Math.max( capacity, required ) );
+	}
+
+	private void addHole( int start, int length )
+	{
+		if( holeCount == holes.length )
+			holes = Arrays.copyOf( holes, holeCount * 2 );
+
+		holes[holeCount] = (long)start << HOLE_SHIFT | length;
+		holeCount++;
+		holeSize += length;
+	}
+
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	private void flush() throws IOException
+	{
+		// holes are added when levels are closed, inner levels are closed first
+		Arrays.sort( holes, 0, holeCount );
+		int position = 0;
+		for( int i = 0; i < holeCount; i++ )
+		{
+			int start = (int)( holes[i] >>> HOLE_SHIFT );
+			int length = (int)( holes[i] & HOLE_LENGTH_MASK );
+			if( start > position )
+				os.write( buffer, position, start - position );
+			position = start + length;
+		}
+		if( size > position )
+			os.write( buffer, position, size - position );
+
+		size = 0;
+		holeCount = 0;
+		holeSize = 0;
+	}
+
+	/**
+	 * Encode tag and length into end of header array
+	 *
+	 * @param tag    the tag
+	 * @param length content length
+	 * @return amount of header bytes
+	 */
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	private int encodeHeader( Tag tag, int length )
+	{
+		int position = HEADER_RESERVE;
+		if( length <= BerUtils.UNSIGNED_BYTE_MASK )
+		{
+			position--;
+			header[position] = (byte)length;
+		}
+		else
+		{
+			int count = 0;
+			for( int value = length; value != 0; value >>>= 8 )
+			{
+				position--;
+				header[position] = (byte)( value & BerUtils.BYTE_MASK );
+				count++;
+			}
+			position--;
+			header[position] = (byte)( BerUtils.BYTE_SIGN_MASK | count );
+		}
+
+		int constructed = tag.isConstructed() ? BerUtils.PC_MASK : 0;
+		int tagNumber = tag.getTagNumber();
+		if( tagNumber < BerUtils.TAG_MASK )
+		{
+			position--;
+			header[position] = (byte)( tagNumber | constructed | tag.getTagClass().getCode() );
+		}
+		else
+		{
+			boolean last = true;
+			for( int value = tagNumber; value != 0 || last; value >>>= 7 )
+			{
+				position--;
+				header[position] = (byte)( ( value & BerUtils.UNSIGNED_BYTE_MASK ) | ( last ? 0 : BerUtils.BYTE_SIGN_MASK ) );
+				last = false;
+			}
+			position--;
+			header[position] = (byte)( BerUtils.TAG_MASK | constructed | tag.getTagClass().getCode() );
+		}
+		return HEADER_RESERVE - position;
+	}
 }
@@ -48,7 +48,7 @@ public class GeneralizedTimeBerEncoder implements BerEncoder
 		assert context.getType().getFamily() == Family.GENERALIZED_TIME;
 		assert context.getValue().getKind() == Kind.TIME;
 		Instant instant = context.getValue().toDateValue().asInstant();
-		boolean optimize = context.getRules() != BerRules.DER;
+		boolean optimize = context.getRules() == BerRules.BER;
 		String content = TimeUtils.formatInstant( instant, TimeUtils.GENERALIZED_TIME_FORMAT, optimize );
 		byte[] bytes = content.getBytes( TimeUtils.CHARSET );
 		context.writeHeader( TAG, bytes.length );
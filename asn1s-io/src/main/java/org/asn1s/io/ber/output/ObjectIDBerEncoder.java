@@ -32,7 +32,7 @@ import org.asn1s.api.exception.Asn1Exception;
 import org.asn1s.api.type.Type.Family;
 import org.asn1s.api.value.Value.Kind;
 import org.asn1s.api.value.x680.ObjectIdentifierValue;
-import org.asn1s.io.ber.BerUtils;
+import org.asn1s.io.ber.ObjectIdentifierCache;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
@@ -40,9 +40,6 @@ import java.io.IOException;
 public class ObjectIDBerEncoder implements BerEncoder
 {
 	private static final Tag TAG = new Tag( TagClass.UNIVERSAL, false, UniversalType.OBJECT_IDENTIFIER.tagNumber() );
-	private static final int MASK_7_BIT = 0x7F;
-	private static final int MASK_MORE_BYTES = 0x80;
-	private static final int MASK_NO_BYTES = 0x0;
 
 	@Override
 	public void encode( @NotNull WriterContext context ) throws IOException, Asn1Exception
@@ -50,48 +47,19 @@ public class ObjectIDBerEncoder implements BerEncoder
 		assert context.getType().getFamily() == Family.OID;
 		assert context.getValue().getKind() == Kind.OID;
 
-		if( !context.isWriteHeader() )
-			writeObjectIDImpl( context.getWriter(), context.getValue().toObjectIdentifierValue() );
-		else if( context.isBufferingAvailable() )
-		{
-			context.startBuffer( -1 );
-			writeObjectIDImpl( context.getWriter(), context.getValue().toObjectIdentifierValue() );
-			context.stopBuffer( TAG );
-		}
-		else
-			throw new Asn1Exception( "Buffering is required for ObjectIdentifier" );
+		byte[] content = toContent( context.getValue().toObjectIdentifierValue() );
+		context.writeHeader( TAG, content.length );
+		context.write( content );
 	}
 
-	private static void writeObjectIDImpl( AbstractBerWriter os, ObjectIdentifierValue value ) throws IOException
+	private static byte[] toContent( ObjectIdentifierValue value ) throws Asn1Exception
 	{
-		Long[] array = value.asIDArray();
-		long first = array[0] * BerUtils.OID_FIRST_BYTE_MULTIPLIER + array[1];
-
-		writeObjectIDItem( first, os );
-		for( int i = 2; i < array.length; i++ )
-			writeObjectIDItem( array[i], os );
-	}
-
-	private static void writeObjectIDItem( long item, AbstractBerWriter os ) throws IOException
-	{
-		assert item >= 0;
-		if( item == 0 )
+		try
 		{
-			os.write( 0 );
-			return;
-		}
-
-		int n = 0;
-		while( ( item >> n ) != 0 )
-			n += 7;
-		if( ( item >> n ) == 0 )
-			n -= 7;
-
-		for( int i = n; i >= 0; i -= 7 )
+			return ObjectIdentifierCache.toContent( value.asArcArray() );
+		} catch( IllegalArgumentException e )
 		{
-			//noinspection NumericCastThatLosesPrecision
-			byte value = (byte)( ( item >> i ) & MASK_7_BIT | ( i == 0 ? MASK_NO_BYTES : MASK_MORE_BYTES ) );
-			os.write( value );
+			throw new Asn1Exception( "Unable to write object identifier: " + value, e );
 		}
 	}
 }
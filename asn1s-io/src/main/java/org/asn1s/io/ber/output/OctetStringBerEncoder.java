@@ -30,6 +30,7 @@ import org.asn1s.api.encoding.tag.Tag;
 import org.asn1s.api.encoding.tag.TagClass;
 import org.asn1s.api.type.Type.Family;
 import org.asn1s.api.value.Value.Kind;
+import org.asn1s.io.ber.BerRules;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
@@ -45,7 +46,12 @@ final class OctetStringBerEncoder implements BerEncoder
 		assert context.getValue().getKind() == Kind.BYTE_ARRAY;
 		byte[] bytes = context.getValue().toByteArrayValue().asByteArray();
 		int length = bytes == null ? 0 : bytes.length;
-		context.writeHeader( TAG, length );
-		context.write( bytes );
+		if( length > BerEncoderUtils.CER_SEGMENT_SIZE && context.getRules() == BerRules.CER )
+			BerEncoderUtils.writeSegments( context, TAG, bytes );
+		else
+		{
+			context.writeHeader( TAG, length );
+			context.write( bytes );
+		}
 	}
 }
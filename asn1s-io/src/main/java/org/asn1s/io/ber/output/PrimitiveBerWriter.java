@@ -0,0 +1,119 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.ber.output;
+
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.util.TimeUtils;
+import org.asn1s.io.ber.BerRules;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+
+/**
+ * Writes primitive encodings from plain java values, without building ASN.1 values.
+ * Intended for precompiled encoders that resolve tags and constraints ahead of time.
+ * Constructed encodings are written with definite length, using buffering of underlying writer.
+ */
+public final class PrimitiveBerWriter
+{
+	public PrimitiveBerWriter( @NotNull DefaultBerWriter writer )
+	{
+		this.writer = writer;
+		context = new WriterContext( writer, null, null, null, true );
+	}
+
+	private final AbstractBerWriter writer;
+	private final WriterContext context;
+
+	public BerRules getRules()
+	{
+		return writer.getRules();
+	}
+
+	/**
+	 * Start constructed encoding, must be finished by {@link #stopConstructed(Tag)}
+	 */
+	public void startConstructed()
+	{
+		writer.startBuffer( -1 );
+	}
+
+	/**
+	 * Write header of constructed encoding and it's content.
+	 *
+	 * @param tag the tag, must be constructed
+	 * @throws IOException if io fails
+	 */
+	public void stopConstructed( @NotNull Tag tag ) throws IOException
+	{
+		writer.stopBuffer( tag );
+	}
+
+	public void writeInteger( @NotNull Tag tag, long value ) throws IOException
+	{
+		IntegerBerEncoder.writeLong( writer, value, tag, true );
+	}
+
+	public void writeInteger( @NotNull Tag tag, @NotNull BigInteger value ) throws IOException
+	{
+		if( value.bitLength() < Long.SIZE )
+			writeInteger( tag, value.longValue() );
+		else
+			writeOctets( tag, value.toByteArray() );
+	}
+
+	public void writeReal( @NotNull Tag tag, double value ) throws IOException
+	{
+		RealBerEncoder.writeDouble( context, tag, value );
+	}
+
+	public void writeReal( @NotNull Tag tag, @NotNull BigDecimal value ) throws IOException
+	{
+		RealBerEncoder.writeNR3( context, tag, value );
+	}
+
+	public void writeTime( @NotNull Tag tag, @NotNull Instant instant, boolean generalized ) throws IOException
+	{
+		String format = generalized ? TimeUtils.GENERALIZED_TIME_FORMAT : TimeUtils.UTC_TIME_FORMAT;
+		String content = TimeUtils.formatInstant( instant, format, writer.getRules() == BerRules.BER );
+		writeOctets( tag, content.getBytes( TimeUtils.CHARSET ) );
+	}
+
+	/**
+	 * Write primitive encoding with content octets
+	 *
+	 * @param tag     the tag
+	 * @param content content octets
+	 * @throws IOException if io fails
+	 */
+	public void writeOctets( @NotNull Tag tag, @NotNull byte[] content ) throws IOException
+	{
+		BerEncoderUtils.writeString( writer, content, tag, true );
+	}
+}
@@ -62,46 +62,46 @@ final class RealBerEncoder implements BerEncoder
 	{
 		RealValue value = context.getValue().toRealValue();
 		if( value.isDouble() )
-			writeDouble( context, value.asDouble() );
+			writeDouble( context, TAG, value.asDouble() );
 		else
-			writeNR3( context, value.asBigDecimal() );
+			writeNR3( context, TAG, value.asBigDecimal() );
 	}
 
 	private static void writeIntegerValue( WriterContext context ) throws IOException
 	{
 		IntegerValue integerValue = context.getValue().toIntegerValue();
 		if( integerValue.isDouble() )
-			writeDouble( context, integerValue.asDouble() );
+			writeDouble( context, TAG, integerValue.asDouble() );
 		else
-			writeNR3( context, integerValue.asBigDecimal() );
+			writeNR3( context, TAG, integerValue.asBigDecimal() );
 	}
 
-	private static void writeDouble( WriterContext ctx, double value ) throws IOException
+	static void writeDouble( WriterContext ctx, Tag tag, double value ) throws IOException
 	{
 		// encode binary value
 		long bits = Double.doubleToLongBits( value );
 		if( Double.isInfinite( value ) )
 		{
-			ctx.writeHeader( TAG, 1 );
+			ctx.writeHeader( tag, 1 );
 			ctx.write( value < 0 ? BerUtils.REAL_NEGATIVE_INF : BerUtils.REAL_POSITIVE_INF );
 		}
 		else if( Double.isNaN( value ) )
 		{
-			ctx.writeHeader( TAG, 1 );
+			ctx.writeHeader( tag, 1 );
 			ctx.write( BerUtils.REAL_NAN );
 		}
 		else if( bits == ZERO_DOUBLE_BITS )
-			ctx.writeHeader( TAG, 0 );
+			ctx.writeHeader( tag, 0 );
 		else if( bits == NEGATIVE_ZERO_DOUBLE_BITS )
 		{
-			ctx.writeHeader( TAG, 1 );
+			ctx.writeHeader( tag, 1 );
 			ctx.write( BerUtils.REAL_MINUS_ZERO );
 		}
 		else
-			new BinaryDoubleEncoder( ctx, bits ).encode();
+			new BinaryDoubleEncoder( ctx, tag, bits ).encode();
 	}
 
-	private static void writeNR3( WriterContext ctx, BigDecimal bigDecimal ) throws IOException
+	static void writeNR3( WriterContext ctx, Tag tag, BigDecimal bigDecimal ) throws IOException
 	{
 		String content = NRxUtils.toCanonicalNR3( bigDecimal.toString() );
 		byte[] bytes;
@@ -112,7 +112,7 @@ final class RealBerEncoder implements BerEncoder
 		{
 			throw new IllegalStateException( e );
 		}
-		ctx.writeHeader( TAG, 1 + bytes.length );
+		ctx.writeHeader( tag, 1 + bytes.length );
 
 		ctx.write( 3 );
 		ctx.write( bytes );
@@ -121,15 +121,17 @@ final class RealBerEncoder implements BerEncoder
 	@SuppressWarnings( "MagicNumber" )
 	private static final class BinaryDoubleEncoder
 	{
-		private BinaryDoubleEncoder( WriterContext ctx, long bits )
+		private BinaryDoubleEncoder( WriterContext ctx, Tag tag, long bits )
 		{
 			this.ctx = ctx;
+			this.tag = tag;
 			sign = ( bits & 0x8000000000000000L ) == 0 ? (byte)0 : BerUtils.REAL_SIGN_MASK;
 			mantissa = bits & 0X000FFFFFFFFFFFFFL;
 			exponent = ( bits & 0X7FF0000000000000L ) >> 52;
 		}
 
 		private final WriterContext ctx;
+		private final Tag tag;
 		private final byte sign;
 		private long mantissa;
 		private long exponent;
@@ -141,7 +143,7 @@ final class RealBerEncoder implements BerEncoder
 			byte[] mantisBytes = IntegerBerEncoder.toByteArray( mantissa );
 			byte first = (byte)( BerUtils.REAL_BINARY_FLAG | sign | Math.min( 3, exponentBytes.length - 1 ) );
 
-			ctx.writeHeader( TAG, 1 + exponentBytes.length + mantisBytes.length );
+			ctx.writeHeader( tag, 1 + exponentBytes.length + mantisBytes.length );
 			ctx.write( first );
 			if( exponentBytes.length >= 4 )
 				ctx.write( exponentBytes.length );
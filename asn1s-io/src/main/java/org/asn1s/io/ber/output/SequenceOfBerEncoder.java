@@ -49,7 +49,7 @@ final class SequenceOfBerEncoder implements BerEncoder
 
 		if( !context.isWriteHeader() )
 			writeCollection( context );
-		else if( context.isBufferingAvailable() )
+		else if( context.isBufferingConstructed() )
 		{
 			context.startBuffer( -1 );
 			writeCollection( context );
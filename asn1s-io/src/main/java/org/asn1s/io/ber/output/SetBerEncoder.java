@@ -56,7 +56,7 @@ final class SetBerEncoder extends AbstractCollectionBerEncoder
 	protected Collection<NamedValue> getValues( @NotNull WriterContext context )
 	{
 		List<NamedValue> values = context.getValue().toValueCollection().asNamedValueList();
-		return context.getRules() == BerRules.DER ? sortByTag( context.getType(), values ) : values;
+		return context.getRules() != BerRules.BER ? sortByTag( context.getType(), values ) : values;
 	}
 
 	@NotNull
@@ -43,7 +43,7 @@ final class SetOfBerEncoder implements BerEncoder
 
 		if( !context.isWriteHeader() )
 			SequenceOfBerEncoder.writeCollection( context );
-		else if( context.isBufferingAvailable() )
+		else if( context.isBufferingConstructed() )
 		{
 			context.startBuffer( -1 );
 			SequenceOfBerEncoder.writeCollection( context );
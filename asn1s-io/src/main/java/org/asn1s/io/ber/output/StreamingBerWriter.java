@@ -0,0 +1,305 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+package org.asn1s.io.ber.output;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.ber.BerRules;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Writer with definite length forms that does not buffer whole content.
+ * First pass counts bytes and remembers tag and content length of each buffered level in order of appearance.
+ * Content bytes of the first pass are kept in spool of limited size, if the value fits into spool,
+ * headers and spooled content are written without second encoding. Larger values are encoded again,
+ * second pass writes headers directly into stream using lengths from first pass.
+ * Memory usage depends on spool limit and amount of constructed values only.
+ */
+public final class StreamingBerWriter extends AbstractBerWriter
+{
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final int DEFAULT_SPOOL_LIMIT = 64 * 1024;
+
+	public StreamingBerWriter( BerRules rules, OutputStream os )
+	{
+		this( rules, os, DEFAULT_SPOOL_LIMIT );
+	}
+
+	/**
+	 * Create writer
+	 *
+	 * @param rules      the rules
+	 * @param os         target stream
+	 * @param spoolLimit maximum size of encoding that is written without second pass, 0 to always encode twice
+	 */
+	public StreamingBerWriter( BerRules rules, OutputStream os, int spoolLimit )
+	{
+		if( spoolLimit < 0 )
+			throw new IllegalArgumentException( "Spool limit must not be negative: " + spoolLimit );
+
+		this.rules = rules;
+		this.os = os;
+		this.spoolLimit = spoolLimit;
+	}
+
+	private final BerRules rules;
+	private final OutputStream os;
+	private final int spoolLimit;
+	private byte[] spool = new byte[0];
+	private int spoolSize;
+	private boolean spooling;
+	private boolean countingHeader;
+	private int[] spoolStarts = new int[DEFAULT_CAPACITY];
+	private boolean measuring;
+	private int count;
+	private int[] levelStarts = new int[DEFAULT_CAPACITY];
+	private int[] levelIndexes = new int[DEFAULT_CAPACITY];
+	private int depth;
+	private int[] lengths = new int[DEFAULT_CAPACITY];
+	private Tag[] tags = new Tag[DEFAULT_CAPACITY];
+	private int levelCount;
+	private int nextLevel;
+	private int pendingLevels;
+
+	@Override
+	public BerRules getRules()
+	{
+		return rules;
+	}
+
+	@Override
+	public boolean isBufferingAvailable()
+	{
+		return true;
+	}
+
+	@Override
+	void writeAccepted( @NotNull Scope scope, @NotNull Type type, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		try
+		{
+			measuring = true;
+			spooling = true;
+			writeInternal( new WriterContext( this, scope, type, value, true ) );
+			measuring = false;
+			if( spooling )
+				writeSpool();
+			else
+				writeInternal( new WriterContext( this, scope, type, value, true ) );
+			if( nextLevel != levelCount )
+				throw new IllegalStateException( "Encoding passes are not equal" );
+		} finally
+		{
+			measuring = false;
+			spooling = false;
+			spoolSize = 0;
+			count = 0;
+			depth = 0;
+			pendingLevels = 0;
+			Arrays.fill( tags, 0, levelCount, null );
+			levelCount = 0;
+			nextLevel = 0;
+		}
+	}
+
+	@Override
+	public void startBuffer( int sizeHint )
+	{
+		if( measuring )
+		{
+			if( depth == levelStarts.length )
+			{
+				levelStarts = Arrays.copyOf( levelStarts, depth * 2 );
+				levelIndexes = Arrays.copyOf( levelIndexes, depth * 2 );
+			}
+			if( levelCount == lengths.length )
+			{
+				lengths = Arrays.copyOf( lengths, levelCount * 2 );
+				tags = Arrays.copyOf( tags, levelCount * 2 );
+				spoolStarts = Arrays.copyOf( spoolStarts, levelCount * 2 );
+			}
+			levelStarts[depth] = count;
+			spoolStarts[levelCount] = spoolSize;
+			levelIndexes[depth] = levelCount;
+			depth++;
+			levelCount++;
+		}
+		else
+		{
+			// header is written before first content byte, since this method can not fail
+			depth++;
+			pendingLevels++;
+		}
+	}
+
+	@Override
+	public void stopBuffer( @NotNull Tag tag ) throws IOException
+	{
+		if( depth == 0 )
+			throw new IllegalStateException( "No buffer started" );
+
+		depth--;
+		if( measuring )
+		{
+			int index = levelIndexes[depth];
+			int length = count - levelStarts[depth];
+			lengths[index] = length;
+			tags[index] = tag;
+			// count header bytes for outer levels, those are not spooled
+			countingHeader = true;
+			try
+			{
+				writeHeader( tag, length );
+			} finally
+			{
+				countingHeader = false;
+			}
+		}
+		else
+			writePendingHeaders();
+	}
+
+	@Override
+	public void write( int aByte ) throws IOException
+	{
+		if( measuring )
+		{
+			count++;
+			if( ensureSpool( 1 ) )
+				spool[spoolSize++] = (byte)aByte;
+		}
+		else
+		{
+			writePendingHeaders();
+			os.write( aByte );
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes ) throws IOException
+	{
+		if( measuring )
+		{
+			count += bytes.length;
+			if( ensureSpool( bytes.length ) )
+			{
+				System.arraycopy( bytes, 0, spool, spoolSize, bytes.length );
+				spoolSize += bytes.length;
+			}
+		}
+		else
+		{
+			writePendingHeaders();
+			os.write( bytes );
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException
+	{
+		if( measuring )
+		{
+			count += length;
+			if( ensureSpool( length ) )
+			{
+				System.arraycopy( bytes, offset, spool, spoolSize, length );
+				spoolSize += length;
+			}
+		}
+		else
+		{
+			writePendingHeaders();
+			os.write( bytes, offset, length );
+		}
+	}
+
+	private boolean ensureSpool( int length )
+	{
+		if( !spooling || countingHeader )
+			return false;
+
+		if( length > spoolLimit - spoolSize )
+		{
+			// too large, second pass is required
+			spooling = false;
+			return false;
+		}
+
+		if( spoolSize + length > spool.length )
+			spool = Arrays.copyOf( spool, Math.min( spoolLimit, Math.max( spool.length * 2, spoolSize + length ) ) );
+		return true;
+	}
+
+	/**
+	 * Write content of the first pass inserting headers of levels at their start positions
+	 *
+	 * @throws IOException if stream fails
+	 */
+	private void writeSpool() throws IOException
+	{
+		int position = 0;
+		for( int i = 0; i < levelCount; i++ )
+		{
+			os.write( spool, position, spoolStarts[i] - position );
+			position = spoolStarts[i];
+			writeHeader( tags[i], lengths[i] );
+		}
+		os.write( spool, position, spoolSize - position );
+		nextLevel = levelCount;
+	}
+
+	private void writePendingHeaders() throws IOException
+	{
+		int pending = pendingLevels;
+		pendingLevels = 0;
+		for( int i = 0; i < pending; i++ )
+		{
+			int index = nextLevel;
+			nextLevel++;
+			if( index >= levelCount )
+				throw new IllegalStateException( "Encoding passes are not equal" );
+			writeHeader( tags[index], lengths[index] );
+		}
+	}
+
+	@Override
+	public void close()
+	{
+		// target stream belongs to caller, there is nothing to release
+	}
+
+	@Override
+	public byte[] toByteArray() throws IOException
+	{
+		throw new IOException( "Unable to get bytes from provided stream" );
+	}
+}
@@ -32,7 +32,9 @@ import org.asn1s.api.exception.Asn1Exception;
 import org.asn1s.api.type.StringType;
 import org.asn1s.api.type.Type;
 import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
 import org.asn1s.api.value.Value.Kind;
+import org.asn1s.io.ber.BerRules;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
@@ -44,15 +46,30 @@ public class StringBerEncoder implements BerEncoder
 	{
 		assert context.getType().getFamily() == Family.RESTRICTED_STRING;
 		assert context.getValue().getKind() == Kind.C_STRING;
-		Type type = context.getType();
+		Type type = getStringType( context.getType() );
+		Tag tag = ( (TagEncoding)type.getEncoding( EncodingInstructions.TAG ) ).toTag( false );
+		byte[] bytes = toBytes( type, context.getValue() );
+		if( bytes.length > BerEncoderUtils.CER_SEGMENT_SIZE && context.getRules() == BerRules.CER )
+			BerEncoderUtils.writeSegments( context, tag, bytes );
+		else
+		{
+			context.writeHeader( tag, bytes.length );
+			context.write( bytes );
+		}
+	}
+
+	static byte[] toBytes( Type type, Value value )
+	{
+		return value.toStringValue().asString().getBytes( ( (StringType)getStringType( type ) ).getCharset() );
+	}
+
+	private static Type getStringType( Type type )
+	{
 		while( !( type instanceof StringType ) )
 		{
 			assert type != null;
 			type = type.getSibling();
 		}
-		Tag tag = ( (TagEncoding)type.getEncoding( EncodingInstructions.TAG ) ).toTag( false );
-		byte[] bytes = context.getValue().toStringValue().asString().getBytes( ( (StringType)type ).getCharset() );
-		context.writeHeader( tag, bytes.length );
-		context.write( bytes );
+		return type;
 	}
 }
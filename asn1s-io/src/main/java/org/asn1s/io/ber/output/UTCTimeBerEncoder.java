@@ -46,7 +46,7 @@ public class UTCTimeBerEncoder implements BerEncoder
 	{
 		assert context.getType().getFamily() == Family.UTC_TIME;
 		assert context.getValue().getKind() == Kind.TIME;
-		String content = TimeUtils.formatInstant( context.getValue().toDateValue().asInstant(), TimeUtils.UTC_TIME_FORMAT, context.getRules() != BerRules.DER );
+		String content = TimeUtils.formatInstant( context.getValue().toDateValue().asInstant(), TimeUtils.UTC_TIME_FORMAT, context.getRules() == BerRules.BER );
 		byte[] bytes = content.getBytes( TimeUtils.CHARSET );
 		context.writeHeader( TAG, bytes.length );
 		context.write( bytes );
@@ -171,6 +171,17 @@ public class WriterContext
 		return writer.isBufferingAvailable();
 	}
 
+	/**
+	 * Returns true if content of constructed values should be buffered to write definite length form.
+	 * CER requires indefinite length form for constructed values, so they are written directly.
+	 *
+	 * @return boolean
+	 */
+	public boolean isBufferingConstructed()
+	{
+		return isBufferingAvailable() && getRules() != BerRules.CER;
+	}
+
 	public void startBuffer( int sizeHint )
 	{
 		writer.startBuffer( sizeHint );
@@ -0,0 +1,131 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer;
+
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.encoding.EncodingInstructions;
+import org.asn1s.api.encoding.IEncoding;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.TaggedType;
+import org.asn1s.api.type.Type;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+
+public final class OerUtils
+{
+	public static final int MAX_SHORT_LENGTH = 127;
+	public static final int LONG_LENGTH_FLAG = 0x80;
+	public static final int BYTE_MASK = 0xFF;
+	public static final int MAX_SHORT_TAG_NUMBER = 62;
+	public static final int LONG_TAG_NUMBER = 0x3F;
+	public static final int TAG_CLASS_MASK = 0xC0;
+	public static final int MAX_SHORT_ENUMERATED = 127;
+
+	private static final int[] FIXED_SIZES = {1, 2, 4, 8};
+
+	private OerUtils()
+	{
+	}
+
+	/**
+	 * Returns amount of octets for fixed size integer encoding (X.696, 10.3, 10.4),
+	 * bounds of extensible constraint are not OER-visible.
+	 *
+	 * @param constraint the effective constraint
+	 * @return 1, 2, 4 or 8 for fixed size encoding, 0 if length determinant is required
+	 */
+	public static int getFixedIntegerSize( @NotNull EffectiveConstraint constraint )
+	{
+		BigInteger lb = constraint.getLowerBound();
+		BigInteger ub = constraint.getUpperBound();
+		if( constraint.isExtensible() || lb == null || ub == null )
+			return 0;
+
+		boolean signed = lb.signum() < 0;
+		for( int size : FIXED_SIZES )
+		{
+			int bits = size * 8;
+			if( signed ? lb.bitLength() < bits && ub.bitLength() < bits : ub.bitLength() <= bits )
+				return size;
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns true if integer is encoded as unsigned value: lower bound is not negative and constraint is not extensible
+	 *
+	 * @param constraint the effective constraint
+	 * @return boolean
+	 */
+	public static boolean isUnsignedInteger( @NotNull EffectiveConstraint constraint )
+	{
+		return !constraint.isExtensible() && constraint.getLowerBound() != null && constraint.getLowerBound().signum() >= 0;
+	}
+
+	/**
+	 * Returns fixed size of string types, extensible size constraints are not OER-visible
+	 *
+	 * @param constraint the effective constraint
+	 * @return fixed size or -1 if length determinant is required
+	 */
+	public static int getFixedSize( @NotNull EffectiveConstraint constraint )
+	{
+		if( constraint.getSizeConstraint() == null || PerUtils.isSizeExtensible( constraint ) )
+			return -1;
+
+		int lb = PerUtils.getSizeLowerBound( constraint );
+		int ub = PerUtils.getSizeUpperBound( constraint );
+		return lb == ub ? ub : -1;
+	}
+
+	/**
+	 * Returns the outermost tag of CHOICE alternative
+	 *
+	 * @param component the alternative
+	 * @return tag encoding or null if alternative is untagged CHOICE
+	 */
+	@Nullable
+	public static TagEncoding getAlternativeTag( @NotNull ComponentType component )
+	{
+		Type type = component;
+		while( true )
+		{
+			if( type instanceof TaggedType && ( (TaggedType)type ).getInstructions() == EncodingInstructions.TAG )
+				return (TagEncoding)type.getEncoding( EncodingInstructions.TAG );
+
+			if( !type.hasSibling() )
+				break;
+			type = type.getSibling();
+		}
+
+		IEncoding encoding = type.getEncoding( EncodingInstructions.TAG );
+		return encoding instanceof TagEncoding ? (TagEncoding)encoding : null;
+	}
+}
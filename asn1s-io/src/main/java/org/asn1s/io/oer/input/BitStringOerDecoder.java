@@ -0,0 +1,65 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.input;
+
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+final class BitStringOerDecoder implements OerDecoder
+{
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException
+	{
+		assert context.getType().getFamily() == Family.BIT_STRING;
+		int size = OerUtils.getFixedSize( context.getConstraint() );
+		int octets;
+		if( size == -1 )
+		{
+			int length = OerDecoderUtils.readLength( context );
+			if( length == 0 )
+				throw new IOException( "Illegal BIT STRING length: 0" );
+
+			int unused = context.readOctet();
+			octets = length - 1;
+			if( unused > 7 || octets == 0 && unused != 0 )
+				throw new IOException( "Illegal amount of unused bits: " + unused );
+			size = octets * 8 - unused;
+		}
+		else
+			octets = ( size + 7 ) / 8;
+
+		if( size == 0 )
+			return context.getValueFactory().emptyByteArray();
+
+		byte[] bytes = new byte[octets];
+		context.readOctets( bytes, 0, octets );
+		return context.getValueFactory().byteArrayValue( size, bytes );
+	}
+}
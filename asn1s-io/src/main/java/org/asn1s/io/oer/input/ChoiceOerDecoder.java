@@ -0,0 +1,61 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.input;
+
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.IllegalValueException;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * CHOICE decoder, the alternative is identified by its tag, extension additions are encoded as open type (X.696, 20)
+ */
+final class ChoiceOerDecoder implements OerDecoder
+{
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.CHOICE;
+		Tag tag = OerDecoderUtils.readTag( context );
+		for( ComponentType component : context.getType().<ComponentType>getNamedTypes() )
+		{
+			TagEncoding encoding = OerUtils.getAlternativeTag( component );
+			if( encoding == null || !encoding.isEqualToTag( tag ) )
+				continue;
+
+			Value value = component.getVersion() == 1 ? context.readComponent( component ) : context.readOpenComponent( component );
+			return context.getValueFactory().named( component.getComponentName(), value );
+		}
+		throw new IllegalValueException( "Unknown CHOICE alternative tag: " + tag );
+	}
+}
@@ -0,0 +1,213 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.input;
+
+import org.asn1s.api.Ref;
+import org.asn1s.api.Scope;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.type.InstanceOfTypeSelector;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.type.TypeUtils;
+import org.asn1s.api.util.ValidationUtils;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.api.value.x680.BooleanValue;
+import org.asn1s.api.value.x680.NullValue;
+import org.asn1s.io.Asn1Reader;
+import org.asn1s.io.Asn1ValueIterator;
+import org.asn1s.io.oer.OerRules;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Octet Encoding Rules reader (X.696), CANONICAL rules reject encodings which are valid for BASIC-OER only
+ */
+public final class DefaultOerReader implements Asn1Reader
+{
+	private static final Map<Family, OerDecoder> DECODERS = new EnumMap<>( Family.class );
+
+	static
+	{
+		DECODERS.put( Family.BOOLEAN, DefaultOerReader::readBoolean );
+		DECODERS.put( Family.NULL, context -> NullValue.INSTANCE );
+		DECODERS.put( Family.INTEGER, new IntegerOerDecoder() );
+		DECODERS.put( Family.ENUMERATED, new EnumeratedOerDecoder() );
+		DECODERS.put( Family.REAL, new BerContentOerDecoder() );
+		DECODERS.put( Family.OID, new BerContentOerDecoder() );
+		DECODERS.put( Family.BIT_STRING, new BitStringOerDecoder() );
+		DECODERS.put( Family.OCTET_STRING, new OctetStringOerDecoder() );
+		DECODERS.put( Family.RESTRICTED_STRING, new StringOerDecoder() );
+		DECODERS.put( Family.UTC_TIME, new StringOerDecoder() );
+		DECODERS.put( Family.GENERALIZED_TIME, new StringOerDecoder() );
+		DECODERS.put( Family.SEQUENCE, new SequenceOerDecoder() );
+		DECODERS.put( Family.SET, new SequenceOerDecoder() );
+		DECODERS.put( Family.CHOICE, new ChoiceOerDecoder() );
+		DECODERS.put( Family.SEQUENCE_OF, new SequenceOfOerDecoder() );
+		DECODERS.put( Family.SET_OF, new SequenceOfOerDecoder() );
+	}
+
+	public DefaultOerReader( OerRules rules, byte[] bytes, ValueFactory valueFactory )
+	{
+		this( rules, new ByteArrayInputStream( bytes ), valueFactory );
+	}
+
+	public DefaultOerReader( OerRules rules, InputStream is, ValueFactory valueFactory )
+	{
+		this.rules = rules;
+		this.is = is;
+		this.valueFactory = valueFactory;
+	}
+
+	private final OerRules rules;
+	private final InputStream is;
+	private final ValueFactory valueFactory;
+	private long position;
+
+	@NotNull
+	@Override
+	public ValueFactory getValueFactory()
+	{
+		return valueFactory;
+	}
+
+	public OerRules getRules()
+	{
+		return rules;
+	}
+
+	@Override
+	public Value read( @NotNull Scope scope, @NotNull Ref<Type> typeRef ) throws IOException, Asn1Exception
+	{
+		Type type = ValidationUtils.resolveType( scope, typeRef );
+		Value value = readInternal( new ReaderContext( this, scope, type ) );
+		type.accept( scope, value );
+		return value;
+	}
+
+	@NotNull
+	@Override
+	public Asn1ValueIterator readCollectionOf( @NotNull Scope scope, @NotNull Ref<Type> typeRef ) throws IOException, Asn1Exception
+	{
+		ReaderContext context = new ReaderContext( this, scope, ValidationUtils.resolveType( scope, typeRef ) ).narrow();
+		if( context.getType().getFamily() != Family.SEQUENCE_OF && context.getType().getFamily() != Family.SET_OF )
+			throw new ResolutionException( "Type is not collection of: " + context.getType() );
+
+		return SequenceOfOerDecoder.iterator( context );
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		is.close();
+	}
+
+	Value readInternal( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		context = context.narrow();
+		Family family = context.getType().getFamily();
+		if( family == Family.OPEN_TYPE )
+			return readOpenType( context );
+
+		OerDecoder decoder = DECODERS.get( family );
+		if( decoder == null )
+			throw new IllegalStateException( "No decoder found for family: " + family );
+
+		return decoder.decode( context );
+	}
+
+	private Value readOpenType( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		InstanceOfTypeSelector selector = context.getScope().getScopeOption( TypeUtils.INSTANCE_OF_TYPE_KEY );
+		if( selector == null )
+			throw new ResolutionException( "Unable to locate InstanceOfTypeSelector." );
+
+		Type openType = selector.resolveInstanceOfType( context.getScope() );
+		int length = OerDecoderUtils.readLength( context );
+		long start = position;
+		Value value = readInternal( new ReaderContext( this, openType.getScope( context.getScope() ), openType ) );
+		skipTo( start + length );
+		return valueFactory.openTypeValue( openType, value ).resolve( context.getScope() );
+	}
+
+	private static Value readBoolean( ReaderContext context ) throws IOException
+	{
+		int value = context.readOctet();
+		if( context.isCanonical() && value != 0 && value != OerUtils.BYTE_MASK )
+			throw new IOException( "Illegal BOOLEAN value: " + value );
+		return value == 0 ? BooleanValue.FALSE : BooleanValue.TRUE;
+	}
+
+	long position()
+	{
+		return position;
+	}
+
+	int readOctet() throws IOException
+	{
+		int value = is.read();
+		if( value == -1 )
+			throw new EOFException( "Unexpected EOF" );
+		position++;
+		return value;
+	}
+
+	void readOctets( @NotNull byte[] bytes, int offset, int length ) throws IOException
+	{
+		int read = 0;
+		while( read < length )
+		{
+			int count = is.read( bytes, offset + read, length - read );
+			if( count == -1 )
+				throw new EOFException( "Unexpected EOF" );
+			read += count;
+		}
+		position += length;
+	}
+
+	/**
+	 * Skip octets up to position, used to skip unknown content of open type fields
+	 *
+	 * @param target the position to skip to
+	 * @throws IOException if position is already passed or io fails
+	 */
+	void skipTo( long target ) throws IOException
+	{
+		if( target < position )
+			throw new IOException( "Content exceeds length determinant" );
+
+		while( position < target )
+			readOctet();
+	}
+}
@@ -0,0 +1,63 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.input;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.ber.BerUtils;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+final class EnumeratedOerDecoder implements OerDecoder
+{
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.ENUMERATED;
+		int first = context.readOctet();
+		long value;
+		if( ( first & OerUtils.LONG_LENGTH_FLAG ) == 0 )
+			value = first;
+		else
+		{
+			int length = first & BerUtils.UNSIGNED_BYTE_MASK;
+			if( length == 0 || length > 8 )
+				throw new IOException( "Illegal ENUMERATED length: " + length );
+
+			byte[] bytes = new byte[length];
+			context.readOctets( bytes, 0, length );
+			value = new BigInteger( bytes ).longValue();
+			if( context.isCanonical() && value >= 0 && value <= OerUtils.MAX_SHORT_ENUMERATED )
+				throw new IOException( "ENUMERATED is not in canonical form: " + value );
+		}
+
+		return context.getType().optimize( context.getScope(), context.getValueFactory().integer( value ) );
+	}
+}
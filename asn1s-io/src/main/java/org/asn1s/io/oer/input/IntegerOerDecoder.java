@@ -0,0 +1,58 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.input;
+
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+final class IntegerOerDecoder implements OerDecoder
+{
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException
+	{
+		assert context.getType().getFamily() == Family.INTEGER;
+		EffectiveConstraint constraint = context.getConstraint();
+		int size = OerUtils.getFixedIntegerSize( constraint );
+		boolean unsigned = OerUtils.isUnsignedInteger( constraint );
+		BigInteger value = size == 0
+				? OerDecoderUtils.readVariableInteger( context, unsigned )
+				: OerDecoderUtils.readFixedInteger( context, size, unsigned );
+
+		if( value.bitLength() < Integer.SIZE )
+			return context.getValueFactory().integer( value.intValue() );
+
+		if( value.bitLength() < Long.SIZE )
+			return context.getValueFactory().integer( value.longValue() );
+
+		return context.getValueFactory().integer( value );
+	}
+}
@@ -0,0 +1,178 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.input;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.encoding.EncodingInstructions;
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.encoding.tag.TagClass;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.io.ber.BerUtils;
+import org.asn1s.io.ber.input.DefaultBerReader;
+import org.asn1s.io.oer.OerUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * Decoding procedures of X.696, clauses 8 and 10
+ */
+@SuppressWarnings( "NumericCastThatLosesPrecision" )
+final class OerDecoderUtils
+{
+	private static final int BASE_128_BITS = 7;
+
+	private OerDecoderUtils()
+	{
+	}
+
+	/**
+	 * Read length determinant (X.696, 8.6), non-minimal forms are rejected by CANONICAL rules
+	 *
+	 * @param ctx the context
+	 * @return length
+	 * @throws IOException if io fails or length is illegal
+	 */
+	static int readLength( ReaderContext ctx ) throws IOException
+	{
+		int first = ctx.readOctet();
+		if( ( first & OerUtils.LONG_LENGTH_FLAG ) == 0 )
+			return first;
+
+		int octets = first & BerUtils.UNSIGNED_BYTE_MASK;
+		if( octets == 0 || octets > 4 )
+			throw new IOException( "Unsupported length determinant size: " + octets );
+
+		long length = 0;
+		for( int i = 0; i < octets; i++ )
+			length = length << 8 | ctx.readOctet();
+
+		if( length > Integer.MAX_VALUE )
+			throw new IOException( "Length is too big: " + length );
+
+		if( ctx.isCanonical() && ( length <= OerUtils.MAX_SHORT_LENGTH || length >>> ( octets - 1 ) * 8 == 0 ) )
+			throw new IOException( "Length determinant is not in canonical form: " + length );
+		return (int)length;
+	}
+
+	static byte[] readOctetsWithLength( ReaderContext ctx ) throws IOException
+	{
+		int length = readLength( ctx );
+		byte[] bytes = new byte[length];
+		ctx.readOctets( bytes, 0, length );
+		return bytes;
+	}
+
+	static BigInteger readFixedInteger( ReaderContext ctx, int size, boolean unsigned ) throws IOException
+	{
+		byte[] bytes = new byte[size];
+		ctx.readOctets( bytes, 0, size );
+		return unsigned ? new BigInteger( 1, bytes ) : new BigInteger( bytes );
+	}
+
+	static BigInteger readVariableInteger( ReaderContext ctx, boolean unsigned ) throws IOException
+	{
+		byte[] bytes = readOctetsWithLength( ctx );
+		if( bytes.length == 0 )
+			throw new IOException( "Illegal integer length: 0" );
+
+		if( ctx.isCanonical() && bytes.length > 1 && !unsigned && ( bytes[0] == 0 && bytes[1] >= 0 || bytes[0] == -1 && bytes[1] < 0 ) )
+			throw new IOException( "Integer is not in canonical form" );
+		if( ctx.isCanonical() && bytes.length > 1 && unsigned && bytes[0] == 0 )
+			throw new IOException( "Integer is not in canonical form" );
+
+		return unsigned ? new BigInteger( 1, bytes ) : new BigInteger( bytes );
+	}
+
+	static int readQuantity( ReaderContext ctx ) throws IOException
+	{
+		BigInteger quantity = readVariableInteger( ctx, true );
+		if( quantity.bitLength() >= Integer.SIZE )
+			throw new IOException( "Quantity is too big: " + quantity );
+		return quantity.intValue();
+	}
+
+	/**
+	 * Read tag of CHOICE alternative (X.696, 8.7)
+	 *
+	 * @param ctx the context
+	 * @return tag
+	 * @throws IOException if io fails
+	 */
+	static Tag readTag( ReaderContext ctx ) throws IOException
+	{
+		int first = ctx.readOctet();
+		TagClass tagClass = TagClass.findByCode( (byte)( first & OerUtils.TAG_CLASS_MASK ) );
+		int number = first & OerUtils.LONG_TAG_NUMBER;
+		if( number == OerUtils.LONG_TAG_NUMBER )
+		{
+			number = 0;
+			int octet;
+			do
+			{
+				octet = ctx.readOctet();
+				if( number >>> Integer.SIZE - BASE_128_BITS - 1 != 0 )
+					throw new IOException( "Tag number is too big" );
+				number = number << BASE_128_BITS | octet & BerUtils.UNSIGNED_BYTE_MASK;
+			} while( ( octet & BerUtils.BYTE_SIGN_MASK ) != 0 );
+		}
+		return new Tag( tagClass, false, number );
+	}
+
+	/**
+	 * Decode value from DER content octets, used for types which OER encodes as BER content
+	 *
+	 * @param scope   the scope
+	 * @param type    the type
+	 * @param factory the value factory
+	 * @param content the content octets
+	 * @return value
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be decoded
+	 */
+	static Value fromBerContent( Scope scope, Type type, ValueFactory factory, byte[] content ) throws IOException, Asn1Exception
+	{
+		TagEncoding encoding = (TagEncoding)type.getEncoding( EncodingInstructions.TAG );
+		ByteArrayOutputStream os = new ByteArrayOutputStream( content.length + 6 );
+		os.write( encoding.getTagClass().getCode() | encoding.getTagNumber() );
+		if( content.length <= BerUtils.UNSIGNED_BYTE_MASK )
+			os.write( content.length );
+		else
+		{
+			os.write( BerUtils.BYTE_SIGN_MASK | 4 );
+			for( int i = 3; i >= 0; i-- )
+				os.write( content.length >>> i * 8 );
+		}
+		os.write( content, 0, content.length );
+		return new DefaultBerReader( new ByteArrayInputStream( os.toByteArray() ), factory ).read( scope, type );
+	}
+}
@@ -0,0 +1,157 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.input;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decoder for SEQUENCE and SET types, SET components are encoded in canonical tag order (X.696, 16, 18)
+ */
+final class SequenceOerDecoder implements OerDecoder
+{
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.SEQUENCE || context.getType().getFamily() == Family.SET;
+		Type type = context.getType();
+		ValueCollection collection = context.getValueFactory().collection( true );
+		context.getScope().setValueLevel( collection );
+
+		List<ComponentType> root = PerUtils.getRootComponents( type );
+		boolean extensible = PerUtils.isExtensible( type );
+		boolean[] preamble = readBitmap( context, countOptional( root ) + ( extensible ? 1 : 0 ) );
+		readComponents( context, root, preamble, extensible ? 1 : 0, collection );
+
+		if( extensible && preamble[0] )
+			readExtensionAdditions( context, PerUtils.getExtensionAdditions( type ), collection );
+
+		return collection;
+	}
+
+	private static int countOptional( Iterable<ComponentType> components )
+	{
+		int count = 0;
+		for( ComponentType component : components )
+			if( !component.isRequired() )
+				count++;
+		return count;
+	}
+
+	/**
+	 * Read component values, presence of optional and default components is taken from preamble
+	 *
+	 * @param context    the context
+	 * @param components the components
+	 * @param preamble   the preamble bits
+	 * @param offset     the first presence bit in preamble
+	 * @param collection the value collection to fill
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be decoded
+	 */
+	private static void readComponents( ReaderContext context, Iterable<ComponentType> components, boolean[] preamble, int offset, ValueCollection collection ) throws IOException, Asn1Exception
+	{
+		int index = offset;
+		for( ComponentType component : components )
+		{
+			if( !component.isRequired() )
+			{
+				//noinspection ValueOfIncrementOrDecrementUsed
+				if( !preamble[index++] )
+					continue;
+			}
+
+			collection.addNamed( component.getComponentName(), context.readComponent( component ) );
+		}
+	}
+
+	private static void readExtensionAdditions( ReaderContext context, List<List<ComponentType>> additions, ValueCollection collection ) throws IOException, Asn1Exception
+	{
+		int length = OerDecoderUtils.readLength( context );
+		if( length == 0 )
+			throw new IOException( "Illegal extension presence bitmap length: 0" );
+
+		int unused = context.readOctet();
+		boolean[] present = readBitmap( context, ( length - 1 ) * 8 - unused );
+		for( int i = 0; i < present.length; i++ )
+		{
+			if( !present[i] )
+				continue;
+
+			if( i >= additions.size() )
+			{
+				// unknown extension addition, skip the open type field
+				context.skip( OerDecoderUtils.readLength( context ) );
+				continue;
+			}
+
+			List<ComponentType> group = additions.get( i );
+			if( group.size() == 1 )
+			{
+				ComponentType component = group.get( 0 );
+				collection.addNamed( component.getComponentName(), context.readOpenComponent( component ) );
+			}
+			else
+			{
+				// extension addition group is encoded as SEQUENCE without extension bit
+				int groupLength = OerDecoderUtils.readLength( context );
+				long start = context.getReader().position();
+				readComponents( context, group, readBitmap( context, countOptional( group ) ), 0, collection );
+				context.getReader().skipTo( start + groupLength );
+			}
+		}
+	}
+
+	/**
+	 * Read bits, padded to octet boundary
+	 *
+	 * @param context the context
+	 * @param count   amount of bits
+	 * @return bits
+	 * @throws IOException if io fails
+	 */
+	private static boolean[] readBitmap( ReaderContext context, int count ) throws IOException
+	{
+		boolean[] bits = new boolean[count];
+		int octet = 0;
+		for( int i = 0; i < count; i++ )
+		{
+			if( ( i & 7 ) == 0 )
+				octet = context.readOctet();
+			bits[i] = ( octet & 0x80 >>> ( i & 7 ) ) != 0;
+		}
+		return bits;
+	}
+}
@@ -0,0 +1,74 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.input;
+
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.StringType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.oer.OerUtils;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Decoder for restricted character strings, UTCTime and GeneralizedTime, which are encoded as VisibleString (X.696, 15, 26)
+ */
+final class StringOerDecoder implements OerDecoder
+{
+	private static final int BMP_CHARACTER_SIZE = 2;
+	private static final int UNIVERSAL_CHARACTER_SIZE = 4;
+
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		Type type = context.getType();
+		if( type.getFamily() == Family.UTC_TIME || type.getFamily() == Family.GENERALIZED_TIME )
+		{
+			byte[] content = OerDecoderUtils.readOctetsWithLength( context );
+			return OerDecoderUtils.fromBerContent( context.getScope(), type, context.getValueFactory(), content );
+		}
+
+		assert type.getFamily() == Family.RESTRICTED_STRING;
+		UniversalType universalType = PerUtils.getStringUniversalType( type );
+		int size = PerUtils.isKnownMultiplierString( universalType ) ? OerUtils.getFixedSize( context.getConstraint() ) : -1;
+		int length = size == -1 ? OerDecoderUtils.readLength( context ) : size * getCharacterSize( universalType );
+		byte[] bytes = new byte[length];
+		context.readOctets( bytes, 0, length );
+		return context.getValueFactory().cString( new String( bytes, ( (StringType)type ).getCharset() ) );
+	}
+
+	private static int getCharacterSize( UniversalType type )
+	{
+		if( type == UniversalType.BMP_STRING )
+			return BMP_CHARACTER_SIZE;
+
+		return type == UniversalType.UNIVERSAL_STRING ? UNIVERSAL_CHARACTER_SIZE : 1;
+	}
+}
@@ -0,0 +1,76 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.output;
+
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.ByteArrayValue;
+import org.asn1s.api.value.Value.Kind;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Fixed size BIT STRING is encoded as bits only, otherwise length determinant and unused bits octet precede the bits (X.696, 12)
+ */
+final class BitStringOerEncoder implements OerEncoder
+{
+	@Override
+	public void encode( @NotNull WriterContext context )
+	{
+		assert context.getType().getFamily() == Family.BIT_STRING;
+		assert context.getValue().getKind() == Kind.BYTE_ARRAY;
+		ByteArrayValue value = context.getValue().toByteArrayValue();
+		byte[] bytes = value.asByteArray();
+		int size = bytes == null ? 0 : value.getUsedBits();
+		int fixedSize = OerUtils.getFixedSize( context.getConstraint() );
+		if( fixedSize == -1 && context.getConstraint().getSizeConstraint() == null && !context.getType().getNamedValues().isEmpty() )
+			// trailing zero bits of named bit lists are removed
+			while( size > 0 && !isBitSet( bytes, size - 1 ) )
+				size--;
+
+		if( fixedSize != -1 )
+			size = fixedSize;
+		else
+		{
+			OerEncoderUtils.writeLength( context, ( size + 7 ) / 8 + 1 );
+			context.writeOctet( ( 8 - size % 8 ) % 8 );
+		}
+
+		int octets = ( size + 7 ) / 8;
+		int available = bytes == null ? 0 : Math.min( octets, bytes.length );
+		for( int i = 0; i < octets; i++ )
+		{
+			int octet = i < available ? bytes[i] & OerUtils.BYTE_MASK : 0;
+			if( i == octets - 1 && size % 8 != 0 )
+				octet &= OerUtils.BYTE_MASK << ( 8 - size % 8 );
+			context.writeOctet( octet );
+		}
+	}
+
+	private static boolean isBitSet( byte[] bytes, int bit )
+	{
+		return ( bytes[bit >>> 3] & 0x80 >>> ( bit & 7 ) ) != 0;
+	}
+}
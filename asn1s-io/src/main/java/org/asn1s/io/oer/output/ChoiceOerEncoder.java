@@ -0,0 +1,65 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.output;
+
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.x680.NamedValue;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * CHOICE encoder, the alternative is identified by its tag, extension additions are encoded as open type (X.696, 20)
+ */
+final class ChoiceOerEncoder implements OerEncoder
+{
+	@Override
+	public void encode( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.CHOICE;
+		context.getScope().setValueLevel( context.getValue() );
+
+		NamedValue value = context.getValue().toNamedValue();
+		ComponentType component = context.getType().getNamedType( value.getName() );
+		if( component == null )
+			throw new ResolutionException( "Unknown component: " + value.getName() );
+
+		TagEncoding tag = OerUtils.getAlternativeTag( component );
+		if( tag == null )
+			throw new ResolutionException( "Unable to detect tag of alternative: " + component );
+
+		OerEncoderUtils.writeTag( context, tag );
+		if( component.getVersion() == 1 )
+			context.writeComponent( component, value );
+		else
+			context.writeOpenComponent( component, value );
+	}
+}
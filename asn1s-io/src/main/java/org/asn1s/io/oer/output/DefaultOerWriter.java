@@ -0,0 +1,217 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.output;
+
+import org.asn1s.api.Ref;
+import org.asn1s.api.Scope;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.util.RefUtils;
+import org.asn1s.api.util.ValidationUtils;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.BooleanValue;
+import org.asn1s.io.Asn1Writer;
+import org.asn1s.io.oer.OerRules;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Octet Encoding Rules writer (X.696), produces CANONICAL-OER encodings by default, which are valid for BASIC-OER too.
+ * Lengths of nested encodings are inserted in place after content is written, so no intermediate buffers are used.
+ */
+public final class DefaultOerWriter implements Asn1Writer
+{
+	private static final Map<Family, OerEncoder> ENCODERS = new EnumMap<>( Family.class );
+	private static final int DEFAULT_CAPACITY = 256;
+	private static final int BOOLEAN_TRUE = 0xFF;
+
+	static
+	{
+		ENCODERS.put( Family.BOOLEAN, context -> context.writeOctet( context.getValue() == BooleanValue.TRUE ? BOOLEAN_TRUE : 0 ) );
+		ENCODERS.put( Family.NULL, context -> {} );
+		ENCODERS.put( Family.INTEGER, new IntegerOerEncoder() );
+		ENCODERS.put( Family.ENUMERATED, new EnumeratedOerEncoder() );
+		ENCODERS.put( Family.REAL, new BerContentOerEncoder() );
+		ENCODERS.put( Family.OID, new BerContentOerEncoder() );
+		ENCODERS.put( Family.BIT_STRING, new BitStringOerEncoder() );
+		ENCODERS.put( Family.OCTET_STRING, new OctetStringOerEncoder() );
+		ENCODERS.put( Family.RESTRICTED_STRING, new StringOerEncoder() );
+		ENCODERS.put( Family.UTC_TIME, new StringOerEncoder() );
+		ENCODERS.put( Family.GENERALIZED_TIME, new StringOerEncoder() );
+		ENCODERS.put( Family.SEQUENCE, new SequenceOerEncoder() );
+		ENCODERS.put( Family.SET, new SequenceOerEncoder() );
+		ENCODERS.put( Family.CHOICE, new ChoiceOerEncoder() );
+		ENCODERS.put( Family.SEQUENCE_OF, new SequenceOfOerEncoder() );
+		ENCODERS.put( Family.SET_OF, new SequenceOfOerEncoder() );
+	}
+
+	public DefaultOerWriter()
+	{
+		this( OerRules.CANONICAL );
+	}
+
+	public DefaultOerWriter( OutputStream os )
+	{
+		this( OerRules.CANONICAL, os );
+	}
+
+	public DefaultOerWriter( OerRules rules )
+	{
+		this( rules, new ByteArrayOutputStream() );
+	}
+
+	public DefaultOerWriter( OerRules rules, OutputStream os )
+	{
+		this.rules = rules;
+		this.os = os;
+	}
+
+	private final OerRules rules;
+	private final OutputStream os;
+	private byte[] buffer = new byte[DEFAULT_CAPACITY];
+	private int size;
+
+	public OerRules getRules()
+	{
+		return rules;
+	}
+
+	@Override
+	public void write( @NotNull Scope scope, @NotNull Ref<Type> typeRef, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		Type type = ValidationUtils.resolveType( scope, typeRef );
+		value = value.resolve( scope );
+		type.accept( scope, value );
+		writeAccepted( scope, type, value );
+	}
+
+	@Override
+	public void writeTrusted( @NotNull Scope scope, @NotNull Ref<Type> typeRef, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		writeAccepted( scope, ValidationUtils.resolveType( scope, typeRef ), value );
+	}
+
+	private void writeAccepted( @NotNull Scope scope, @NotNull Type type, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		writeInternal( new WriterContext( this, scope, type, value ) );
+		os.write( buffer, 0, size );
+		size = 0;
+	}
+
+	@Override
+	public byte[] toByteArray() throws IOException
+	{
+		if( os instanceof ByteArrayOutputStream )
+			return ( (ByteArrayOutputStream)os ).toByteArray();
+
+		throw new IOException( "Unable to get byte array from underlying stream" );
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		os.close();
+	}
+
+	void writeInternal( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		context = context.narrow();
+		Type type = context.getType();
+		if( type.getFamily() == Family.OPEN_TYPE )
+		{
+			writeOpenType( context );
+			return;
+		}
+
+		OerEncoder encoder = ENCODERS.get( type.getFamily() );
+		if( encoder == null )
+			throw new IllegalStateException( "No encoder found for family: " + type.getFamily() );
+
+		encoder.encode( context );
+	}
+
+	private void writeOpenType( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		Value value = RefUtils.toBasicValue( context.getScope(), context.getValue() );
+		Type type = value.toOpenTypeValue().getType().resolve( context.getScope() );
+		Value openValue = value.toOpenTypeValue().getValueRef().resolve( context.getScope() );
+		int start = size;
+		writeInternal( new WriterContext( this, type.getScope( context.getScope() ), type, openValue ) );
+		insertLength( start );
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Insert length determinant for content written since start position
+	 *
+	 * @param start the content start position
+	 */
+	void insertLength( int start )
+	{
+		int length = size - start;
+		int lengthSize = OerEncoderUtils.getLengthSize( length );
+		ensureCapacity( lengthSize );
+		System.arraycopy( buffer, start, buffer, start + lengthSize, length );
+		int end = size + lengthSize;
+		size = start;
+		OerEncoderUtils.writeLength( this, length );
+		size = end;
+	}
+
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	void writeOctet( int value )
+	{
+		ensureCapacity( 1 );
+		buffer[size] = (byte)( value & OerUtils.BYTE_MASK );
+		size++;
+	}
+
+	void writeOctets( @NotNull byte[] bytes, int offset, int length )
+	{
+		ensureCapacity( length );
+		System.arraycopy( bytes, offset, buffer, size, length );
+		size += length;
+	}
+
+	private void ensureCapacity( int count )
+	{
+		int required = size + count;
+		if( required > buffer.length )
+			buffer = Arrays.copyOf( buffer, Math.max( required, buffer.length * 2 ) );
+	}
+}
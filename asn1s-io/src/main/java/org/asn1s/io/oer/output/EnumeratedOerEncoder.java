@@ -0,0 +1,55 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.output;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+
+/**
+ * ENUMERATED values are encoded as is, short form for 0..127 and length prefixed two's complement otherwise (X.696, 11)
+ */
+final class EnumeratedOerEncoder implements OerEncoder
+{
+	@Override
+	public void encode( @NotNull WriterContext context ) throws Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.ENUMERATED;
+		long value = context.getType().optimize( context.getScope(), context.getValue() ).toIntegerValue().asLong();
+		if( value >= 0 && value <= OerUtils.MAX_SHORT_ENUMERATED )
+		{
+			context.writeOctet( (int)value );
+			return;
+		}
+
+		byte[] bytes = BigInteger.valueOf( value ).toByteArray();
+		context.writeOctet( OerUtils.LONG_LENGTH_FLAG | bytes.length );
+		context.writeOctets( bytes, 0, bytes.length );
+	}
+}
@@ -0,0 +1,193 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.output;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.ber.BerRules;
+import org.asn1s.io.ber.BerUtils;
+import org.asn1s.io.ber.output.DefaultBerWriter;
+import org.asn1s.io.oer.OerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Encoding procedures of X.696, clauses 8 and 10
+ */
+final class OerEncoderUtils
+{
+	private static final int BASE_128_BITS = 7;
+
+	private OerEncoderUtils()
+	{
+	}
+
+	/**
+	 * Write length determinant: short form for lengths up to 127, long form otherwise (X.696, 8.6)
+	 *
+	 * @param ctx    the context
+	 * @param length the length
+	 */
+	static void writeLength( WriterContext ctx, int length )
+	{
+		writeLength( ctx.getWriter(), length );
+	}
+
+	static void writeLength( DefaultOerWriter writer, int length )
+	{
+		if( length <= OerUtils.MAX_SHORT_LENGTH )
+		{
+			writer.writeOctet( length );
+			return;
+		}
+
+		int octets = getLengthSize( length ) - 1;
+		writer.writeOctet( OerUtils.LONG_LENGTH_FLAG | octets );
+		for( int i = octets - 1; i >= 0; i-- )
+			writer.writeOctet( length >>> i * 8 );
+	}
+
+	/**
+	 * Returns amount of octets required for length determinant
+	 *
+	 * @param length the length
+	 * @return amount of octets
+	 */
+	static int getLengthSize( int length )
+	{
+		if( length <= OerUtils.MAX_SHORT_LENGTH )
+			return 1;
+
+		return 1 + ( Integer.SIZE - Integer.numberOfLeadingZeros( length ) + 7 ) / 8;
+	}
+
+	static void writeOctetsWithLength( WriterContext ctx, @NotNull byte[] bytes )
+	{
+		writeLength( ctx, bytes.length );
+		ctx.writeOctets( bytes, 0, bytes.length );
+	}
+
+	/**
+	 * Write integer using exactly size octets, value must fit
+	 *
+	 * @param ctx   the context
+	 * @param value the value
+	 * @param size  amount of octets
+	 */
+	static void writeFixedInteger( WriterContext ctx, @NotNull BigInteger value, int size )
+	{
+		if( value.bitLength() < Long.SIZE )
+		{
+			long longValue = value.longValue();
+			for( int i = size - 1; i >= 0; i-- )
+				ctx.writeOctet( (int)( longValue >>> i * 8 ) );
+			return;
+		}
+
+		byte[] bytes = value.toByteArray();
+		if( bytes.length > size )
+			ctx.writeOctets( bytes, bytes.length - size, size );
+		else
+			ctx.writeOctets( bytes, 0, bytes.length );
+	}
+
+	/**
+	 * Write length determinant followed by the minimal amount of octets, unsigned values are used for non-negative lower bounds
+	 *
+	 * @param ctx      the context
+	 * @param value    the value
+	 * @param unsigned true if value has no sign bit
+	 */
+	static void writeVariableInteger( WriterContext ctx, @NotNull BigInteger value, boolean unsigned )
+	{
+		byte[] bytes = value.toByteArray();
+		int offset = unsigned && bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+		writeLength( ctx, bytes.length - offset );
+		ctx.writeOctets( bytes, offset, bytes.length - offset );
+	}
+
+	/**
+	 * Quantity field of SEQUENCE OF and SET OF (X.696, 17.1)
+	 *
+	 * @param ctx      the context
+	 * @param quantity the amount of components
+	 */
+	static void writeQuantity( WriterContext ctx, int quantity )
+	{
+		writeVariableInteger( ctx, BigInteger.valueOf( quantity ), true );
+	}
+
+	/**
+	 * Tag of CHOICE alternative: class in the upper bits followed by the tag number (X.696, 8.7)
+	 *
+	 * @param ctx the context
+	 * @param tag the tag
+	 */
+	static void writeTag( WriterContext ctx, @NotNull TagEncoding tag )
+	{
+		int tagClass = tag.getTagClass().getCode() & OerUtils.TAG_CLASS_MASK;
+		int number = tag.getTagNumber();
+		if( number <= OerUtils.MAX_SHORT_TAG_NUMBER )
+		{
+			ctx.writeOctet( tagClass | number );
+			return;
+		}
+
+		ctx.writeOctet( tagClass | OerUtils.LONG_TAG_NUMBER );
+		int groups = ( Integer.SIZE - Integer.numberOfLeadingZeros( number ) + BASE_128_BITS - 1 ) / BASE_128_BITS;
+		for( int i = groups - 1; i > 0; i-- )
+			ctx.writeOctet( BerUtils.BYTE_SIGN_MASK | number >>> i * BASE_128_BITS & BerUtils.UNSIGNED_BYTE_MASK );
+		ctx.writeOctet( number & BerUtils.UNSIGNED_BYTE_MASK );
+	}
+
+	/**
+	 * Encode value using BER rules and return content octets, used for types which OER encodes as BER content
+	 *
+	 * @param scope the scope
+	 * @param type  the type
+	 * @param value the value
+	 * @param rules the BER rules
+	 * @return content octets
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be encoded
+	 */
+	static byte[] toBerContent( Scope scope, Type type, Value value, BerRules rules ) throws IOException, Asn1Exception
+	{
+		DefaultBerWriter writer = new DefaultBerWriter( rules );
+		writer.write( scope, type, value );
+		byte[] bytes = writer.toByteArray();
+		int offset = 2;
+		if( ( bytes[1] & BerUtils.BYTE_SIGN_MASK ) != 0 )
+			offset += bytes[1] & BerUtils.UNSIGNED_BYTE_MASK;
+		return Arrays.copyOfRange( bytes, offset, bytes.length );
+	}
+}
@@ -0,0 +1,166 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.output;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.util.RefUtils;
+import org.asn1s.api.value.Value.Kind;
+import org.asn1s.api.value.x680.NamedValue;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoder for SEQUENCE and SET types, SET components are encoded in canonical tag order (X.696, 16, 18)
+ */
+final class SequenceOerEncoder implements OerEncoder
+{
+	@Override
+	public void encode( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.SEQUENCE || context.getType().getFamily() == Family.SET;
+		assert context.getValue().getKind() == Kind.NAMED_COLLECTION || context.getValue().getKind() == Kind.COLLECTION && context.getValue().toValueCollection().isEmpty();
+
+		Type type = context.getType();
+		Map<String, NamedValue> values = collectValues( context );
+		List<ComponentType> root = PerUtils.getRootComponents( type );
+		List<List<ComponentType>> additions = PerUtils.getExtensionAdditions( type );
+
+		boolean extended = false;
+		for( List<ComponentType> group : additions )
+			extended |= isPresent( group, values );
+
+		List<Boolean> preamble = new ArrayList<>();
+		if( PerUtils.isExtensible( type ) )
+			preamble.add( extended );
+
+		writeComponents( context, root, values, preamble );
+
+		if( extended )
+			writeExtensionAdditions( context, additions, values );
+	}
+
+	private static Map<String, NamedValue> collectValues( WriterContext context ) throws Asn1Exception
+	{
+		Map<String, NamedValue> values = new HashMap<>();
+		for( NamedValue value : context.getValue().toValueCollection().asNamedValueList() )
+		{
+			ComponentType component = context.getType().getNamedType( value.getName() );
+			// default values are never encoded by CANONICAL-OER, BASIC-OER keeps them as given
+			if( component != null && ( !context.isCanonical() || !RefUtils.isSameAsDefaultValue( context.getScope(), component, value ) ) )
+				values.put( value.getName(), value );
+		}
+		return values;
+	}
+
+	/**
+	 * Write preamble of optional and default components presence, followed by component values
+	 *
+	 * @param context    the context
+	 * @param components the components
+	 * @param values     the component values
+	 * @param preamble   preamble bits which precede presence bits
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be encoded
+	 */
+	private static void writeComponents( WriterContext context, Iterable<ComponentType> components, Map<String, NamedValue> values, List<Boolean> preamble ) throws IOException, Asn1Exception
+	{
+		for( ComponentType component : components )
+			if( !component.isRequired() )
+				preamble.add( values.containsKey( component.getComponentName() ) );
+
+		writeBitmap( context, preamble );
+
+		for( ComponentType component : components )
+		{
+			NamedValue value = values.get( component.getComponentName() );
+			if( value != null )
+				context.writeComponent( component, value );
+		}
+	}
+
+	private static void writeExtensionAdditions( WriterContext context, List<List<ComponentType>> additions, Map<String, NamedValue> values ) throws IOException, Asn1Exception
+	{
+		// presence bitmap is encoded as BIT STRING with length determinant and unused bits octet
+		List<Boolean> bitmap = new ArrayList<>();
+		for( List<ComponentType> group : additions )
+			bitmap.add( isPresent( group, values ) );
+		OerEncoderUtils.writeLength( context, ( bitmap.size() + 7 ) / 8 + 1 );
+		context.writeOctet( ( 8 - bitmap.size() % 8 ) % 8 );
+		writeBitmap( context, bitmap );
+
+		for( List<ComponentType> group : additions )
+		{
+			if( !isPresent( group, values ) )
+				continue;
+
+			if( group.size() == 1 )
+				context.writeOpenComponent( group.get( 0 ), values.get( group.get( 0 ).getComponentName() ) );
+			else
+			{
+				// extension addition group is encoded as SEQUENCE without extension bit
+				int start = context.getWriter().size();
+				writeComponents( context, group, values, new ArrayList<>() );
+				context.getWriter().insertLength( start );
+			}
+		}
+	}
+
+	private static void writeBitmap( WriterContext context, List<Boolean> bits )
+	{
+		int octet = 0;
+		for( int i = 0; i < bits.size(); i++ )
+		{
+			if( bits.get( i ) )
+				octet |= 0x80 >>> ( i & 7 );
+
+			if( ( i & 7 ) == 7 )
+			{
+				context.writeOctet( octet );
+				octet = 0;
+			}
+		}
+
+		if( ( bits.size() & 7 ) != 0 )
+			context.writeOctet( octet );
+	}
+
+	private static boolean isPresent( Iterable<ComponentType> group, Map<String, NamedValue> values )
+	{
+		for( ComponentType component : group )
+			if( values.containsKey( component.getComponentName() ) )
+				return true;
+		return false;
+	}
+}
@@ -0,0 +1,160 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer.output;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.IllegalValueException;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.NamedType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.Value.Kind;
+import org.asn1s.io.oer.OerRules;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+public class WriterContext
+{
+	public WriterContext( DefaultOerWriter writer, Scope scope, Type type, Value value )
+	{
+		this.writer = writer;
+		this.scope = scope;
+		this.type = type;
+		this.value = value;
+	}
+
+	private final DefaultOerWriter writer;
+	private final EffectiveConstraint constraint = new EffectiveConstraint();
+	private Scope scope;
+	private Type type;
+	private Value value;
+
+	public DefaultOerWriter getWriter()
+	{
+		return writer;
+	}
+
+	public Scope getScope()
+	{
+		return scope;
+	}
+
+	public Type getType()
+	{
+		return type;
+	}
+
+	public Value getValue()
+	{
+		return value;
+	}
+
+	public boolean isCanonical()
+	{
+		return writer.getRules() == OerRules.CANONICAL;
+	}
+
+	/**
+	 * Returns OER-visible constraints collected while narrowing the type
+	 *
+	 * @return effective constraint
+	 */
+	public EffectiveConstraint getConstraint()
+	{
+		return constraint;
+	}
+
+	/**
+	 * Move to the builtin type which defines encoding, constraints are collected.
+	 *
+	 * @return this
+	 * @throws Asn1Exception if named value does not match component
+	 */
+	public WriterContext narrow() throws Asn1Exception
+	{
+		while( true )
+		{
+			if( type instanceof ComponentType && !( (ComponentType)type ).isDummy() && value.getKind() == Kind.NAME )
+			{
+				if( !value.toNamedValue().getName().equals( ( (NamedType)type ).getName() ) )
+					throw new IllegalValueException( "Named value has illegal name: " + value.toNamedValue().getName() + ". Expected: " + ( (NamedType)type ).getName() );
+
+				toSibling();
+				//noinspection ConstantConditions
+				value = value.toNamedValue().getValueRef().resolve( scope );
+			}
+			else if( type.hasConstraint() )
+			{
+				type.getConstraint().collectEffectiveConstraint( constraint );
+				toSibling();
+			}
+			else if( type.hasSibling() )
+				toSibling();
+			else
+				return this;
+		}
+	}
+
+	private void toSibling()
+	{
+		type = type.getSibling();
+		assert type != null;
+		scope = type.getScope( scope );
+	}
+
+	public void writeComponent( @NotNull ComponentType component, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		writer.writeInternal( new WriterContext( writer, component.getScope( scope ), component, value ) );
+	}
+
+	/**
+	 * Encode component as open type field: length determinant followed by encoding
+	 *
+	 * @param component the component type
+	 * @param value     the component value
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be encoded
+	 */
+	public void writeOpenComponent( @NotNull ComponentType component, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		int start = writer.size();
+		writeComponent( component, value );
+		writer.insertLength( start );
+	}
+
+	public void writeOctet( int value )
+	{
+		writer.writeOctet( value );
+	}
+
+	public void writeOctets( @NotNull byte[] bytes, int offset, int length )
+	{
+		writer.writeOctets( bytes, offset, length );
+	}
+}
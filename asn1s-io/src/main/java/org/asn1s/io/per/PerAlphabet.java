@@ -0,0 +1,130 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per;
+
+import org.asn1s.api.UniversalType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Character encoding of known-multiplier character string types (X.691, 27.5).
+ * Characters are encoded either by their code, or by index in effective permitted alphabet,
+ * if the greatest code can not be represented by the chosen amount of bits.
+ */
+public final class PerAlphabet
+{
+	private static final int UNIVERSAL_BITS = 32;
+	private static final Map<UniversalType, PerAlphabet> ALIGNED_CACHE = new EnumMap<>( UniversalType.class );
+	private static final Map<UniversalType, PerAlphabet> UNALIGNED_CACHE = new EnumMap<>( UniversalType.class );
+
+	private PerAlphabet( int bits, @Nullable int[] characters )
+	{
+		this.bits = bits;
+		this.characters = characters;
+	}
+
+	private final int bits;
+	private final int[] characters;
+
+	/**
+	 * Returns alphabet for known-multiplier string type
+	 *
+	 * @param type      the string type
+	 * @param permitted the effective permitted alphabet, may be null
+	 * @param aligned   true for ALIGNED variant
+	 * @return alphabet
+	 */
+	@NotNull
+	public static PerAlphabet forType( @NotNull UniversalType type, @Nullable BitSet permitted, boolean aligned )
+	{
+		if( permitted != null )
+			return create( type, permitted, aligned );
+
+		Map<UniversalType, PerAlphabet> cache = aligned ? ALIGNED_CACHE : UNALIGNED_CACHE;
+		synchronized( cache )
+		{
+			return cache.computeIfAbsent( type, key -> create( key, null, aligned ) );
+		}
+	}
+
+	private static PerAlphabet create( @NotNull UniversalType type, @Nullable BitSet permitted, boolean aligned )
+	{
+		BitSet set = PerUtils.getKnownMultiplierAlphabet( type );
+		if( set == null && permitted == null )
+			return new PerAlphabet( UNIVERSAL_BITS, null );
+
+		if( set == null )
+			set = (BitSet)permitted.clone();
+		else if( permitted != null )
+			set.and( permitted );
+
+		int bits = PerUtils.bitsForRange( (long)set.cardinality() );
+		if( aligned && bits > 1 )
+			bits = Integer.highestOneBit( bits - 1 ) << 1;
+
+		int greatest = set.length() - 1;
+		if( bits >= Integer.SIZE - 1 || greatest < 1 << bits )
+			return new PerAlphabet( bits, null );
+
+		return new PerAlphabet( bits, set.stream().toArray() );
+	}
+
+	/**
+	 * Returns amount of bits used for every character
+	 *
+	 * @return amount of bits
+	 */
+	public int getBits()
+	{
+		return bits;
+	}
+
+	public long toValue( int character )
+	{
+		if( characters == null )
+			return character & 0xFFFFFFFFL;
+
+		int index = Arrays.binarySearch( characters, character );
+		if( index < 0 )
+			throw new IllegalArgumentException( "Character is not in alphabet: " + character );
+		return index;
+	}
+
+	public int toCharacter( long value )
+	{
+		if( characters == null )
+			return (int)value;
+
+		if( value < 0 || value >= characters.length )
+			throw new IllegalArgumentException( "Character index is out of alphabet: " + value );
+		return characters[(int)value];
+	}
+}
@@ -0,0 +1,400 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per;
+
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.encoding.EncodingInstructions;
+import org.asn1s.api.encoding.IEncoding;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.type.CollectionType;
+import org.asn1s.api.type.CollectionTypeExtensionGroup;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.TaggedType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.x680.NamedValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public final class PerUtils
+{
+	/**
+	 * The 16K fragment size, lengths greater or equal to this must be fragmented
+	 */
+	public static final int FRAGMENT_SIZE = 16384;
+	public static final int MAX_FRAGMENT_MULTIPLIER = 4;
+	/**
+	 * The 64K limit, only lengths with upper bound less than this may be encoded as constrained whole numbers
+	 */
+	public static final int MAX_CONSTRAINED_LENGTH = 65536;
+	public static final int MAX_NORMALLY_SMALL = 63;
+	public static final int NORMALLY_SMALL_BITS = 6;
+	public static final int MAX_SHORT_LENGTH = 127;
+	public static final int LONG_LENGTH_FLAG = 0x80;
+	public static final int FRAGMENT_FLAG = 0xC0;
+	public static final int BYTE_MASK = 0xFF;
+	public static final BigInteger MAX_BIT_FIELD_RANGE = BigInteger.valueOf( 255 );
+	public static final BigInteger ONE_OCTET_RANGE = BigInteger.valueOf( 256 );
+	public static final BigInteger TWO_OCTETS_RANGE = BigInteger.valueOf( 65536 );
+
+	private static final String NUMERIC_ALPHABET = " 0123456789";
+	private static final String PRINTABLE_ALPHABET = " '()+,-./0123456789:=?ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+	private static final int VISIBLE_FIRST = 32;
+	private static final int VISIBLE_LAST = 126;
+	private static final int IA5_LAST = 127;
+	private static final int BMP_LAST = 0xFFFF;
+
+	private PerUtils()
+	{
+	}
+
+	/**
+	 * Returns number of bits required to encode any value in range 0..(range - 1)
+	 *
+	 * @param range the range size
+	 * @return amount of bits
+	 */
+	public static int bitsForRange( @NotNull BigInteger range )
+	{
+		return range.subtract( BigInteger.ONE ).bitLength();
+	}
+
+	/**
+	 * Returns number of bits required to encode any value in range 0..(range - 1)
+	 *
+	 * @param range the range size
+	 * @return amount of bits
+	 */
+	public static int bitsForRange( long range )
+	{
+		return 64 - Long.numberOfLeadingZeros( range - 1 );
+	}
+
+	/**
+	 * Returns number of octets in minimal non-negative binary encoding
+	 *
+	 * @param value the non-negative value
+	 * @return amount of octets, at least 1
+	 */
+	public static int octetsForValue( @NotNull BigInteger value )
+	{
+		return Math.max( 1, ( value.bitLength() + 7 ) / 8 );
+	}
+
+	/**
+	 * Returns lower bound of effective size constraint
+	 *
+	 * @param constraint the effective constraint
+	 * @return lower bound, 0 if there is no one
+	 */
+	public static int getSizeLowerBound( @NotNull EffectiveConstraint constraint )
+	{
+		EffectiveConstraint size = constraint.getSizeConstraint();
+		if( size == null || size.getLowerBound() == null || size.getLowerBound().signum() < 0 )
+			return 0;
+		return size.getLowerBound().bitLength() < Integer.SIZE ? size.getLowerBound().intValue() : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Returns upper bound of effective size constraint
+	 *
+	 * @param constraint the effective constraint
+	 * @return upper bound, -1 if there is no one
+	 */
+	public static int getSizeUpperBound( @NotNull EffectiveConstraint constraint )
+	{
+		EffectiveConstraint size = constraint.getSizeConstraint();
+		if( size == null || size.getUpperBound() == null || size.getUpperBound().bitLength() >= Integer.SIZE )
+			return -1;
+		return size.getUpperBound().intValue();
+	}
+
+	/**
+	 * Returns true if effective size constraint is extensible, the extensible constraint
+	 * containing SIZE constraint makes size extensible too.
+	 *
+	 * @param constraint the effective constraint
+	 * @return boolean
+	 */
+	public static boolean isSizeExtensible( @NotNull EffectiveConstraint constraint )
+	{
+		EffectiveConstraint size = constraint.getSizeConstraint();
+		return size != null && ( size.isExtensible() || constraint.isExtensible() );
+	}
+
+	/**
+	 * Returns root components of SEQUENCE, SET or CHOICE type in order of encoding,
+	 * SET and CHOICE components are sorted in canonical tag order.
+	 *
+	 * @param type the collection type
+	 * @return list of components
+	 */
+	@NotNull
+	public static List<ComponentType> getRootComponents( @NotNull Type type )
+	{
+		List<ComponentType> result = new ArrayList<>();
+		for( ComponentType component : type.<ComponentType>getNamedTypes() )
+			if( component.getVersion() == 1 )
+				result.add( component );
+
+		if( type.getFamily() != Family.SEQUENCE )
+			result.sort( Comparator.comparingLong( PerUtils::getCanonicalTagIndex ) );
+		return result;
+	}
+
+	/**
+	 * Returns extension additions of SEQUENCE, SET or CHOICE type, grouped by version.
+	 *
+	 * @param type the collection type
+	 * @return list of addition groups
+	 */
+	@NotNull
+	public static List<List<ComponentType>> getExtensionAdditions( @NotNull Type type )
+	{
+		List<List<ComponentType>> result = new ArrayList<>();
+		List<ComponentType> group = null;
+		int version = 1;
+		for( ComponentType component : type.<ComponentType>getNamedTypes() )
+		{
+			if( component.getVersion() == 1 )
+				continue;
+
+			if( group == null || version != component.getVersion() )
+			{
+				group = new ArrayList<>();
+				result.add( group );
+				version = component.getVersion();
+			}
+			group.add( component );
+		}
+		return result;
+	}
+
+	/**
+	 * Returns true if component was declared inside extension addition group brackets.
+	 * Such group is encoded as SEQUENCE even when it has single component (X.691, 19.9).
+	 *
+	 * @param type      the collection type
+	 * @param component the extension addition component
+	 * @return boolean
+	 */
+	public static boolean isInExtensionAdditionGroup( @NotNull Type type, @NotNull ComponentType component )
+	{
+		if( !( type instanceof CollectionType ) )
+			return false;
+
+		for( Type extension : ( (CollectionType)type ).getComponents( Kind.EXTENSION ) )
+		{
+			if( !( extension instanceof CollectionTypeExtensionGroup ) )
+				continue;
+
+			for( ComponentType groupComponent : ( (CollectionTypeExtensionGroup)extension ).getComponents() )
+				if( groupComponent.getComponentName().equals( component.getComponentName() ) )
+					return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns extension additions of CHOICE type in definition order
+	 *
+	 * @param type the choice type
+	 * @return list of components
+	 */
+	@NotNull
+	public static List<ComponentType> getExtensionAdditionComponents( @NotNull Type type )
+	{
+		List<ComponentType> result = new ArrayList<>();
+		for( ComponentType component : type.<ComponentType>getNamedTypes() )
+			if( component.getVersion() > 1 )
+				result.add( component );
+		return result;
+	}
+
+	/**
+	 * Returns true if SEQUENCE, SET or CHOICE type has extension marker. Collection type is flagged as extensible
+	 * only for trailing extension marker, so presence of extension additions or components after
+	 * second extension marker is checked too.
+	 *
+	 * @param type the collection type
+	 * @return boolean
+	 */
+	public static boolean isExtensible( @NotNull Type type )
+	{
+		if( !( type instanceof CollectionType ) )
+			return false;
+
+		CollectionType collectionType = (CollectionType)type;
+		if( collectionType.isExtensible()
+				|| !collectionType.getComponents( Kind.EXTENSION ).isEmpty()
+				|| !collectionType.getComponents( Kind.SECONDARY ).isEmpty() )
+			return true;
+
+		for( ComponentType component : type.<ComponentType>getNamedTypes() )
+			if( component.getVersion() > 1 )
+				return true;
+		return false;
+	}
+
+	/**
+	 * Returns copy of enumeration items sorted by value, as required for enumeration index computation
+	 *
+	 * @param values the enumeration items
+	 * @return sorted list
+	 */
+	@NotNull
+	public static List<NamedValue> sortEnumeration( @NotNull Collection<NamedValue> values )
+	{
+		List<NamedValue> result = new ArrayList<>( values );
+		result.sort( Comparator.comparingLong( value -> value.toIntegerValue().asLong() ) );
+		return result;
+	}
+
+	public static int indexOfEnumeration( @NotNull List<NamedValue> values, long value )
+	{
+		for( int i = 0; i < values.size(); i++ )
+			if( values.get( i ).toIntegerValue().asLong() == value )
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Returns the character set of known-multiplier character string type
+	 *
+	 * @param type the universal type of string
+	 * @return set of characters, or null if type is not known-multiplier one or all 32-bit values are allowed
+	 */
+	@Nullable
+	public static BitSet getKnownMultiplierAlphabet( @NotNull UniversalType type )
+	{
+		BitSet set = new BitSet();
+		switch( type )
+		{
+			case NUMERIC_STRING:
+				addCharacters( set, NUMERIC_ALPHABET );
+				return set;
+
+			case PRINTABLE_STRING:
+				addCharacters( set, PRINTABLE_ALPHABET );
+				return set;
+
+			case VISIBLE_STRING:
+				set.set( VISIBLE_FIRST, VISIBLE_LAST + 1 );
+				return set;
+
+			case IA5_STRING:
+				set.set( 0, IA5_LAST + 1 );
+				return set;
+
+			case BMP_STRING:
+				set.set( 0, BMP_LAST + 1 );
+				return set;
+
+			default:
+				return null;
+		}
+	}
+
+	public static boolean isKnownMultiplierString( @NotNull UniversalType type )
+	{
+		return type == UniversalType.UNIVERSAL_STRING || getKnownMultiplierAlphabet( type ) != null;
+	}
+
+	/**
+	 * Returns universal type of restricted string type
+	 *
+	 * @param type the restricted string type
+	 * @return universal type
+	 */
+	@NotNull
+	public static UniversalType getStringUniversalType( @NotNull Type type )
+	{
+		IEncoding encoding = type.getEncoding( EncodingInstructions.TAG );
+		if( encoding instanceof TagEncoding )
+		{
+			int tagNumber = ( (TagEncoding)encoding ).getTagNumber();
+			for( UniversalType universalType : UniversalType.values() )
+				if( universalType.tagNumber() == tagNumber && universalType.charset() != null )
+					return universalType;
+		}
+		throw new IllegalStateException( "Unable to detect string type: " + type );
+	}
+
+	private static void addCharacters( BitSet set, CharSequence characters )
+	{
+		for( int i = 0; i < characters.length(); i++ )
+			set.set( characters.charAt( i ) );
+	}
+
+	/**
+	 * Compute index of outermost tag for canonical ordering: class first, then number.
+	 * Untagged CHOICE uses the smallest tag of its alternatives.
+	 *
+	 * @param type the component type
+	 * @return ordering index
+	 */
+	private static long getCanonicalTagIndex( @NotNull Type type )
+	{
+		while( true )
+		{
+			if( type instanceof TaggedType && ( (TaggedType)type ).getInstructions() == EncodingInstructions.TAG )
+				return toTagIndex( (TagEncoding)type.getEncoding( EncodingInstructions.TAG ) );
+
+			if( type.getFamily() == Family.CHOICE && !type.hasSibling() )
+				return getChoiceTagIndex( type );
+
+			if( !type.hasSibling() )
+				break;
+			type = type.getSibling();
+		}
+
+		IEncoding encoding = type.getEncoding( EncodingInstructions.TAG );
+		return encoding instanceof TagEncoding ? toTagIndex( (TagEncoding)encoding ) : Long.MAX_VALUE;
+	}
+
+	private static long getChoiceTagIndex( Type type )
+	{
+		List<Long> indexes = new ArrayList<>();
+		for( ComponentType component : type.<ComponentType>getNamedTypes() )
+			indexes.add( getCanonicalTagIndex( component ) );
+		return indexes.isEmpty() ? Long.MAX_VALUE : Collections.min( indexes );
+	}
+
+	private static long toTagIndex( TagEncoding encoding )
+	{
+		return ( (long)encoding.getTagClass().getCode() & BYTE_MASK ) << 32 | encoding.getTagNumber();
+	}
+}
@@ -0,0 +1,98 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+final class BitStringPerDecoder implements PerDecoder
+{
+	private static final int MAX_UNALIGNED_SIZE = 16;
+
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException
+	{
+		assert context.getType().getFamily() == Family.BIT_STRING;
+		int lb = 0;
+		int ub = -1;
+		if( PerDecoderUtils.readSizeExtensionBit( context ) )
+		{
+			lb = PerUtils.getSizeLowerBound( context.getConstraint() );
+			ub = PerUtils.getSizeUpperBound( context.getConstraint() );
+		}
+
+		if( ub == 0 )
+			return context.getValueFactory().emptyByteArray();
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		if( lb == ub && ub < PerUtils.MAX_CONSTRAINED_LENGTH )
+		{
+			if( ub > MAX_UNALIGNED_SIZE )
+				context.align();
+			readBits( context, os, ub );
+			return context.getValueFactory().byteArrayValue( ub, os.toByteArray() );
+		}
+
+		int size = 0;
+		int count;
+		do
+		{
+			count = PerDecoderUtils.readLength( context, lb, ub );
+			if( count > 0 )
+				context.align();
+			readBits( context, os, count );
+			size += count;
+		} while( count >= PerUtils.FRAGMENT_SIZE );
+
+		if( size == 0 )
+			return context.getValueFactory().emptyByteArray();
+		return context.getValueFactory().byteArrayValue( size, os.toByteArray() );
+	}
+
+	/**
+	 * Read bits into stream, the last octet is padded with zero bits, fragments always contain whole octets
+	 *
+	 * @param context the context
+	 * @param os      the destination
+	 * @param count   amount of bits to read
+	 * @throws IOException if io fails
+	 */
+	private static void readBits( ReaderContext context, ByteArrayOutputStream os, int count ) throws IOException
+	{
+		int octets = count / 8;
+		byte[] bytes = new byte[octets];
+		context.readOctets( bytes, 0, octets );
+		os.write( bytes, 0, octets );
+		int remainder = count % 8;
+		if( remainder > 0 )
+			os.write( (int)context.readBits( remainder ) << ( 8 - remainder ) );
+	}
+}
@@ -0,0 +1,69 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.IllegalValueException;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * CHOICE decoder, root alternatives are indexed in canonical tag order (X.691, 23)
+ */
+final class ChoicePerDecoder implements PerDecoder
+{
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.CHOICE;
+		Type type = context.getType();
+		if( PerUtils.isExtensible( type ) && context.readBit() )
+		{
+			List<ComponentType> additions = PerUtils.getExtensionAdditionComponents( type );
+			int index = PerDecoderUtils.readNormallySmallNumber( context );
+			if( index >= additions.size() )
+				throw new IllegalValueException( "Unknown CHOICE extension addition index: " + index );
+
+			ComponentType component = additions.get( index );
+			return context.getValueFactory().named( component.getComponentName(), context.readOpenComponent( component ) );
+		}
+
+		List<ComponentType> root = PerUtils.getRootComponents( type );
+		int index = (int)PerDecoderUtils.readConstrainedWholeNumber( context, 0, root.size() - 1 );
+		if( index >= root.size() )
+			throw new IllegalValueException( "Unknown CHOICE alternative index: " + index );
+
+		ComponentType component = root.get( index );
+		return context.getValueFactory().named( component.getComponentName(), context.readComponent( component ) );
+	}
+}
@@ -0,0 +1,244 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.Ref;
+import org.asn1s.api.Scope;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.type.InstanceOfTypeSelector;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.type.TypeUtils;
+import org.asn1s.api.util.ValidationUtils;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.api.value.x680.BooleanValue;
+import org.asn1s.api.value.x680.NullValue;
+import org.asn1s.io.Asn1Reader;
+import org.asn1s.io.Asn1ValueIterator;
+import org.asn1s.io.per.PerRules;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Packed Encoding Rules reader, every value is read as complete encoding (X.691, 10.1.3),
+ * so the input must be octet aligned before each {@link #read(Scope, Ref)} call.
+ */
+public final class DefaultPerReader implements Asn1Reader
+{
+	private static final Map<Family, PerDecoder> DECODERS = new EnumMap<>( Family.class );
+	private static final int BYTE_MASK = 0xFF;
+
+	static
+	{
+		DECODERS.put( Family.BOOLEAN, context -> context.readBit() ? BooleanValue.TRUE : BooleanValue.FALSE );
+		DECODERS.put( Family.NULL, context -> NullValue.INSTANCE );
+		DECODERS.put( Family.INTEGER, new IntegerPerDecoder() );
+		DECODERS.put( Family.ENUMERATED, new EnumeratedPerDecoder() );
+		DECODERS.put( Family.REAL, new BerContentPerDecoder() );
+		DECODERS.put( Family.OID, new BerContentPerDecoder() );
+		DECODERS.put( Family.BIT_STRING, new BitStringPerDecoder() );
+		DECODERS.put( Family.OCTET_STRING, new OctetStringPerDecoder() );
+		DECODERS.put( Family.RESTRICTED_STRING, new StringPerDecoder() );
+		DECODERS.put( Family.UTC_TIME, new StringPerDecoder() );
+		DECODERS.put( Family.GENERALIZED_TIME, new StringPerDecoder() );
+		DECODERS.put( Family.SEQUENCE, new SequencePerDecoder() );
+		DECODERS.put( Family.SET, new SequencePerDecoder() );
+		DECODERS.put( Family.CHOICE, new ChoicePerDecoder() );
+		DECODERS.put( Family.SEQUENCE_OF, new SequenceOfPerDecoder() );
+		DECODERS.put( Family.SET_OF, new SequenceOfPerDecoder() );
+	}
+
+	public DefaultPerReader( PerRules rules, byte[] bytes, ValueFactory valueFactory )
+	{
+		this( rules, new ByteArrayInputStream( bytes ), valueFactory );
+	}
+
+	public DefaultPerReader( PerRules rules, InputStream is, ValueFactory valueFactory )
+	{
+		this.rules = rules;
+		this.is = is;
+		this.valueFactory = valueFactory;
+	}
+
+	private final PerRules rules;
+	private final InputStream is;
+	private final ValueFactory valueFactory;
+	private int current;
+	// amount of bits of current octet that are already read, 8 means that the next octet must be read
+	private int bitOffset = 8;
+	private long position;
+
+	@NotNull
+	@Override
+	public ValueFactory getValueFactory()
+	{
+		return valueFactory;
+	}
+
+	public PerRules getRules()
+	{
+		return rules;
+	}
+
+	@Override
+	public Value read( @NotNull Scope scope, @NotNull Ref<Type> typeRef ) throws IOException, Asn1Exception
+	{
+		Type type = ValidationUtils.resolveType( scope, typeRef );
+		long start = position;
+		Value value = readInternal( new ReaderContext( this, scope, type ) );
+		if( position == start )
+			readBits( 8 );
+		align();
+		type.accept( scope, value );
+		return value;
+	}
+
+	@NotNull
+	@Override
+	public Asn1ValueIterator readCollectionOf( @NotNull Scope scope, @NotNull Ref<Type> typeRef ) throws IOException, Asn1Exception
+	{
+		ReaderContext context = new ReaderContext( this, scope, ValidationUtils.resolveType( scope, typeRef ) ).narrow();
+		if( context.getType().getFamily() != Family.SEQUENCE_OF && context.getType().getFamily() != Family.SET_OF )
+			throw new ResolutionException( "Type is not collection of: " + context.getType() );
+
+		return SequenceOfPerDecoder.iterator( context );
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		is.close();
+	}
+
+	Value readInternal( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		context = context.narrow();
+		Family family = context.getType().getFamily();
+		if( family == Family.OPEN_TYPE )
+			return readOpenType( context );
+
+		PerDecoder decoder = DECODERS.get( family );
+		if( decoder == null )
+			throw new IllegalStateException( "No decoder found for family: " + family );
+
+		return decoder.decode( context );
+	}
+
+	private Value readOpenType( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		InstanceOfTypeSelector selector = context.getScope().getScopeOption( TypeUtils.INSTANCE_OF_TYPE_KEY );
+		if( selector == null )
+			throw new ResolutionException( "Unable to locate InstanceOfTypeSelector." );
+
+		Type openType = selector.resolveInstanceOfType( context.getScope() );
+		DefaultPerReader openReader = context.createOpenReader();
+		Value value = openReader.readInternal( new ReaderContext( openReader, openType.getScope( context.getScope() ), openType ) );
+		return valueFactory.openTypeValue( openType, value ).resolve( context.getScope() );
+	}
+
+	boolean readBit() throws IOException
+	{
+		if( bitOffset == 8 )
+			nextOctet();
+
+		position++;
+		//noinspection ValueOfIncrementOrDecrementUsed
+		return ( current & 0x80 >>> bitOffset++ ) != 0;
+	}
+
+	/**
+	 * Read bits, most significant first
+	 *
+	 * @param count amount of bits to read, 0 - 64
+	 * @return bits as long
+	 * @throws IOException if io fails
+	 */
+	long readBits( int count ) throws IOException
+	{
+		long result = 0L;
+		int remaining = count;
+		while( remaining > 0 )
+		{
+			if( bitOffset == 8 )
+				nextOctet();
+
+			int chunk = Math.min( 8 - bitOffset, remaining );
+			int part = current >>> ( 8 - bitOffset - chunk ) & ( ( 1 << chunk ) - 1 );
+			result = result << chunk | part;
+			bitOffset += chunk;
+			remaining -= chunk;
+		}
+		position += count;
+		return result;
+	}
+
+	@SuppressWarnings( "NumericCastThatLosesPrecision" )
+	void readOctets( @NotNull byte[] bytes, int offset, int length ) throws IOException
+	{
+		if( bitOffset != 8 )
+		{
+			for( int i = offset; i < offset + length; i++ )
+				bytes[i] = (byte)readBits( 8 );
+			return;
+		}
+
+		int read = 0;
+		while( read < length )
+		{
+			int count = is.read( bytes, offset + read, length - read );
+			if( count == -1 )
+				throw new EOFException( "Unexpected EOF" );
+			read += count;
+		}
+		position += length * 8L;
+	}
+
+	void align()
+	{
+		if( bitOffset != 8 )
+		{
+			position += 8 - bitOffset;
+			bitOffset = 8;
+		}
+	}
+
+	private void nextOctet() throws IOException
+	{
+		current = is.read();
+		if( current == -1 )
+			throw new EOFException( "Unexpected EOF" );
+		current &= BYTE_MASK;
+		bitOffset = 0;
+	}
+}
@@ -0,0 +1,68 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.IllegalValueException;
+import org.asn1s.api.type.Enumerated;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.NamedValue;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+final class EnumeratedPerDecoder implements PerDecoder
+{
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.ENUMERATED;
+		Enumerated type = (Enumerated)context.getType();
+		NamedValue value;
+		if( type.isExtensible() && context.readBit() )
+		{
+			List<NamedValue> additions = PerUtils.sortEnumeration( type.getAdditionalValues() );
+			int index = PerDecoderUtils.readNormallySmallNumber( context );
+			if( index >= additions.size() )
+				throw new IllegalValueException( "Unknown enumeration addition index: " + index );
+			value = additions.get( index );
+		}
+		else
+		{
+			List<NamedValue> root = PerUtils.sortEnumeration( type.getRootValues() );
+			int index = (int)PerDecoderUtils.readConstrainedWholeNumber( context, 0, root.size() - 1 );
+			if( index >= root.size() )
+				throw new IllegalValueException( "Unknown enumeration index: " + index );
+			value = root.get( index );
+		}
+
+		assert value.getValueRef() != null;
+		return context.getType().optimize( context.getScope(), value.getValueRef() );
+	}
+}
@@ -0,0 +1,263 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.encoding.EncodingInstructions;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.io.ber.BerRules;
+import org.asn1s.io.ber.input.DefaultBerReader;
+import org.asn1s.io.ber.output.DefaultBerWriter;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * Decoding procedures of X.691, clause 10
+ */
+@SuppressWarnings( "NumericCastThatLosesPrecision" )
+final class PerDecoderUtils
+{
+	private static final int TWO_OCTETS_LENGTH_MASK = 0x3FFF;
+	private static final int FRAGMENT_MULTIPLIER_MASK = 0x3F;
+
+	private PerDecoderUtils()
+	{
+	}
+
+	/**
+	 * Decode whole number using bounds: constrained, semi-constrained or unconstrained (10.5, 10.7, 10.8)
+	 *
+	 * @param ctx the context
+	 * @param lb  lower bound or null
+	 * @param ub  upper bound or null
+	 * @return the value
+	 * @throws IOException if io fails
+	 */
+	static BigInteger readWholeNumber( ReaderContext ctx, @Nullable BigInteger lb, @Nullable BigInteger ub ) throws IOException
+	{
+		if( lb != null && ub != null )
+			return readConstrainedWholeNumber( ctx, lb, ub );
+
+		if( lb != null )
+			return readSemiConstrainedWholeNumber( ctx, lb );
+
+		return readUnconstrainedWholeNumber( ctx );
+	}
+
+	static BigInteger readConstrainedWholeNumber( ReaderContext ctx, @NotNull BigInteger lb, @NotNull BigInteger ub ) throws IOException
+	{
+		BigInteger range = ub.subtract( lb ).add( BigInteger.ONE );
+		if( range.bitLength() < Long.SIZE - 1 )
+			return lb.add( BigInteger.valueOf( readConstrainedWholeNumber( ctx, 0L, range.longValue() - 1 ) ) );
+
+		if( ctx.isAligned() )
+		{
+			int octets = (int)readConstrainedWholeNumber( ctx, 1, PerUtils.octetsForValue( range.subtract( BigInteger.ONE ) ) );
+			ctx.align();
+			return lb.add( readUnsigned( ctx, octets ) );
+		}
+
+		int bits = PerUtils.bitsForRange( range );
+		BigInteger result = BigInteger.ZERO;
+		for( int i = 0; i < bits; i++ )
+			result = ctx.readBit() ? result.shiftLeft( 1 ).setBit( 0 ) : result.shiftLeft( 1 );
+		return lb.add( result );
+	}
+
+	static long readConstrainedWholeNumber( ReaderContext ctx, long lb, long ub ) throws IOException
+	{
+		long range = ub - lb + 1;
+		if( range == 1 )
+			return lb;
+
+		if( !ctx.isAligned() || range <= PerUtils.MAX_BIT_FIELD_RANGE.longValue() )
+			return lb + ctx.readBits( PerUtils.bitsForRange( range ) );
+
+		if( range == PerUtils.ONE_OCTET_RANGE.longValue() )
+		{
+			ctx.align();
+			return lb + ctx.readBits( 8 );
+		}
+
+		if( range <= PerUtils.TWO_OCTETS_RANGE.longValue() )
+		{
+			ctx.align();
+			return lb + ctx.readBits( 16 );
+		}
+
+		int octets = (int)readConstrainedWholeNumber( ctx, 1, octetsForValue( range - 1 ) );
+		ctx.align();
+		return lb + ctx.readBits( octets * 8 );
+	}
+
+	static BigInteger readSemiConstrainedWholeNumber( ReaderContext ctx, @NotNull BigInteger lb ) throws IOException
+	{
+		int octets = readLength( ctx, 0, -1 );
+		return lb.add( readUnsigned( ctx, octets ) );
+	}
+
+	static BigInteger readUnconstrainedWholeNumber( ReaderContext ctx ) throws IOException
+	{
+		int octets = readLength( ctx, 0, -1 );
+		if( octets == 0 )
+			throw new IOException( "Illegal integer length: 0" );
+
+		byte[] bytes = new byte[octets];
+		ctx.readOctets( bytes, 0, octets );
+		return new BigInteger( bytes );
+	}
+
+	static int readNormallySmallNumber( ReaderContext ctx ) throws IOException
+	{
+		if( !ctx.readBit() )
+			return (int)ctx.readBits( PerUtils.NORMALLY_SMALL_BITS );
+
+		return readSemiConstrainedWholeNumber( ctx, BigInteger.ZERO ).intValueExact();
+	}
+
+	static int readNormallySmallLength( ReaderContext ctx ) throws IOException
+	{
+		if( !ctx.readBit() )
+			return (int)ctx.readBits( PerUtils.NORMALLY_SMALL_BITS ) + 1;
+
+		return readLength( ctx, 0, -1 );
+	}
+
+	/**
+	 * Read length determinant (10.9). If the returned value is greater or equal to 16K, then it's a fragment
+	 * and caller must read the next length determinant after fragment content.
+	 *
+	 * @param ctx the context
+	 * @param lb  the lower bound of length
+	 * @param ub  the upper bound of length, -1 if there is no upper bound
+	 * @return amount of items that follow this length determinant
+	 * @throws IOException if io fails
+	 */
+	static int readLength( ReaderContext ctx, int lb, int ub ) throws IOException
+	{
+		if( ub != -1 && ub < PerUtils.MAX_CONSTRAINED_LENGTH )
+			return (int)readConstrainedWholeNumber( ctx, lb, ub );
+
+		ctx.align();
+		int first = (int)ctx.readBits( 8 );
+		if( ( first & PerUtils.LONG_LENGTH_FLAG ) == 0 )
+			return first;
+
+		if( ( first & PerUtils.FRAGMENT_FLAG ) == PerUtils.LONG_LENGTH_FLAG )
+			return ( first << 8 | (int)ctx.readBits( 8 ) ) & TWO_OCTETS_LENGTH_MASK;
+
+		int multiplier = first & FRAGMENT_MULTIPLIER_MASK;
+		if( multiplier < 1 || multiplier > PerUtils.MAX_FRAGMENT_MULTIPLIER )
+			throw new IOException( "Illegal fragment size: " + multiplier );
+		return multiplier * PerUtils.FRAGMENT_SIZE;
+	}
+
+	/**
+	 * Read octets with unconstrained length determinant, fragments are joined
+	 *
+	 * @param ctx the context
+	 * @return octets
+	 * @throws IOException if io fails
+	 */
+	static byte[] readOctetsWithLength( ReaderContext ctx ) throws IOException
+	{
+		int count = readLength( ctx, 0, -1 );
+		if( count < PerUtils.FRAGMENT_SIZE )
+		{
+			byte[] bytes = new byte[count];
+			ctx.readOctets( bytes, 0, count );
+			return bytes;
+		}
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		while( true )
+		{
+			byte[] bytes = new byte[count];
+			ctx.readOctets( bytes, 0, count );
+			os.write( bytes, 0, count );
+			if( count < PerUtils.FRAGMENT_SIZE )
+				return os.toByteArray();
+			count = readLength( ctx, 0, -1 );
+		}
+	}
+
+	/**
+	 * Returns true if the size is in extension root. Reads extension bit if size constraint is extensible.
+	 *
+	 * @param ctx the context
+	 * @return false if value is encoded as unconstrained
+	 * @throws IOException if io fails
+	 */
+	static boolean readSizeExtensionBit( ReaderContext ctx ) throws IOException
+	{
+		EffectiveConstraint constraint = ctx.getConstraint();
+		return !PerUtils.isSizeExtensible( constraint ) || !ctx.readBit();
+	}
+
+	/**
+	 * Decode value from BER content octets, used for types which PER encodes as BER content
+	 *
+	 * @param scope   the scope
+	 * @param type    the type
+	 * @param factory the value factory
+	 * @param content the content octets
+	 * @return value
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be decoded
+	 */
+	static Value fromBerContent( Scope scope, Type type, ValueFactory factory, byte[] content ) throws IOException, Asn1Exception
+	{
+		TagEncoding encoding = (TagEncoding)type.getEncoding( EncodingInstructions.TAG );
+		DefaultBerWriter writer = new DefaultBerWriter( BerRules.DER );
+		writer.writeTag( encoding.getTagClass(), false, encoding.getTagNumber() );
+		writer.writeLength( content.length );
+		writer.write( content );
+		return new DefaultBerReader( new ByteArrayInputStream( writer.toByteArray() ), factory ).read( scope, type );
+	}
+
+	private static BigInteger readUnsigned( ReaderContext ctx, int octets ) throws IOException
+	{
+		byte[] bytes = new byte[octets];
+		ctx.readOctets( bytes, 0, octets );
+		return new BigInteger( 1, bytes );
+	}
+
+	private static int octetsForValue( long value )
+	{
+		return Math.max( 1, ( Long.SIZE - Long.numberOfLeadingZeros( value ) + 7 ) / 8 );
+	}
+}
@@ -0,0 +1,168 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.ValueFactory;
+import org.asn1s.io.per.PerRules;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+public final class ReaderContext
+{
+	public ReaderContext( @NotNull DefaultPerReader reader, @NotNull Scope scope, @NotNull Type type )
+	{
+		this.reader = reader;
+		this.scope = scope;
+		this.type = type;
+	}
+
+	private final DefaultPerReader reader;
+	private final EffectiveConstraint constraint = new EffectiveConstraint();
+	private Scope scope;
+	private Type type;
+
+	public DefaultPerReader getReader()
+	{
+		return reader;
+	}
+
+	public ValueFactory getValueFactory()
+	{
+		return reader.getValueFactory();
+	}
+
+	public Scope getScope()
+	{
+		return scope;
+	}
+
+	public Type getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Returns PER-visible constraints collected while narrowing the type
+	 *
+	 * @return effective constraint
+	 */
+	public EffectiveConstraint getConstraint()
+	{
+		return constraint;
+	}
+
+	public PerRules getRules()
+	{
+		return reader.getRules();
+	}
+
+	public boolean isAligned()
+	{
+		return reader.getRules() == PerRules.ALIGNED;
+	}
+
+	/**
+	 * Move to the builtin type which defines encoding, tags are not used by PER, constraints are collected.
+	 *
+	 * @return this
+	 */
+	public ReaderContext narrow()
+	{
+		while( type.hasConstraint() || type.hasSibling() )
+		{
+			if( type.hasConstraint() )
+				type.getConstraint().collectEffectiveConstraint( constraint );
+
+			type = type.getSibling();
+			assert type != null;
+			scope = type.getScope( scope );
+		}
+		return this;
+	}
+
+	public Value readComponent( @NotNull ComponentType component ) throws IOException, Asn1Exception
+	{
+		return reader.readInternal( new ReaderContext( reader, component.getScope( scope ), component ) );
+	}
+
+	/**
+	 * Read component encoded as open type field: length determinant and complete encoding
+	 *
+	 * @param component the component type
+	 * @return component value
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be decoded
+	 */
+	public Value readOpenComponent( @NotNull ComponentType component ) throws IOException, Asn1Exception
+	{
+		DefaultPerReader openReader = createOpenReader();
+		return openReader.readInternal( new ReaderContext( openReader, component.getScope( scope ), component ) );
+	}
+
+	/**
+	 * Read open type field and create reader for its content
+	 *
+	 * @return reader
+	 * @throws IOException if io fails
+	 */
+	public DefaultPerReader createOpenReader() throws IOException
+	{
+		byte[] bytes = PerDecoderUtils.readOctetsWithLength( this );
+		return new DefaultPerReader( reader.getRules(), new ByteArrayInputStream( bytes ), reader.getValueFactory() );
+	}
+
+	public boolean readBit() throws IOException
+	{
+		return reader.readBit();
+	}
+
+	public long readBits( int count ) throws IOException
+	{
+		return reader.readBits( count );
+	}
+
+	public void readOctets( @NotNull byte[] bytes, int offset, int length ) throws IOException
+	{
+		reader.readOctets( bytes, offset, length );
+	}
+
+	/**
+	 * Skip to octet boundary in ALIGNED variant
+	 */
+	public void align()
+	{
+		if( isAligned() )
+			reader.align();
+	}
+}
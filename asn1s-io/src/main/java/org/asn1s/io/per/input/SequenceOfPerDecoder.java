@@ -0,0 +1,135 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.CollectionOfType;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.io.Asn1ValueIterator;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Decoder for SEQUENCE OF and SET OF types (X.691, 20)
+ */
+final class SequenceOfPerDecoder implements PerDecoder
+{
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.SEQUENCE_OF || context.getType().getFamily() == Family.SET_OF;
+		ComponentType componentType = ( (CollectionOfType)context.getType() ).getComponentType();
+		ValueCollection collection = context.getValueFactory().collection( !componentType.isDummy() );
+		context.getScope().setValueLevel( collection );
+
+		Asn1ValueIterator iterator = iterator( context );
+		while( iterator.hasNext() )
+			collection.add( iterator.next() );
+		return collection;
+	}
+
+	/**
+	 * Create iterator over collection components, the size determinant is read on demand
+	 *
+	 * @param context the context of SEQUENCE OF or SET OF type
+	 * @return iterator
+	 */
+	static Asn1ValueIterator iterator( @NotNull ReaderContext context )
+	{
+		return new ComponentIterator( context );
+	}
+
+	private static final class ComponentIterator implements Asn1ValueIterator
+	{
+		private ComponentIterator( ReaderContext context )
+		{
+			this.context = context;
+			componentType = ( (CollectionOfType)context.getType() ).getComponentType();
+		}
+
+		private final ReaderContext context;
+		private final ComponentType componentType;
+		private boolean started;
+		private boolean lastFragment;
+		private int lb;
+		private int ub = -1;
+		private int remaining;
+
+		@Override
+		public boolean hasNext() throws IOException
+		{
+			if( !started )
+				start();
+
+			while( remaining == 0 && !lastFragment )
+				nextFragment();
+
+			return remaining > 0;
+		}
+
+		@Override
+		public Value next() throws IOException, Asn1Exception
+		{
+			if( !hasNext() )
+				throw new NoSuchElementException();
+
+			remaining--;
+			Value value = context.readComponent( componentType );
+			componentType.accept( context.getScope(), value );
+			if( !componentType.isDummy() )
+				value = context.getValueFactory().named( componentType.getComponentName(), value );
+			return value;
+		}
+
+		private void start() throws IOException
+		{
+			started = true;
+			if( PerDecoderUtils.readSizeExtensionBit( context ) )
+			{
+				lb = PerUtils.getSizeLowerBound( context.getConstraint() );
+				ub = PerUtils.getSizeUpperBound( context.getConstraint() );
+			}
+
+			if( lb == ub && ub < PerUtils.MAX_CONSTRAINED_LENGTH )
+			{
+				remaining = ub;
+				lastFragment = true;
+			}
+		}
+
+		private void nextFragment() throws IOException
+		{
+			remaining = PerDecoderUtils.readLength( context, lb, ub );
+			lastFragment = remaining < PerUtils.FRAGMENT_SIZE;
+		}
+	}
+}
@@ -0,0 +1,120 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decoder for SEQUENCE and SET types, SET components are encoded in canonical tag order (X.691, 19, 21)
+ */
+final class SequencePerDecoder implements PerDecoder
+{
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.SEQUENCE || context.getType().getFamily() == Family.SET;
+		Type type = context.getType();
+		ValueCollection collection = context.getValueFactory().collection( true );
+		context.getScope().setValueLevel( collection );
+
+		boolean extended = PerUtils.isExtensible( type ) && context.readBit();
+		readComponents( context, PerUtils.getRootComponents( type ), collection );
+
+		if( extended )
+			readExtensionAdditions( context, PerUtils.getExtensionAdditions( type ), collection );
+
+		return collection;
+	}
+
+	/**
+	 * Read preamble of optional and default components presence, followed by component values
+	 *
+	 * @param context    the context
+	 * @param components the components
+	 * @param collection the value collection to fill
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be decoded
+	 */
+	private static void readComponents( ReaderContext context, List<ComponentType> components, ValueCollection collection ) throws IOException, Asn1Exception
+	{
+		boolean[] present = new boolean[components.size()];
+		for( int i = 0; i < present.length; i++ )
+			present[i] = components.get( i ).isRequired() || context.readBit();
+
+		for( int i = 0; i < present.length; i++ )
+		{
+			if( !present[i] )
+				continue;
+
+			ComponentType component = components.get( i );
+			collection.addNamed( component.getComponentName(), context.readComponent( component ) );
+		}
+	}
+
+	private static void readExtensionAdditions( ReaderContext context, List<List<ComponentType>> additions, ValueCollection collection ) throws IOException, Asn1Exception
+	{
+		int count = PerDecoderUtils.readNormallySmallLength( context );
+		boolean[] present = new boolean[count];
+		for( int i = 0; i < count; i++ )
+			present[i] = context.readBit();
+
+		for( int i = 0; i < count; i++ )
+		{
+			if( !present[i] )
+				continue;
+
+			if( i >= additions.size() )
+			{
+				// unknown extension addition, skip the open type field
+				PerDecoderUtils.readOctetsWithLength( context );
+				continue;
+			}
+
+			List<ComponentType> group = additions.get( i );
+			if( group.size() == 1 && !PerUtils.isInExtensionAdditionGroup( context.getType(), group.get( 0 ) ) )
+			{
+				ComponentType component = group.get( 0 );
+				collection.addNamed( component.getComponentName(), context.readOpenComponent( component ) );
+			}
+			else
+			{
+				// extension addition group is encoded as SEQUENCE without extension bit
+				DefaultPerReader groupReader = context.createOpenReader();
+				readComponents( new ReaderContext( groupReader, context.getScope(), context.getType() ), group, collection );
+			}
+		}
+	}
+}
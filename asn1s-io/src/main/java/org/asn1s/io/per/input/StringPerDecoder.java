@@ -0,0 +1,110 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.StringType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.per.PerAlphabet;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decoder for restricted character strings, UTCTime and GeneralizedTime, which are encoded as VisibleString (X.691, 27, 31)
+ */
+final class StringPerDecoder implements PerDecoder
+{
+	private static final int MAX_UNALIGNED_BITS = 16;
+
+	@Override
+	public Value decode( @NotNull ReaderContext context ) throws IOException, Asn1Exception
+	{
+		Type type = context.getType();
+		if( type.getFamily() == Family.UTC_TIME || type.getFamily() == Family.GENERALIZED_TIME )
+		{
+			String value = readKnownMultiplierString( context, UniversalType.VISIBLE_STRING );
+			byte[] content = value.getBytes( StandardCharsets.ISO_8859_1 );
+			return PerDecoderUtils.fromBerContent( context.getScope(), type, context.getValueFactory(), content );
+		}
+
+		assert type.getFamily() == Family.RESTRICTED_STRING;
+		UniversalType universalType = PerUtils.getStringUniversalType( type );
+		String value = PerUtils.isKnownMultiplierString( universalType )
+				? readKnownMultiplierString( context, universalType )
+				: new String( PerDecoderUtils.readOctetsWithLength( context ), ( (StringType)type ).getCharset() );
+		return context.getValueFactory().cString( value );
+	}
+
+	private static String readKnownMultiplierString( ReaderContext context, UniversalType type ) throws IOException
+	{
+		PerAlphabet alphabet = PerAlphabet.forType( type, context.getConstraint().getPermittedAlphabet(), context.isAligned() );
+		int bits = alphabet.getBits();
+
+		int lb = 0;
+		int ub = -1;
+		if( PerDecoderUtils.readSizeExtensionBit( context ) )
+		{
+			lb = PerUtils.getSizeLowerBound( context.getConstraint() );
+			ub = PerUtils.getSizeUpperBound( context.getConstraint() );
+		}
+
+		StringBuilder sb = new StringBuilder();
+		if( ub == 0 )
+			return sb.toString();
+
+		boolean alignedContent = ub == -1 || (long)ub * bits > MAX_UNALIGNED_BITS;
+		if( lb == ub && ub < PerUtils.MAX_CONSTRAINED_LENGTH )
+		{
+			if( alignedContent )
+				context.align();
+			readCharacters( context, alphabet, sb, ub );
+			return sb.toString();
+		}
+
+		int count;
+		do
+		{
+			count = PerDecoderUtils.readLength( context, lb, ub );
+			if( count > 0 && alignedContent )
+				context.align();
+			readCharacters( context, alphabet, sb, count );
+		} while( count >= PerUtils.FRAGMENT_SIZE );
+		return sb.toString();
+	}
+
+	private static void readCharacters( ReaderContext context, PerAlphabet alphabet, StringBuilder sb, int count ) throws IOException
+	{
+		int bits = alphabet.getBits();
+		for( int i = 0; i < count; i++ )
+			sb.appendCodePoint( alphabet.toCharacter( context.readBits( bits ) ) );
+	}
+}
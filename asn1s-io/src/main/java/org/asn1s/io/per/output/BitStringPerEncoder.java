@@ -0,0 +1,107 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.output;
+
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.ByteArrayValue;
+import org.asn1s.api.value.Value.Kind;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+final class BitStringPerEncoder implements PerEncoder
+{
+	private static final int MAX_UNALIGNED_SIZE = 16;
+
+	@Override
+	public void encode( @NotNull WriterContext context )
+	{
+		assert context.getType().getFamily() == Family.BIT_STRING;
+		assert context.getValue().getKind() == Kind.BYTE_ARRAY;
+		ByteArrayValue value = context.getValue().toByteArrayValue();
+		byte[] bytes = value.asByteArray();
+		int size = bytes == null ? 0 : value.getUsedBits();
+		boolean hasSizeConstraint = context.getConstraint().getSizeConstraint() != null;
+		if( !hasSizeConstraint && !context.getType().getNamedValues().isEmpty() )
+			// X.691, 16.2: trailing zero bits of named bit lists are removed
+			while( size > 0 && !isBitSet( bytes, size - 1 ) )
+				size--;
+
+		int lb = 0;
+		int ub = -1;
+		if( PerEncoderUtils.writeSizeExtensionBit( context, size ) )
+		{
+			lb = PerUtils.getSizeLowerBound( context.getConstraint() );
+			ub = PerUtils.getSizeUpperBound( context.getConstraint() );
+		}
+
+		if( ub == 0 )
+			return;
+
+		if( lb == ub && ub < PerUtils.MAX_CONSTRAINED_LENGTH )
+		{
+			if( ub > MAX_UNALIGNED_SIZE )
+				context.align();
+			writeBits( context, bytes, 0, Math.min( size, ub ) );
+			for( int i = size; i < ub; i++ )
+				context.writeBit( false );
+			return;
+		}
+
+		int offset = 0;
+		int count;
+		do
+		{
+			count = PerEncoderUtils.writeLength( context, size - offset, lb, ub );
+			if( count > 0 )
+				context.align();
+			writeBits( context, bytes, offset, count );
+			offset += count;
+		} while( count >= PerUtils.FRAGMENT_SIZE );
+	}
+
+	private static boolean isBitSet( byte[] bytes, int bit )
+	{
+		return ( bytes[bit >>> 3] & 0x80 >>> ( bit & 7 ) ) != 0;
+	}
+
+	/**
+	 * Write bits of array, offset must be a multiple of 8
+	 *
+	 * @param context the context
+	 * @param bytes   the bits source
+	 * @param offset  the first bit
+	 * @param count   amount of bits to write
+	 */
+	private static void writeBits( WriterContext context, byte[] bytes, int offset, int count )
+	{
+		assert offset % 8 == 0;
+		int octets = count / 8;
+		context.writeOctets( bytes, offset / 8, octets );
+		int remainder = count % 8;
+		if( remainder > 0 )
+			context.writeBits( ( bytes[offset / 8 + octets] & PerUtils.BYTE_MASK ) >>> ( 8 - remainder ), remainder );
+	}
+}
@@ -0,0 +1,74 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.output;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.ResolutionException;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.x680.NamedValue;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * CHOICE encoder, root alternatives are indexed in canonical tag order (X.691, 23)
+ */
+final class ChoicePerEncoder implements PerEncoder
+{
+	@Override
+	public void encode( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.CHOICE;
+		context.getScope().setValueLevel( context.getValue() );
+
+		Type type = context.getType();
+		NamedValue value = context.getValue().toNamedValue();
+		ComponentType component = type.getNamedType( value.getName() );
+		if( component == null )
+			throw new ResolutionException( "Unknown component: " + value.getName() );
+
+		List<ComponentType> root = PerUtils.getRootComponents( type );
+		int index = root.indexOf( component );
+		if( PerUtils.isExtensible( type ) )
+			context.writeBit( index == -1 );
+
+		if( index == -1 )
+		{
+			index = PerUtils.getExtensionAdditionComponents( type ).indexOf( component );
+			PerEncoderUtils.writeNormallySmallNumber( context, index );
+			context.writeOpenComponent( component, value );
+		}
+		else
+		{
+			PerEncoderUtils.writeConstrainedWholeNumber( context, index, 0, root.size() - 1 );
+			context.writeComponent( component, value );
+		}
+	}
+}
@@ -0,0 +1,251 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.output;
+
+import org.asn1s.api.Ref;
+import org.asn1s.api.Scope;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.util.RefUtils;
+import org.asn1s.api.util.ValidationUtils;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.BooleanValue;
+import org.asn1s.io.Asn1Writer;
+import org.asn1s.io.per.PerRules;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Packed Encoding Rules writer, every value is written as complete encoding (X.691, 10.1.3),
+ * so the output is octet aligned after each {@link #write(Scope, Ref, Value)} call.
+ */
+public final class DefaultPerWriter implements Asn1Writer
+{
+	private static final Map<Family, PerEncoder> ENCODERS = new EnumMap<>( Family.class );
+	private static final int DEFAULT_CAPACITY = 256;
+	private static final int BYTE_MASK = 0xFF;
+
+	static
+	{
+		ENCODERS.put( Family.BOOLEAN, context -> context.writeBit( context.getValue() == BooleanValue.TRUE ) );
+		ENCODERS.put( Family.NULL, context -> {} );
+		ENCODERS.put( Family.INTEGER, new IntegerPerEncoder() );
+		ENCODERS.put( Family.ENUMERATED, new EnumeratedPerEncoder() );
+		ENCODERS.put( Family.REAL, new BerContentPerEncoder() );
+		ENCODERS.put( Family.OID, new BerContentPerEncoder() );
+		ENCODERS.put( Family.BIT_STRING, new BitStringPerEncoder() );
+		ENCODERS.put( Family.OCTET_STRING, new OctetStringPerEncoder() );
+		ENCODERS.put( Family.RESTRICTED_STRING, new StringPerEncoder() );
+		ENCODERS.put( Family.UTC_TIME, new StringPerEncoder() );
+		ENCODERS.put( Family.GENERALIZED_TIME, new StringPerEncoder() );
+		ENCODERS.put( Family.SEQUENCE, new SequencePerEncoder() );
+		ENCODERS.put( Family.SET, new SequencePerEncoder() );
+		ENCODERS.put( Family.CHOICE, new ChoicePerEncoder() );
+		ENCODERS.put( Family.SEQUENCE_OF, new SequenceOfPerEncoder() );
+		ENCODERS.put( Family.SET_OF, new SequenceOfPerEncoder() );
+	}
+
+	public DefaultPerWriter( PerRules rules )
+	{
+		this( rules, new ByteArrayOutputStream() );
+	}
+
+	public DefaultPerWriter( PerRules rules, OutputStream os )
+	{
+		this.rules = rules;
+		this.os = os;
+	}
+
+	private final PerRules rules;
+	private final OutputStream os;
+	private byte[] buffer = new byte[DEFAULT_CAPACITY];
+	private int bitSize;
+
+	public PerRules getRules()
+	{
+		return rules;
+	}
+
+	@Override
+	public void write( @NotNull Scope scope, @NotNull Ref<Type> typeRef, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		Type type = ValidationUtils.resolveType( scope, typeRef );
+		value = value.resolve( scope );
+		type.accept( scope, value );
+		writeAccepted( scope, type, value );
+	}
+
+	@Override
+	public void writeTrusted( @NotNull Scope scope, @NotNull Ref<Type> typeRef, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		writeAccepted( scope, ValidationUtils.resolveType( scope, typeRef ), value );
+	}
+
+	private void writeAccepted( @NotNull Scope scope, @NotNull Type type, @NotNull Value value ) throws IOException, Asn1Exception
+	{
+		writeComplete( new WriterContext( this, scope, type, value ) );
+		os.write( buffer, 0, bitSize / 8 );
+		Arrays.fill( buffer, 0, bitSize / 8, (byte)0 );
+		bitSize = 0;
+	}
+
+	@Override
+	public byte[] toByteArray() throws IOException
+	{
+		if( os instanceof ByteArrayOutputStream )
+			return ( (ByteArrayOutputStream)os ).toByteArray();
+
+		throw new IOException( "Unable to get byte array from underlying stream" );
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		os.close();
+	}
+
+	/**
+	 * Write value as complete encoding: at least one octet, padded by zero bits to octet boundary
+	 *
+	 * @param context the context
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be encoded
+	 */
+	private void writeComplete( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		int start = bitSize;
+		writeInternal( context );
+		completeEncoding( start );
+	}
+
+	/**
+	 * Complete encoding written to this writer and return it, used for nested encodings
+	 *
+	 * @return byte array
+	 */
+	byte[] toCompleteEncoding()
+	{
+		completeEncoding( 0 );
+		return Arrays.copyOf( buffer, bitSize / 8 );
+	}
+
+	private void completeEncoding( int start )
+	{
+		if( bitSize == start )
+			writeBits( 0, 8 );
+		align();
+	}
+
+	void writeInternal( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		context = context.narrow();
+		Type type = context.getType();
+		if( type.getFamily() == Family.OPEN_TYPE )
+		{
+			writeOpenType( context );
+			return;
+		}
+
+		PerEncoder encoder = ENCODERS.get( type.getFamily() );
+		if( encoder == null )
+			throw new IllegalStateException( "No encoder found for family: " + type.getFamily() );
+
+		encoder.encode( context );
+	}
+
+	private void writeOpenType( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		Value value = RefUtils.toBasicValue( context.getScope(), context.getValue() );
+		Type type = value.toOpenTypeValue().getType().resolve( context.getScope() );
+		Value openValue = value.toOpenTypeValue().getValueRef().resolve( context.getScope() );
+		DefaultPerWriter openWriter = new DefaultPerWriter( rules );
+		openWriter.writeInternal( new WriterContext( openWriter, type.getScope( context.getScope() ), type, openValue ) );
+		PerEncoderUtils.writeOctetsWithLength( context, openWriter.toCompleteEncoding() );
+	}
+
+	void writeBit( boolean bit )
+	{
+		ensureCapacity( 1 );
+		if( bit )
+			buffer[bitSize >>> 3] |= 0x80 >>> ( bitSize & 7 );
+		bitSize++;
+	}
+
+	/**
+	 * Write lowest bits of value, most significant first
+	 *
+	 * @param bits  the value
+	 * @param count amount of bits to write, 0 - 64
+	 */
+	void writeBits( long bits, int count )
+	{
+		ensureCapacity( count );
+		int remaining = count;
+		while( remaining > 0 )
+		{
+			int offset = bitSize & 7;
+			int chunk = Math.min( 8 - offset, remaining );
+			int part = (int)( bits >>> ( remaining - chunk ) ) & ( ( 1 << chunk ) - 1 );
+			buffer[bitSize >>> 3] |= part << ( 8 - offset - chunk );
+			bitSize += chunk;
+			remaining -= chunk;
+		}
+	}
+
+	void writeOctets( @NotNull byte[] bytes, int offset, int length )
+	{
+		if( ( bitSize & 7 ) == 0 )
+		{
+			ensureCapacity( length * 8 );
+			System.arraycopy( bytes, offset, buffer, bitSize >>> 3, length );
+			bitSize += length * 8;
+		}
+		else
+			for( int i = offset; i < offset + length; i++ )
+				writeBits( bytes[i] & BYTE_MASK, 8 );
+	}
+
+	void align()
+	{
+		int remainder = bitSize & 7;
+		if( remainder != 0 )
+			bitSize += 8 - remainder;
+	}
+
+	private void ensureCapacity( int bits )
+	{
+		int required = ( bitSize + bits + 7 ) / 8;
+		if( required > buffer.length )
+			buffer = Arrays.copyOf( buffer, Math.max( required, buffer.length * 2 ) );
+	}
+}
@@ -0,0 +1,63 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.output;
+
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.IllegalValueException;
+import org.asn1s.api.type.Enumerated;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.x680.NamedValue;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+final class EnumeratedPerEncoder implements PerEncoder
+{
+	@Override
+	public void encode( @NotNull WriterContext context ) throws Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.ENUMERATED;
+		Enumerated type = (Enumerated)context.getType();
+		long value = context.getType().optimize( context.getScope(), context.getValue() ).toIntegerValue().asLong();
+
+		List<NamedValue> root = PerUtils.sortEnumeration( type.getRootValues() );
+		int index = PerUtils.indexOfEnumeration( root, value );
+		if( type.isExtensible() )
+			context.writeBit( index == -1 );
+
+		if( index != -1 )
+		{
+			PerEncoderUtils.writeConstrainedWholeNumber( context, index, 0, root.size() - 1 );
+			return;
+		}
+
+		index = PerUtils.indexOfEnumeration( PerUtils.sortEnumeration( type.getAdditionalValues() ), value );
+		if( index == -1 || !type.isExtensible() )
+			throw new IllegalValueException( "Value is not in enumeration: " + context.getValue() );
+		PerEncoderUtils.writeNormallySmallNumber( context, index );
+	}
+}
@@ -0,0 +1,58 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.output;
+
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value.Kind;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+
+final class IntegerPerEncoder implements PerEncoder
+{
+	@Override
+	public void encode( @NotNull WriterContext context )
+	{
+		assert context.getType().getFamily() == Family.INTEGER;
+		assert context.getValue().getKind() == Kind.INTEGER;
+		BigInteger value = context.getValue().toIntegerValue().asBigInteger();
+		EffectiveConstraint constraint = context.getConstraint();
+		BigInteger lb = constraint.getLowerBound();
+		BigInteger ub = constraint.getUpperBound();
+		if( constraint.isExtensible() )
+		{
+			boolean inRoot = ( lb == null || value.compareTo( lb ) >= 0 ) && ( ub == null || value.compareTo( ub ) <= 0 );
+			context.writeBit( !inRoot );
+			if( !inRoot )
+			{
+				PerEncoderUtils.writeUnconstrainedWholeNumber( context, value );
+				return;
+			}
+		}
+		PerEncoderUtils.writeWholeNumber( context, value, lb, ub );
+	}
+}
@@ -0,0 +1,76 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.output;
+
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value.Kind;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+final class OctetStringPerEncoder implements PerEncoder
+{
+	private static final int MAX_UNALIGNED_SIZE = 2;
+
+	@Override
+	public void encode( @NotNull WriterContext context )
+	{
+		assert context.getType().getFamily() == Family.OCTET_STRING;
+		assert context.getValue().getKind() == Kind.BYTE_ARRAY;
+		byte[] bytes = context.getValue().toByteArrayValue().asByteArray();
+		if( bytes == null )
+			bytes = new byte[0];
+
+		int lb = 0;
+		int ub = -1;
+		if( PerEncoderUtils.writeSizeExtensionBit( context, bytes.length ) )
+		{
+			lb = PerUtils.getSizeLowerBound( context.getConstraint() );
+			ub = PerUtils.getSizeUpperBound( context.getConstraint() );
+		}
+
+		if( ub == 0 )
+			return;
+
+		if( lb == ub && ub < PerUtils.MAX_CONSTRAINED_LENGTH )
+		{
+			if( ub > MAX_UNALIGNED_SIZE )
+				context.align();
+			context.writeOctets( bytes, 0, bytes.length );
+			return;
+		}
+
+		int offset = 0;
+		int count;
+		do
+		{
+			count = PerEncoderUtils.writeLength( context, bytes.length - offset, lb, ub );
+			if( count > 0 )
+				context.align();
+			context.writeOctets( bytes, offset, count );
+			offset += count;
+		} while( count >= PerUtils.FRAGMENT_SIZE );
+	}
+}
@@ -0,0 +1,334 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.output;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.constraint.EffectiveConstraint;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.value.Value;
+import org.asn1s.io.ber.BerRules;
+import org.asn1s.io.ber.BerUtils;
+import org.asn1s.io.ber.output.DefaultBerWriter;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Encoding procedures of X.691, clause 10
+ */
+@SuppressWarnings( "NumericCastThatLosesPrecision" )
+final class PerEncoderUtils
+{
+	private static final int TWO_OCTETS_LENGTH_FLAG = 0x8000;
+
+	private PerEncoderUtils()
+	{
+	}
+
+	/**
+	 * Encode whole number using bounds: constrained, semi-constrained or unconstrained (10.5, 10.7, 10.8)
+	 *
+	 * @param ctx   the context
+	 * @param value the value
+	 * @param lb    lower bound or null
+	 * @param ub    upper bound or null
+	 */
+	static void writeWholeNumber( WriterContext ctx, @NotNull BigInteger value, @Nullable BigInteger lb, @Nullable BigInteger ub )
+	{
+		if( lb != null && ub != null )
+			writeConstrainedWholeNumber( ctx, value, lb, ub );
+		else if( lb != null )
+			writeSemiConstrainedWholeNumber( ctx, value, lb );
+		else
+			writeUnconstrainedWholeNumber( ctx, value );
+	}
+
+	/**
+	 * Constrained whole number (10.5)
+	 *
+	 * @param ctx   the context
+	 * @param value the value
+	 * @param lb    the lower bound
+	 * @param ub    the upper bound
+	 */
+	static void writeConstrainedWholeNumber( WriterContext ctx, @NotNull BigInteger value, @NotNull BigInteger lb, @NotNull BigInteger ub )
+	{
+		BigInteger range = ub.subtract( lb ).add( BigInteger.ONE );
+		if( range.bitLength() < Long.SIZE - 1 )
+		{
+			writeConstrainedWholeNumber( ctx, value.subtract( lb ).longValue(), 0L, range.longValue() - 1 );
+			return;
+		}
+
+		BigInteger offset = value.subtract( lb );
+		if( ctx.isAligned() )
+		{
+			int octets = PerUtils.octetsForValue( offset );
+			writeConstrainedWholeNumber( ctx, octets, 1, PerUtils.octetsForValue( range.subtract( BigInteger.ONE ) ) );
+			ctx.align();
+			writeUnsigned( ctx, offset, octets );
+		}
+		else
+		{
+			int bits = PerUtils.bitsForRange( range );
+			for( int i = bits - 1; i >= 0; i-- )
+				ctx.writeBit( offset.testBit( i ) );
+		}
+	}
+
+	/**
+	 * Constrained whole number (10.5), range must fit into long
+	 *
+	 * @param ctx   the context
+	 * @param value the value
+	 * @param lb    the lower bound
+	 * @param ub    the upper bound
+	 */
+	static void writeConstrainedWholeNumber( WriterContext ctx, long value, long lb, long ub )
+	{
+		long range = ub - lb + 1;
+		long offset = value - lb;
+		if( range == 1 )
+			return;
+
+		if( !ctx.isAligned() || range <= PerUtils.MAX_BIT_FIELD_RANGE.longValue() )
+			ctx.writeBits( offset, PerUtils.bitsForRange( range ) );
+		else if( range == PerUtils.ONE_OCTET_RANGE.longValue() )
+		{
+			ctx.align();
+			ctx.writeBits( offset, 8 );
+		}
+		else if( range <= PerUtils.TWO_OCTETS_RANGE.longValue() )
+		{
+			ctx.align();
+			ctx.writeBits( offset, 16 );
+		}
+		else
+		{
+			int octets = octetsForValue( offset );
+			writeConstrainedWholeNumber( ctx, octets, 1, octetsForValue( range - 1 ) );
+			ctx.align();
+			ctx.writeBits( offset, octets * 8 );
+		}
+	}
+
+	/**
+	 * Semi-constrained whole number (10.7)
+	 *
+	 * @param ctx   the context
+	 * @param value the value
+	 * @param lb    the lower bound
+	 */
+	static void writeSemiConstrainedWholeNumber( WriterContext ctx, @NotNull BigInteger value, @NotNull BigInteger lb )
+	{
+		BigInteger offset = value.subtract( lb );
+		int octets = PerUtils.octetsForValue( offset );
+		writeLength( ctx, octets, 0, -1 );
+		writeUnsigned( ctx, offset, octets );
+	}
+
+	/**
+	 * Unconstrained whole number (10.8), the minimal two's complement form
+	 *
+	 * @param ctx   the context
+	 * @param value the value
+	 */
+	static void writeUnconstrainedWholeNumber( WriterContext ctx, @NotNull BigInteger value )
+	{
+		byte[] bytes = value.toByteArray();
+		writeLength( ctx, bytes.length, 0, -1 );
+		ctx.writeOctets( bytes, 0, bytes.length );
+	}
+
+	/**
+	 * Normally small non-negative whole number (10.6)
+	 *
+	 * @param ctx   the context
+	 * @param value the value
+	 */
+	static void writeNormallySmallNumber( WriterContext ctx, int value )
+	{
+		if( value <= PerUtils.MAX_NORMALLY_SMALL )
+		{
+			ctx.writeBit( false );
+			ctx.writeBits( value, PerUtils.NORMALLY_SMALL_BITS );
+		}
+		else
+		{
+			ctx.writeBit( true );
+			writeSemiConstrainedWholeNumber( ctx, BigInteger.valueOf( value ), BigInteger.ZERO );
+		}
+	}
+
+	/**
+	 * Normally small length (10.9.3.4), used for extension addition bitmaps
+	 *
+	 * @param ctx    the context
+	 * @param length the length, must be positive
+	 */
+	static void writeNormallySmallLength( WriterContext ctx, int length )
+	{
+		if( length <= PerUtils.MAX_NORMALLY_SMALL + 1 )
+		{
+			ctx.writeBit( false );
+			ctx.writeBits( length - 1, PerUtils.NORMALLY_SMALL_BITS );
+		}
+		else
+		{
+			ctx.writeBit( true );
+			writeLength( ctx, length, 0, -1 );
+		}
+	}
+
+	/**
+	 * Write length determinant (10.9). If the length is too big, then only the first fragment length is written
+	 * and caller must write fragment content and call this method again for the rest of items.
+	 * Content of the last fragment is followed by zero length if it's size is exactly a multiple of 16K.
+	 *
+	 * @param ctx    the context
+	 * @param length the length
+	 * @param lb     the lower bound of length
+	 * @param ub     the upper bound of length, -1 if there is no upper bound
+	 * @return amount of items that must be written after this length determinant
+	 */
+	static int writeLength( WriterContext ctx, int length, int lb, int ub )
+	{
+		if( ub != -1 && ub < PerUtils.MAX_CONSTRAINED_LENGTH )
+		{
+			writeConstrainedWholeNumber( ctx, length, lb, ub );
+			return length;
+		}
+
+		ctx.align();
+		if( length <= PerUtils.MAX_SHORT_LENGTH )
+		{
+			ctx.writeBits( length, 8 );
+			return length;
+		}
+
+		if( length < PerUtils.FRAGMENT_SIZE )
+		{
+			ctx.writeBits( TWO_OCTETS_LENGTH_FLAG | length, 16 );
+			return length;
+		}
+
+		int multiplier = Math.min( PerUtils.MAX_FRAGMENT_MULTIPLIER, length / PerUtils.FRAGMENT_SIZE );
+		ctx.writeBits( PerUtils.FRAGMENT_FLAG | multiplier, 8 );
+		return multiplier * PerUtils.FRAGMENT_SIZE;
+	}
+
+	/**
+	 * Write octets with unconstrained length determinant, fragmented if required.
+	 * Used for open type fields and octet strings without constraints
+	 *
+	 * @param ctx   the context
+	 * @param bytes the octets
+	 */
+	static void writeOctetsWithLength( WriterContext ctx, @NotNull byte[] bytes )
+	{
+		int offset = 0;
+		int count;
+		do
+		{
+			count = writeLength( ctx, bytes.length - offset, 0, -1 );
+			ctx.writeOctets( bytes, offset, count );
+			offset += count;
+		} while( count >= PerUtils.FRAGMENT_SIZE );
+	}
+
+	/**
+	 * Returns true if the size is in extension root. Writes extension bit if size constraint is extensible.
+	 *
+	 * @param ctx  the context
+	 * @param size the value size
+	 * @return false if value must be encoded as unconstrained
+	 */
+	static boolean writeSizeExtensionBit( WriterContext ctx, int size )
+	{
+		EffectiveConstraint constraint = ctx.getConstraint();
+		if( !PerUtils.isSizeExtensible( constraint ) )
+			return true;
+
+		int ub = PerUtils.getSizeUpperBound( constraint );
+		boolean inRoot = size >= PerUtils.getSizeLowerBound( constraint ) && ( ub == -1 || size <= ub );
+		ctx.writeBit( !inRoot );
+		return inRoot;
+	}
+
+	/**
+	 * Encode value using BER and return content octets, used for types which PER encodes as BER content
+	 *
+	 * @param scope the scope
+	 * @param type  the type
+	 * @param value the value
+	 * @return content octets
+	 * @throws IOException   if io fails
+	 * @throws Asn1Exception if value can not be encoded
+	 */
+	static byte[] toBerContent( Scope scope, Type type, Value value ) throws IOException, Asn1Exception
+	{
+		DefaultBerWriter writer = new DefaultBerWriter( BerRules.DER );
+		writer.write( scope, type, value );
+		byte[] bytes = writer.toByteArray();
+		int offset = 1;
+		if( ( bytes[0] & BerUtils.TAG_MASK ) == BerUtils.TAG_MASK )
+		{
+			// high tag number form, last tag octet has bit 8 cleared
+			while( ( bytes[offset] & BerUtils.BYTE_SIGN_MASK ) != 0 )
+				offset++;
+			offset++;
+		}
+
+		int lengthOctet = bytes[offset];
+		offset++;
+		if( ( lengthOctet & BerUtils.BYTE_SIGN_MASK ) != 0 )
+			offset += lengthOctet & BerUtils.UNSIGNED_BYTE_MASK;
+		return Arrays.copyOfRange( bytes, offset, bytes.length );
+	}
+
+	private static void writeUnsigned( WriterContext ctx, BigInteger value, int octets )
+	{
+		byte[] bytes = value.toByteArray();
+		if( bytes.length > octets )
+			ctx.writeOctets( bytes, bytes.length - octets, octets );
+		else
+		{
+			for( int i = bytes.length; i < octets; i++ )
+				ctx.writeBits( 0, 8 );
+			ctx.writeOctets( bytes, 0, bytes.length );
+		}
+	}
+
+	private static int octetsForValue( long value )
+	{
+		return Math.max( 1, ( Long.SIZE - Long.numberOfLeadingZeros( value ) + 7 ) / 8 );
+	}
+}
@@ -0,0 +1,94 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.output;
+
+import org.asn1s.api.Ref;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.exception.IllegalValueException;
+import org.asn1s.api.type.CollectionOfType;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.Value.Kind;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encoder for SEQUENCE OF and SET OF types (X.691, 20)
+ */
+final class SequenceOfPerEncoder implements PerEncoder
+{
+	@Override
+	public void encode( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		assert context.getType().getFamily() == Family.SEQUENCE_OF || context.getType().getFamily() == Family.SET_OF;
+		assert context.getValue().getKind() == Kind.COLLECTION || context.getValue().getKind() == Kind.NAMED_COLLECTION;
+
+		ValueCollection collection = context.getValue().toValueCollection();
+		ComponentType componentType = ( (CollectionOfType)context.getType() ).getComponentType();
+		List<Ref<Value>> values = collection.asValueList();
+		context.getScope().setValueLevel( collection );
+
+		int lb = 0;
+		int ub = -1;
+		if( PerEncoderUtils.writeSizeExtensionBit( context, values.size() ) )
+		{
+			lb = PerUtils.getSizeLowerBound( context.getConstraint() );
+			ub = PerUtils.getSizeUpperBound( context.getConstraint() );
+		}
+
+		if( lb == ub && ub < PerUtils.MAX_CONSTRAINED_LENGTH )
+		{
+			writeComponents( context, componentType, values, 0, values.size() );
+			return;
+		}
+
+		int offset = 0;
+		int count;
+		do
+		{
+			count = PerEncoderUtils.writeLength( context, values.size() - offset, lb, ub );
+			writeComponents( context, componentType, values, offset, count );
+			offset += count;
+		} while( count >= PerUtils.FRAGMENT_SIZE );
+	}
+
+	private static void writeComponents( WriterContext context, ComponentType componentType, List<Ref<Value>> values, int offset, int count ) throws IOException, Asn1Exception
+	{
+		for( int i = offset; i < offset + count; i++ )
+		{
+			Ref<Value> ref = values.get( i );
+			if( !( ref instanceof Value ) )
+				throw new IllegalValueException( "Unable to use references: " + ref );
+
+			context.writeComponent( componentType, (Value)ref );
+		}
+	}
+}
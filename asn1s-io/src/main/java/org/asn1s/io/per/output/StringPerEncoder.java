@@ -0,0 +1,111 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.output;
+
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.exception.Asn1Exception;
+import org.asn1s.api.type.StringType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.io.per.PerAlphabet;
+import org.asn1s.io.per.PerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encoder for restricted character strings, UTCTime and GeneralizedTime, which are encoded as VisibleString (X.691, 27, 31)
+ */
+final class StringPerEncoder implements PerEncoder
+{
+	private static final int MAX_UNALIGNED_BITS = 16;
+
+	@Override
+	public void encode( @NotNull WriterContext context ) throws IOException, Asn1Exception
+	{
+		Type type = context.getType();
+		if( type.getFamily() == Family.UTC_TIME || type.getFamily() == Family.GENERALIZED_TIME )
+		{
+			byte[] content = PerEncoderUtils.toBerContent( context.getScope(), type, context.getValue() );
+			writeKnownMultiplierString( context, UniversalType.VISIBLE_STRING, new String( content, StandardCharsets.ISO_8859_1 ) );
+			return;
+		}
+
+		assert type.getFamily() == Family.RESTRICTED_STRING;
+		UniversalType universalType = PerUtils.getStringUniversalType( type );
+		String value = context.getValue().toStringValue().asString();
+		if( PerUtils.isKnownMultiplierString( universalType ) )
+			writeKnownMultiplierString( context, universalType, value );
+		else
+			PerEncoderUtils.writeOctetsWithLength( context, value.getBytes( ( (StringType)type ).getCharset() ) );
+	}
+
+	private static void writeKnownMultiplierString( WriterContext context, UniversalType type, String value )
+	{
+		int[] characters = type == UniversalType.UNIVERSAL_STRING ? value.codePoints().toArray() : value.chars().toArray();
+		PerAlphabet alphabet = PerAlphabet.forType( type, context.getConstraint().getPermittedAlphabet(), context.isAligned() );
+		int bits = alphabet.getBits();
+
+		int lb = 0;
+		int ub = -1;
+		if( PerEncoderUtils.writeSizeExtensionBit( context, characters.length ) )
+		{
+			lb = PerUtils.getSizeLowerBound( context.getConstraint() );
+			ub = PerUtils.getSizeUpperBound( context.getConstraint() );
+		}
+
+		if( ub == 0 )
+			return;
+
+		boolean alignedContent = ub == -1 || (long)ub * bits > MAX_UNALIGNED_BITS;
+		if( lb == ub && ub < PerUtils.MAX_CONSTRAINED_LENGTH )
+		{
+			if( alignedContent )
+				context.align();
+			writeCharacters( context, alphabet, characters, 0, characters.length );
+			return;
+		}
+
+		int offset = 0;
+		int count;
+		do
+		{
+			count = PerEncoderUtils.writeLength( context, characters.length - offset, lb, ub );
+			if( count > 0 && alignedContent )
+				context.align();
+			writeCharacters( context, alphabet, characters, offset, count );
+			offset += count;
+		} while( count >= PerUtils.FRAGMENT_SIZE );
+	}
+
+	private static void writeCharacters( WriterContext context, PerAlphabet alphabet, int[] characters, int offset, int count )
+	{
+		int bits = alphabet.getBits();
+		for( int i = offset; i < offset + count; i++ )
+			context.writeBits( alphabet.toValue( characters[i] ), bits );
+	}
+}
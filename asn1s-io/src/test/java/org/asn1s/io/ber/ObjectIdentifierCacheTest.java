@@ -0,0 +1,70 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.ber;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ObjectIdentifierCacheTest
+{
+	@Test
+	public void testRoundTrip()
+	{
+		long[] arcs = {1L, 2L, 840L, 113549L, 1L, 1L, 11L};
+		byte[] content = ObjectIdentifierCache.toContent( arcs );
+		Assert.assertArrayEquals( "Content is not valid",
+		                          new byte[]{0x2A, (byte)0x86, 0x48, (byte)0x86, (byte)0xF7, 0x0D, 0x01, 0x01, 0x0B}, content );
+		Assert.assertArrayEquals( "Arcs are not equal", arcs, ObjectIdentifierCache.toArcs( content.clone() ) );
+		Assert.assertSame( "Arcs must be cached", ObjectIdentifierCache.toArcs( content.clone() ), ObjectIdentifierCache.toArcs( content.clone() ) );
+		Assert.assertSame( "Content must be cached", content, ObjectIdentifierCache.toContent( arcs.clone() ) );
+	}
+
+	@Test
+	public void testJointFirstArc()
+	{
+		long[] arcs = {2L, 999L, 3L};
+		byte[] content = ObjectIdentifierCache.toContent( arcs );
+		Assert.assertArrayEquals( "Content is not valid", new byte[]{(byte)0x88, 0x37, 0x03}, content );
+		Assert.assertArrayEquals( "Arcs are not equal", arcs, ObjectIdentifierCache.toArcs( content ) );
+	}
+
+	@Test
+	public void testUsedIdentifiersNotLockedOut()
+	{
+		for( int i = 0; i < ObjectIdentifierCache.MAX_ENTRIES * 2; i++ )
+			ObjectIdentifierCache.toArcs( new byte[]{0x2B, 0x7F, (byte)( 0x80 | i >>> 7 & 0x7F ), (byte)( i & 0x7F )} );
+
+		byte[] content = {0x2A, (byte)0x86, 0x48, 0x7F};
+		long[] arcs = ObjectIdentifierCache.toArcs( content.clone() );
+		Assert.assertSame( "Arcs must be cached after table is full", arcs, ObjectIdentifierCache.toArcs( content.clone() ) );
+	}
+
+	@Test( expected = IllegalArgumentException.class )
+	public void testTruncated()
+	{
+		ObjectIdentifierCache.toArcs( new byte[]{0x2A, (byte)0x86} );
+	}
+}
@@ -0,0 +1,88 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.ber.input;
+
+import org.asn1s.api.Asn1Factory;
+import org.asn1s.api.Scope;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.encoding.tag.Tag;
+import org.asn1s.api.encoding.tag.TagClass;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.type.CollectionType;
+import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.value.Value;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.core.value.CoreValueFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+
+public class BerReadPlanTest
+{
+	@Test
+	public void testChoicePlan() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		Scope scope = module.createScope();
+
+		CollectionType choice = factory.types().collection( Family.CHOICE );
+		choice.addComponent( Kind.PRIMARY, "number", UniversalType.INTEGER.ref() );
+		choice.addComponent( Kind.PRIMARY, "text", UniversalType.UTF8_STRING.ref() );
+		Type defined = factory.types().define( "MyChoice", choice, null );
+
+		BerReadPlan transientPlan = BerReadPlan.forType( choice );
+		Assert.assertNotSame( "Plans must not be kept for not validated types", transientPlan, BerReadPlan.forType( choice ) );
+
+		module.validate();
+		BerReadPlan plan = BerReadPlan.forType( choice );
+		Assert.assertSame( "Plan must be kept for validated type", plan, BerReadPlan.forType( choice ) );
+		Assert.assertEquals( "Illegal step", BerReadPlan.Step.CHOICE, plan.getStep() );
+
+		ComponentType number = plan.findAlternative( new Tag( TagClass.CONTEXT_SPECIFIC, false, 0 ) );
+		Assert.assertNotNull( "No alternative for [0]", number );
+		Assert.assertEquals( "Illegal alternative", "number", number.getName() );
+
+		ComponentType text = plan.findAlternative( new Tag( TagClass.CONTEXT_SPECIFIC, true, 1 ) );
+		Assert.assertNotNull( "No alternative for constructed [1]", text );
+		Assert.assertEquals( "Illegal alternative", "text", text.getName() );
+		Assert.assertNull( "Unexpected alternative for [2]", plan.findAlternative( new Tag( TagClass.CONTEXT_SPECIFIC, false, 2 ) ) );
+
+		Value expected = factory.values().named( "number", factory.values().integer( 42 ) );
+		byte[] result = InputUtils.writeValue( scope, defined, expected );
+		Assert.assertArrayEquals( "Illegal encoding", new byte[]{(byte)0x80, 0x01, 0x2A}, result );
+		try( ByteArrayInputStream is = new ByteArrayInputStream( result );
+		     AbstractBerReader reader = new DefaultBerReader( is, new CoreValueFactory() ) )
+		{
+			Value value = reader.read( scope, defined );
+			Assert.assertEquals( "Values are not equal", expected, value );
+		}
+	}
+}
@@ -0,0 +1,136 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.ber.input;
+
+import org.asn1s.api.Ref;
+import org.asn1s.api.Scope;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.value.ByteArrayValue;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.core.CoreUtils;
+import org.asn1s.core.module.CoreModule;
+import org.asn1s.core.type.x680.collection.SequenceOfType;
+import org.asn1s.core.value.CoreValueFactory;
+import org.asn1s.core.value.x680.IntegerValueInt;
+import org.asn1s.core.value.x680.ValueCollectionImpl;
+import org.asn1s.io.Asn1Reader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class ByteBufferBerReaderTest
+{
+	@Test
+	public void testOctetStringSlice() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		Type type = UniversalType.OCTET_STRING.ref().resolve( scope );
+		Value expected = CoreUtils.byteArrayFromHexString( "'AFF0'H" );
+		byte[] encoded = InputUtils.writeValue( scope, type, expected );
+		byte[] data = new byte[encoded.length + 4];
+		System.arraycopy( encoded, 0, data, 2, encoded.length );
+		try( Asn1Reader reader = new ByteBufferBerReader( data, 2, encoded.length, new CoreValueFactory() ) )
+		{
+			Value value = reader.read( scope, type );
+			Assert.assertEquals( "Values are not equal", expected, value );
+			Assert.assertEquals( "Hash codes are not equal", expected.hashCode(), value.hashCode() );
+			Assert.assertEquals( "Values are not equal", 0, expected.compareTo( value ) );
+			Assert.assertArrayEquals( "Arrays are not equal", new byte[]{(byte)0xAF, (byte)0xF0}, value.toByteArrayValue().asByteArray() );
+		}
+	}
+
+	@Test
+	public void testBitString() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		Type type = UniversalType.BIT_STRING.ref().resolve( scope );
+		byte[] data = {0x03, 0x03, 0x04, (byte)0xAF, (byte)0xF0};
+		try( Asn1Reader reader = new ByteBufferBerReader( data, new CoreValueFactory() ) )
+		{
+			ByteArrayValue value = reader.read( scope, type ).toByteArrayValue();
+			Assert.assertEquals( "Illegal bit count", 12, value.getUsedBits() );
+			Assert.assertEquals( "Illegal byte count", 2, value.size( false ) );
+		}
+	}
+
+	@Test
+	public void testDirectBuffer() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		SequenceOfType type = new SequenceOfType();
+		type.setComponent( "a", UniversalType.INTEGER.ref() );
+		type.validate( scope );
+		ValueCollection expected = new ValueCollectionImpl( true );
+		Ref<Value> valueInt = new IntegerValueInt( 256 );
+		expected.addNamed( "a", valueInt );
+		byte[] encoded = InputUtils.writeValue( scope, type, expected );
+		ByteBuffer buffer = ByteBuffer.allocateDirect( encoded.length );
+		buffer.put( encoded );
+		buffer.flip();
+		try( ByteBufferBerReader reader = new ByteBufferBerReader( buffer, new CoreValueFactory() ) )
+		{
+			Value value = reader.read( scope, type );
+			Assert.assertEquals( "Values are not equal", expected, value );
+			Assert.assertEquals( "Data must be consumed", 0, reader.remaining() );
+			Assert.assertEquals( "Buffer position must not change", 0, buffer.position() );
+		}
+	}
+
+	@Test
+	public void testSequentialRead() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		Type type = UniversalType.INTEGER.ref().resolve( scope );
+		byte[] first = InputUtils.writeValue( scope, type, new IntegerValueInt( 1 ) );
+		byte[] second = InputUtils.writeValue( scope, type, new IntegerValueInt( 100000 ) );
+		ByteBuffer buffer = ByteBuffer.allocate( first.length + second.length );
+		buffer.put( first ).put( second ).flip();
+		try( ByteBufferBerReader reader = new ByteBufferBerReader( buffer, new CoreValueFactory() ) )
+		{
+			Assert.assertEquals( "Values are not equal", new IntegerValueInt( 1 ), reader.read( scope, type ) );
+			Assert.assertEquals( "Illegal position", first.length, reader.position() );
+			Assert.assertEquals( "Values are not equal", 0, new IntegerValueInt( 100000 ).compareTo( reader.read( scope, type ) ) );
+			Assert.assertEquals( "Data must be consumed", 0, reader.remaining() );
+		}
+	}
+
+	@Test( expected = IOException.class )
+	public void testTruncated() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		Type type = UniversalType.OCTET_STRING.ref().resolve( scope );
+		byte[] data = {0x04, 0x05, 0x01, 0x02};
+		try( Asn1Reader reader = new ByteBufferBerReader( data, new CoreValueFactory() ) )
+		{
+			reader.read( scope, type );
+			Assert.fail( "Must fail" );
+		}
+	}
+}
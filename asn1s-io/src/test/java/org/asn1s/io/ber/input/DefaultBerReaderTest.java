@@ -26,26 +26,43 @@
 package org.asn1s.io.ber.input;
 
 import org.asn1s.api.Asn1Factory;
+import org.asn1s.api.BuiltinClass;
+import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.UniversalType;
 import org.asn1s.api.constraint.ConstraintTemplate;
+import org.asn1s.api.encoding.tag.TagClass;
 import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.encoding.tag.TagMethod;
 import org.asn1s.api.module.Module;
+import org.asn1s.api.type.CollectionType;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.DefinedType;
 import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
 import org.asn1s.api.type.TypeFactory;
 import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.api.value.x681.ObjectValue;
 import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.core.constraint.InstanceOfConstraint;
 import org.asn1s.core.type.CoreTypeFactory;
 import org.asn1s.core.value.CoreValueFactory;
 import org.asn1s.core.value.x680.IntegerValueInt;
 import org.asn1s.core.value.x680.RealValueBig;
 import org.asn1s.core.value.x680.RealValueFloat;
+import org.asn1s.io.ber.BerRules;
+import org.asn1s.io.ber.output.DefaultBerWriter;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class DefaultBerReaderTest
 {
@@ -89,4 +106,80 @@ public class DefaultBerReaderTest
 			Assert.assertEquals( "Values are not equal", expected, value );
 		}
 	}
+
+	@Test
+	public void testExplicitTaggedComponent() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		TagEncoding explicit = TagEncoding.create( module.getTagMethod(), TagMethod.EXPLICIT, TagClass.CONTEXT_SPECIFIC, 2 );
+		CollectionType sequenceType = factory.types().collection( Family.SEQUENCE );
+		sequenceType.addComponent( Kind.PRIMARY, "c", factory.types().tagged( explicit, UniversalType.INTEGER.ref() ) );
+		sequenceType.addComponent( Kind.PRIMARY, "d", UniversalType.INTEGER.ref() );
+		DefinedType type = factory.types().define( "Explicit-Sequence", sequenceType, null );
+		module.validate();
+
+		ValueCollection expected = factory.values().collection( true );
+		expected.addNamed( "c", factory.values().integer( 5 ) );
+		expected.addNamed( "d", factory.values().integer( 7 ) );
+
+		Scope scope = type.createScope();
+		// definite and indefinite length forms of explicit tag, EOC of tag must be consumed before next component
+		byte[] definite = {0x30, 0x08, (byte)0xA2, 0x03, 0x02, 0x01, 0x05, 0x02, 0x01, 0x07};
+		byte[] indefinite = {0x30, (byte)0x80, (byte)0xA2, (byte)0x80, 0x02, 0x01, 0x05, 0x00, 0x00, 0x02, 0x01, 0x07, 0x00, 0x00};
+		for( byte[] bytes : new byte[][]{definite, indefinite} )
+			try( ByteArrayInputStream is = new ByteArrayInputStream( bytes );
+			     AbstractBerReader reader = new DefaultBerReader( is, new CoreValueFactory() ) )
+			{
+				Assert.assertEquals( "Values are not equal", expected, reader.read( scope, type ) );
+				Assert.assertEquals( "Value is not consumed", bytes.length, reader.position() );
+			}
+	}
+
+	@Test
+	public void testInstanceOf() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		CollectionType maleType = factory.types().collection( Family.SEQUENCE );
+		maleType.addComponent( Kind.PRIMARY, "salary", UniversalType.INTEGER.ref() );
+		DefinedType male = factory.types().define( "Male", maleType, null );
+		Value maleId = factory.values().objectIdentifier( new long[]{1L, 0L, 1001L, 1L} );
+		Map<String, Ref<?>> fields = new HashMap<>();
+		fields.put( "&id", maleId );
+		fields.put( "&Type", male );
+		List<ObjectValue> objects = Collections.singletonList( new ObjectValue( fields ) );
+		Type instanceOf = factory.types().constrained( ( scope, type ) -> new InstanceOfConstraint( objects ),
+		                                               factory.types().instanceOf( BuiltinClass.TYPE_IDENTIFIER.ref() ) );
+		DefinedType type = factory.types().define( "My-Instance-of", instanceOf, null );
+		module.validate();
+
+		ValueCollection salary = factory.values().collection( true );
+		salary.addNamed( "salary", factory.values().integer( 10 ) );
+		ValueCollection expected = factory.values().collection( true );
+		expected.addNamed( "type-id", maleId );
+		expected.addNamed( "value", factory.values().openTypeValue( male, salary ) );
+
+		Scope scope = type.createScope();
+		byte[] definite;
+		try( DefaultBerWriter writer = new DefaultBerWriter( BerRules.DER ) )
+		{
+			writer.write( scope, type, expected );
+			definite = writer.toByteArray();
+		}
+		Assert.assertArrayEquals( "Wrong encoding",
+		                          new byte[]{0x28, 0x0D, 0x06, 0x04, 0x28, (byte)0x87, 0x69, 0x01, (byte)0xA0, 0x05, 0x30, 0x03, (byte)0x80, 0x01, 0x0A},
+		                          definite );
+
+		// open type enclosed by explicit tag must skip end of contents only for indefinite length form
+		byte[] indefinite = {0x28, (byte)0x80, 0x06, 0x04, 0x28, (byte)0x87, 0x69, 0x01, (byte)0xA0, (byte)0x80, 0x30, (byte)0x80, (byte)0x80, 0x01, 0x0A, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00};
+		for( byte[] bytes : new byte[][]{definite, indefinite} )
+			try( ByteArrayInputStream is = new ByteArrayInputStream( bytes );
+			     AbstractBerReader reader = new DefaultBerReader( is, new CoreValueFactory() ) )
+			{
+				Value value = reader.read( type.createScope(), type );
+				Assert.assertTrue( "Values are not equal: " + expected + " != " + value, expected.isEqualTo( value ) );
+				Assert.assertEquals( "Value is not consumed", bytes.length, reader.position() );
+			}
+	}
 }
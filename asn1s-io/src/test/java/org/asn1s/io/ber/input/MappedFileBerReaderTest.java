@@ -0,0 +1,214 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+package org.asn1s.io.ber.input;
+
+import org.asn1s.api.Scope;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.TypeUtils;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.core.CoreUtils;
+import org.asn1s.core.module.CoreModule;
+import org.asn1s.core.type.x680.collection.SequenceOfType;
+import org.asn1s.core.type.x680.collection.SequenceType;
+import org.asn1s.core.value.CoreValueFactory;
+import org.asn1s.core.value.x680.IntegerValueInt;
+import org.asn1s.core.value.x680.ValueCollectionImpl;
+import org.asn1s.io.Asn1ValueIterator;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+public class MappedFileBerReaderTest
+{
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testReadAndSeek() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		SequenceOfType type = new SequenceOfType();
+		type.setComponent( "a", UniversalType.INTEGER.ref() );
+		type.validate( scope );
+
+		int count = 10;
+		Value[] values = new Value[count];
+		long[] offsets = new long[count];
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		for( int i = 0; i < count; i++ )
+		{
+			ValueCollection collection = new ValueCollectionImpl( true );
+			for( int j = 0; j <= i; j++ )
+				collection.addNamed( "a", new IntegerValueInt( i * 1000 + j ) );
+			values[i] = collection;
+			offsets[i] = os.size();
+			os.write( InputUtils.writeValue( scope, type, collection ) );
+		}
+		File file = folder.newFile();
+		Files.write( file.toPath(), os.toByteArray() );
+
+		// small window makes values cross window bounds
+		try( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ );
+		     MappedFileBerReader reader = new MappedFileBerReader( channel, 7, new CoreValueFactory() ) )
+		{
+			for( int i = 0; i < count; i++ )
+			{
+				Assert.assertEquals( "Illegal offset", offsets[i], reader.position() );
+				Assert.assertEquals( "Values are not equal", values[i], reader.read( scope, type ) );
+			}
+			Assert.assertEquals( "File is not consumed", reader.size(), reader.position() );
+
+			reader.seek( offsets[3] );
+			Assert.assertEquals( "Values are not equal", values[3], reader.read( scope, type ) );
+		}
+	}
+
+	@Test
+	public void testOctetString() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		Type type = UniversalType.OCTET_STRING.ref().resolve( scope );
+		Value expected = CoreUtils.byteArrayFromHexString( "'00112233445566778899AABBCCDDEEFF'H" );
+		File file = folder.newFile();
+		Files.write( file.toPath(), InputUtils.writeValue( scope, type, expected ) );
+
+		try( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ );
+		     MappedFileBerReader reader = new MappedFileBerReader( channel, 5, new CoreValueFactory() ) )
+		{
+			Assert.assertEquals( "Values are not equal", expected, reader.read( scope, type ) );
+		}
+	}
+
+	@Test( expected = IOException.class )
+	public void testTruncated() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		File file = folder.newFile();
+		Files.write( file.toPath(), new byte[]{0x04, 0x05, 0x01} );
+
+		try( MappedFileBerReader reader = new MappedFileBerReader( file.toPath(), new CoreValueFactory() ) )
+		{
+			reader.read( scope, UniversalType.OCTET_STRING.ref() );
+		}
+	}
+
+	@Test
+	public void testLongFormLength() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		Type type = UniversalType.OCTET_STRING.ref().resolve( scope );
+		Value expected = CoreUtils.byteArrayFromHexString( "'001122'H" );
+		Assert.assertEquals( "Values are not equal", expected, readFile( scope, type, new byte[]{0x04, (byte)0x84, 0x00, 0x00, 0x00, 0x03, 0x00, 0x11, 0x22} ) );
+	}
+
+	@Test
+	public void testLongFormLengthTooLarge() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		Type type = UniversalType.OCTET_STRING.ref().resolve( scope );
+		// 2^31, 2^40 and 2^64 - 1
+		assertLengthError( scope, type, new byte[]{0x04, (byte)0x84, (byte)0x80, 0x00, 0x00, 0x00, 0x00}, "exceeds end of file" );
+		assertLengthError( scope, type, new byte[]{0x04, (byte)0x86, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00}, "exceeds end of file" );
+		assertLengthError( scope, type, new byte[]{0x04, (byte)0x88, -1, -1, -1, -1, -1, -1, -1, -1}, "exceeds end of file" );
+		assertLengthError( scope, type, new byte[]{0x04, (byte)0x82, 0x01, 0x00, 0x00}, "exceeds end of file" );
+		assertLengthError( scope, type, new byte[]{0x04, (byte)0x85, 0x01}, "Unexpected EOF" );
+		assertLengthError( scope, type, new byte[]{0x04, (byte)0xFF, 0x01}, "Reserved length form" );
+	}
+
+	@Test
+	public void testDefiniteLengthAbove2GB() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		SequenceType recordType = new SequenceType( false );
+		recordType.addComponent( Kind.PRIMARY, "a", UniversalType.INTEGER.ref() );
+		SequenceOfType type = new SequenceOfType();
+		type.setComponent( TypeUtils.DUMMY, recordType );
+		type.validate( scope );
+
+		// second record has unknown component of 2GB, which is skipped, file is sparse
+		long gap = 0x80000000L;
+		byte[] head = {
+				0x30, (byte)0x84, (byte)0x80, 0x00, 0x00, 0x19,
+				0x30, 0x03, 0x02, 0x01, 0x01,
+				0x30, (byte)0x84, (byte)0x80, 0x00, 0x00, 0x09, 0x02, 0x01, 0x02, (byte)0x81, (byte)0x84, (byte)0x80, 0x00, 0x00, 0x00
+		};
+		byte[] tail = {0x30, 0x03, 0x02, 0x01, 0x03};
+		File file = folder.newFile();
+		try( RandomAccessFile raf = new RandomAccessFile( file, "rw" ) )
+		{
+			raf.write( head );
+			raf.seek( head.length + gap );
+			raf.write( tail );
+		}
+
+		try( MappedFileBerReader reader = new MappedFileBerReader( file.toPath(), new CoreValueFactory() ) )
+		{
+			Asn1ValueIterator iterator = reader.readCollectionOf( scope, type );
+			for( int i = 1; i <= 3; i++ )
+			{
+				ValueCollection expected = new ValueCollectionImpl( true );
+				expected.addNamed( "a", new IntegerValueInt( i ) );
+				Assert.assertTrue( "Must have next", iterator.hasNext() );
+				Assert.assertEquals( "Values are not equal", expected, iterator.next() );
+			}
+			Assert.assertFalse( "Must not have next", iterator.hasNext() );
+			Assert.assertEquals( "File is not consumed", reader.size(), reader.position() );
+		}
+	}
+
+	private void assertLengthError( Scope scope, Type type, byte[] content, String message ) throws Exception
+	{
+		try
+		{
+			readFile( scope, type, content );
+			Assert.fail( "Length must not be accepted" );
+		} catch( IOException e )
+		{
+			Assert.assertTrue( "Illegal message: " + e.getMessage(), e.getMessage().contains( message ) );
+		}
+	}
+
+	private Value readFile( Scope scope, Type type, byte[] content ) throws Exception
+	{
+		File file = folder.newFile();
+		Files.write( file.toPath(), content );
+		try( MappedFileBerReader reader = new MappedFileBerReader( file.toPath(), new CoreValueFactory() ) )
+		{
+			return reader.read( scope, type );
+		}
+	}
+}
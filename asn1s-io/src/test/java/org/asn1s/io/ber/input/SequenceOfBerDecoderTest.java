@@ -25,21 +25,33 @@
 
 package org.asn1s.io.ber.input;
 
+import org.asn1s.api.Asn1Factory;
 import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.UniversalType;
+import org.asn1s.api.encoding.tag.TagClass;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.encoding.tag.TagMethod;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.type.CollectionOfType;
 import org.asn1s.api.type.ComponentType;
+import org.asn1s.api.type.DefinedType;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.type.TypeUtils;
 import org.asn1s.api.value.Value;
 import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.core.DefaultAsn1Factory;
 import org.asn1s.core.module.CoreModule;
 import org.asn1s.core.type.x680.collection.SequenceOfType;
 import org.asn1s.core.value.CoreValueFactory;
 import org.asn1s.core.value.x680.IntegerValueInt;
 import org.asn1s.core.value.x680.ValueCollectionImpl;
+import org.asn1s.io.Asn1ValueIterator;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.util.NoSuchElementException;
 
 public class SequenceOfBerDecoderTest
 {
@@ -63,4 +75,102 @@ public class SequenceOfBerDecoderTest
 			Assert.assertEquals( "Values are not equal", expected, value );
 		}
 	}
+
+	@Test
+	public void testReadCollectionOf_Definite() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		SequenceOfType type = new SequenceOfType();
+		type.setComponent( "a", UniversalType.INTEGER.ref() );
+		type.validate( scope );
+		ValueCollection expected = new ValueCollectionImpl( true );
+		for( int i = 0; i < 100; i++ )
+			expected.addNamed( "a", new IntegerValueInt( i ) );
+		byte[] result = InputUtils.writeValue( scope, type, expected );
+		try( AbstractBerReader reader = new ByteBufferBerReader( result, new CoreValueFactory() ) )
+		{
+			Asn1ValueIterator iterator = reader.readCollectionOf( scope, type );
+			for( Ref<Value> value : expected.asValueList() )
+			{
+				Assert.assertTrue( "Must have next", iterator.hasNext() );
+				Assert.assertEquals( "Values are not equal", value, iterator.next() );
+			}
+			Assert.assertFalse( "Must not have next", iterator.hasNext() );
+			Assert.assertEquals( "Collection is not consumed", result.length, reader.position() );
+		}
+	}
+
+	@Test
+	public void testReadCollectionOf_Indefinite() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		SequenceOfType type = new SequenceOfType();
+		type.setComponent( TypeUtils.DUMMY, UniversalType.INTEGER.ref() );
+		type.validate( scope );
+		byte[] bytes = {0x30, (byte)0x80, 0x02, 0x01, 0x01, 0x02, 0x01, 0x02, 0x00, 0x00, 0x02, 0x01, 0x07};
+		try( ByteArrayInputStream is = new ByteArrayInputStream( bytes );
+		     AbstractBerReader reader = new DefaultBerReader( is, new CoreValueFactory() ) )
+		{
+			Asn1ValueIterator iterator = reader.readCollectionOf( scope, type );
+			Assert.assertEquals( "Values are not equal", new IntegerValueInt( 1 ), iterator.next() );
+			Assert.assertEquals( "Values are not equal", new IntegerValueInt( 2 ), iterator.next() );
+			Assert.assertFalse( "Must not have next", iterator.hasNext() );
+			Assert.assertEquals( "Values are not equal", new IntegerValueInt( 7 ), reader.read( scope, UniversalType.INTEGER.ref() ) );
+		}
+	}
+
+	@Test
+	public void testReadCollectionOf_ExplicitTag() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		CollectionOfType sequenceOf = factory.types().collectionOf( Family.SEQUENCE_OF );
+		sequenceOf.setComponent( TypeUtils.DUMMY, UniversalType.INTEGER.ref() );
+		TagEncoding encoding = TagEncoding.create( module.getTagMethod(), TagMethod.EXPLICIT, TagClass.CONTEXT_SPECIFIC, 1 );
+		DefinedType type = factory.types().define( "Tagged", factory.types().tagged( encoding, sequenceOf ), null );
+		module.validate();
+		Scope scope = type.createScope();
+
+		byte[] bytes = {(byte)0xA1, (byte)0x80, 0x30, (byte)0x80, 0x02, 0x01, 0x05, 0x00, 0x00, 0x00, 0x00, 0x02, 0x01, 0x07};
+		try( AbstractBerReader reader = new ByteBufferBerReader( bytes, new CoreValueFactory() ) )
+		{
+			Asn1ValueIterator iterator = reader.readCollectionOf( scope, type );
+			Assert.assertTrue( "Must have next", iterator.hasNext() );
+			Assert.assertEquals( "Values are not equal", new IntegerValueInt( 5 ), iterator.next() );
+			Assert.assertFalse( "Must not have next", iterator.hasNext() );
+			Assert.assertEquals( "Values are not equal", new IntegerValueInt( 7 ), reader.read( scope, UniversalType.INTEGER.ref() ) );
+		}
+	}
+
+	@Test
+	public void testReadCollectionOf_ValueLevel() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		SequenceOfType type = new SequenceOfType();
+		type.setComponent( TypeUtils.DUMMY, UniversalType.INTEGER.ref() );
+		type.validate( scope );
+		try( AbstractBerReader reader = new ByteBufferBerReader( new byte[]{0x30, 0x06, 0x02, 0x01, 0x01, 0x02, 0x01, 0x02}, new CoreValueFactory() ) )
+		{
+			Asn1ValueIterator iterator = reader.readCollectionOf( scope, type );
+			Assert.assertTrue( "Value level must be collection", scope.getValueLevel() instanceof ValueCollection );
+			Value level = scope.getValueLevel();
+			iterator.next();
+			scope.setValueLevel( new IntegerValueInt( 0 ) );
+			iterator.next();
+			Assert.assertSame( "Value level must be restored", level, scope.getValueLevel() );
+		}
+	}
+
+	@Test( expected = NoSuchElementException.class )
+	public void testReadCollectionOf_Empty() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		SequenceOfType type = new SequenceOfType();
+		type.setComponent( TypeUtils.DUMMY, UniversalType.INTEGER.ref() );
+		type.validate( scope );
+		try( AbstractBerReader reader = new ByteBufferBerReader( new byte[]{0x30, 0x00}, new CoreValueFactory() ) )
+		{
+			reader.readCollectionOf( scope, type ).next();
+		}
+	}
 }
@@ -68,4 +68,27 @@ public class SetBerDecoderTest
 			Assert.assertEquals( "Values are not equal", expected, value );
 		}
 	}
+
+	@Test
+	public void testWideSet() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		SetType type = new SetType( true );
+		for( int i = 0; i < 150; i++ )
+			type.addComponent( Kind.PRIMARY, "c" + i, UniversalType.INTEGER.ref() ).setOptional( true );
+		type.setNamespace( "A." );
+		type.validate( scope );
+
+		ValueCollection expected = new ValueCollectionImpl( true );
+		for( int i = 0; i < 150; i += 3 )
+			expected.add( new NamedValueImpl( "c" + i, new IntegerValueInt( i ) ) );
+
+		byte[] result = InputUtils.writeValue( scope, type, expected );
+		try( ByteArrayInputStream is = new ByteArrayInputStream( result );
+		     AbstractBerReader reader = new DefaultBerReader( is, new CoreValueFactory() ) )
+		{
+			Value value = reader.read( scope, type );
+			Assert.assertEquals( "Values are not equal", expected, value );
+		}
+	}
 }
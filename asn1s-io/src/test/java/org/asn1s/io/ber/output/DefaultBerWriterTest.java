@@ -30,6 +30,7 @@ import org.asn1s.api.Ref;
 import org.asn1s.api.Scope;
 import org.asn1s.api.UniversalType;
 import org.asn1s.api.constraint.ConstraintTemplate;
+import org.asn1s.api.encoding.tag.Tag;
 import org.asn1s.api.encoding.tag.TagClass;
 import org.asn1s.api.encoding.tag.TagEncoding;
 import org.asn1s.api.encoding.tag.TagMethod;
@@ -43,6 +44,7 @@ import org.asn1s.api.type.TypeFactory;
 import org.asn1s.api.value.Value;
 import org.asn1s.api.value.x680.ValueCollection;
 import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.core.module.CoreModule;
 import org.asn1s.core.type.CoreTypeFactory;
 import org.asn1s.core.value.CoreValueFactory;
 import org.asn1s.core.value.x680.IntegerValueInt;
@@ -60,6 +62,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
 
 public class DefaultBerWriterTest
 {
@@ -82,6 +86,44 @@ public class DefaultBerWriterTest
 		}
 	}
 
+	@Test
+	public void testWriteTrusted() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		Scope scope = module.createScope();
+
+		ConstraintTemplate constraintTemplate = factory.constraints().valueRange( new IntegerValueInt( 0 ), false, new IntegerValueInt( 10 ), false );
+		Type constrained = factory.types().constrained( constraintTemplate, UniversalType.INTEGER.ref() );
+		Type defined = factory.types().define( "MyInt", constrained, null );
+		module.validate();
+
+		byte[] expected;
+		try( Asn1Writer writer = new DefaultBerWriter( BerRules.DER ) )
+		{
+			writer.write( scope, defined, new IntegerValueInt( 5 ) );
+			expected = writer.toByteArray();
+		}
+
+		Value value;
+		try( Asn1Reader reader = new DefaultBerReader( new ByteArrayInputStream( expected ), new CoreValueFactory() ) )
+		{
+			value = reader.read( scope, defined );
+		}
+
+		try( Asn1Writer writer = new DefaultBerWriter( BerRules.DER ) )
+		{
+			writer.writeTrusted( scope, defined, value );
+			Assert.assertArrayEquals( "Encodings are not equal", expected, writer.toByteArray() );
+		}
+
+		try( Asn1Writer writer = new DefaultBerWriter( BerRules.DER ) )
+		{
+			writer.writeTrusted( scope, defined, new IntegerValueInt( 11 ) );
+			Assert.assertEquals( "Trusted values must not be checked", 3, writer.toByteArray().length );
+		}
+	}
+
 	@Test
 	public void testHugeTagNumber() throws Exception
 	{
@@ -117,6 +159,140 @@ public class DefaultBerWriterTest
 		}
 	}
 
+	@Test
+	public void testNestedBuffers() throws Exception
+	{
+		Tag outer = new Tag( TagClass.UNIVERSAL, true, UniversalType.SEQUENCE.tagNumber() );
+		Tag inner = new Tag( TagClass.CONTEXT_SPECIFIC, true, 1 );
+		Tag primitive = new Tag( TagClass.UNIVERSAL, false, UniversalType.OCTET_STRING.tagNumber() );
+		byte[] content = new byte[300];
+		Arrays.fill( content, (byte)0x55 );
+
+		try( DefaultBerWriter writer = new DefaultBerWriter( BerRules.DER ) )
+		{
+			for( int i = 0; i < 2; i++ )
+			{
+				writer.startBuffer( -1 );
+				writer.startBuffer( -1 );
+				writer.writeHeader( primitive, content.length );
+				writer.write( content );
+				writer.stopBuffer( inner );
+				writer.startBuffer( 0 );
+				writer.stopBuffer( inner );
+				writer.stopBuffer( outer );
+			}
+
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			for( int i = 0; i < 2; i++ )
+			{
+				expected.write( new byte[]{0x30, (byte)0x82, 0x01, 0x36, (byte)0xA1, (byte)0x82, 0x01, 0x30, 0x04, (byte)0x82, 0x01, 0x2C} );
+				expected.write( content );
+				expected.write( new byte[]{(byte)0xA1, 0x00} );
+			}
+			Assert.assertArrayEquals( "Nested buffers encoded incorrectly", expected.toByteArray(), writer.toByteArray() );
+		}
+	}
+
+	@Test
+	public void testCerSegmentedOctetString() throws Exception
+	{
+		Scope scope = CoreModule.getInstance().createScope();
+		byte[] content = new byte[2500];
+		Arrays.fill( content, (byte)0x55 );
+		try( Asn1Writer writer = new DefaultBerWriter( BerRules.CER ) )
+		{
+			writer.write( scope, UniversalType.OCTET_STRING.ref(), new CoreValueFactory().byteArrayValue( content.length * 8, content ) );
+
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			expected.write( new byte[]{0x24, (byte)0x80} );
+			expected.write( new byte[]{0x04, (byte)0x82, 0x03, (byte)0xE8} );
+			expected.write( content, 0, 1000 );
+			expected.write( new byte[]{0x04, (byte)0x82, 0x03, (byte)0xE8} );
+			expected.write( content, 1000, 1000 );
+			expected.write( new byte[]{0x04, (byte)0x82, 0x01, (byte)0xF4} );
+			expected.write( content, 2000, 500 );
+			expected.write( new byte[]{0x00, 0x00} );
+			Assert.assertArrayEquals( "Illegal CER encoding", expected.toByteArray(), writer.toByteArray() );
+		}
+	}
+
+	@Test
+	public void testCerNamedBitStringTrimmedBeforeSegmenting() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		Type bitString = factory.types().builtin( "BIT STRING", Collections.singletonList( factory.values().named( "flag", factory.values().integer( 0 ) ) ) );
+		DefinedType type = factory.types().define( "Flags", bitString, null );
+		TagEncoding implicit = TagEncoding.create( module.getTagMethod(), TagMethod.IMPLICIT, TagClass.CONTEXT_SPECIFIC, 1 );
+		DefinedType taggedType = factory.types().define( "Tagged-Flags", factory.types().tagged( implicit, type ), null );
+		module.validate();
+
+		// 1001 content octets with unused bits octet, but only 1000 after trailing zero octets are removed
+		byte[] content = new byte[1000];
+		Arrays.fill( content, 0, 999, (byte)0x55 );
+		assertPrimitiveBitString( type, factory.values().byteArrayValue( content.length * 8, content ), (byte)0x03, content );
+		assertPrimitiveBitString( taggedType, factory.values().byteArrayValue( content.length * 8, content ), (byte)0x81, content );
+	}
+
+	private static void assertPrimitiveBitString( DefinedType type, Value value, byte tag, byte[] content ) throws Exception
+	{
+		try( Asn1Writer writer = new DefaultBerWriter( BerRules.CER ) )
+		{
+			writer.write( type.createScope(), type, value );
+
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			expected.write( new byte[]{tag, (byte)0x82, 0x03, (byte)0xE8, 0x00} );
+			expected.write( content, 0, 999 );
+			Assert.assertArrayEquals( "Must be primitive encoding", expected.toByteArray(), writer.toByteArray() );
+		}
+	}
+
+	@Test
+	public void testCerReadWrite() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+
+		TagEncoding implicit = TagEncoding.create( module.getTagMethod(), TagMethod.IMPLICIT, TagClass.CONTEXT_SPECIFIC, 1 );
+		TagEncoding explicit = TagEncoding.create( module.getTagMethod(), TagMethod.EXPLICIT, TagClass.CONTEXT_SPECIFIC, 2 );
+		CollectionType sequenceType = factory.types().collection( Family.SEQUENCE );
+		sequenceType.addComponent( Kind.PRIMARY, "a", UniversalType.OCTET_STRING.ref() );
+		sequenceType.addComponent( Kind.PRIMARY, "b", factory.types().tagged( implicit, UniversalType.OCTET_STRING.ref() ) );
+		sequenceType.addComponent( Kind.PRIMARY, "c", factory.types().tagged( explicit, UniversalType.INTEGER.ref() ) );
+		sequenceType.addComponent( Kind.PRIMARY, "d", UniversalType.IA5_STRING.ref() );
+		sequenceType.addComponent( Kind.PRIMARY, "e", UniversalType.BIT_STRING.ref() );
+		DefinedType type = factory.types().define( "My-Sequence", sequenceType, null );
+		module.validate();
+
+		byte[] bytes = new byte[1200];
+		for( int i = 0; i < bytes.length; i++ )
+			bytes[i] = (byte)i;
+		char[] chars = new char[1500];
+		Arrays.fill( chars, 'x' );
+
+		ValueCollection collection = factory.values().collection( true );
+		collection.addNamed( "a", factory.values().byteArrayValue( 16, new byte[]{1, 2} ) );
+		collection.addNamed( "b", factory.values().byteArrayValue( bytes.length * 8, bytes ) );
+		collection.addNamed( "c", factory.values().integer( 1 ) );
+		collection.addNamed( "d", factory.values().cString( new String( chars ) ) );
+		collection.addNamed( "e", factory.values().byteArrayValue( bytes.length * 8 - 3, bytes ) );
+
+		Scope scope = type.createScope();
+		byte[] encoded;
+		try( Asn1Writer writer = new DefaultBerWriter( BerRules.CER ) )
+		{
+			writer.write( scope, type, collection );
+			encoded = writer.toByteArray();
+		}
+		Assert.assertEquals( "Must be indefinite form", (byte)0x80, encoded[1] );
+
+		try( ByteArrayInputStream bis = new ByteArrayInputStream( encoded );
+		     Asn1Reader is = new DefaultBerReader( bis, new CoreValueFactory() ) )
+		{
+			Assert.assertEquals( "Values are not equal", collection, is.read( scope, type ) );
+		}
+	}
+
 	@Test
 	public void testChoiceReadWrite() throws Exception
 	{
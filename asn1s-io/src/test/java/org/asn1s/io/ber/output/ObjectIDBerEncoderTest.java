@@ -52,6 +52,7 @@ public class ObjectIDBerEncoderTest
 			               new NamedValueImpl( "absd", new IntegerValueInt( 1 ) ),
 			               new NamedValueImpl( "hello", new IntegerValueInt( 256 ) )
 			) );
+	private static final byte[] CONTENT = {0x00, 0x01, (byte)0x82, 0x00};
 
 	@Test
 	public void testEncode_NoHeader() throws Exception
@@ -61,28 +62,21 @@ public class ObjectIDBerEncoderTest
 		try( AbstractBerWriter writer = mock( AbstractBerWriter.class ) )
 		{
 			new ObjectIDBerEncoder().encode( new WriterContext( writer, scope, type, OPTIMIZED_OID_VALUE, false ) );
-			verify( writer, times( 2 ) ).write( 0 );
-			verify( writer ).write( 1 );
-			verify( writer ).write( (byte)0x82 );
+			verify( writer ).write( CONTENT );
 			verifyNoMoreInteractions( writer );
 		}
 	}
 
 	@Test
-	public void testEncode_Buffered() throws Exception
+	public void testEncode_Header() throws Exception
 	{
 		Scope scope = CoreModule.getInstance().createScope();
 		Type type = UniversalType.OBJECT_IDENTIFIER.ref().resolve( scope );
 		try( AbstractBerWriter writer = mock( AbstractBerWriter.class ) )
 		{
-			when( writer.isBufferingAvailable() ).thenReturn( true );
 			new ObjectIDBerEncoder().encode( new WriterContext( writer, scope, type, OPTIMIZED_OID_VALUE, true ) );
-			verify( writer ).isBufferingAvailable();
-			verify( writer ).startBuffer( -1 );
-			verify( writer, times( 2 ) ).write( 0 );
-			verify( writer ).write( 1 );
-			verify( writer ).write( (byte)0x82 );
-			verify( writer ).stopBuffer( TAG );
+			verify( writer ).writeHeader( TAG, CONTENT.length );
+			verify( writer ).write( CONTENT );
 			verifyNoMoreInteractions( writer );
 		}
 	}
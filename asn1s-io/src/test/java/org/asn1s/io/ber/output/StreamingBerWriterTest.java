@@ -0,0 +1,145 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+package org.asn1s.io.ber.output;
+
+import org.asn1s.api.Asn1Factory;
+import org.asn1s.api.Ref;
+import org.asn1s.api.Scope;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.encoding.tag.TagClass;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.encoding.tag.TagMethod;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.type.CollectionOfType;
+import org.asn1s.api.type.CollectionType;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.DefinedType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.type.TypeUtils;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.io.Asn1Writer;
+import org.asn1s.io.ber.BerRules;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class StreamingBerWriterTest
+{
+	@Test
+	public void testSequenceOfChoices() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+
+		CollectionType sequenceType = factory.types().collection( Family.SEQUENCE );
+		sequenceType.addComponent( Kind.PRIMARY, "a", UniversalType.INTEGER.ref() );
+		sequenceType.addComponent( Kind.PRIMARY, "b", UniversalType.OCTET_STRING.ref() );
+		sequenceType.addComponent( Kind.PRIMARY, "c", factory.types().collection( Family.SEQUENCE ) );
+
+		CollectionType choiceType = factory.types().collection( Family.CHOICE );
+		choiceType.addComponent( Kind.PRIMARY, "seq", sequenceType );
+		choiceType.addComponent( Kind.PRIMARY, "oid", UniversalType.OBJECT_IDENTIFIER.ref() );
+
+		CollectionOfType sequenceOfType = factory.types().collectionOf( Family.SEQUENCE_OF );
+		sequenceOfType.setComponent( TypeUtils.DUMMY, choiceType );
+		DefinedType type = factory.types().define( "Items", sequenceOfType, null );
+		module.validate();
+
+		ValueCollection items = factory.values().collection( false );
+		for( int i = 0; i < 100; i++ )
+		{
+			ValueCollection collection = factory.values().collection( true );
+			collection.addNamed( "a", factory.values().integer( i * 1000 ) );
+			collection.addNamed( "b", factory.values().byteArrayValue( 64, new byte[]{1, 2, 3, 4, 5, 6, 7, (byte)i} ) );
+			collection.addNamed( "c", factory.values().collection( false ) );
+			items.add( factory.values().named( "seq", collection ) );
+			items.add( factory.values().named( "oid", factory.values().objectIdentifier( Arrays.asList( factory.values().integer( 1 ), factory.values().integer( 2 ), factory.values().integer( i ) ) ) ) );
+		}
+
+		Scope scope = type.createScope();
+		assertSameEncoding( scope, type, type.optimize( scope, items ) );
+	}
+
+	@Test
+	public void testTagged() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+
+		TagEncoding explicit = TagEncoding.create( module.getTagMethod(), TagMethod.EXPLICIT, TagClass.APPLICATION, 2048 );
+		DefinedType inner = factory.types().define( "Inner", factory.types().tagged( explicit, UniversalType.INTEGER.ref() ), null );
+		TagEncoding explicitOuter = TagEncoding.create( module.getTagMethod(), TagMethod.EXPLICIT, TagClass.CONTEXT_SPECIFIC, 1 );
+		DefinedType outer = factory.types().define( "Outer", factory.types().tagged( explicitOuter, inner ), null );
+		module.validate();
+
+		assertSameEncoding( outer.createScope(), outer, factory.values().integer( 100 ) );
+	}
+
+	@Test( expected = IOException.class )
+	public void testToByteArrayFail() throws Exception
+	{
+		try( Asn1Writer writer = new StreamingBerWriter( BerRules.DER, new ByteArrayOutputStream() ) )
+		{
+			writer.toByteArray();
+		}
+	}
+
+	private static void assertSameEncoding( Scope scope, Ref<Type> type, Value value ) throws Exception
+	{
+		byte[] expected;
+		try( Asn1Writer writer = new DefaultBerWriter( BerRules.DER ) )
+		{
+			writer.write( scope, type, value );
+			expected = writer.toByteArray();
+		}
+
+		// default spool, spool smaller than value and two passes
+		for( int spoolLimit : new int[]{64 * 1024, 16, 0} )
+			assertSameEncoding( scope, type, value, expected, spoolLimit );
+	}
+
+	private static void assertSameEncoding( Scope scope, Ref<Type> type, Value value, byte[] expected, int spoolLimit ) throws Exception
+	{
+		try( ByteArrayOutputStream os = new ByteArrayOutputStream();
+		     Asn1Writer writer = new StreamingBerWriter( BerRules.DER, os, spoolLimit ) )
+		{
+			writer.write( scope, type, value );
+			writer.write( scope, type, value );
+			byte[] actual = os.toByteArray();
+			Assert.assertEquals( "Invalid size", expected.length * 2, actual.length );
+			for( int i = 0; i < expected.length; i++ )
+			{
+				Assert.assertEquals( "Byte mismatch at " + i, expected[i], actual[i] );
+				Assert.assertEquals( "Byte mismatch at " + i, expected[i], actual[expected.length + i] );
+			}
+		}
+	}
+}
@@ -0,0 +1,265 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.oer;
+
+import org.asn1s.api.Asn1Factory;
+import org.asn1s.api.Scope;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.constraint.ConstraintFactory;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.type.CollectionOfType;
+import org.asn1s.api.type.CollectionType;
+import org.asn1s.api.type.CollectionTypeExtensionGroup;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.DefinedType;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.type.TypeUtils;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.BooleanValue;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.io.Asn1Reader;
+import org.asn1s.io.Asn1ValueIterator;
+import org.asn1s.io.Asn1Writer;
+import org.asn1s.io.oer.input.DefaultOerReader;
+import org.asn1s.io.oer.output.DefaultOerWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class OerReadWriteTest
+{
+	@Test
+	public void testInteger() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		ConstraintFactory constraints = factory.constraints();
+		DefinedType unconstrained = factory.types().define( "Int", UniversalType.INTEGER.ref(), null );
+		DefinedType unsigned = factory.types().define( "Unsigned", factory.types().constrained(
+				constraints.valueRange( factory.values().integer( 0 ), false, factory.values().integer( 65535 ), false ),
+				UniversalType.INTEGER.ref() ), null );
+		DefinedType signed = factory.types().define( "Signed", factory.types().constrained(
+				constraints.valueRange( factory.values().integer( -100 ), false, factory.values().integer( 100 ), false ),
+				UniversalType.INTEGER.ref() ), null );
+		DefinedType semiConstrained = factory.types().define( "Natural", factory.types().constrained(
+				constraints.valueRange( factory.values().integer( 0 ), false, null, false ),
+				UniversalType.INTEGER.ref() ), null );
+		DefinedType extensible = factory.types().define( "Extensible", factory.types().constrained(
+				constraints.elementSetSpecs( constraints.valueRange( factory.values().integer( 0 ), false, factory.values().integer( 255 ), false ), true, null ),
+				UniversalType.INTEGER.ref() ), null );
+		module.validate();
+
+		assertEncoding( unconstrained, factory.values().integer( 0 ), new byte[]{0x01, 0x00} );
+		assertEncoding( unconstrained, factory.values().integer( -100 ), new byte[]{0x01, (byte)0x9C} );
+		assertEncoding( unconstrained, factory.values().integer( 99990 ), new byte[]{0x03, 0x01, (byte)0x86, (byte)0x96} );
+		assertEncoding( unsigned, factory.values().integer( 1000 ), new byte[]{0x03, (byte)0xE8} );
+		assertEncoding( signed, factory.values().integer( -1 ), new byte[]{(byte)0xFF} );
+		assertEncoding( semiConstrained, factory.values().integer( 200 ), new byte[]{0x01, (byte)0xC8} );
+		assertEncoding( extensible, factory.values().integer( 200 ), new byte[]{0x02, 0x00, (byte)0xC8} );
+	}
+
+	@Test
+	public void testStrings() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		ConstraintFactory constraints = factory.constraints();
+		DefinedType fixed = factory.types().define( "Code", factory.types().constrained(
+				constraints.size( constraints.value( factory.values().integer( 3 ) ) ),
+				UniversalType.IA5_STRING.ref() ), null );
+		DefinedType bmp = factory.types().define( "Text", UniversalType.BMP_STRING.ref(), null );
+		DefinedType bits = factory.types().define( "Bits", UniversalType.BIT_STRING.ref(), null );
+		DefinedType octets = factory.types().define( "Octets", factory.types().constrained(
+				constraints.size( constraints.value( factory.values().integer( 2 ) ) ),
+				UniversalType.OCTET_STRING.ref() ), null );
+		module.validate();
+
+		assertEncoding( fixed, factory.values().cString( "abc" ), new byte[]{0x61, 0x62, 0x63} );
+		assertEncoding( bmp, factory.values().cString( "A" ), new byte[]{0x02, 0x00, 0x41} );
+		assertEncoding( bits, factory.values().byteArrayValue( 2, new byte[]{0x40} ), new byte[]{0x02, 0x06, 0x40} );
+		assertEncoding( octets, factory.values().byteArrayValue( 16, new byte[]{1, 2} ), new byte[]{0x01, 0x02} );
+	}
+
+	@Test
+	public void testSequenceWithExtensionGroups() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+
+		CollectionType sequenceType = factory.types().collection( Family.SEQUENCE );
+		sequenceType.addComponent( Kind.PRIMARY, "a", UniversalType.INTEGER.ref() );
+		sequenceType.addComponent( Kind.PRIMARY, "b", UniversalType.BOOLEAN.ref() ).setDefaultValueRef( BooleanValue.FALSE );
+		sequenceType.addComponent( Kind.PRIMARY, "aa", UniversalType.INTEGER.ref() );
+		sequenceType.setExtensible( true );
+		CollectionTypeExtensionGroup first = factory.types().extensionGroup( Family.SEQUENCE );
+		first.addComponent( Kind.EXTENSION, "c", UniversalType.INTEGER.ref() ).setDefaultValueRef( factory.values().integer( 1 ) );
+		first.addComponent( Kind.EXTENSION, "d", UniversalType.INTEGER.ref() );
+		sequenceType.addExtensionGroup( first );
+		CollectionTypeExtensionGroup second = factory.types().extensionGroup( Family.SEQUENCE );
+		second.addComponent( Kind.EXTENSION, "e", UniversalType.BOOLEAN.ref() );
+		second.addComponent( Kind.EXTENSION, "f", UniversalType.INTEGER.ref() ).setDefaultValueRef( factory.values().integer( 0 ) );
+		sequenceType.addExtensionGroup( second );
+		DefinedType type = factory.types().define( "My-Seq", sequenceType, null );
+		module.validate();
+
+		ValueCollection value = factory.values().collection( true );
+		value.addNamed( "a", factory.values().integer( 1 ) );
+		value.addNamed( "aa", factory.values().integer( 2 ) );
+		assertEncoding( type, value, new byte[]{0x00, 0x01, 0x01, 0x01, 0x02} );
+
+		value.addNamed( "d", factory.values().integer( 3 ) );
+		assertEncoding( type, value, new byte[]{(byte)0x80, 0x01, 0x01, 0x01, 0x02, 0x02, 0x06, (byte)0x80, 0x03, 0x00, 0x01, 0x03} );
+
+		value.addNamed( "e", BooleanValue.TRUE );
+		value.addNamed( "f", factory.values().integer( 1 ) );
+		assertEncoding( type, value, new byte[]{(byte)0x80, 0x01, 0x01, 0x01, 0x02, 0x02, 0x06, (byte)0xC0, 0x03, 0x00, 0x01, 0x03, 0x04, (byte)0x80, (byte)0xFF, 0x01, 0x01} );
+	}
+
+	@Test
+	public void testChoiceAndSequenceOf() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+
+		CollectionType choiceType = factory.types().collection( Family.CHOICE );
+		choiceType.addComponent( Kind.PRIMARY, "number", UniversalType.INTEGER.ref() );
+		choiceType.addComponent( Kind.PRIMARY, "text", UniversalType.UTF8_STRING.ref() );
+		choiceType.setExtensible( true );
+		choiceType.addComponent( Kind.EXTENSION, "flag", UniversalType.BOOLEAN.ref() );
+
+		CollectionOfType sequenceOfType = factory.types().collectionOf( Family.SEQUENCE_OF );
+		sequenceOfType.setComponent( TypeUtils.DUMMY, choiceType );
+		DefinedType type = factory.types().define( "Items", sequenceOfType, null );
+		module.validate();
+
+		ValueCollection items = factory.values().collection( false );
+		for( int i = 0; i < 100; i++ )
+		{
+			items.add( factory.values().named( "number", factory.values().integer( i ) ) );
+			items.add( factory.values().named( "text", factory.values().cString( "item " + i ) ) );
+			items.add( factory.values().named( "flag", i % 2 == 0 ? BooleanValue.TRUE : BooleanValue.FALSE ) );
+		}
+
+		Scope scope = type.createScope();
+		Value value = type.optimize( scope, items );
+		byte[] bytes = write( type, value );
+		// quantity 300, then context-specific tag [0] of the first alternative
+		Assert.assertArrayEquals( "Invalid prefix", new byte[]{0x02, 0x01, 0x2C, (byte)0x80, 0x01, 0x00}, Arrays.copyOf( bytes, 6 ) );
+		assertRoundTrip( type, value );
+
+		try( Asn1Reader reader = new DefaultOerReader( OerRules.CANONICAL, bytes, factory.values() ) )
+		{
+			Asn1ValueIterator iterator = reader.readCollectionOf( type.createScope(), type );
+			int count = 0;
+			while( iterator.hasNext() )
+			{
+				Assert.assertEquals( "Invalid component", value.toValueCollection().asValueList().get( count ), iterator.next() );
+				count++;
+			}
+			Assert.assertEquals( "Invalid component count", 300, count );
+		}
+	}
+
+	@Test
+	public void testBasicDefaultValue() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		CollectionType sequenceType = factory.types().collection( Family.SEQUENCE );
+		sequenceType.addComponent( Kind.PRIMARY, "a", UniversalType.INTEGER.ref() );
+		sequenceType.addComponent( Kind.PRIMARY, "b", UniversalType.BOOLEAN.ref() ).setDefaultValueRef( BooleanValue.FALSE );
+		DefinedType type = factory.types().define( "My-Seq", sequenceType, null );
+		module.validate();
+
+		ValueCollection value = factory.values().collection( true );
+		value.addNamed( "a", factory.values().integer( 1 ) );
+		value.addNamed( "b", BooleanValue.FALSE );
+		assertEncoding( type, value, new byte[]{0x00, 0x01, 0x01} );
+
+		byte[] bytes;
+		try( Asn1Writer writer = new DefaultOerWriter( OerRules.BASIC ) )
+		{
+			writer.write( type.createScope(), type, value );
+			bytes = writer.toByteArray();
+		}
+		Assert.assertArrayEquals( "Invalid encoding", new byte[]{(byte)0x80, 0x01, 0x01, 0x00}, bytes );
+
+		Scope scope = type.createScope();
+		try( Asn1Reader reader = new DefaultOerReader( OerRules.BASIC, bytes, factory.values() ) )
+		{
+			Value result = reader.read( type.createScope(), type );
+			Assert.assertEquals( "Values are not equal", type.optimize( scope, value ), type.optimize( scope, result ) );
+		}
+	}
+
+	@Test( expected = IOException.class )
+	public void testCanonicalLength() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		DefinedType type = factory.types().define( "Int", UniversalType.INTEGER.ref(), null );
+		module.validate();
+
+		byte[] bytes = {(byte)0x81, 0x01, 0x05};
+		try( Asn1Reader reader = new DefaultOerReader( OerRules.BASIC, bytes, factory.values() ) )
+		{
+			Assert.assertEquals( "Invalid value", factory.values().integer( 5 ), reader.read( type.createScope(), type ) );
+		}
+
+		try( Asn1Reader reader = new DefaultOerReader( OerRules.CANONICAL, bytes, factory.values() ) )
+		{
+			reader.read( type.createScope(), type );
+		}
+	}
+
+	private static void assertEncoding( DefinedType type, Value value, byte[] expected ) throws Exception
+	{
+		Assert.assertArrayEquals( "Invalid encoding", expected, write( type, value ) );
+		assertRoundTrip( type, value );
+	}
+
+	private static byte[] write( DefinedType type, Value value ) throws Exception
+	{
+		try( Asn1Writer writer = new DefaultOerWriter() )
+		{
+			writer.write( type.createScope(), type, value );
+			return writer.toByteArray();
+		}
+	}
+
+	private static void assertRoundTrip( DefinedType type, Value value ) throws Exception
+	{
+		Scope scope = type.createScope();
+		try( Asn1Reader reader = new DefaultOerReader( OerRules.CANONICAL, write( type, value ), new DefaultAsn1Factory().values() ) )
+		{
+			Value result = reader.read( type.createScope(), type );
+			Assert.assertEquals( "Values are not equal", type.optimize( scope, value ), type.optimize( scope, result ) );
+		}
+	}
+}
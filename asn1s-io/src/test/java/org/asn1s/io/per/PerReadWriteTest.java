@@ -0,0 +1,262 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per;
+
+import org.asn1s.api.Asn1Factory;
+import org.asn1s.api.Ref;
+import org.asn1s.api.Scope;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.constraint.ConstraintFactory;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.type.CollectionOfType;
+import org.asn1s.api.type.CollectionType;
+import org.asn1s.api.type.CollectionTypeExtensionGroup;
+import org.asn1s.api.type.ComponentType.Kind;
+import org.asn1s.api.type.DefinedType;
+import org.asn1s.api.type.Type;
+import org.asn1s.api.type.Type.Family;
+import org.asn1s.api.type.TypeUtils;
+import org.asn1s.api.value.Value;
+import org.asn1s.api.value.x680.BooleanValue;
+import org.asn1s.api.value.x680.ValueCollection;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.asn1s.io.Asn1Reader;
+import org.asn1s.io.Asn1ValueIterator;
+import org.asn1s.io.Asn1Writer;
+import org.asn1s.io.per.input.DefaultPerReader;
+import org.asn1s.io.per.output.DefaultPerWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class PerReadWriteTest
+{
+	@Test
+	public void testUnconstrainedInteger() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		DefinedType type = factory.types().define( "Int", UniversalType.INTEGER.ref(), null );
+		module.validate();
+
+		assertEncoding( type, factory.values().integer( 0 ), PerRules.ALIGNED, new byte[]{0x01, 0x00} );
+		assertEncoding( type, factory.values().integer( 0 ), PerRules.UNALIGNED, new byte[]{0x01, 0x00} );
+		assertEncoding( type, factory.values().integer( 256 ), PerRules.ALIGNED, new byte[]{0x02, 0x01, 0x00} );
+		assertEncoding( type, factory.values().integer( -1 ), PerRules.UNALIGNED, new byte[]{0x01, (byte)0xFF} );
+	}
+
+	@Test
+	public void testConstrainedInteger() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		ConstraintFactory constraints = factory.constraints();
+		DefinedType small = factory.types().define( "Small", factory.types().constrained(
+				constraints.valueRange( factory.values().integer( 0 ), false, factory.values().integer( 7 ), false ),
+				UniversalType.INTEGER.ref() ), null );
+		DefinedType octet = factory.types().define( "Octet", factory.types().constrained(
+				constraints.valueRange( factory.values().integer( 1000 ), false, factory.values().integer( 1255 ), false ),
+				UniversalType.INTEGER.ref() ), null );
+		DefinedType extensible = factory.types().define( "Extensible", factory.types().constrained(
+				constraints.elementSetSpecs( constraints.valueRange( factory.values().integer( 0 ), false, factory.values().integer( 7 ), false ), true, null ),
+				UniversalType.INTEGER.ref() ), null );
+		module.validate();
+
+		assertEncoding( small, factory.values().integer( 5 ), PerRules.UNALIGNED, new byte[]{(byte)0xA0} );
+		assertEncoding( small, factory.values().integer( 5 ), PerRules.ALIGNED, new byte[]{(byte)0xA0} );
+		assertEncoding( octet, factory.values().integer( 1003 ), PerRules.ALIGNED, new byte[]{0x03} );
+		assertEncoding( extensible, factory.values().integer( 5 ), PerRules.UNALIGNED, new byte[]{0x50} );
+		assertEncoding( extensible, factory.values().integer( 8 ), PerRules.ALIGNED, new byte[]{(byte)0x80, 0x01, 0x08} );
+	}
+
+	@Test
+	public void testRestrictedString() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		ConstraintFactory constraints = factory.constraints();
+		DefinedType type = factory.types().define( "Digits", factory.types().constrained(
+				constraints.elementSetSpec( Collections.singletonList( constraints.union( Collections.singletonList( constraints.elements(
+						constraints.size( constraints.valueRange( factory.values().integer( 1 ), false, factory.values().integer( 8 ), false ) ), null ) ) ) ) ),
+				UniversalType.NUMERIC_STRING.ref() ), null );
+		DefinedType ia5 = factory.types().define( "Text", UniversalType.IA5_STRING.ref(), null );
+		module.validate();
+
+		// length 3 - 1 in 3 bits, then 4 bits of alphabet index per character: 010 0010 0011 0100
+		assertEncoding( type, factory.values().cString( "123" ), PerRules.UNALIGNED, new byte[]{0x44, 0x68} );
+		assertRoundTrip( type, factory.values().cString( "12 45678" ), PerRules.ALIGNED );
+		assertEncoding( ia5, factory.values().cString( "ab" ), PerRules.ALIGNED, new byte[]{0x02, 0x61, 0x62} );
+		assertRoundTrip( ia5, factory.values().cString( "Hello, World!" ), PerRules.UNALIGNED );
+	}
+
+	@Test
+	public void testSequenceWithExtensionGroups() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+
+		CollectionType sequenceType = factory.types().collection( Family.SEQUENCE );
+		sequenceType.addComponent( Kind.PRIMARY, "a", UniversalType.INTEGER.ref() );
+		sequenceType.addComponent( Kind.PRIMARY, "b", UniversalType.BOOLEAN.ref() ).setDefaultValueRef( BooleanValue.FALSE );
+		sequenceType.addComponent( Kind.PRIMARY, "aa", UniversalType.INTEGER.ref() );
+		sequenceType.setExtensible( true );
+		CollectionTypeExtensionGroup first = factory.types().extensionGroup( Family.SEQUENCE );
+		first.addComponent( Kind.EXTENSION, "c", UniversalType.INTEGER.ref() ).setDefaultValueRef( factory.values().integer( 1 ) );
+		first.addComponent( Kind.EXTENSION, "d", UniversalType.INTEGER.ref() );
+		sequenceType.addExtensionGroup( first );
+		CollectionTypeExtensionGroup second = factory.types().extensionGroup( Family.SEQUENCE );
+		second.addComponent( Kind.EXTENSION, "e", UniversalType.BOOLEAN.ref() );
+		second.addComponent( Kind.EXTENSION, "f", UniversalType.INTEGER.ref() ).setDefaultValueRef( factory.values().integer( 0 ) );
+		sequenceType.addExtensionGroup( second );
+		DefinedType type = factory.types().define( "My-Seq", sequenceType, null );
+		module.validate();
+
+		ValueCollection root = factory.values().collection( true );
+		root.addNamed( "a", factory.values().integer( 1 ) );
+		root.addNamed( "aa", factory.values().integer( 2 ) );
+		assertEncoding( type, root, PerRules.ALIGNED, new byte[]{0x00, 0x01, 0x01, 0x01, 0x02} );
+
+		ValueCollection extended = factory.values().collection( true );
+		extended.addNamed( "a", factory.values().integer( 1 ) );
+		extended.addNamed( "aa", factory.values().integer( 2 ) );
+		extended.addNamed( "d", factory.values().integer( 3 ) );
+		assertEncoding( type, extended, PerRules.ALIGNED, new byte[]{(byte)0x80, 0x01, 0x01, 0x01, 0x02, 0x03, 0x00, 0x03, 0x00, 0x01, 0x03} );
+
+		extended.addNamed( "e", BooleanValue.TRUE );
+		extended.addNamed( "f", factory.values().integer( 1 ) );
+		assertEncoding( type, extended, PerRules.ALIGNED,
+		                new byte[]{(byte)0x80, 0x01, 0x01, 0x01, 0x02, 0x03, (byte)0x80, 0x03, 0x00, 0x01, 0x03, 0x03, (byte)0xC0, 0x01, 0x01} );
+		assertRoundTrip( type, extended, PerRules.UNALIGNED );
+	}
+
+	@Test
+	public void testSequenceWithSingleComponentExtensionGroup() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+
+		CollectionType sequenceType = factory.types().collection( Family.SEQUENCE );
+		sequenceType.addComponent( Kind.PRIMARY, "a", UniversalType.INTEGER.ref() );
+		sequenceType.setExtensible( true );
+		CollectionTypeExtensionGroup group = factory.types().extensionGroup( Family.SEQUENCE );
+		group.addComponent( Kind.EXTENSION, "g", UniversalType.INTEGER.ref() ).setOptional( true );
+		sequenceType.addExtensionGroup( group );
+		sequenceType.addComponent( Kind.EXTENSION, "h", UniversalType.INTEGER.ref() ).setOptional( true );
+		DefinedType type = factory.types().define( "My-Seq", sequenceType, null );
+		module.validate();
+
+		ValueCollection value = factory.values().collection( true );
+		value.addNamed( "a", factory.values().integer( 1 ) );
+		value.addNamed( "g", factory.values().integer( 3 ) );
+		value.addNamed( "h", factory.values().integer( 4 ) );
+		// [[ g ]] is SEQUENCE with own preamble bit, h is bare open type
+		assertEncoding( type, value, PerRules.ALIGNED,
+		                new byte[]{(byte)0x80, 0x01, 0x01, 0x03, (byte)0x80, 0x03, (byte)0x80, 0x01, 0x03, 0x02, 0x01, 0x04} );
+		assertRoundTrip( type, value, PerRules.UNALIGNED );
+	}
+
+	@Test
+	public void testChoiceAndSequenceOf() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+
+		CollectionType choiceType = factory.types().collection( Family.CHOICE );
+		choiceType.addComponent( Kind.PRIMARY, "number", UniversalType.INTEGER.ref() );
+		choiceType.addComponent( Kind.PRIMARY, "text", UniversalType.UTF8_STRING.ref() );
+		choiceType.setExtensible( true );
+		choiceType.addComponent( Kind.EXTENSION, "flag", UniversalType.BOOLEAN.ref() );
+
+		CollectionOfType sequenceOfType = factory.types().collectionOf( Family.SEQUENCE_OF );
+		sequenceOfType.setComponent( TypeUtils.DUMMY, choiceType );
+		DefinedType type = factory.types().define( "Items", sequenceOfType, null );
+		module.validate();
+
+		ValueCollection items = factory.values().collection( false );
+		for( int i = 0; i < 300; i++ )
+		{
+			items.add( factory.values().named( "number", factory.values().integer( i ) ) );
+			items.add( factory.values().named( "text", factory.values().cString( "item " + i ) ) );
+			items.add( factory.values().named( "flag", i % 2 == 0 ? BooleanValue.TRUE : BooleanValue.FALSE ) );
+		}
+
+		for( PerRules rules : PerRules.values() )
+		{
+			Scope scope = type.createScope();
+			Value value = type.optimize( scope, items );
+			assertRoundTrip( type, value, rules );
+
+			byte[] bytes;
+			try( Asn1Writer writer = new DefaultPerWriter( rules ) )
+			{
+				writer.write( scope, type, value );
+				bytes = writer.toByteArray();
+			}
+
+			try( Asn1Reader reader = new DefaultPerReader( rules, bytes, factory.values() ) )
+			{
+				Asn1ValueIterator iterator = reader.readCollectionOf( type.createScope(), type );
+				int count = 0;
+				while( iterator.hasNext() )
+				{
+					Assert.assertEquals( "Invalid component", value.toValueCollection().asValueList().get( count ), iterator.next() );
+					count++;
+				}
+				Assert.assertEquals( "Invalid component count", 900, count );
+			}
+		}
+	}
+
+	private static void assertEncoding( DefinedType type, Value value, PerRules rules, byte[] expected ) throws Exception
+	{
+		Scope scope = type.createScope();
+		try( Asn1Writer writer = new DefaultPerWriter( rules ) )
+		{
+			writer.write( scope, type, value );
+			Assert.assertArrayEquals( "Invalid encoding", expected, writer.toByteArray() );
+		}
+		assertRoundTrip( type, value, rules );
+	}
+
+	private static void assertRoundTrip( Ref<Type> type, Value value, PerRules rules ) throws Exception
+	{
+		DefinedType definedType = (DefinedType)type;
+		Scope scope = definedType.createScope();
+		byte[] bytes;
+		try( Asn1Writer writer = new DefaultPerWriter( rules ) )
+		{
+			writer.write( scope, type, value );
+			bytes = writer.toByteArray();
+		}
+
+		try( Asn1Reader reader = new DefaultPerReader( rules, bytes, new DefaultAsn1Factory().values() ) )
+		{
+			Value result = reader.read( definedType.createScope(), type );
+			Assert.assertEquals( "Values are not equal", definedType.optimize( scope, value ), definedType.optimize( scope, result ) );
+		}
+	}
+}
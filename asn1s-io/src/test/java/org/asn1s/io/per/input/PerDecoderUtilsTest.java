@@ -0,0 +1,54 @@
+////////////////////////////////////////////////////////////////////////////////
+// Copyright (c) 2010-2017. Lapinin "lastrix" Sergey.                          /
+//                                                                             /
+// Permission is hereby granted, free of charge, to any person                 /
+// obtaining a copy of this software and associated documentation              /
+// files (the "Software"), to deal in the Software without                     /
+// restriction, including without limitation the rights to use,                /
+// copy, modify, merge, publish, distribute, sublicense, and/or                /
+// sell copies of the Software, and to permit persons to whom the              /
+// Software is furnished to do so, subject to the following                    /
+// conditions:                                                                 /
+//                                                                             /
+// The above copyright notice and this permission notice shall be              /
+// included in all copies or substantial portions of the Software.             /
+//                                                                             /
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,             /
+// EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES             /
+// OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND                    /
+// NON INFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT                /
+// HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,                /
+// WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING                /
+// FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE                  /
+// OR OTHER DEALINGS IN THE SOFTWARE.                                          /
+////////////////////////////////////////////////////////////////////////////////
+
+package org.asn1s.io.per.input;
+
+import org.asn1s.api.Asn1Factory;
+import org.asn1s.api.UniversalType;
+import org.asn1s.api.encoding.tag.TagClass;
+import org.asn1s.api.encoding.tag.TagEncoding;
+import org.asn1s.api.encoding.tag.TagMethod;
+import org.asn1s.api.module.Module;
+import org.asn1s.api.type.DefinedType;
+import org.asn1s.api.value.Value;
+import org.asn1s.core.DefaultAsn1Factory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PerDecoderUtilsTest
+{
+	@Test
+	public void testBerContentWithHighTagNumber() throws Exception
+	{
+		Asn1Factory factory = new DefaultAsn1Factory();
+		Module module = factory.types().dummyModule();
+		TagEncoding encoding = TagEncoding.create( module.getTagMethod(), TagMethod.IMPLICIT, TagClass.APPLICATION, 2048 );
+		DefinedType type = factory.types().define( "Tagged-Oid", factory.types().tagged( encoding, UniversalType.OBJECT_IDENTIFIER.ref() ), null );
+		module.validate();
+
+		Value value = PerDecoderUtils.fromBerContent( type.createScope(), type, factory.values(), new byte[]{0x2A, (byte)0x86, 0x48} );
+		Assert.assertEquals( "Values are not equal", factory.values().objectIdentifier( new long[]{1L, 2L, 840L} ), value );
+	}
+}
@@ -497,24 +497,24 @@ collectionType returns [CollectionType result]
         )
         OPEN_BRACE
         (
-            ELLIPSIS
+            ELLIPSIS { $result.setExtensible(true); }
             exceptionSpec?
             ( COMMA collectionExtensionComponents[$result] )?
             (
                 COMMA ELLIPSIS
                 COMMA collectionComponentTypeList[$result, ComponentType.Kind.SECONDARY]
-            |   COMMA ELLIPSIS { $result.setExtensible(true); }
+            |   COMMA ELLIPSIS
             )?
         |   collectionComponentTypeList[$result, ComponentType.Kind.PRIMARY]
             (
-                COMMA ELLIPSIS exceptionSpec?
+                COMMA ELLIPSIS { $result.setExtensible(true); }
+                exceptionSpec?
                 ( COMMA collectionExtensionComponents[$result] )?
                 (
                     COMMA ELLIPSIS
                     COMMA collectionComponentTypeList[$result, ComponentType.Kind.SECONDARY]
-                |   COMMA ELLIPSIS { $result.setExtensible(true); }
+                |   COMMA ELLIPSIS
                 )?
-            |   COMMA ELLIPSIS { $result.setExtensible(true); }
             )?
         )?
         CLOSE_BRACE
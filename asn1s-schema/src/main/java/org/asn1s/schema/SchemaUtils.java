@@ -35,7 +35,12 @@ import org.asn1s.schema.parser.Asn1Lexer;
 import org.asn1s.schema.parser.Asn1Parser;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public final class SchemaUtils
 {
@@ -59,6 +64,50 @@ public final class SchemaUtils
 		}
 	}
 
+	/**
+	 * Parse files concurrently using pool. Every file is parsed by own {@link Asn1Factory},
+	 * modules are registered in resolver. Modules are not validated.
+	 *
+	 * @param files    the schema files
+	 * @param resolver the resolver to register modules in
+	 * @param pool     the pool
+	 * @return list of parsed modules, in order of files
+	 * @throws IOException if any file can not be read
+	 */
+	public static List<Module> parseModules( Collection<File> files, ModuleResolver resolver, ForkJoinPool pool ) throws IOException
+	{
+		Collection<ForkJoinTask<List<Module>>> tasks = new ArrayList<>( files.size() );
+		for( File file : files )
+			tasks.add( pool.submit( () -> parseModules( file, resolver, resolver.createObjectFactory() ) ) );
+
+		List<Module> result = new ArrayList<>();
+		for( ForkJoinTask<List<Module>> task : tasks )
+			result.addAll( join( task ) );
+		return result;
+	}
+
+	private static List<Module> join( ForkJoinTask<List<Module>> task ) throws IOException
+	{
+		try
+		{
+			return task.get();
+		} catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException( "Interrupted while parsing modules" );
+		} catch( ExecutionException e )
+		{
+			Throwable cause = e.getCause();
+			if( cause instanceof IOException )
+				throw (IOException)cause;
+			if( cause instanceof RuntimeException )
+				throw (RuntimeException)cause;
+			if( cause instanceof Error )
+				throw (Error)cause;
+			throw new IOException( cause );
+		}
+	}
+
 	public static List<Module> parseModules( Reader reader, ModuleResolver resolver, Asn1Factory asn1Factory ) throws IOException
 	{
 		return parseModules( new ANTLRInputStream( reader ), resolver, asn1Factory );
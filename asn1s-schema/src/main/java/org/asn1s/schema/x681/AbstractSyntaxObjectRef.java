@@ -36,10 +36,13 @@ import org.asn1s.api.value.Value;
 import org.asn1s.api.value.x681.ObjectValue;
 import org.asn1s.schema.exception.AbstractSyntaxParserException;
 
+import java.io.Serializable;
 import java.util.Map;
 
-public class AbstractSyntaxObjectRef implements Ref<Value>
+public class AbstractSyntaxObjectRef implements Ref<Value>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public AbstractSyntaxObjectRef( String abstractSyntax )
 	{
 		abstractSyntax = abstractSyntax.trim();
@@ -31,15 +31,23 @@ import org.asn1s.api.Asn1Factory;
 import org.asn1s.api.Scope;
 import org.asn1s.api.module.Module;
 import org.asn1s.api.module.ModuleResolver;
+import org.asn1s.api.type.TypeUtils;
 import org.asn1s.api.value.DefinedValue;
 import org.asn1s.api.value.Value;
 import org.asn1s.core.DefaultAsn1Factory;
 import org.asn1s.core.module.ModuleSet;
+import org.asn1s.core.value.DefinedValueImpl;
 import org.asn1s.io.Asn1Reader;
 import org.asn1s.io.Asn1Writer;
 import org.asn1s.io.ber.BerRules;
 import org.asn1s.io.ber.input.DefaultBerReader;
 import org.asn1s.io.ber.output.DefaultBerWriter;
+import org.asn1s.io.oer.OerRules;
+import org.asn1s.io.oer.input.DefaultOerReader;
+import org.asn1s.io.oer.output.DefaultOerWriter;
+import org.asn1s.io.per.PerRules;
+import org.asn1s.io.per.input.DefaultPerReader;
+import org.asn1s.io.per.output.DefaultPerWriter;
 import org.asn1s.schema.SchemaUtils;
 import org.junit.Assert;
 import org.junit.Before;
@@ -49,6 +57,7 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
@@ -80,8 +89,9 @@ public class SuiteTest
 	private String schema;
 	//private byte[] pduBer;
 	private byte[] pduDer;
-//	private byte[] pduPer;
-	//private byte[] pduUPer;
+	private byte[] pduOer;
+	private byte[] pduPer;
+	private byte[] pduUPer;
 	//private String pduXml;
 
 	@Before
@@ -91,8 +101,9 @@ public class SuiteTest
 		schema = Utils.getResourceAsStringOrDie( resourceFolder + "schema.asn" );
 		//pduBer = Utils.getResourceAsBytesOrDie( resourceFolder + "pdu.ber" );
 		pduDer = Utils.getResourceAsBytesOrDie( resourceFolder + "pdu.der" );
-//		pduPer = Utils.getResourceAsBytesOrDie( resourceFolder + "pdu.per" );
-		//pduUPer = Utils.getResourceAsBytesOrDie( resourceFolder + "pdu.uper" );
+		pduOer = Utils.getResourceAsBytesOrDie( resourceFolder + "pdu.oer" );
+		pduPer = Utils.getResourceAsBytesOrDie( resourceFolder + "pdu.per" );
+		pduUPer = Utils.getResourceAsBytesOrDie( resourceFolder + "pdu.uper" );
 		//pduXml = Utils.getResourceAsStringOrDie( resourceFolder + "pdu.xml" );
 	}
 
@@ -164,4 +175,120 @@ public class SuiteTest
 			}
 		}
 	}
+
+	@Test
+	public void testSnapshot() throws Exception
+	{
+		ModuleSet resolver = new ModuleSet();
+		Asn1Factory asn1Factory = new DefaultAsn1Factory( resolver );
+		SchemaUtils.parseModules( schema, resolver, asn1Factory );
+		resolver.validate();
+		Module pduModule = SchemaUtils.parsePdu( pdu, resolver, asn1Factory );
+		resolver.registerModule( pduModule );
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		resolver.writeSnapshot( os );
+
+		Module module = ModuleSet.readSnapshot( new ByteArrayInputStream( os.toByteArray() ) ).resolve( pduModule.getModuleName() );
+		byte[] result;
+		try( Asn1Writer writer = new DefaultBerWriter( BerRules.DER ) )
+		{
+			for( DefinedValue value : module.getValueResolver().getValues() )
+				writer.write( value.getType().getScope( module.createScope() ), value.getType(), value.getValue() );
+			result = writer.toByteArray();
+		}
+
+		Assert.assertArrayEquals( "Content is not equal", pduDer, result );
+	}
+
+	@Test
+	public void testOer() throws Exception
+	{
+		ModuleSet resolver = new ModuleSet();
+		Asn1Factory asn1Factory = new DefaultAsn1Factory( resolver );
+		for( Module module : SchemaUtils.parseModules( schema, resolver, asn1Factory ) )
+			module.validate();
+
+		Module module = SchemaUtils.parsePdu( pdu, resolver, asn1Factory );
+		module.validate();
+
+		// fixtures are BASIC-OER, components equal to default values are encoded if present in pdu
+		List<Value> values = new ArrayList<>();
+		for( DefinedValue value : module.getValueResolver().getValues() )
+			values.add( getGivenValue( module, value ) );
+
+		byte[] result;
+		try( Asn1Writer writer = new DefaultOerWriter( OerRules.BASIC ) )
+		{
+			int i = 0;
+			for( DefinedValue value : module.getValueResolver().getValues() )
+				writer.write( value.getType().getScope( module.createScope() ), value.getType(), values.get( i++ ) );
+			result = writer.toByteArray();
+		}
+
+		Assert.assertArrayEquals( "Content is not equal", pduOer, result );
+
+		Scope scope = module.createScope();
+		try( Asn1Reader reader = new DefaultOerReader( OerRules.BASIC, result, asn1Factory.values() ) )
+		{
+			int i = 0;
+			for( DefinedValue value : module.getValueResolver().getValues() )
+			{
+				scope = value.getType().getScope( scope );
+				Value expected = values.get( i++ );
+				Value actual = reader.read( scope, value.getType() );
+				Assert.assertTrue( "Values are not equal: " + expected + " != " + actual, expected.isEqualTo( actual ) );
+			}
+		}
+	}
+
+	private static Value getGivenValue( Module module, DefinedValue value ) throws Exception
+	{
+		Scope scope = value.getType().getScope( module.createScope() );
+		scope.setScopeOption( TypeUtils.OPTION_KEEP_DEFAULT_VALUES, Boolean.TRUE );
+		return value.getType().optimize( scope, ( (DefinedValueImpl)value ).getValueRef() );
+	}
+
+	@Test
+	public void testPer() throws Exception
+	{
+		assertPer( PerRules.ALIGNED, pduPer );
+	}
+
+	@Test
+	public void testUper() throws Exception
+	{
+		assertPer( PerRules.UNALIGNED, pduUPer );
+	}
+
+	private void assertPer( PerRules rules, byte[] expected ) throws Exception
+	{
+		ModuleSet resolver = new ModuleSet();
+		Asn1Factory asn1Factory = new DefaultAsn1Factory( resolver );
+		for( Module module : SchemaUtils.parseModules( schema, resolver, asn1Factory ) )
+			module.validate();
+
+		Module module = SchemaUtils.parsePdu( pdu, resolver, asn1Factory );
+		module.validate();
+
+		byte[] result;
+		try( Asn1Writer writer = new DefaultPerWriter( rules ) )
+		{
+			for( DefinedValue value : module.getValueResolver().getValues() )
+				writer.write( value.getType().getScope( module.createScope() ), value.getType(), value.getValue() );
+			result = writer.toByteArray();
+		}
+
+		Assert.assertArrayEquals( "Content is not equal", expected, result );
+
+		Scope scope = module.createScope();
+		try( Asn1Reader reader = new DefaultPerReader( rules, result, asn1Factory.values() ) )
+		{
+			for( DefinedValue value : module.getValueResolver().getValues() )
+			{
+				scope = value.getType().getScope( scope );
+				Value actual = reader.read( scope, value.getType() );
+				Assert.assertTrue( "Values are not equal: " + value + " != " + actual, value.isEqualTo( actual ) );
+			}
+		}
+	}
 }